@@ -0,0 +1,128 @@
+#!/bin/bash
+# Native image smoke test for SchedulEase
+# Runs the GraalVM native executable against a local PostgreSQL database
+#
+# Build the executable with:  mvn -Pnative native:compile
+#
+# By default a disposable PostgreSQL container is started, migrated by a first run of the
+# executable and loaded with the test data of schedulease.sql.
+# Set SPRING_DATASOURCE_URL (and USERNAME/PASSWORD) to use an existing local database instead.
+
+BINARY="${BINARY:-target/schedulease}"
+PORT="${SERVER_PORT:-18080}"
+BASE_URL="http://localhost:$PORT/api"
+DB_CONTAINER="schedulease-native-smoke-db"
+DB_PORT="${DB_PORT:-55432}"
+DB_PASSWORD="smoke"
+
+if [ ! -x "$BINARY" ]; then
+    echo "Error: $BINARY not found!"
+    echo "Please build it with 'mvn -Pnative native:compile'."
+    exit 1
+fi
+
+if ! command -v curl &> /dev/null; then
+    echo "Error: curl is not installed!"
+    exit 1
+fi
+
+APP_PID=""
+cleanup() {
+    if [ -n "$APP_PID" ]; then
+        kill "$APP_PID" 2> /dev/null
+        wait "$APP_PID" 2> /dev/null
+    fi
+    if [ -z "$SPRING_DATASOURCE_URL_GIVEN" ]; then
+        docker rm -f "$DB_CONTAINER" > /dev/null 2>&1
+    fi
+}
+trap cleanup EXIT
+
+fail() {
+    echo "FAILED: $1"
+    [ -f native-smoke-test.log ] && tail -50 native-smoke-test.log
+    exit 1
+}
+
+if [ -n "$SPRING_DATASOURCE_URL" ]; then
+    SPRING_DATASOURCE_URL_GIVEN=1
+    echo "Using database URL from environment: $SPRING_DATASOURCE_URL"
+else
+    if ! command -v docker &> /dev/null; then
+        echo "Error: docker is not installed and SPRING_DATASOURCE_URL is not set!"
+        exit 1
+    fi
+    echo "Starting local PostgreSQL on port $DB_PORT ..."
+    docker rm -f "$DB_CONTAINER" > /dev/null 2>&1
+    docker run -d --name "$DB_CONTAINER" -p "$DB_PORT:5432" \
+        -e POSTGRES_DB=schedulease -e POSTGRES_PASSWORD="$DB_PASSWORD" postgres:15 > /dev/null || exit 1
+    for i in $(seq 1 60); do
+        docker exec "$DB_CONTAINER" pg_isready -U postgres -d schedulease > /dev/null 2>&1 && break
+        sleep 1
+    done
+
+    export SPRING_DATASOURCE_URL="jdbc:postgresql://localhost:$DB_PORT/schedulease"
+    export SPRING_DATASOURCE_USERNAME="postgres"
+    export SPRING_DATASOURCE_PASSWORD="$DB_PASSWORD"
+fi
+
+start_app() {
+    "$BINARY" --server.port="$PORT" >> native-smoke-test.log 2>&1 &
+    APP_PID=$!
+    for i in $(seq 1 300); do
+        kill -0 "$APP_PID" 2> /dev/null || fail "native executable exited during startup"
+        [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/services")" = "200" ] && return
+        sleep 0.1
+    done
+    fail "native executable did not start"
+}
+
+rm -f native-smoke-test.log
+if [ -z "$SPRING_DATASOURCE_URL_GIVEN" ]; then
+    # The schema comes from the migrations the first run applies; the test data goes in afterwards
+    echo "Migrating the database ..."
+    start_app
+    kill "$APP_PID" 2> /dev/null
+    wait "$APP_PID" 2> /dev/null
+    APP_PID=""
+    docker exec -i "$DB_CONTAINER" psql -q -v ON_ERROR_STOP=1 -U postgres -d schedulease < schedulease.sql > /dev/null \
+        || fail "could not load schedulease.sql"
+fi
+
+echo "Starting $BINARY on port $PORT ..."
+START=$(date +%s%N)
+start_app
+echo "First successful GET /api/services after $(( ($(date +%s%N) - START) / 1000000 )) ms"
+
+expect_status() {
+    local expected="$1" method="$2" path="$3" body="$4"
+    local status
+    if [ -n "$body" ]; then
+        status=$(curl -s -o /tmp/native-smoke-body.json -w '%{http_code}' -X "$method" \
+            -H 'Content-Type: application/json' -d "$body" "$BASE_URL$path")
+    else
+        status=$(curl -s -o /tmp/native-smoke-body.json -w '%{http_code}' -X "$method" "$BASE_URL$path")
+    fi
+    [ "$status" = "$expected" ] || fail "$method $path returned $status, expected $expected: $(cat /tmp/native-smoke-body.json)"
+    echo "OK  $method $path -> $status"
+}
+
+expect_status 200 GET "/services?activeOnly=true&category=MASSAGE"
+expect_status 200 GET "/providers"
+expect_status 200 GET "/providers/1"
+expect_status 404 GET "/providers/999999"
+expect_status 201 POST "/clients" '{"firstName":"Native","lastName":"Smoke","phone":"4165550100"}'
+CLIENT_ID=$(sed -E 's/.*"id":([0-9]+).*/\1/' /tmp/native-smoke-body.json)
+expect_status 400 POST "/services" '{"name":"Invalid","category":"UNKNOWN","duration":30}'
+
+START_TIME=$(( $(date +%s) + 30 * 24 * 3600 ))
+expect_status 201 POST "/appointments" "{\"clientId\":$CLIENT_ID,\"providerId\":1,\"serviceId\":1,\"startTime\":$START_TIME}"
+APPOINTMENT_ID=$(sed -E 's/^\{"id":([0-9]+).*/\1/' /tmp/native-smoke-body.json)
+expect_status 200 GET "/appointments?startTime=$START_TIME&endTime=$((START_TIME + 3600))"
+expect_status 200 PATCH "/appointments/$APPOINTMENT_ID/status" '{"status":"CANCELLED","cancellationReason":"smoke test"}'
+grep -q '"status":"CANCELLED"' /tmp/native-smoke-body.json || fail "status was not updated"
+
+RSS_KB=$(grep VmRSS "/proc/$APP_PID/status" 2> /dev/null | awk '{print $2}')
+[ -n "$RSS_KB" ] && echo "Resident set size: $((RSS_KB / 1024)) MB"
+
+echo "Native smoke test passed."
@@ -13,102 +13,27 @@ File Encoding         : UTF8
 Date: 2025-10-23
 
 SchedulEase - Online Appointment System Database Design
-*/
-
--- ============================================================================
--- 1. DROP TABLES
--- ============================================================================
-
-DROP TABLE IF EXISTS appointments CASCADE;
-DROP TABLE IF EXISTS service CASCADE;
-DROP TABLE IF EXISTS provider CASCADE;
-DROP TABLE IF EXISTS client CASCADE;
-
-
--- ============================================================================
--- 2 CREATE TABLES
--- ============================================================================
-
--- ---------------------------------------------------------------------------
--- 2.1 Client Table
--- ---------------------------------------------------------------------------
-CREATE TABLE client (
-    id BIGSERIAL PRIMARY KEY,
-    first_name VARCHAR(100) NOT NULL,
-    last_name VARCHAR(100) NOT NULL,
-    phone VARCHAR(15) NOT NULL
-);
-
--- ---------------------------------------------------------------------------
--- 2.2 Provider Table
--- ---------------------------------------------------------------------------
-CREATE TABLE provider (
-    id BIGSERIAL PRIMARY KEY,
-    first_name VARCHAR(100) NOT NULL,
-    last_name VARCHAR(100) NOT NULL,
-    description TEXT,
-    is_active BOOLEAN NOT NULL DEFAULT TRUE
-);
 
--- ---------------------------------------------------------------------------
--- 2.3 Service Table
--- ---------------------------------------------------------------------------
-CREATE TABLE service (
-    id BIGSERIAL PRIMARY KEY,
-    name VARCHAR(200) NOT NULL UNIQUE,
-    description TEXT,
-    category VARCHAR(50) NOT NULL,
-    duration INTEGER NOT NULL,
-    price DECIMAL(10,2),
-    is_active BOOLEAN NOT NULL DEFAULT TRUE
-);
-
--- ---------------------------------------------------------------------------
--- 2.4 Appointments Table
--- ---------------------------------------------------------------------------
-CREATE TABLE appointments (
-    id BIGSERIAL PRIMARY KEY,
-    client_id BIGINT NOT NULL,
-    provider_id BIGINT NOT NULL,
-    service_id BIGINT NOT NULL,
-    start_time BIGINT NOT NULL,
-    status VARCHAR(20) NOT NULL DEFAULT 'CONFIRMED',
-    notes TEXT,
-    cancellation_reason TEXT,
-    CONSTRAINT fk_appointments_client FOREIGN KEY (client_id) 
-        REFERENCES client(id) ON DELETE CASCADE,
-    CONSTRAINT fk_appointments_provider FOREIGN KEY (provider_id) 
-        REFERENCES provider(id) ON DELETE CASCADE,
-    CONSTRAINT fk_appointments_service FOREIGN KEY (service_id) 
-        REFERENCES service(id) ON DELETE CASCADE,
-    CONSTRAINT check_appointment_status CHECK (status IN ('CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW'))
-);
-
-CREATE UNIQUE INDEX uk_appointments_time_slot 
-    ON appointments(provider_id, service_id, start_time) 
-    WHERE status NOT IN ('CANCELLED');
+Resets a development database to the test data below. The schema itself comes only
+from the Flyway migrations in src/main/resources/db/migration, which the application
+applies at startup: start it once against the database, then load this script.
+*/
 
 -- ============================================================================
--- 3. CREATE INDEXES
+-- 1. RESET DATA
 -- ============================================================================
 
-
-CREATE INDEX idx_provider_active ON provider(is_active);
-CREATE INDEX idx_service_active ON service(is_active);
-CREATE INDEX idx_service_category ON service(category);
-
-CREATE INDEX idx_appointments_client ON appointments(client_id);
-CREATE INDEX idx_appointments_provider ON appointments(provider_id);
-CREATE INDEX idx_appointments_service ON appointments(service_id);
-CREATE INDEX idx_appointments_start_time ON appointments(start_time);
-CREATE INDEX idx_appointments_status ON appointments(status);
+-- cache_version is seeded by the migrations and keeps its rows
+TRUNCATE reminder_sent, session_seat, purge_job, provider_service, appointment_rollup, appointment_outbox,
+    waitlist_entry, provider_schedule_override, provider_working_hours, appointments, appointment_series,
+    service, provider, client RESTART IDENTITY CASCADE;
 
 -- ============================================================================
--- 4. INSERT TEST DATA
+-- 2. INSERT TEST DATA
 -- ============================================================================
 
 -- ---------------------------------------------------------------------------
--- 4.1 Provider Data
+-- 2.1 Provider Data
 -- ---------------------------------------------------------------------------
 INSERT INTO provider (id, first_name, last_name, description, is_active) VALUES
 (1, 'Emma', 'Zhang', 'Senior hairstylist, 10 years experience', TRUE),
@@ -121,7 +46,7 @@ INSERT INTO provider (id, first_name, last_name, description, is_active) VALUES
 SELECT setval('provider_id_seq', (SELECT MAX(id) FROM provider));
 
 -- ---------------------------------------------------------------------------
--- 4.2 Service Data
+-- 2.2 Service Data
 -- ---------------------------------------------------------------------------
 INSERT INTO service (id, name, description, category, duration, price, is_active) VALUES
 (1, 'Basic Haircut', 'Includes wash, cut, and blow dry', 'HAIRCUT', 30, 50.00, TRUE),
@@ -132,7 +57,18 @@ INSERT INTO service (id, name, description, category, duration, price, is_active
 SELECT setval('service_id_seq', (SELECT MAX(id) FROM service));
 
 -- ---------------------------------------------------------------------------
--- 4.3 Client Data
+-- 2.2.1 Provider Service Data
+-- ---------------------------------------------------------------------------
+INSERT INTO provider_service (provider_id, service_id) VALUES
+(1, 1), (1, 2),
+(2, 1), (2, 2),
+(3, 1),
+(4, 3), (4, 4),
+(5, 3),
+(6, 3), (6, 4);
+
+-- ---------------------------------------------------------------------------
+-- 2.3 Client Data
 -- ---------------------------------------------------------------------------
 INSERT INTO client (id, first_name, last_name, phone) VALUES
 (1, 'John', 'Smith', '4165550001'),
@@ -149,7 +85,7 @@ INSERT INTO client (id, first_name, last_name, phone) VALUES
 SELECT setval('client_id_seq', (SELECT MAX(id) FROM client));
 
 -- ---------------------------------------------------------------------------
--- 4.4 Appointment Data
+-- 2.4 Appointment Data
 -- Using dates relative to today (CURRENT_DATE)
 -- ---------------------------------------------------------------------------
 
@@ -181,6 +117,25 @@ INSERT INTO appointments (id, client_id, provider_id, service_id, start_time, st
 (14, 1, 2, 2, EXTRACT(EPOCH FROM (((NOW() AT TIME ZONE 'America/Toronto')::DATE + INTERVAL '5 days' + TIME '10:30:00') AT TIME ZONE 'America/Toronto'))::BIGINT, 'CONFIRMED', 'Special occasion styling'),
 (15, 2, 6, 3, EXTRACT(EPOCH FROM (((NOW() AT TIME ZONE 'America/Toronto')::DATE + INTERVAL '5 days' + TIME '14:00:00') AT TIME ZONE 'America/Toronto'))::BIGINT, 'CONFIRMED', 'Deep tissue massage');
 
+UPDATE appointments a SET price = s.price FROM service s WHERE s.id = a.service_id;
+
 SELECT setval('appointments_id_seq', (SELECT MAX(id) FROM appointments));
 
+-- Seed appointments were booked a week ahead
+UPDATE appointments SET created_at = start_time - 7 * 86400;
 
+-- ---------------------------------------------------------------------------
+-- 2.5 Appointment Rollup Data
+-- ---------------------------------------------------------------------------
+INSERT INTO appointment_rollup (day, provider_id, service_id, confirmed_count, completed_count,
+    cancelled_count, no_show_count, booked_minutes, revenue, lost_revenue)
+SELECT (to_timestamp(a.start_time) AT TIME ZONE 'America/Toronto')::DATE, a.provider_id, a.service_id,
+    COUNT(*) FILTER (WHERE a.status = 'CONFIRMED'),
+    COUNT(*) FILTER (WHERE a.status = 'COMPLETED'),
+    COUNT(*) FILTER (WHERE a.status = 'CANCELLED'),
+    COUNT(*) FILTER (WHERE a.status = 'NO_SHOW'),
+    COALESCE(SUM(s.duration) FILTER (WHERE a.status <> 'CANCELLED'), 0),
+    COALESCE(SUM(a.price) FILTER (WHERE a.status = 'COMPLETED'), 0),
+    COALESCE(SUM(a.price) FILTER (WHERE a.status IN ('CANCELLED', 'NO_SHOW')), 0)
+FROM appointments a JOIN service s ON s.id = a.service_id
+GROUP BY 1, 2, 3;
@@ -0,0 +1,125 @@
+#!/bin/bash
+# Multi-tenant sharding test for SchedulEase
+# Creates two local databases as shards, lets the application migrate the tenant schemas,
+# loads the test data, books an appointment for tenant "acme" on the default shard, moves
+# the tenant to shard-b and checks that reads and writes follow it.
+#
+# Requires psql and a local PostgreSQL; connection settings come from SHARD_HOST, SHARD_PORT,
+# SHARD_USERNAME and SHARD_PASSWORD (defaults: localhost, 5432, postgres, empty).
+# Build the jar with:  mvn clean package
+
+JAR_FILE="${JAR_FILE:-target/SchedulEase-0.0.1-SNAPSHOT.jar}"
+PORT="${SERVER_PORT:-18081}"
+BASE_URL="http://localhost:$PORT/api"
+
+export SHARD_HOST="${SHARD_HOST:-localhost}"
+export SHARD_PORT="${SHARD_PORT:-5432}"
+export SHARD_USERNAME="${SHARD_USERNAME:-postgres}"
+export SHARD_PASSWORD="${SHARD_PASSWORD:-}"
+export PGHOST="$SHARD_HOST" PGPORT="$SHARD_PORT" PGUSER="$SHARD_USERNAME" PGPASSWORD="$SHARD_PASSWORD"
+
+for tool in psql curl java; do
+    if ! command -v $tool &> /dev/null; then
+        echo "Error: $tool is not installed!"
+        exit 1
+    fi
+done
+
+if [ ! -f "$JAR_FILE" ]; then
+    echo "Error: $JAR_FILE not found!"
+    echo "Please build it with 'mvn clean package'."
+    exit 1
+fi
+
+APP_PID=""
+cleanup() {
+    if [ -n "$APP_PID" ]; then
+        kill "$APP_PID" 2> /dev/null
+        wait "$APP_PID" 2> /dev/null
+    fi
+}
+trap cleanup EXIT
+
+fail() {
+    echo "FAILED: $1"
+    [ -f sharding-test.log ] && tail -50 sharding-test.log
+    exit 1
+}
+
+# seed <database> <schema>: load the test data of schedulease.sql into a migrated schema
+seed() {
+    PGOPTIONS="-c search_path=$2" psql -q -v ON_ERROR_STOP=1 -d "$1" -f schedulease.sql > /dev/null 2>&1 \
+        || fail "could not load schedulease.sql into $1.$2"
+}
+
+start_app() {
+    java -jar "$JAR_FILE" --server.port="$PORT" --spring.profiles.active=sharding-local >> sharding-test.log 2>&1 &
+    APP_PID=$!
+    for i in $(seq 1 120); do
+        kill -0 "$APP_PID" 2> /dev/null || fail "application exited during startup"
+        [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/admin/tenants")" = "200" ] && return
+        sleep 0.5
+    done
+    fail "application did not start"
+}
+
+stop_app() {
+    cleanup
+    APP_PID=""
+}
+
+echo "Creating shard databases ..."
+for db in schedulease_shard_a schedulease_shard_b; do
+    psql -q -d postgres -c "DROP DATABASE IF EXISTS $db" > /dev/null || fail "could not drop $db"
+    psql -q -d postgres -c "CREATE DATABASE $db" > /dev/null || fail "could not create $db"
+done
+rm -f sharding-test.log
+
+# The first start migrates the public schema and every tenant schema on its shard
+echo "Migrating the shards ..."
+start_app
+stop_app
+seed schedulease_shard_a public
+seed schedulease_shard_a acme
+seed schedulease_shard_b globex
+
+echo "Starting SchedulEase with the sharding-local profile on port $PORT ..."
+start_app
+
+# request <expected status> <tenant> <method> <path> [body]
+request() {
+    local expected="$1" tenant="$2" method="$3" path="$4" body="$5"
+    local status
+    status=$(curl -s -o /tmp/sharding-test-body.json -w '%{http_code}' -X "$method" \
+        -H "X-Tenant-ID: $tenant" -H 'Content-Type: application/json' ${body:+-d "$body"} "$BASE_URL$path")
+    [ "$status" = "$expected" ] || fail "$method $path as $tenant returned $status, expected $expected: $(cat /tmp/sharding-test-body.json)"
+    echo "OK  $tenant $method $path -> $status"
+}
+
+count_rows() {
+    psql -tA -d "$1" -c "SELECT COUNT(*) FROM $2.appointments"
+}
+
+START_TIME=$(( $(date +%s) + 30 * 24 * 3600 ))
+request 201 acme POST "/appointments" "{\"clientId\":1,\"providerId\":1,\"serviceId\":1,\"startTime\":$START_TIME}"
+request 201 globex POST "/appointments" "{\"clientId\":1,\"providerId\":1,\"serviceId\":1,\"startTime\":$START_TIME}"
+request 400 unknown GET "/services"
+
+ACME_ROWS=$(count_rows schedulease_shard_a acme)
+# The move migrates the target schema itself
+[ "$(psql -tA -d schedulease_shard_b -c "SELECT COUNT(*) FROM pg_namespace WHERE nspname = 'acme'")" = "0" ] \
+    || fail "acme schema found on shard-b before the move"
+
+request 200 default POST "/admin/tenants/acme/move?targetShard=shard-b"
+grep -q '"shard":"shard-b"' /tmp/sharding-test-body.json || fail "tenant was not reassigned"
+[ "$(count_rows schedulease_shard_b acme)" = "$ACME_ROWS" ] || fail "row count differs after the move"
+[ "$(psql -tA -d schedulease_shard_a -c "SELECT COUNT(*) FROM pg_namespace WHERE nspname = 'acme'")" = "0" ] \
+    || fail "source schema of acme was not retired"
+
+request 200 acme GET "/appointments?startTime=$START_TIME&endTime=$((START_TIME + 3600))"
+grep -q "\"startTime\":$START_TIME" /tmp/sharding-test-body.json || fail "moved appointment not readable"
+request 201 acme POST "/appointments" "{\"clientId\":1,\"providerId\":1,\"serviceId\":1,\"startTime\":$((START_TIME + 7200))}"
+[ "$(count_rows schedulease_shard_b acme)" = "$((ACME_ROWS + 1))" ] || fail "write after the move did not reach shard-b"
+request 409 acme POST "/appointments" "{\"clientId\":1,\"providerId\":1,\"serviceId\":1,\"startTime\":$START_TIME}"
+
+echo "Sharding test passed."
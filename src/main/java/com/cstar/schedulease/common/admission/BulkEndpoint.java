@@ -0,0 +1,17 @@
+package com.cstar.schedulease.common.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks list and report endpoints: under load they are shed first, so the capacity reserved
+ * for bookings and single-item reads stays free.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface BulkEndpoint {
+}
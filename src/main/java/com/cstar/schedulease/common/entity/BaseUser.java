@@ -5,7 +5,7 @@ import lombok.Data;
 
 /**
  * Base entity for users (Provider and Client)
- * Contains common fields: id, firstName, lastName
+ * Contains common fields: id, firstName, lastName, deleted
  */
 @MappedSuperclass
 @Data
@@ -20,5 +20,9 @@ public abstract class BaseUser {
 
     @Column(name = "last_name", nullable = false, length = 100)
     private String lastName;
+
+    // Deleted users are hidden at once and removed by the background purge
+    @Column(name = "deleted", nullable = false)
+    private Boolean deleted = false;
 }
 
@@ -0,0 +1,49 @@
+package com.cstar.schedulease.common.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum AnalyticsGrouping {
+    HOUR_OF_DAY("HOUR_OF_DAY", "Hour of day"),
+    DAY_OF_WEEK("DAY_OF_WEEK", "Day of week"),
+    PROVIDER("PROVIDER", "Provider"),
+    SERVICE("SERVICE", "Service"),
+    CATEGORY("CATEGORY", "Category"),
+    STATUS("STATUS", "Status");
+
+    private final String code;
+    private final String displayName;
+
+    AnalyticsGrouping(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @JsonCreator
+    public static AnalyticsGrouping fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (AnalyticsGrouping grouping : AnalyticsGrouping.values()) {
+            if (grouping.code.equalsIgnoreCase(code)) {
+                return grouping;
+            }
+        }
+        throw new IllegalArgumentException("Invalid analytics grouping code: " + code +
+            ". Valid values are: HOUR_OF_DAY, DAY_OF_WEEK, PROVIDER, SERVICE, CATEGORY, STATUS");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
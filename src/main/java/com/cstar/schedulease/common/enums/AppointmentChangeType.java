@@ -0,0 +1,47 @@
+package com.cstar.schedulease.common.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum AppointmentChangeType {
+    CREATED("CREATED", "Created"),
+    STATUS_CHANGED("STATUS_CHANGED", "Status Changed"),
+    RESCHEDULED("RESCHEDULED", "Rescheduled"),
+    DELETED("DELETED", "Deleted");
+
+    private final String code;
+    private final String displayName;
+
+    AppointmentChangeType(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @JsonCreator
+    public static AppointmentChangeType fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (AppointmentChangeType type : AppointmentChangeType.values()) {
+            if (type.code.equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Invalid appointment change type code: " + code + 
+            ". Valid values are: CREATED, STATUS_CHANGED, RESCHEDULED, DELETED");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,46 @@
+package com.cstar.schedulease.common.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum ImportEntity {
+    CLIENTS("CLIENTS", "Clients"),
+    SERVICES("SERVICES", "Services"),
+    APPOINTMENTS("APPOINTMENTS", "Appointments");
+
+    private final String code;
+    private final String displayName;
+
+    ImportEntity(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @JsonCreator
+    public static ImportEntity fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (ImportEntity entity : ImportEntity.values()) {
+            if (entity.code.equalsIgnoreCase(code)) {
+                return entity;
+            }
+        }
+        throw new IllegalArgumentException("Invalid import entity code: " + code + 
+            ". Valid values are: CLIENTS, SERVICES, APPOINTMENTS");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
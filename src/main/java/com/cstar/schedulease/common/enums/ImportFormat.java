@@ -0,0 +1,45 @@
+package com.cstar.schedulease.common.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum ImportFormat {
+    CSV("CSV", "CSV"),
+    NDJSON("NDJSON", "Newline-delimited JSON");
+
+    private final String code;
+    private final String displayName;
+
+    ImportFormat(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @JsonCreator
+    public static ImportFormat fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (ImportFormat format : ImportFormat.values()) {
+            if (format.code.equalsIgnoreCase(code)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Invalid import format code: " + code + 
+            ". Valid values are: CSV, NDJSON");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,45 @@
+package com.cstar.schedulease.common.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum PurgeEntityType {
+    CLIENT("CLIENT", "Client"),
+    PROVIDER("PROVIDER", "Provider");
+
+    private final String code;
+    private final String displayName;
+
+    PurgeEntityType(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @JsonCreator
+    public static PurgeEntityType fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (PurgeEntityType type : PurgeEntityType.values()) {
+            if (type.code.equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Invalid purge entity type code: " + code + 
+            ". Valid values are: CLIENT, PROVIDER");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
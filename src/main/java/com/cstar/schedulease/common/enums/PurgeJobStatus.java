@@ -0,0 +1,46 @@
+package com.cstar.schedulease.common.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum PurgeJobStatus {
+    PENDING("PENDING", "Pending"),
+    RUNNING("RUNNING", "Running"),
+    COMPLETED("COMPLETED", "Completed");
+
+    private final String code;
+    private final String displayName;
+
+    PurgeJobStatus(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @JsonCreator
+    public static PurgeJobStatus fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (PurgeJobStatus status : PurgeJobStatus.values()) {
+            if (status.code.equalsIgnoreCase(code)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Invalid purge job status code: " + code + 
+            ". Valid values are: PENDING, RUNNING, COMPLETED");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
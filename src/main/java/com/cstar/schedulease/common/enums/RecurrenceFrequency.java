@@ -0,0 +1,46 @@
+package com.cstar.schedulease.common.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum RecurrenceFrequency {
+    DAILY("DAILY", "Daily"),
+    WEEKLY("WEEKLY", "Weekly"),
+    MONTHLY("MONTHLY", "Monthly");
+
+    private final String code;
+    private final String displayName;
+
+    RecurrenceFrequency(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @JsonCreator
+    public static RecurrenceFrequency fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (RecurrenceFrequency frequency : RecurrenceFrequency.values()) {
+            if (frequency.code.equalsIgnoreCase(code)) {
+                return frequency;
+            }
+        }
+        throw new IllegalArgumentException("Invalid recurrence frequency code: " + code + 
+            ". Valid values are: DAILY, WEEKLY, MONTHLY");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,48 @@
+package com.cstar.schedulease.common.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum ReportGrouping {
+    PROVIDER("PROVIDER", "Provider"),
+    SERVICE("SERVICE", "Service"),
+    CATEGORY("CATEGORY", "Category"),
+    DAY("DAY", "Day"),
+    MONTH("MONTH", "Month");
+
+    private final String code;
+    private final String displayName;
+
+    ReportGrouping(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @JsonCreator
+    public static ReportGrouping fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (ReportGrouping grouping : ReportGrouping.values()) {
+            if (grouping.code.equalsIgnoreCase(code)) {
+                return grouping;
+            }
+        }
+        throw new IllegalArgumentException("Invalid report grouping code: " + code + 
+            ". Valid values are: PROVIDER, SERVICE, CATEGORY, DAY, MONTH");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,45 @@
+package com.cstar.schedulease.common.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum TenantStatus {
+    ACTIVE("ACTIVE", "Active"),
+    MOVING("MOVING", "Moving");
+
+    private final String code;
+    private final String displayName;
+
+    TenantStatus(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @JsonCreator
+    public static TenantStatus fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (TenantStatus status : TenantStatus.values()) {
+            if (status.code.equalsIgnoreCase(code)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Invalid tenant status code: " + code + 
+            ". Valid values are: ACTIVE, MOVING");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,46 @@
+package com.cstar.schedulease.common.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum WaitlistStatus {
+    WAITING("WAITING", "Waiting"),
+    BOOKED("BOOKED", "Booked"),
+    CANCELLED("CANCELLED", "Cancelled");
+
+    private final String code;
+    private final String displayName;
+
+    WaitlistStatus(String code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @JsonCreator
+    public static WaitlistStatus fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (WaitlistStatus status : WaitlistStatus.values()) {
+            if (status.code.equalsIgnoreCase(code)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Invalid waitlist status code: " + code + 
+            ". Valid values are: WAITING, BOOKED, CANCELLED");
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,28 @@
+package com.cstar.schedulease.common.tenant;
+
+/**
+ * Tenant of the current thread. Set per request by TenantInterceptor and carried to @Async
+ * tasks by AsyncConfig; code running outside a request belongs to the default tenant.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenantId() {
+        String tenantId = CURRENT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        CURRENT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,22 @@
+package com.cstar.schedulease.common.tenant;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One instance of in-memory state per tenant, since ids are only unique within a tenant.
+ */
+public final class TenantScoped<T> {
+
+    private final Map<String, T> values = new ConcurrentHashMap<>();
+    private final Supplier<T> factory;
+
+    public TenantScoped(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    public T get() {
+        return values.computeIfAbsent(TenantContext.getTenantId(), tenantId -> factory.get());
+    }
+}
@@ -0,0 +1,265 @@
+package com.cstar.schedulease.common.timer;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel of long keys with O(1) schedule and cancel.
+ *
+ * Four levels of 64 buckets cover 64^4 ticks (about 194 days at one tick per second); a timer sits in the
+ * level that matches its distance and is cascaded one level down whenever the level below wraps around.
+ * All storage is preallocated for a fixed capacity: timers are slots in parallel primitive arrays linked into
+ * per-bucket circular lists, and an open-addressing table maps keys to slots. A wheel of one million timers
+ * takes about 32 MB and allocates nothing afterwards.
+ *
+ * Not thread-safe; callers serialize access.
+ */
+public final class HierarchicalTimingWheel {
+
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int WHEEL_SIZE = 1 << BITS_PER_LEVEL;
+    private static final int LEVELS = 4;
+    private static final int BUCKETS = WHEEL_SIZE * LEVELS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int NONE = -1;
+
+    /** Longest distance between the current tick and a deadline. */
+    public static final long RANGE = 1L << (BITS_PER_LEVEL * LEVELS);
+
+    private final int capacity;
+
+    // Slots 0..BUCKETS-1 are the bucket sentinels, timers use the rest
+    private final long[] keys;
+    private final long[] deadlines;
+    private final int[] next;
+    private final int[] prev;
+    private int freeHead;
+
+    // Key -> slot, linear probing; 0 marks an empty entry, otherwise slot + 1
+    private final int[] index;
+    private final int indexMask;
+
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(int capacity, long startTick) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.currentTick = startTick;
+
+        int slots = BUCKETS + capacity;
+        keys = new long[slots];
+        deadlines = new long[slots];
+        next = new int[slots];
+        prev = new int[slots];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            next[bucket] = bucket;
+            prev[bucket] = bucket;
+        }
+        for (int slot = BUCKETS; slot < slots; slot++) {
+            next[slot] = slot + 1 < slots ? slot + 1 : NONE;
+        }
+        freeHead = BUCKETS;
+
+        int indexSize = Integer.highestOneBit(capacity) << 2;
+        index = new int[indexSize];
+        indexMask = indexSize - 1;
+    }
+
+    /**
+     * Schedules the key to fire at the deadline, replacing an earlier deadline of the same key.
+     * Deadlines at or before the current tick fire on the next tick.
+     *
+     * @return false when the wheel is full
+     */
+    public boolean schedule(long key, long deadlineTick) {
+        long deadline = Math.max(deadlineTick, currentTick + 1);
+        if (deadline - currentTick >= RANGE) {
+            throw new IllegalArgumentException("Deadline " + deadlineTick + " is beyond the wheel range from tick "
+                + currentTick);
+        }
+
+        int slot = find(key);
+        if (slot != NONE) {
+            unlink(slot);
+        } else {
+            if (freeHead == NONE) {
+                return false;
+            }
+            slot = freeHead;
+            freeHead = next[slot];
+            keys[slot] = key;
+            insertIndex(key, slot);
+            size++;
+        }
+        deadlines[slot] = deadline;
+        place(slot);
+        return true;
+    }
+
+    /**
+     * @return false when the key had no pending timer
+     */
+    public boolean cancel(long key) {
+        int slot = find(key);
+        if (slot == NONE) {
+            return false;
+        }
+        unlink(slot);
+        release(slot);
+        return true;
+    }
+
+    public boolean contains(long key) {
+        return find(key) != NONE;
+    }
+
+    /**
+     * Deadline of the key's pending timer, or -1.
+     */
+    public long deadlineOf(long key) {
+        int slot = find(key);
+        return slot != NONE ? deadlines[slot] : NONE;
+    }
+
+    /**
+     * Moves the wheel forward tick by tick and passes the keys of expired timers, in deadline order,
+     * to the consumer. Keys scheduled from the consumer fire on a later tick.
+     */
+    public void advanceTo(long tick, LongConsumer expired) {
+        while (currentTick < tick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                int shift = BITS_PER_LEVEL * level;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    cascade(level * WHEEL_SIZE + (int) ((currentTick >>> shift) & WHEEL_MASK));
+                }
+            }
+            expire((int) (currentTick & WHEEL_MASK), expired);
+        }
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private void place(int slot) {
+        long deadline = deadlines[slot];
+        long distance = deadline - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && distance >= 1L << (BITS_PER_LEVEL * (level + 1))) {
+            level++;
+        }
+        int bucket = level * WHEEL_SIZE + (int) ((deadline >>> (BITS_PER_LEVEL * level)) & WHEEL_MASK);
+
+        // Append, so timers of one bucket keep their scheduling order
+        int tail = prev[bucket];
+        next[tail] = slot;
+        prev[slot] = tail;
+        next[slot] = bucket;
+        prev[bucket] = slot;
+    }
+
+    private void cascade(int bucket) {
+        int slot = detach(bucket);
+        while (slot != NONE) {
+            int following = next[slot];
+            place(slot);
+            slot = following;
+        }
+    }
+
+    private void expire(int bucket, LongConsumer expired) {
+        int first = detach(bucket);
+        // Unindex the whole chain first, so the consumer cannot reach slots that are still being walked
+        for (int slot = first; slot != NONE; slot = next[slot]) {
+            removeIndex(keys[slot]);
+            size--;
+        }
+        int slot = first;
+        while (slot != NONE) {
+            int following = next[slot];
+            expired.accept(keys[slot]);
+            next[slot] = freeHead;
+            freeHead = slot;
+            slot = following;
+        }
+    }
+
+    /**
+     * Empties the bucket and returns its timers as a NONE-terminated chain.
+     */
+    private int detach(int bucket) {
+        int first = next[bucket];
+        if (first == bucket) {
+            return NONE;
+        }
+        next[prev[bucket]] = NONE;
+        next[bucket] = bucket;
+        prev[bucket] = bucket;
+        return first;
+    }
+
+    private void unlink(int slot) {
+        next[prev[slot]] = next[slot];
+        prev[next[slot]] = prev[slot];
+    }
+
+    private void release(int slot) {
+        removeIndex(keys[slot]);
+        next[slot] = freeHead;
+        freeHead = slot;
+        size--;
+    }
+
+    private int find(long key) {
+        for (int position = hash(key); ; position = (position + 1) & indexMask) {
+            int entry = index[position];
+            if (entry == 0) {
+                return NONE;
+            }
+            if (keys[entry - 1] == key) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private void insertIndex(long key, int slot) {
+        int position = hash(key);
+        while (index[position] != 0) {
+            position = (position + 1) & indexMask;
+        }
+        index[position] = slot + 1;
+    }
+
+    private void removeIndex(long key) {
+        int position = hash(key);
+        while (keys[index[position] - 1] != key) {
+            position = (position + 1) & indexMask;
+        }
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int gap = position;
+        for (position = (position + 1) & indexMask; index[position] != 0; position = (position + 1) & indexMask) {
+            int home = hash(keys[index[position] - 1]);
+            if (((position - home) & indexMask) >= ((position - gap) & indexMask)) {
+                index[gap] = index[position];
+                gap = position;
+            }
+        }
+        index[gap] = 0;
+    }
+
+    private int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & indexMask;
+    }
+}
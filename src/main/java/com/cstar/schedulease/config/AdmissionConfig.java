@@ -0,0 +1,33 @@
+package com.cstar.schedulease.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "schedulease.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionInterceptor admissionInterceptor(AdmissionProperties admissionProperties, MeterRegistry meterRegistry) {
+        return new AdmissionInterceptor(admissionProperties, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer admissionWebMvcConfigurer(AdmissionInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                // First in the chain, so a refused request costs no tenant lookup or pool wait
+                registry.addInterceptor(interceptor)
+                    .addPathPatterns("/api/**")
+                    .excludePathPatterns("/api/admin/**")
+                    .order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+}
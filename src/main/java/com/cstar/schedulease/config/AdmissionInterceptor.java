@@ -0,0 +1,168 @@
+package com.cstar.schedulease.config;
+
+import com.cstar.schedulease.common.admission.BulkEndpoint;
+import com.cstar.schedulease.common.admission.TokenBucket;
+import com.cstar.schedulease.exception.RateLimitExceededException;
+import com.cstar.schedulease.exception.ServerOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits a request only while its client has tokens left and a processing slot of its priority is free,
+ * and otherwise fails it at once (429 or 503 with Retry-After) instead of letting it queue on the
+ * connection pool. Bulk endpoints cannot take the slots reserved for everything else.
+ * A client is its authenticated principal or its remote address; the client header counts only when a
+ * trusted proxy sent the request, so callers cannot pick a fresh bucket by renaming themselves.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".ADMITTED";
+
+    private final AdmissionProperties admissionProperties;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // Set while one request thins out the buckets, so the others do not sweep alongside
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int bulkLimit;
+
+    private final Counter rateLimited;
+    private final Counter overloadedPriority;
+    private final Counter overloadedBulk;
+
+    public AdmissionInterceptor(AdmissionProperties admissionProperties, MeterRegistry meterRegistry) {
+        if (admissionProperties.getReservedForPriority() < 0
+                || admissionProperties.getReservedForPriority() >= admissionProperties.getMaxConcurrent()) {
+            throw new IllegalArgumentException(
+                "schedulease.admission.reserved-for-priority must be at least 0 and below max-concurrent");
+        }
+        if (admissionProperties.getMaxTrackedClients() <= 0) {
+            throw new IllegalArgumentException("schedulease.admission.max-tracked-clients must be greater than 0");
+        }
+        this.admissionProperties = admissionProperties;
+        this.bulkLimit = admissionProperties.getMaxConcurrent() - admissionProperties.getReservedForPriority();
+
+        Gauge.builder("schedulease.admission.in-flight", inFlight, AtomicInteger::get)
+            .description("Admitted requests being processed")
+            .register(meterRegistry);
+        this.rateLimited = rejections(meterRegistry, "rate-limited", "any");
+        this.overloadedPriority = rejections(meterRegistry, "overloaded", "priority");
+        this.overloadedBulk = rejections(meterRegistry, "overloaded", "bulk");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        String clientId = clientId(request);
+        long now = System.nanoTime();
+        long waitNanos = bucket(clientId, now).tryAcquire(now);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            throw new RateLimitExceededException(clientId, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        }
+
+        boolean bulk = handlerMethod.hasMethodAnnotation(BulkEndpoint.class)
+            || handlerMethod.getBeanType().isAnnotationPresent(BulkEndpoint.class);
+        int limit = bulk ? bulkLimit : admissionProperties.getMaxConcurrent();
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                (bulk ? overloadedBulk : overloadedPriority).increment();
+                throw new ServerOverloadedException(bulk
+                    ? "Server is busy, list and report requests are temporarily refused"
+                    : "Server is busy", Math.max(1, admissionProperties.getOverloadRetryAfter().toSeconds()));
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        request.setAttribute(ADMITTED, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) != null) {
+            request.removeAttribute(ADMITTED);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    int trackedClients() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucket(String clientId, long now) {
+        TokenBucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            return bucket;
+        }
+        bucket = buckets.computeIfAbsent(clientId,
+            id -> new TokenBucket(admissionProperties.getClientRate(), admissionProperties.getClientBurst()));
+        if (buckets.size() > admissionProperties.getMaxTrackedClients() && evicting.compareAndSet(false, true)) {
+            try {
+                evict(clientId, now);
+            } finally {
+                evicting.set(false);
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Drops the buckets that have refilled, which forgetting changes nothing for, and if that is not enough
+     * any others but the new client's, down to an eighth below the limit so the sweep is not repeated on
+     * every new client. The limit is approximate: clients arriving during a sweep may overshoot it briefly.
+     */
+    private void evict(String newClientId, long now) {
+        int maxTrackedClients = admissionProperties.getMaxTrackedClients();
+        buckets.entrySet().removeIf(entry -> !entry.getKey().equals(newClientId) && entry.getValue().isFull(now));
+        int target = maxTrackedClients - maxTrackedClients / 8;
+        Iterator<String> clientIds = buckets.keySet().iterator();
+        while (buckets.size() > target && clientIds.hasNext()) {
+            if (!clientIds.next().equals(newClientId)) {
+                clientIds.remove();
+            }
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return principal.getName();
+        }
+        String remoteAddress = request.getRemoteAddr();
+        if (admissionProperties.getTrustedProxies().contains(remoteAddress)) {
+            String clientId = request.getHeader(admissionProperties.getClientHeader());
+            if (clientId != null && !clientId.isBlank()) {
+                return clientId;
+            }
+        }
+        return remoteAddress;
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason, String priority) {
+        return Counter.builder("schedulease.admission.rejected")
+            .description("Requests refused by admission control")
+            .tag("reason", reason)
+            .tag("priority", priority)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.admission")
+public class AdmissionProperties {
+
+    /** Admit /api requests only within the limits below and reject the rest immediately. */
+    private boolean enabled = true;
+
+    /** Requests processed at the same time; keep it near the connection pool size. */
+    private int maxConcurrent = 8;
+
+    /** Part of maxConcurrent that @BulkEndpoint (list and report) requests cannot take. */
+    private int reservedForPriority = 3;
+
+    /** Sustained requests per second of one client. */
+    private double clientRate = 20;
+
+    /** Requests one client may send at once before clientRate applies. */
+    private int clientBurst = 40;
+
+    /** Header identifying the calling client, honoured only on requests from trustedProxies. */
+    private String clientHeader = "X-Client-ID";
+
+    /** Remote addresses of the proxies allowed to name the client in clientHeader; none by default. */
+    private Set<String> trustedProxies = new HashSet<>();
+
+    /** Clients tracked at once, approximately; beyond it clients whose buckets have refilled are forgotten first. */
+    private int maxTrackedClients = 10_000;
+
+    /** Retry-After sent with 503 when all capacity is in use. */
+    private Duration overloadRetryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,20 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.analytics")
+public class AnalyticsProperties {
+
+    /** Worker threads of the scan pool. */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Rows one scan task handles before it splits. */
+    private int splitThreshold = 32_768;
+
+    /** Age after which the next query reloads the snapshot, dropping tombstones and rows deleted by cascade. */
+    private Duration reloadInterval = Duration.ofHours(6);
+}
@@ -0,0 +1,33 @@
+package com.cstar.schedulease.config;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async listeners so after-commit work runs off the request thread.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * Runs each task as the tenant that submitted it; applied to the auto-configured executor.
+     */
+    @Bean
+    public TaskDecorator tenantTaskDecorator() {
+        return task -> {
+            String tenantId = TenantContext.getTenantId();
+            return () -> {
+                TenantContext.setTenantId(tenantId);
+                try {
+                    task.run();
+                } finally {
+                    TenantContext.clear();
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.availability")
+public class AvailabilityProperties {
+
+    /** How far ahead slot searches look when no end time is given. */
+    private int horizonDays = 7;
+
+    /** Number of open slots returned with a 409 booking conflict. */
+    private int conflictSuggestions = 3;
+
+    /** Upper bound for the limit of a single availability request. */
+    private int maxSlots = 100;
+
+    /** Threads searching providers in parallel for any-provider availability. */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** How long a group session seen full turns bookings away without asking the database. */
+    private Duration seatCountTtl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,23 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.cache")
+public class CacheProperties {
+
+    /** Listen for cache invalidations of other nodes. Writes notify regardless. */
+    private boolean listenerEnabled = true;
+
+    /** NOTIFY channel shared by all nodes. */
+    private String channel = "schedulease_cache";
+
+    /** Longest wait for a notification before the listener connection is checked. */
+    private Duration listenTimeout = Duration.ofSeconds(10);
+
+    /** Wait before reconnecting a lost listener connection. */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,23 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.hold")
+public class HoldProperties {
+
+    /** How long a slot hold lasts when the request names no TTL. */
+    private Duration defaultTtl = Duration.ofMinutes(10);
+
+    /** Longest TTL a request may ask for. */
+    private Duration maxTtl = Duration.ofMinutes(30);
+
+    /** Holds kept in memory at once, over all tenants. */
+    private int capacity = 100_000;
+
+    /** Lock stripes of the hold table; holds of one provider and service share a stripe. */
+    private int stripes = 64;
+}
@@ -0,0 +1,12 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.import")
+public class ImportProperties {
+
+    /** Rejected rows listed in an import result; further rejects are only counted. */
+    private int maxReportedRejects = 1000;
+}
@@ -0,0 +1,106 @@
+package com.cstar.schedulease.config;
+
+import com.cstar.schedulease.common.enums.AnalyticsGrouping;
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.common.enums.ImportEntity;
+import com.cstar.schedulease.common.enums.ImportFormat;
+import com.cstar.schedulease.common.enums.PurgeEntityType;
+import com.cstar.schedulease.common.enums.PurgeJobStatus;
+import com.cstar.schedulease.common.enums.RecurrenceFrequency;
+import com.cstar.schedulease.common.enums.ReportGrouping;
+import com.cstar.schedulease.common.enums.TenantStatus;
+import com.cstar.schedulease.common.enums.WaitlistStatus;
+import com.cstar.schedulease.exception.ErrorResponse;
+import com.cstar.schedulease.exception.SlotConflictResponse;
+import com.cstar.schedulease.service.analytics.dto.AnalyticsReportDTO;
+import com.cstar.schedulease.service.analytics.dto.AnalyticsRowDTO;
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.dto.AppointmentSeriesDTO;
+import com.cstar.schedulease.service.appointment.dto.CompactAppointmentListDTO;
+import com.cstar.schedulease.service.appointment.entity.Appointment;
+import com.cstar.schedulease.service.appointment.entity.AppointmentSeries;
+import com.cstar.schedulease.service.availability.dto.TimeSlotDTO;
+import com.cstar.schedulease.service.client.dto.ClientDTO;
+import com.cstar.schedulease.service.client.entity.Client;
+import com.cstar.schedulease.service.dataimport.dto.ImportRejectDTO;
+import com.cstar.schedulease.service.dataimport.dto.ImportResultDTO;
+import com.cstar.schedulease.service.hold.dto.SlotHoldDTO;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import com.cstar.schedulease.service.provider.dto.ProviderDTO;
+import com.cstar.schedulease.service.provider.dto.ProviderScheduleDTO;
+import com.cstar.schedulease.service.provider.dto.ScheduleOverrideDTO;
+import com.cstar.schedulease.service.provider.dto.WorkingIntervalDTO;
+import com.cstar.schedulease.service.provider.entity.Provider;
+import com.cstar.schedulease.service.provider.entity.ProviderScheduleOverride;
+import com.cstar.schedulease.service.provider.entity.ProviderService;
+import com.cstar.schedulease.service.provider.entity.ProviderWorkingHours;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
+import com.cstar.schedulease.service.report.dto.RevenueReportDTO;
+import com.cstar.schedulease.service.report.dto.RevenueReportRowDTO;
+import com.cstar.schedulease.service.services.dto.ServiceDTO;
+import com.cstar.schedulease.service.services.entity.Service;
+import com.cstar.schedulease.service.tenant.dto.TenantDTO;
+import com.cstar.schedulease.service.waitlist.dto.WaitlistEntryDTO;
+import com.cstar.schedulease.service.waitlist.entity.WaitlistEntry;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability metadata for the GraalVM native image (mvn -Pnative native:compile).
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.SchedulEaseRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static final Class<?>[] DTO_TYPES = {
+        AppointmentDTO.class, ClientDTO.class, ProviderDTO.class, ServiceDTO.class, ErrorResponse.class,
+        CompactAppointmentListDTO.class, TimeSlotDTO.class, SlotConflictResponse.class, AppointmentSeriesDTO.class,
+        WaitlistEntryDTO.class, ProviderScheduleDTO.class, ScheduleOverrideDTO.class, WorkingIntervalDTO.class,
+        TenantDTO.class, AppointmentChangeEvent.class, RevenueReportDTO.class, RevenueReportRowDTO.class,
+        AnalyticsReportDTO.class, AnalyticsRowDTO.class, ImportResultDTO.class, ImportRejectDTO.class,
+        PurgeJobDTO.class, SlotHoldDTO.class
+    };
+
+    static final Class<?>[] ENUM_TYPES = {
+        AppointmentStatus.class, Category.class, RecurrenceFrequency.class, WaitlistStatus.class, TenantStatus.class,
+        AppointmentChangeType.class, ReportGrouping.class, AnalyticsGrouping.class, ImportEntity.class,
+        ImportFormat.class, PurgeEntityType.class, PurgeJobStatus.class
+    };
+
+    static final Class<?>[] ENTITY_TYPES = {
+        Appointment.class, AppointmentSeries.class, Client.class, Provider.class, ProviderService.class, Service.class,
+        WaitlistEntry.class, ProviderWorkingHours.class, ProviderScheduleOverride.class
+    };
+
+    static class SchedulEaseRuntimeHints implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Jackson (de)serialization of the Lombok-generated DTO accessors and nested types
+            bindingRegistrar.registerReflectionHints(hints.reflection(), DTO_TYPES);
+
+            // @JsonValue getCode / @JsonCreator fromCode
+            for (Class<?> type : ENUM_TYPES) {
+                hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+            }
+
+            // Hibernate instantiates entities and accesses their fields reflectively
+            for (Class<?> type : ENTITY_TYPES) {
+                hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+            }
+        }
+    }
+}
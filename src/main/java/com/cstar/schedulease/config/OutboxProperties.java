@@ -0,0 +1,23 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.outbox")
+public class OutboxProperties {
+
+    /** Run the relay that publishes outbox events to the registered sinks. */
+    private boolean relayEnabled = true;
+
+    /** Events read, published and deleted per relay transaction. */
+    private int batchSize = 500;
+
+    /** How long the relay waits when the outbox is empty; committed events wake it up earlier. */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /** Upper bound of the wait after a failed batch, doubled per consecutive failure. */
+    private Duration maxBackoff = Duration.ofSeconds(30);
+}
@@ -0,0 +1,26 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.purge")
+public class PurgeProperties {
+
+    /** Run the background purger in this instance. */
+    private boolean enabled = true;
+
+    /** Appointments deleted per purge transaction. */
+    private int batchSize = 500;
+
+    /** Pause between two batches, which bounds the purge rate and leaves room for bookings. */
+    private Duration batchPause = Duration.ofMillis(100);
+
+    /** Purger wait when there is no open job; new deletes wake it up immediately. */
+    private Duration pollInterval = Duration.ofSeconds(30);
+
+    /** Longest wait after repeated failures. */
+    private Duration maxBackoff = Duration.ofMinutes(1);
+}
@@ -0,0 +1,37 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.reminder")
+public class ReminderProperties {
+
+    /** Send reminders for confirmed appointments. */
+    private boolean enabled = true;
+
+    /** How long before the start of an appointment each reminder goes out (at most 8). */
+    private List<Duration> leadTimes = new ArrayList<>(List.of(Duration.ofHours(24), Duration.ofHours(1)));
+
+    /** Pending reminders held in memory; the loaded horizon shrinks when they do not fit. */
+    private int capacity = 1_000_000;
+
+    /** How far ahead reminders are loaded from the database. */
+    private Duration horizon = Duration.ofHours(12);
+
+    /** How often the horizon is extended. */
+    private Duration refreshInterval = Duration.ofMinutes(10);
+
+    /** Reminders handed to the sender per call. */
+    private int batchSize = 200;
+
+    /** Send attempts per reminder before it is dropped. */
+    private int maxAttempts = 5;
+
+    /** Wait before the first retry of a failed batch, doubled per further attempt. */
+    private Duration retryBackoff = Duration.ofSeconds(30);
+}
@@ -0,0 +1,17 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.ZoneId;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.schedule")
+public class ScheduleProperties {
+
+    /** Local time zone of the business, used for calendar arithmetic on epoch-second start times. */
+    private ZoneId timeZone = ZoneId.of("America/Toronto");
+
+    /** Maximum number of occurrences in one recurring appointment series. */
+    private int maxSeriesOccurrences = 52;
+}
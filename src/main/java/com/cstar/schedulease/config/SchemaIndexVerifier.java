@@ -0,0 +1,147 @@
+package com.cstar.schedulease.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compares the indexes of the current schema with the set the Flyway migrations create, after they ran.
+ * Indexes backing primary key and unique constraints are left out on both sides.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+    // Keep in step with src/main/resources/db/migration
+    static final Map<String, Set<String>> EXPECTED_INDEXES = Map.of(
+        "provider", Set.of("idx_provider_active"),
+        "service", Set.of("idx_service_active", "idx_service_category"),
+        "appointments", Set.of("uk_appointments_slot", "uk_appointments_session_client",
+            "idx_appointments_client_start", "idx_appointments_provider_start", "idx_appointments_service",
+            "idx_appointments_start_time", "idx_appointments_status_start", "idx_appointments_series"),
+        "provider_working_hours", Set.of("idx_working_hours_provider"),
+        "provider_schedule_override", Set.of("idx_schedule_override_provider_date"),
+        "waitlist_entry", Set.of("idx_waitlist_provider_service"),
+        "provider_service", Set.of("idx_provider_service_service"),
+        "purge_job", Set.of("idx_purge_job_open"),
+        "reminder_sent", Set.of("idx_reminder_sent_start")
+    );
+
+    private static final String SELECT_INDEXES_SQL =
+        "SELECT t.relname AS table_name, i.relname AS index_name, x.indisvalid AS valid " +
+        "FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid JOIN pg_class t ON t.oid = x.indrelid " +
+        "JOIN pg_namespace n ON n.oid = t.relnamespace " +
+        "WHERE n.nspname = current_schema() AND t.relname = ANY(?) " +
+        "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchemaProperties schemaProperties;
+
+    @Value
+    static class Index {
+        String table;
+        String name;
+        boolean valid;
+    }
+
+    /**
+     * Expected indexes that are missing or INVALID (a failed concurrent build), and ones nobody expects.
+     */
+    @Value
+    static class Report {
+        List<String> missing;
+        List<String> invalid;
+        List<String> unexpected;
+
+        boolean matches() {
+            return missing.isEmpty() && invalid.isEmpty() && unexpected.isEmpty();
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SchemaProperties.IndexCheck check = schemaProperties.getIndexCheck();
+        if (check == SchemaProperties.IndexCheck.OFF) {
+            return;
+        }
+        Report report;
+        try {
+            report = compare(EXPECTED_INDEXES, findIndexes());
+        } catch (DataAccessException e) {
+            if (check == SchemaProperties.IndexCheck.FAIL) {
+                throw new IllegalStateException("Could not read the schema's indexes", e);
+            }
+            log.warn("Skipped the index check: {}", e.getMessage());
+            return;
+        }
+        if (report.matches()) {
+            log.info("Schema has the expected {} indexes", EXPECTED_INDEXES.values().stream().mapToInt(Set::size).sum());
+            return;
+        }
+        if (!report.getUnexpected().isEmpty()) {
+            log.warn("Indexes not created by the migrations: {}", report.getUnexpected());
+        }
+        if (report.getMissing().isEmpty() && report.getInvalid().isEmpty()) {
+            return;
+        }
+        String message = "Schema index mismatch: missing " + report.getMissing() + ", invalid " + report.getInvalid();
+        if (check == SchemaProperties.IndexCheck.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private List<Index> findIndexes() {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_INDEXES_SQL);
+            statement.setArray(1, connection.createArrayOf("text", EXPECTED_INDEXES.keySet().toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> new Index(resultSet.getString("table_name"), resultSet.getString("index_name"),
+            resultSet.getBoolean("valid")));
+    }
+
+    static Report compare(Map<String, Set<String>> expected, Collection<Index> actual) {
+        Map<String, Index> found = new TreeMap<>();
+        actual.forEach(index -> found.put(index.getTable() + "." + index.getName(), index));
+
+        Set<String> wanted = new TreeSet<>();
+        expected.forEach((table, names) -> names.forEach(name -> wanted.add(table + "." + name)));
+
+        List<String> missing = new ArrayList<>();
+        List<String> invalid = new ArrayList<>();
+        for (String name : wanted) {
+            Index index = found.get(name);
+            if (index == null) {
+                missing.add(name);
+            } else if (!index.isValid()) {
+                invalid.add(name);
+            }
+        }
+        List<String> unexpected = new ArrayList<>();
+        for (Index index : found.values()) {
+            String name = index.getTable() + "." + index.getName();
+            if (!wanted.contains(name)) {
+                unexpected.add(index.isValid() ? name : name + " (INVALID)");
+            }
+        }
+        return new Report(missing, invalid, unexpected);
+    }
+}
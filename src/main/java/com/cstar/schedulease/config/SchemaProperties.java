@@ -0,0 +1,21 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.schema")
+public class SchemaProperties {
+
+    /** What startup does when the indexes differ from the ones the migrations create. */
+    private IndexCheck indexCheck = IndexCheck.WARN;
+
+    public enum IndexCheck {
+        /** Skip the check. */
+        OFF,
+        /** Log missing, invalid and unexpected indexes. */
+        WARN,
+        /** Also fail startup on missing or invalid indexes. */
+        FAIL
+    }
+}
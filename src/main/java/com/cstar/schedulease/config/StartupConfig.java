@@ -0,0 +1,28 @@
+package com.cstar.schedulease.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+
+/**
+ * Startup tuning for the fast-startup profile.
+ * Keeps the persistence layer eager when lazy initialization is enabled so that
+ * Hibernate bootstrap is not deferred to the first request.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter persistenceLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+            && (DataSource.class.isAssignableFrom(beanType)
+                || EntityManagerFactory.class.isAssignableFrom(beanType)
+                || Repository.class.isAssignableFrom(beanType)
+                || RepositoryFactoryBeanSupport.class.isAssignableFrom(beanType));
+    }
+}
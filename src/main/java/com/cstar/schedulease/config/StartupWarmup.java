@@ -0,0 +1,186 @@
+package com.cstar.schedulease.config;
+
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.service.AppointmentService;
+import com.cstar.schedulease.service.availability.dto.TimeSlotDTO;
+import com.cstar.schedulease.service.availability.service.AvailabilityService;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
+import com.cstar.schedulease.service.services.entity.Service;
+import com.cstar.schedulease.service.services.repository.ServiceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional warm-up after startup. Readiness only turns to ACCEPTING_TRAFFIC once the application runners
+ * are done, so the rounds here run while load balancers still hold traffic back: the JIT compiles the
+ * booking, listing, mapping and serialization paths, Hibernate fills its query plan cache and the pool
+ * opens its connections.
+ *
+ * A round books a slot a year ahead in a transaction that is rolled back, lists the next day's
+ * appointments in both views and serializes them. Rolled-back bookings still use up appointment and
+ * outbox ids; their cache NOTIFY is rolled back with them.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final long DAY = 86_400L;
+    private static final long BOOKING_LEAD = 365 * DAY;
+
+    private final WarmupProperties warmupProperties;
+    private final AppointmentService appointmentService;
+    private final AvailabilityService availabilityService;
+    private final ServiceRepository serviceRepository;
+    private final ProviderCapabilityIndex capabilityIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer warmupTimer;
+
+    public StartupWarmup(WarmupProperties warmupProperties,
+                         AppointmentService appointmentService,
+                         AvailabilityService availabilityService,
+                         ServiceRepository serviceRepository,
+                         ProviderCapabilityIndex capabilityIndex,
+                         JdbcTemplate jdbcTemplate,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.warmupProperties = warmupProperties;
+        this.appointmentService = appointmentService;
+        this.availabilityService = availabilityService;
+        this.serviceRepository = serviceRepository;
+        this.capabilityIndex = capabilityIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.warmupTimer = Timer.builder("schedulease.warmup.duration")
+            .description("Time the startup warm-up held readiness back")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmupProperties.isEnabled() || warmupProperties.getIterations() <= 0) {
+            return;
+        }
+        int threads = Math.max(warmupProperties.getThreads(), 1);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + warmupProperties.getMaxDuration().toNanos();
+        long now = System.currentTimeMillis() / 1000;
+
+        // One bookable slot per thread, so the rolled-back inserts never wait on each other
+        List<AppointmentDTO> bookings = bookingRequests(now + BOOKING_LEAD, threads);
+        if (bookings.isEmpty()) {
+            log.info("Warm-up books nothing: no client, or no open slot of a single-client service");
+        }
+
+        AtomicInteger rounds = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "startup-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                AppointmentDTO booking = bookings.isEmpty() ? null : bookings.get(i % bookings.size());
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline
+                            && rounds.getAndIncrement() < warmupProperties.getIterations()) {
+                        try {
+                            round(booking, now);
+                        } catch (RuntimeException | JsonProcessingException e) {
+                            if (failures.getAndIncrement() == 0) {
+                                log.warn("Warm-up round failed: {}", e.getMessage());
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(Math.max(deadline - System.nanoTime(), 0) + TimeUnit.SECONDS.toNanos(5),
+                    TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Warm-up stopped early: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsed = System.nanoTime() - startedAt;
+        warmupTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Warm-up ran {} rounds on {} threads in {} ms, {} failed",
+            Math.min(rounds.get(), warmupProperties.getIterations()), threads,
+            TimeUnit.NANOSECONDS.toMillis(elapsed), failures.get());
+    }
+
+    private void round(AppointmentDTO booking, long now) throws JsonProcessingException {
+        if (booking != null) {
+            transactionTemplate.executeWithoutResult(status -> {
+                objectMapper.valueToTree(appointmentService.createAppointment(booking));
+                status.setRollbackOnly();
+            });
+        }
+        objectMapper.writeValueAsBytes(appointmentService.getAppointmentsByTimeRange(now, now + DAY));
+        objectMapper.writeValueAsBytes(appointmentService.getCompactAppointments(now, now + DAY));
+    }
+
+    /**
+     * Requests for open slots from the given time on, of the first active single-client service that
+     * an active provider offers, made by the first client; empty when there is none.
+     */
+    private List<AppointmentDTO> bookingRequests(long from, int count) {
+        List<Long> clientIds = jdbcTemplate.queryForList(
+            "SELECT id FROM client WHERE NOT deleted ORDER BY id LIMIT 1", Long.class);
+        if (clientIds.isEmpty()) {
+            return List.of();
+        }
+        for (Service service : serviceRepository.findByIsActiveTrue()) {
+            if (service.getCapacity() > 1 || service.getDuration() == null || service.getDuration() <= 0) {
+                continue;
+            }
+            for (Long providerId : capabilityIndex.activeProvidersFor(service.getId())) {
+                List<TimeSlotDTO> slots = availabilityService.findAvailableSlots(providerId, service.getId(), from,
+                    null, count);
+                if (slots.isEmpty()) {
+                    continue;
+                }
+                List<AppointmentDTO> requests = new ArrayList<>(slots.size());
+                for (TimeSlotDTO slot : slots) {
+                    AppointmentDTO request = new AppointmentDTO();
+                    request.setClientId(clientIds.get(0));
+                    request.setProviderId(providerId);
+                    request.setServiceId(service.getId());
+                    request.setStartTime(slot.getStartTime());
+                    requests.add(request);
+                }
+                return requests;
+            }
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,117 @@
+package com.cstar.schedulease.config;
+
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import com.cstar.schedulease.service.tenant.dto.TenantDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Multi-tenant routing (schedulease.tenancy.enabled=true): one Hikari pool per shard and one
+ * schema per tenant. Replaces the auto-configured DataSource, so every repository and
+ * JdbcTemplate query runs against the current tenant's shard.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "schedulease.tenancy", name = "enabled", havingValue = "true")
+public class TenancyConfig {
+
+    @Bean
+    public TenantRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                              TenancyProperties tenancyProperties, Environment environment) {
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+
+        HikariDataSource defaultShard = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(defaultShard));
+        defaultShard.setPoolName((defaultShard.getPoolName() != null ? defaultShard.getPoolName() : "SchedulEaseHikariPool")
+            + "-" + TenantDirectory.DEFAULT_SHARD);
+        shards.put(TenantDirectory.DEFAULT_SHARD, withDefaultSchema(defaultShard));
+
+        tenancyProperties.getShards().forEach((name, shard) -> {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(shard.getUrl());
+            pool.setUsername(shard.getUsername());
+            pool.setPassword(shard.getPassword());
+            pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+            pool.setMinimumIdle(shard.getMinimumIdle());
+            pool.setConnectionTimeout(defaultShard.getConnectionTimeout());
+            pool.setPoolName("SchedulEaseHikariPool-" + name);
+            shards.put(name, withDefaultSchema(pool));
+        });
+
+        TenantDirectory directory = new TenantDirectory(shards.keySet(), tenancyProperties.getTenants(),
+            new JdbcTemplate(defaultShard));
+        return new TenantRoutingDataSource(shards, directory);
+    }
+
+    /**
+     * Gives the pool a schema unless spring.datasource.hikari.schema set one, so that Hikari resets
+     * the schema of a connection a tenant returns before the default tenant borrows it.
+     */
+    static HikariDataSource withDefaultSchema(HikariDataSource pool) {
+        if (pool.getSchema() == null) {
+            pool.setSchema(TenantRoutingDataSource.DEFAULT_SCHEMA);
+        }
+        return pool;
+    }
+
+    @Bean
+    public TenantDirectory tenantDirectory(TenantRoutingDataSource dataSource) {
+        return dataSource.getDirectory();
+    }
+
+    /**
+     * Migrates the default tenant's public schema, then each tenant schema on its shard.
+     */
+    @Bean
+    public FlywayMigrationStrategy tenantFlywayMigrationStrategy(TenantRoutingDataSource dataSource) {
+        return flyway -> {
+            flyway.migrate();
+            for (TenantDTO tenant : dataSource.getDirectory().getTenants()) {
+                if (tenant.getSchema() != null) {
+                    migrateSchema(flyway, dataSource.getShard(tenant.getShard()), tenant.getSchema());
+                }
+            }
+        };
+    }
+
+    /**
+     * Applies the migrations of the configured Flyway to one tenant schema, creating the schema if needed.
+     */
+    public static void migrateSchema(Flyway flyway, DataSource shard, String schema) {
+        Flyway.configure()
+            .configuration(flyway.getConfiguration())
+            .dataSource(shard)
+            .schemas(schema)
+            .load()
+            .migrate();
+    }
+
+    @Bean
+    public WebMvcConfigurer tenantWebMvcConfigurer(TenantDirectory directory, TenancyProperties tenancyProperties) {
+        TenantInterceptor interceptor = new TenantInterceptor(directory, tenancyProperties);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                // Tenant administration is cross-tenant and must not wait on a tenant's writes
+                registry.addInterceptor(interceptor)
+                    .addPathPatterns("/api/**")
+                    .excludePathPatterns("/api/admin/**");
+            }
+        };
+    }
+}
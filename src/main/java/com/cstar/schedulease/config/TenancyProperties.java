@@ -0,0 +1,46 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.tenancy")
+public class TenancyProperties {
+
+    /** Route connections by tenant. When disabled every request uses spring.datasource. */
+    private boolean enabled = false;
+
+    /** Request header carrying the tenant id; requests without it belong to the default tenant. */
+    private String header = "X-Tenant-ID";
+
+    /** Longest time a tenant move waits for in-flight writes of the tenant to finish; also its Retry-After. */
+    private Duration moveDrainTimeout = Duration.ofSeconds(10);
+
+    /** Longest time a tenant stays frozen for a move; a freeze left by a node that died mid-move expires after it. */
+    private Duration moveTimeout = Duration.ofMinutes(10);
+
+    /** How often each node re-reads tenant_directory, in addition to the notification sent on every change. */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    /** Additional shards by name. The shard named "default" is spring.datasource. */
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    /**
+     * Initial tenant to shard assignment. Each tenant lives in the schema named after it;
+     * moves made at runtime are stored on the default shard and take precedence.
+     */
+    private Map<String, String> tenants = new LinkedHashMap<>();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 5;
+        private int minimumIdle = 1;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cstar.schedulease.config;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Binds the request to its tenant and turns writes away while the tenant is being moved.
+ */
+@RequiredArgsConstructor
+public class TenantInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final TenantDirectory directory;
+    private final TenancyProperties tenancyProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(tenancyProperties.getHeader());
+        String tenantId = header != null && !header.isBlank() ? header.trim() : TenantContext.DEFAULT_TENANT;
+        if (!directory.exists(tenantId)) {
+            throw new IllegalArgumentException("Unknown tenant: " + tenantId);
+        }
+
+        if (!READ_METHODS.contains(request.getMethod())) {
+            directory.checkWritable(tenantId, tenancyProperties.getMoveDrainTimeout().toSeconds());
+        }
+        TenantContext.setTenantId(tenantId);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        TenantContext.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package com.cstar.schedulease.config;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * DataSource under JPA and JdbcTemplate that hands out connections from the current tenant's
+ * shard pool, with the tenant's schema selected.
+ *
+ * Every shard pool has a schema configured: Hikari only puts a connection back into a schema on
+ * return when its pool has one, and that schema is where the default tenant's tables live.
+ */
+public class TenantRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    /** Schema of the default tenant, unless the shard pool configures another one. */
+    public static final String DEFAULT_SCHEMA = "public";
+
+    private final Map<String, HikariDataSource> shards;
+    private final TenantDirectory directory;
+
+    public TenantRoutingDataSource(Map<String, HikariDataSource> shards, TenantDirectory directory) {
+        shards.forEach((name, pool) -> {
+            if (pool.getSchema() == null) {
+                throw new IllegalArgumentException("Shard pool " + name + " has no schema to reset connections to");
+            }
+        });
+        this.shards = Map.copyOf(shards);
+        this.directory = directory;
+    }
+
+    public TenantDirectory getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String tenantId = TenantContext.getTenantId();
+        return getShardConnection(directory.shardOf(tenantId), directory.schemaOf(tenantId));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Shard pools use their configured credentials");
+    }
+
+    public Map<String, HikariDataSource> getShards() {
+        return shards;
+    }
+
+    public HikariDataSource getShard(String shard) {
+        HikariDataSource pool = shards.get(shard);
+        if (pool == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return pool;
+    }
+
+    /**
+     * Connection to an explicit shard and schema, bypassing the tenant directory.
+     * A null schema is the shard pool's own, the default tenant's.
+     */
+    public Connection getShardConnection(String shard, String schema) throws SQLException {
+        HikariDataSource pool = getShard(shard);
+        Connection connection = pool.getConnection();
+        // Connections come out of the pool in its schema; any other is reset when the connection is returned
+        if (schema != null && !schema.equals(pool.getSchema())) {
+            try {
+                connection.setSchema(schema);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+        return connection;
+    }
+
+    @Override
+    public void close() {
+        shards.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,23 @@
+package com.cstar.schedulease.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "schedulease.warmup")
+public class WarmupProperties {
+
+    /** Drive the hot paths at startup, before the application reports ready. */
+    private boolean enabled = false;
+
+    /** Warm-up rounds over all threads; each round books, lists and serializes once. */
+    private int iterations = 2000;
+
+    /** Upper bound for the warm-up, whatever the rounds left. */
+    private Duration maxDuration = Duration.ofSeconds(30);
+
+    /** Threads running rounds side by side, which also opens as many pooled connections. */
+    private int threads = 4;
+}
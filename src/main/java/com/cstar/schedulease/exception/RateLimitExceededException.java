@@ -0,0 +1,23 @@
+package com.cstar.schedulease.exception;
+
+/**
+ * The client has used up its request rate.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    private final String clientId;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String clientId, long retryAfterSeconds) {
+        super("Too many requests from client " + clientId, null, false, false);
+        this.clientId = clientId;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
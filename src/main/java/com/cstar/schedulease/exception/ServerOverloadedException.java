@@ -0,0 +1,17 @@
+package com.cstar.schedulease.exception;
+
+/**
+ * All capacity available to the request's priority is in use.
+ */
+public class ServerOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServerOverloadedException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
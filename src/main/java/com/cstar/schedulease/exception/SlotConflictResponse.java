@@ -0,0 +1,30 @@
+package com.cstar.schedulease.exception;
+
+import com.cstar.schedulease.service.availability.dto.TimeSlotDTO;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class SlotConflictResponse extends ErrorResponse {
+    private Long providerId;
+    private Long serviceId;
+    private Long conflictStart;
+    private Long conflictEnd;
+    private List<TimeSlotDTO> availableSlots;
+
+    public SlotConflictResponse(LocalDateTime timestamp, int status, String error, String message, String path,
+                                SlotUnavailableException ex) {
+        super(timestamp, status, error, message, path);
+        this.providerId = ex.getProviderId();
+        this.serviceId = ex.getServiceId();
+        this.conflictStart = ex.getConflictStart();
+        this.conflictEnd = ex.getConflictEnd();
+        this.availableSlots = ex.getAvailableSlots();
+    }
+}
@@ -0,0 +1,47 @@
+package com.cstar.schedulease.exception;
+
+import com.cstar.schedulease.service.availability.dto.TimeSlotDTO;
+
+import java.util.List;
+
+/**
+ * Booking conflict. Carries the conflicting interval and the nearest open slots;
+ * created without a stack trace since it is an expected outcome of booking.
+ */
+public class SlotUnavailableException extends RuntimeException {
+    private final Long providerId;
+    private final Long serviceId;
+    private final Long conflictStart;
+    private final Long conflictEnd;
+    private final List<TimeSlotDTO> availableSlots;
+
+    public SlotUnavailableException(Long providerId, Long serviceId, Long conflictStart, Long conflictEnd,
+                                    List<TimeSlotDTO> availableSlots) {
+        super("Time slot is not available", null, false, false);
+        this.providerId = providerId;
+        this.serviceId = serviceId;
+        this.conflictStart = conflictStart;
+        this.conflictEnd = conflictEnd;
+        this.availableSlots = availableSlots;
+    }
+
+    public Long getProviderId() {
+        return providerId;
+    }
+
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public Long getConflictStart() {
+        return conflictStart;
+    }
+
+    public Long getConflictEnd() {
+        return conflictEnd;
+    }
+
+    public List<TimeSlotDTO> getAvailableSlots() {
+        return availableSlots;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cstar.schedulease.exception;
+
+/**
+ * Writes of the tenant are paused, e.g. while it is being moved to another shard.
+ */
+public class TenantUnavailableException extends RuntimeException {
+    private final String tenantId;
+    private final long retryAfterSeconds;
+
+    public TenantUnavailableException(String tenantId, long retryAfterSeconds) {
+        super("Tenant " + tenantId + " is temporarily read-only", null, false, false);
+        this.tenantId = tenantId;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
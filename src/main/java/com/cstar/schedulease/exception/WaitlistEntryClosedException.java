@@ -0,0 +1,18 @@
+package com.cstar.schedulease.exception;
+
+/**
+ * The waitlist entry was booked or cancelled already, so it can no longer be allocated.
+ * A bad request to callers; tells the waitlist matcher to drop the entry for good.
+ */
+public class WaitlistEntryClosedException extends IllegalArgumentException {
+    private final Long entryId;
+
+    public WaitlistEntryClosedException(Long entryId) {
+        super("Waitlist entry " + entryId + " is no longer waiting");
+        this.entryId = entryId;
+    }
+
+    public Long getEntryId() {
+        return entryId;
+    }
+}
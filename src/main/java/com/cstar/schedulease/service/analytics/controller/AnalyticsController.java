@@ -0,0 +1,37 @@
+package com.cstar.schedulease.service.analytics.controller;
+
+import com.cstar.schedulease.common.admission.BulkEndpoint;
+import com.cstar.schedulease.common.enums.AnalyticsGrouping;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.service.analytics.dto.AnalyticsReportDTO;
+import com.cstar.schedulease.service.analytics.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @BulkEndpoint
+    @GetMapping("/appointments")
+    public ResponseEntity<AnalyticsReportDTO> getAppointmentAnalytics(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Long providerId,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status) {
+        log.info("REST request to get appointment analytics - groupBy: {}, from: {}, to: {}, providerId: {}, " +
+            "serviceId: {}, category: {}, status: {}", groupBy, from, to, providerId, serviceId, category, status);
+        return ResponseEntity.ok(analyticsService.getAppointmentAnalytics(AnalyticsGrouping.fromCode(groupBy),
+            from, to, providerId, serviceId, Category.fromCode(category), AppointmentStatus.fromCode(status)));
+    }
+}
@@ -0,0 +1,21 @@
+package com.cstar.schedulease.service.analytics.dto;
+
+import com.cstar.schedulease.common.enums.AnalyticsGrouping;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsReportDTO {
+    private AnalyticsGrouping groupBy;
+    // Start time range, epoch seconds; null when open
+    private Long from;
+    private Long to;
+    // Rows in the snapshot the query scanned
+    private Integer scannedRows;
+    private List<AnalyticsRowDTO> rows;
+}
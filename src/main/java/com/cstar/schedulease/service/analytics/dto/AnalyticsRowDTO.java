@@ -0,0 +1,23 @@
+package com.cstar.schedulease.service.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsRowDTO {
+    // Hour 0-23, ISO day of week 1-7, provider or service id, category or status code
+    private String key;
+    private String label;
+    // All bookings, cancelled included
+    private Long appointments;
+    private Long completed;
+    private Long cancelled;
+    private Long noShow;
+    // noShow over completed + noShow; null before any appointment was attended or missed
+    private Double noShowRate;
+    // Between booking and start; null when no booking time is known
+    private Double averageLeadTimeHours;
+}
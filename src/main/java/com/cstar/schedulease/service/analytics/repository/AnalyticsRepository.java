@@ -0,0 +1,72 @@
+package com.cstar.schedulease.service.analytics.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String SELECT_ALL_SQL =
+        "SELECT id, provider_id, service_id, start_time, status, COALESCE(created_at, 0) AS created_at " +
+        "FROM appointments ORDER BY id";
+
+    private static final String SELECT_BY_IDS_SQL =
+        "SELECT id, provider_id, service_id, start_time, status, COALESCE(created_at, 0) AS created_at " +
+        "FROM appointments WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @FunctionalInterface
+    public interface AppointmentRowHandler {
+        void accept(long id, long providerId, long serviceId, long startTime, String status, long createdAt);
+    }
+
+    /**
+     * Streams every appointment through a cursor; createdAt is 0 when the booking time is unknown.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(AppointmentRowHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ALL_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (ResultSetExtractor<Void>) resultSet -> {
+            while (resultSet.next()) {
+                accept(handler, resultSet);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The given appointments that still exist, in no particular order.
+     */
+    public void findByIds(Collection<Long> ids, AppointmentRowHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_BY_IDS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, (RowCallbackHandler) resultSet -> accept(handler, resultSet));
+    }
+
+    private static void accept(AppointmentRowHandler handler, ResultSet resultSet) throws SQLException {
+        handler.accept(resultSet.getLong("id"),
+            resultSet.getLong("provider_id"),
+            resultSet.getLong("service_id"),
+            resultSet.getLong("start_time"),
+            resultSet.getString("status"),
+            resultSet.getLong("created_at"));
+    }
+}
@@ -0,0 +1,16 @@
+package com.cstar.schedulease.service.analytics.service;
+
+import com.cstar.schedulease.common.enums.AnalyticsGrouping;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.service.analytics.dto.AnalyticsReportDTO;
+
+public interface AnalyticsService {
+
+    /**
+     * Counts, no-show rate and booking lead time of the appointments starting in [from, to),
+     * grouped and filtered on the in-memory snapshot.
+     */
+    AnalyticsReportDTO getAppointmentAnalytics(AnalyticsGrouping groupBy, Long from, Long to, Long providerId,
+                                               Long serviceId, Category category, AppointmentStatus status);
+}
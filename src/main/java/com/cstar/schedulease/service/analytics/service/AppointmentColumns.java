@@ -0,0 +1,343 @@
+package com.cstar.schedulease.service.analytics.service;
+
+import com.cstar.schedulease.common.enums.AnalyticsGrouping;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.Category;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the appointments table: one primitive array per column, a row per appointment.
+ *
+ * Provider and service ids are dictionary-encoded to dense ints, so a grouping aggregates into a plain array
+ * indexed by code. Hour of day and day of week in the business time zone are derived once per row.
+ * Deleted appointments stay as tombstones until the next full load.
+ * A scan holds the read lock from start to end; updates take the write lock.
+ */
+public final class AppointmentColumns {
+
+    public static final int APPOINTMENTS = 0;
+    public static final int COMPLETED = 1;
+    public static final int CANCELLED = 2;
+    public static final int NO_SHOW = 3;
+    public static final int LEAD_SECONDS = 4;
+    public static final int LEAD_COUNT = 5;
+    public static final int FIELDS = 6;
+
+    private static final byte DELETED = -1;
+    private static final AppointmentStatus[] STATUSES = AppointmentStatus.values();
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final ZoneId timeZone;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> rowsById = new HashMap<>();
+    private final Dictionary providers = new Dictionary();
+    private final Dictionary services = new Dictionary();
+
+    private long[] startTimes;
+    // Epoch seconds of the booking, 0 when unknown
+    private long[] bookedAt;
+    private int[] providerCodes;
+    private int[] serviceCodes;
+    // AppointmentStatus ordinal or DELETED
+    private byte[] statuses;
+    private byte[] hours;
+    // ISO day of week, 1 = Monday
+    private byte[] weekdays;
+    private int size;
+
+    public AppointmentColumns(ZoneId timeZone, int initialCapacity) {
+        this.timeZone = timeZone;
+        int capacity = Math.max(initialCapacity, 16);
+        startTimes = new long[capacity];
+        bookedAt = new long[capacity];
+        providerCodes = new int[capacity];
+        serviceCodes = new int[capacity];
+        statuses = new byte[capacity];
+        hours = new byte[capacity];
+        weekdays = new byte[capacity];
+    }
+
+    /**
+     * Matching rows of a scan; null restrictions match everything. Start times are [from, to).
+     */
+    public static final class Filter {
+        final long fromInclusive;
+        final long toExclusive;
+        final Long providerId;
+        final Long serviceId;
+        final int status;
+        final Map<Long, Category> serviceCategories;
+        final int category;
+
+        public Filter(Long from, Long to, Long providerId, Long serviceId, AppointmentStatus status,
+                      Map<Long, Category> serviceCategories, Category category) {
+            this.fromInclusive = from != null ? from : Long.MIN_VALUE;
+            this.toExclusive = to != null ? to : Long.MAX_VALUE;
+            this.providerId = providerId;
+            this.serviceId = serviceId;
+            this.status = status != null ? status.ordinal() : -1;
+            this.serviceCategories = serviceCategories;
+            this.category = category != null ? category.ordinal() : -1;
+        }
+    }
+
+    /**
+     * FIELDS counters per group, and the key of each group: hour, day of week (1-7), provider or service id,
+     * category or status ordinal.
+     */
+    public static final class Aggregate {
+        private final long[] totals;
+        private final long[] keys;
+        private final int scannedRows;
+
+        Aggregate(long[] totals, long[] keys, int scannedRows) {
+            this.totals = totals;
+            this.keys = keys;
+            this.scannedRows = scannedRows;
+        }
+
+        public int groups() {
+            return keys.length;
+        }
+
+        public long key(int group) {
+            return keys[group];
+        }
+
+        public long get(int group, int field) {
+            return totals[group * FIELDS + field];
+        }
+
+        public int scannedRows() {
+            return scannedRows;
+        }
+    }
+
+    /**
+     * Inserts or overwrites the appointment's row; bookedAt 0 keeps the known booking time.
+     */
+    public void upsert(long id, long providerId, long serviceId, long startTime, AppointmentStatus status,
+                       long bookedAtSeconds) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowsById.get(id);
+            int row;
+            if (existing != null) {
+                row = existing;
+            } else {
+                row = size++;
+                ensureCapacity(size);
+                rowsById.put(id, row);
+                bookedAt[row] = 0;
+            }
+            startTimes[row] = startTime;
+            if (bookedAtSeconds > 0) {
+                bookedAt[row] = bookedAtSeconds;
+            }
+            providerCodes[row] = providers.encode(providerId);
+            serviceCodes[row] = services.encode(serviceId);
+            statuses[row] = (byte) status.ordinal();
+            ZonedDateTime start = Instant.ofEpochSecond(startTime).atZone(timeZone);
+            hours[row] = (byte) start.getHour();
+            weekdays[row] = (byte) start.getDayOfWeek().getValue();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.get(id);
+            if (row != null) {
+                statuses[row] = DELETED;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Aggregates the matching rows per group, in parallel on the pool.
+     */
+    public Aggregate aggregate(ForkJoinPool pool, int splitThreshold, Filter filter, AnalyticsGrouping groupBy) {
+        lock.readLock().lock();
+        try {
+            long[] keys = switch (groupBy) {
+                case HOUR_OF_DAY -> sequence(24);
+                case DAY_OF_WEEK -> sequence(8);
+                case PROVIDER -> Arrays.copyOf(providers.ids, providers.size());
+                case SERVICE -> Arrays.copyOf(services.ids, services.size());
+                case CATEGORY -> sequence(CATEGORIES.length);
+                case STATUS -> sequence(STATUSES.length);
+            };
+            byte[] serviceCategories = new byte[services.size()];
+            for (int code = 0; code < serviceCategories.length; code++) {
+                Category category = filter.serviceCategories.get(services.decode(code));
+                serviceCategories[code] = category != null ? (byte) category.ordinal() : -1;
+            }
+
+            int providerCode = filter.providerId != null ? providers.codeOf(filter.providerId) : -1;
+            int serviceCode = filter.serviceId != null ? services.codeOf(filter.serviceId) : -1;
+            if ((filter.providerId != null && providerCode < 0) || (filter.serviceId != null && serviceCode < 0)) {
+                return new Aggregate(new long[keys.length * FIELDS], keys, size);
+            }
+            long[] totals = pool.invoke(new ScanTask(filter, serviceCategories, providerCode, serviceCode, groupBy,
+                keys.length, Math.max(splitThreshold, 1), 0, size));
+            return new Aggregate(totals, keys, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long[] sequence(int length) {
+        long[] keys = new long[length];
+        Arrays.setAll(keys, i -> i);
+        return keys;
+    }
+
+    private final class ScanTask extends RecursiveTask<long[]> {
+        private final Filter filter;
+        private final byte[] serviceCategories;
+        private final int providerCode;
+        private final int serviceCode;
+        private final AnalyticsGrouping groupBy;
+        private final int groups;
+        private final int splitThreshold;
+        private final int from;
+        private final int to;
+
+        ScanTask(Filter filter, byte[] serviceCategories, int providerCode, int serviceCode,
+                 AnalyticsGrouping groupBy, int groups, int splitThreshold, int from, int to) {
+            this.filter = filter;
+            this.serviceCategories = serviceCategories;
+            this.providerCode = providerCode;
+            this.serviceCode = serviceCode;
+            this.groupBy = groupBy;
+            this.groups = groups;
+            this.splitThreshold = splitThreshold;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= splitThreshold) {
+                return scan();
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(filter, serviceCategories, providerCode, serviceCode, groupBy, groups,
+                splitThreshold, from, middle);
+            ScanTask right = new ScanTask(filter, serviceCategories, providerCode, serviceCode, groupBy, groups,
+                splitThreshold, middle, to);
+            left.fork();
+            long[] totals = right.compute();
+            long[] leftTotals = left.join();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += leftTotals[i];
+            }
+            return totals;
+        }
+
+        private long[] scan() {
+            long[] totals = new long[groups * FIELDS];
+            for (int row = from; row < to; row++) {
+                byte status = statuses[row];
+                long startTime = startTimes[row];
+                if (status == DELETED
+                        || startTime < filter.fromInclusive || startTime >= filter.toExclusive
+                        || (filter.status >= 0 && status != filter.status)
+                        || (providerCode >= 0 && providerCodes[row] != providerCode)
+                        || (serviceCode >= 0 && serviceCodes[row] != serviceCode)
+                        || (filter.category >= 0 && serviceCategories[serviceCodes[row]] != filter.category)) {
+                    continue;
+                }
+                int group = switch (groupBy) {
+                    case HOUR_OF_DAY -> hours[row];
+                    case DAY_OF_WEEK -> weekdays[row];
+                    case PROVIDER -> providerCodes[row];
+                    case SERVICE -> serviceCodes[row];
+                    case CATEGORY -> serviceCategories[serviceCodes[row]];
+                    case STATUS -> status;
+                };
+                if (group < 0) {
+                    continue;
+                }
+                int base = group * FIELDS;
+                totals[base + APPOINTMENTS]++;
+                switch (STATUSES[status]) {
+                    case COMPLETED -> totals[base + COMPLETED]++;
+                    case CANCELLED -> totals[base + CANCELLED]++;
+                    case NO_SHOW -> totals[base + NO_SHOW]++;
+                    default -> {
+                    }
+                }
+                if (bookedAt[row] > 0) {
+                    totals[base + LEAD_SECONDS] += startTime - bookedAt[row];
+                    totals[base + LEAD_COUNT]++;
+                }
+            }
+            return totals;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= startTimes.length) {
+            return;
+        }
+        int capacity = Math.max(required, startTimes.length + (startTimes.length >> 1));
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        bookedAt = Arrays.copyOf(bookedAt, capacity);
+        providerCodes = Arrays.copyOf(providerCodes, capacity);
+        serviceCodes = Arrays.copyOf(serviceCodes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        hours = Arrays.copyOf(hours, capacity);
+        weekdays = Arrays.copyOf(weekdays, capacity);
+    }
+
+    private static final class Dictionary {
+        private final Map<Long, Integer> codes = new HashMap<>();
+        private long[] ids = new long[16];
+
+        int encode(long id) {
+            Integer code = codes.get(id);
+            if (code != null) {
+                return code;
+            }
+            int next = codes.size();
+            if (next == ids.length) {
+                ids = Arrays.copyOf(ids, next * 2);
+            }
+            ids[next] = id;
+            codes.put(id, next);
+            return next;
+        }
+
+        int codeOf(long id) {
+            Integer code = codes.get(id);
+            return code != null ? code : -1;
+        }
+
+        long decode(int code) {
+            return ids[code];
+        }
+
+        int size() {
+            return codes.size();
+        }
+    }
+}
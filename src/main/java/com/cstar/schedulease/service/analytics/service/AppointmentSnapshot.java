@@ -0,0 +1,149 @@
+package com.cstar.schedulease.service.analytics.service;
+
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.tenant.TenantScoped;
+import com.cstar.schedulease.config.AnalyticsProperties;
+import com.cstar.schedulease.config.ScheduleProperties;
+import com.cstar.schedulease.service.analytics.repository.AnalyticsRepository;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import com.cstar.schedulease.service.outbox.service.AppointmentChangeSink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Columnar snapshot of the appointments per tenant, loaded on first query and kept current by the
+ * appointment change events. Events carry the full row, so applying one twice is harmless.
+ * The snapshot is reloaded once it is older than the reload interval; events arriving during the load
+ * are replayed onto the new snapshot before it replaces the old one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentSnapshot implements AppointmentChangeSink {
+
+    private final AnalyticsRepository analyticsRepository;
+    private final AnalyticsProperties analyticsProperties;
+    private final ScheduleProperties scheduleProperties;
+
+    private final TenantScoped<State> states = new TenantScoped<>(State::new);
+
+    public AppointmentColumns columns() {
+        State state = states.get();
+        AppointmentColumns columns = state.columns;
+        if (columns != null && isFresh(state)) {
+            return columns;
+        }
+        synchronized (state.loadLock) {
+            if (state.columns != null && isFresh(state)) {
+                return state.columns;
+            }
+            synchronized (state) {
+                state.replay = new ArrayList<>();
+            }
+            long started = System.currentTimeMillis();
+            AppointmentColumns loaded = new AppointmentColumns(scheduleProperties.getTimeZone(),
+                state.columns != null ? state.columns.size() : 1024);
+            try {
+                analyticsRepository.streamAll((id, providerId, serviceId, startTime, status, createdAt) ->
+                    loaded.upsert(id, providerId, serviceId, startTime, AppointmentStatus.fromCode(status), createdAt));
+            } catch (RuntimeException e) {
+                synchronized (state) {
+                    state.replay = null;
+                }
+                throw e;
+            }
+            synchronized (state) {
+                apply(loaded, state.replay);
+                state.replay = null;
+                state.columns = loaded;
+                state.loadedAt = System.currentTimeMillis();
+            }
+            log.info("Loaded analytics snapshot of {} appointments in {} ms", loaded.size(),
+                System.currentTimeMillis() - started);
+            return loaded;
+        }
+    }
+
+    @Override
+    public void publish(List<AppointmentChangeEvent> events) {
+        State state = states.get();
+        synchronized (state) {
+            // Nothing loaded yet: the first load reads these changes from the table
+            if (state.columns != null) {
+                apply(state.columns, events);
+            }
+            if (state.replay != null) {
+                state.replay.addAll(events);
+            }
+        }
+    }
+
+    /**
+     * Re-reads the given appointments, after another node changed them.
+     */
+    public void refresh(Collection<Long> appointmentIds) {
+        if (states.get().columns == null || appointmentIds.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(appointmentIds);
+        List<AppointmentChangeEvent> events = new ArrayList<>();
+        analyticsRepository.findByIds(appointmentIds, (id, providerId, serviceId, startTime, status, createdAt) -> {
+            missing.remove(id);
+            AppointmentChangeEvent event = new AppointmentChangeEvent();
+            event.setType(AppointmentChangeType.CREATED);
+            event.setAppointmentId(id);
+            event.setProviderId(providerId);
+            event.setServiceId(serviceId);
+            event.setStartTime(startTime);
+            event.setStatus(AppointmentStatus.fromCode(status));
+            event.setOccurredAt(createdAt * 1000);
+            events.add(event);
+        });
+        for (Long id : missing) {
+            AppointmentChangeEvent event = new AppointmentChangeEvent();
+            event.setType(AppointmentChangeType.DELETED);
+            event.setAppointmentId(id);
+            events.add(event);
+        }
+        publish(events);
+    }
+
+    /**
+     * Marks the snapshot stale, so the next query reloads it.
+     */
+    public void invalidate() {
+        states.get().loadedAt = 0;
+    }
+
+    private boolean isFresh(State state) {
+        return System.currentTimeMillis() - state.loadedAt < analyticsProperties.getReloadInterval().toMillis();
+    }
+
+    private static void apply(AppointmentColumns columns, List<AppointmentChangeEvent> events) {
+        for (AppointmentChangeEvent event : events) {
+            switch (event.getType()) {
+                case DELETED -> columns.delete(event.getAppointmentId());
+                case CREATED -> columns.upsert(event.getAppointmentId(), event.getProviderId(), event.getServiceId(),
+                    event.getStartTime(), event.getStatus(), event.getOccurredAt() / 1000);
+                default -> columns.upsert(event.getAppointmentId(), event.getProviderId(), event.getServiceId(),
+                    event.getStartTime(), event.getStatus(), 0);
+            }
+        }
+    }
+
+    private static class State {
+        final Object loadLock = new Object();
+        volatile AppointmentColumns columns;
+        volatile long loadedAt;
+        // Events published while a load runs; guarded by the state's monitor
+        List<AppointmentChangeEvent> replay;
+    }
+}
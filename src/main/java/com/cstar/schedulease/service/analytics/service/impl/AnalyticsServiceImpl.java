@@ -0,0 +1,141 @@
+package com.cstar.schedulease.service.analytics.service.impl;
+
+import com.cstar.schedulease.common.enums.AnalyticsGrouping;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.config.AnalyticsProperties;
+import com.cstar.schedulease.service.analytics.dto.AnalyticsReportDTO;
+import com.cstar.schedulease.service.analytics.dto.AnalyticsRowDTO;
+import com.cstar.schedulease.service.analytics.service.AnalyticsService;
+import com.cstar.schedulease.service.analytics.service.AppointmentColumns;
+import com.cstar.schedulease.service.analytics.service.AppointmentSnapshot;
+import com.cstar.schedulease.service.provider.entity.Provider;
+import com.cstar.schedulease.service.provider.repository.ProviderRepository;
+import com.cstar.schedulease.service.services.entity.Service;
+import com.cstar.schedulease.service.services.repository.ServiceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.cstar.schedulease.service.analytics.service.AppointmentColumns.APPOINTMENTS;
+import static com.cstar.schedulease.service.analytics.service.AppointmentColumns.CANCELLED;
+import static com.cstar.schedulease.service.analytics.service.AppointmentColumns.COMPLETED;
+import static com.cstar.schedulease.service.analytics.service.AppointmentColumns.LEAD_COUNT;
+import static com.cstar.schedulease.service.analytics.service.AppointmentColumns.LEAD_SECONDS;
+import static com.cstar.schedulease.service.analytics.service.AppointmentColumns.NO_SHOW;
+
+@org.springframework.stereotype.Service
+@Slf4j
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final AppointmentSnapshot appointmentSnapshot;
+    private final ServiceRepository serviceRepository;
+    private final ProviderRepository providerRepository;
+    private final AnalyticsProperties analyticsProperties;
+    // Scans get their own workers instead of competing with the common pool
+    private final ForkJoinPool scanPool;
+
+    public AnalyticsServiceImpl(AppointmentSnapshot appointmentSnapshot,
+                                ServiceRepository serviceRepository,
+                                ProviderRepository providerRepository,
+                                AnalyticsProperties analyticsProperties) {
+        this.appointmentSnapshot = appointmentSnapshot;
+        this.serviceRepository = serviceRepository;
+        this.providerRepository = providerRepository;
+        this.analyticsProperties = analyticsProperties;
+        this.scanPool = new ForkJoinPool(Math.max(analyticsProperties.getParallelism(), 1));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scanPool.shutdownNow();
+    }
+
+    @Override
+    public AnalyticsReportDTO getAppointmentAnalytics(AnalyticsGrouping groupBy, Long from, Long to, Long providerId,
+                                                      Long serviceId, Category category, AppointmentStatus status) {
+        AnalyticsGrouping grouping = groupBy != null ? groupBy : AnalyticsGrouping.HOUR_OF_DAY;
+        if (from != null && to != null && from >= to) {
+            throw new IllegalArgumentException("From time must be before to time");
+        }
+
+        // Categories are read per query, so a service moved to another category counts there at once
+        List<Service> services = serviceRepository.findAll();
+        Map<Long, Category> serviceCategories = new HashMap<>();
+        Map<Long, String> serviceNames = new HashMap<>();
+        for (Service service : services) {
+            if (service.getCategory() != null) {
+                serviceCategories.put(service.getId(), service.getCategory());
+            }
+            serviceNames.put(service.getId(), service.getName());
+        }
+
+        long started = System.nanoTime();
+        AppointmentColumns.Aggregate aggregate = appointmentSnapshot.columns().aggregate(scanPool,
+            analyticsProperties.getSplitThreshold(),
+            new AppointmentColumns.Filter(from, to, providerId, serviceId, status, serviceCategories, category),
+            grouping);
+        log.debug("Scanned {} appointments by {} in {} us", aggregate.scannedRows(), grouping,
+            (System.nanoTime() - started) / 1000);
+
+        Map<Long, String> providerNames = grouping == AnalyticsGrouping.PROVIDER ? providerNames() : Map.of();
+        List<AnalyticsRowDTO> rows = new ArrayList<>();
+        for (int group = 0; group < aggregate.groups(); group++) {
+            long appointments = aggregate.get(group, APPOINTMENTS);
+            if (appointments == 0) {
+                continue;
+            }
+            long key = aggregate.key(group);
+            long completed = aggregate.get(group, COMPLETED);
+            long noShow = aggregate.get(group, NO_SHOW);
+            long leadCount = aggregate.get(group, LEAD_COUNT);
+            rows.add(new AnalyticsRowDTO(
+                keyOf(grouping, key),
+                labelOf(grouping, key, providerNames, serviceNames),
+                appointments,
+                completed,
+                aggregate.get(group, CANCELLED),
+                noShow,
+                completed + noShow > 0 ? (double) noShow / (completed + noShow) : null,
+                leadCount > 0 ? aggregate.get(group, LEAD_SECONDS) / 3600.0 / leadCount : null));
+        }
+        if (grouping == AnalyticsGrouping.PROVIDER || grouping == AnalyticsGrouping.SERVICE) {
+            rows.sort((left, right) -> Long.compare(Long.parseLong(left.getKey()), Long.parseLong(right.getKey())));
+        }
+        return new AnalyticsReportDTO(grouping, from, to, aggregate.scannedRows(), rows);
+    }
+
+    private Map<Long, String> providerNames() {
+        Map<Long, String> names = new HashMap<>();
+        for (Provider provider : providerRepository.findAll()) {
+            names.put(provider.getId(), provider.getFirstName() + " " + provider.getLastName());
+        }
+        return names;
+    }
+
+    private static String keyOf(AnalyticsGrouping grouping, long key) {
+        return switch (grouping) {
+            case CATEGORY -> Category.values()[(int) key].getCode();
+            case STATUS -> AppointmentStatus.values()[(int) key].getCode();
+            default -> Long.toString(key);
+        };
+    }
+
+    private static String labelOf(AnalyticsGrouping grouping, long key, Map<Long, String> providerNames,
+                                  Map<Long, String> serviceNames) {
+        return switch (grouping) {
+            case HOUR_OF_DAY -> String.format("%02d:00", key);
+            case DAY_OF_WEEK -> DayOfWeek.of((int) key).name();
+            case PROVIDER -> providerNames.get(key);
+            case SERVICE -> serviceNames.get(key);
+            case CATEGORY -> Category.values()[(int) key].getDisplayName();
+            case STATUS -> AppointmentStatus.values()[(int) key].getDisplayName();
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.cstar.schedulease.service.appointment.controller;
 
+import com.cstar.schedulease.common.admission.BulkEndpoint;
 import com.cstar.schedulease.common.enums.AppointmentStatus;
 import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
 import com.cstar.schedulease.service.appointment.service.AppointmentService;
@@ -19,6 +20,9 @@ import java.util.Map;
 @Validated
 public class AppointmentController {
 
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_COMPACT = "compact";
+
     private final AppointmentService appointmentService;
 
     @PostMapping
@@ -45,16 +49,39 @@ public class AppointmentController {
         return ResponseEntity.ok(updated);
     }
 
+    @PatchMapping("/{id}/reschedule")
+    public ResponseEntity<AppointmentDTO> rescheduleAppointment(
+            @PathVariable Long id,
+            @RequestBody Map<String, Long> request) {
+        
+        Long startTime = request.get("startTime");
+        if (startTime == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        AppointmentDTO updated = appointmentService.rescheduleAppointment(id, startTime);
+        return ResponseEntity.ok(updated);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AppointmentDTO> getAppointmentById(@PathVariable Long id) {
         AppointmentDTO appointment = appointmentService.getAppointmentById(id);
         return ResponseEntity.ok(appointment);
     }
 
+    @BulkEndpoint
     @GetMapping
-    public ResponseEntity<List<AppointmentDTO>> getAllAppointments(
+    public ResponseEntity<?> getAllAppointments(
             @RequestParam(required = false) Long startTime,
-            @RequestParam(required = false) Long endTime) {
+            @RequestParam(required = false) Long endTime,
+            @RequestParam(required = false) String view) {
+        // Compact view: appointments carry ids, referenced objects are side-loaded once
+        if (VIEW_COMPACT.equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(appointmentService.getCompactAppointments(startTime, endTime));
+        }
+        if (view != null && !VIEW_FULL.equalsIgnoreCase(view)) {
+            throw new IllegalArgumentException("Invalid view: " + view + ". Valid values are: full, compact");
+        }
         // If time range parameters are provided, filter by time range
         if (startTime != null && endTime != null) {
             return ResponseEntity.ok(appointmentService.getAppointmentsByTimeRange(startTime, endTime));
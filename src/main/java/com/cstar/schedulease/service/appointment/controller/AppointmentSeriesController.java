@@ -0,0 +1,59 @@
+package com.cstar.schedulease.service.appointment.controller;
+
+import com.cstar.schedulease.service.appointment.dto.AppointmentSeriesDTO;
+import com.cstar.schedulease.service.appointment.service.AppointmentSeriesService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/appointment-series")
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentSeriesController {
+
+    private static final String SCOPE_ALL = "ALL";
+    private static final String SCOPE_FUTURE = "FUTURE";
+
+    private final AppointmentSeriesService seriesService;
+
+    @PostMapping
+    public ResponseEntity<AppointmentSeriesDTO> createSeries(
+            @Validated(AppointmentSeriesDTO.Create.class) @RequestBody AppointmentSeriesDTO seriesDTO) {
+        log.info("REST request to create Appointment series for client: {}", seriesDTO.getClientId());
+        AppointmentSeriesDTO created = seriesService.createSeries(seriesDTO);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AppointmentSeriesDTO> getSeriesById(@PathVariable Long id) {
+        log.info("REST request to get Appointment series with id: {}", id);
+        return ResponseEntity.ok(seriesService.getSeriesById(id));
+    }
+
+    @PatchMapping("/{id}/cancel")
+    public ResponseEntity<AppointmentSeriesDTO> cancelSeries(
+            @PathVariable Long id,
+            @RequestBody Map<String, String> request) {
+        String scope = request.getOrDefault("scope", SCOPE_ALL);
+        String cancellationReason = request.get("cancellationReason");
+        log.info("REST request to cancel Appointment series with id: {}, scope: {}", id, scope);
+
+        Long fromTime;
+        if (SCOPE_ALL.equalsIgnoreCase(scope)) {
+            fromTime = null;
+        } else if (SCOPE_FUTURE.equalsIgnoreCase(scope)) {
+            String fromTimeStr = request.get("fromTime");
+            fromTime = fromTimeStr != null ? Long.valueOf(fromTimeStr) : System.currentTimeMillis() / 1000;
+        } else {
+            throw new IllegalArgumentException("Invalid scope: " + scope + ". Valid values are: ALL, FUTURE");
+        }
+
+        return ResponseEntity.ok(seriesService.cancelSeries(id, fromTime, cancellationReason));
+    }
+}
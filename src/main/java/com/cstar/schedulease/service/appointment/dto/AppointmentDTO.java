@@ -48,6 +48,9 @@ public class AppointmentDTO {
 
     private String cancellationReason;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long seriesId;
+
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private ClientDTO client;
 
@@ -0,0 +1,51 @@
+package com.cstar.schedulease.service.appointment.dto;
+
+import com.cstar.schedulease.common.enums.RecurrenceFrequency;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AppointmentSeriesDTO {
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long id;
+
+    @NotNull(message = "Client ID is required", groups = Create.class)
+    private Long clientId;
+
+    @NotNull(message = "Provider ID is required", groups = Create.class)
+    private Long providerId;
+
+    @NotNull(message = "Service ID is required", groups = Create.class)
+    private Long serviceId;
+
+    @NotNull(message = "Start time is required", groups = Create.class)
+    private Long startTime;
+
+    @NotNull(message = "Frequency is required", groups = Create.class)
+    private RecurrenceFrequency frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1", groups = Create.class)
+    private Integer interval;
+
+    @NotNull(message = "Occurrences is required", groups = Create.class)
+    @Min(value = 1, message = "Occurrences must be at least 1", groups = Create.class)
+    private Integer occurrences;
+
+    private String notes;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private List<AppointmentDTO> appointments;
+
+    public interface Create {}
+}
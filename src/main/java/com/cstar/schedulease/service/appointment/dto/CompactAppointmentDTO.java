@@ -0,0 +1,38 @@
+package com.cstar.schedulease.service.appointment.dto;
+
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Appointment row of the compact list view.
+ * References are ids into the lookup maps of {@link CompactAppointmentListDTO}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactAppointmentDTO {
+
+    private Long id;
+
+    private Long clientId;
+
+    private Long providerId;
+
+    private Long serviceId;
+
+    private Long startTime;
+
+    private Integer duration;
+
+    private Long endTime;
+
+    private AppointmentStatus status;
+
+    private String notes;
+
+    private String cancellationReason;
+}
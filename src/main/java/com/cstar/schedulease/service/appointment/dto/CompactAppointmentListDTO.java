@@ -0,0 +1,31 @@
+package com.cstar.schedulease.service.appointment.dto;
+
+import com.cstar.schedulease.service.client.dto.ClientDTO;
+import com.cstar.schedulease.service.provider.dto.ProviderDTO;
+import com.cstar.schedulease.service.services.dto.ServiceDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact appointment list (GET /api/appointments?view=compact).
+ * Each client, provider and service appears once in its lookup map, keyed by id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactAppointmentListDTO {
+
+    private List<CompactAppointmentDTO> appointments = new ArrayList<>();
+
+    private Map<Long, ClientDTO> clients = new LinkedHashMap<>();
+
+    private Map<Long, ProviderDTO> providers = new LinkedHashMap<>();
+
+    private Map<Long, ServiceDTO> services = new LinkedHashMap<>();
+}
@@ -9,6 +9,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,5 +46,16 @@ public class Appointment {
 
     @Column(name = "cancellation_reason", columnDefinition = "TEXT")
     private String cancellationReason;
+
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    // Service price when booked; revenue is counted at this price
+    @Column(name = "price", precision = 10, scale = 2, updatable = false)
+    private BigDecimal price;
+
+    // A seat in a group session, counted in session_seat
+    @Column(name = "group_session", nullable = false)
+    private Boolean groupSession = false;
 }
 
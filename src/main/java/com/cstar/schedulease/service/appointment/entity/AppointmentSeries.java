@@ -0,0 +1,50 @@
+package com.cstar.schedulease.service.appointment.entity;
+
+import com.cstar.schedulease.common.enums.RecurrenceFrequency;
+import com.cstar.schedulease.service.client.entity.Client;
+import com.cstar.schedulease.service.provider.entity.Provider;
+import com.cstar.schedulease.service.services.entity.Service;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "appointment_series")
+public class AppointmentSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    private Client client;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "provider_id", nullable = false)
+    private Provider provider;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false)
+    private Service service;
+
+    @Column(name = "start_time", nullable = false)
+    private Long startTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false, length = 20)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    private Integer interval = 1;
+
+    @Column(name = "occurrences", nullable = false)
+    private Integer occurrences;
+
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+}
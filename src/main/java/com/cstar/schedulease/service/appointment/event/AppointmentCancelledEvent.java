@@ -0,0 +1,17 @@
+package com.cstar.schedulease.service.appointment.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published inside the cancelling transaction; listeners should react after commit.
+ */
+@Data
+@AllArgsConstructor
+public class AppointmentCancelledEvent {
+    private Long appointmentId;
+    private Long providerId;
+    private Long serviceId;
+    private Long startTime;
+    private Long endTime;
+}
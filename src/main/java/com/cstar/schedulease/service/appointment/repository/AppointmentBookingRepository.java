@@ -0,0 +1,16 @@
+package com.cstar.schedulease.service.appointment.repository;
+
+/**
+ * Booking of a single appointment as one statement.
+ */
+public interface AppointmentBookingRepository {
+
+    /**
+     * Checks that client, provider and service exist and that the slot does not overlap an active appointment
+     * of the provider and service, then inserts a CONFIRMED appointment together with its CREATED outbox event.
+     * A group service instead takes a seat in the session at that start, unless it is full.
+     * Everything happens in one round trip; the result tells what was found and whether the row was inserted.
+     */
+    BookingResult insertIfSlotFree(Long clientId, Long providerId, Long serviceId, long startTime, String notes,
+                                   long occurredAt);
+}
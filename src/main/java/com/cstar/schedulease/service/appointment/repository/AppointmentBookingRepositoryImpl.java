@@ -0,0 +1,124 @@
+package com.cstar.schedulease.service.appointment.repository;
+
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.client.dto.ClientDTO;
+import com.cstar.schedulease.service.provider.dto.ProviderDTO;
+import com.cstar.schedulease.service.services.dto.ServiceDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@RequiredArgsConstructor
+public class AppointmentBookingRepositoryImpl implements AppointmentBookingRepository {
+
+    // The conflict CTE always yields one row, so the final SELECT reports missing references too.
+    // ON CONFLICT covers a concurrent booking of the same start that the conflict check could not see yet.
+    // A group service (capacity above 1) is booked by the seat: its own session is no conflict, and the
+    // booking claims a seat with a conditional upsert of session_seat, which leaves a full session alone.
+    private static final String BOOK_SQL =
+        "WITH c AS (SELECT id, first_name, last_name, phone FROM client WHERE id = ? AND NOT deleted), " +
+        "p AS (SELECT id, first_name, last_name, description, is_active FROM provider WHERE id = ? AND NOT deleted), " +
+        "s AS (SELECT id, name, description, category, duration, price, is_active, capacity FROM service WHERE id = ?), " +
+        "conflict AS (" +
+        "  SELECT MIN(a.start_time) AS conflict_start, MAX(a.start_time + s.duration * 60) AS conflict_end " +
+        "  FROM appointments a JOIN s ON s.id = a.service_id JOIN p ON p.id = a.provider_id " +
+        "  WHERE a.status NOT IN ('CANCELLED') " +
+        "  AND a.start_time < ? + s.duration * 60 AND a.start_time + s.duration * 60 > ? " +
+        "  AND NOT (s.capacity > 1 AND a.group_session AND a.start_time = ?)), " +
+        "seat AS (" +
+        "  INSERT INTO session_seat (provider_id, service_id, start_time, booked) " +
+        "  SELECT p.id, s.id, ?, 1 FROM c, p, s, conflict " +
+        "  WHERE s.capacity > 1 AND s.duration > 0 AND conflict.conflict_start IS NULL " +
+        "  ON CONFLICT (provider_id, service_id, start_time) DO UPDATE SET booked = session_seat.booked + 1 " +
+        "  WHERE session_seat.booked < (SELECT capacity FROM s) " +
+        "  RETURNING booked), " +
+        "ins AS (" +
+        "  INSERT INTO appointments (client_id, provider_id, service_id, start_time, status, notes, group_session, price) " +
+        "  SELECT c.id, p.id, s.id, ?, 'CONFIRMED', ?, s.capacity > 1, s.price FROM c, p, s, conflict " +
+        "  WHERE s.duration > 0 AND conflict.conflict_start IS NULL " +
+        "  AND (s.capacity = 1 OR EXISTS (SELECT 1 FROM seat)) " +
+        "  ON CONFLICT DO NOTHING " +
+        "  RETURNING id, start_time), " +
+        "event AS (" +
+        "  INSERT INTO appointment_outbox (event_type, appointment_id, provider_id, service_id, client_id, " +
+        "    start_time, end_time, status, previous_status, previous_start_time, occurred_at, price) " +
+        "  SELECT 'CREATED', ins.id, p.id, s.id, c.id, ins.start_time, ins.start_time + s.duration * 60, " +
+        "    'CONFIRMED', NULL, NULL, ?, s.price FROM ins, c, p, s) " +
+        "SELECT ins.id AS appointment_id, ins.start_time, " +
+        "c.id AS client_id, c.first_name AS client_first_name, c.last_name AS client_last_name, c.phone, " +
+        "p.id AS provider_id, p.first_name AS provider_first_name, p.last_name AS provider_last_name, " +
+        "p.description AS provider_description, p.is_active AS provider_active, " +
+        "s.id AS service_id, s.name, s.description AS service_description, s.category, s.duration, s.price, " +
+        "s.is_active AS service_active, s.capacity, seat.booked AS seats_booked, " +
+        "conflict.conflict_start, conflict.conflict_end " +
+        "FROM conflict LEFT JOIN c ON TRUE LEFT JOIN p ON TRUE LEFT JOIN s ON TRUE LEFT JOIN ins ON TRUE " +
+        "LEFT JOIN seat ON TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public BookingResult insertIfSlotFree(Long clientId, Long providerId, Long serviceId, long startTime,
+                                          String notes, long occurredAt) {
+        return jdbcTemplate.queryForObject(BOOK_SQL, (resultSet, rowNum) -> toResult(resultSet, notes),
+            clientId, providerId, serviceId, startTime, startTime, startTime, startTime, startTime, notes, occurredAt);
+    }
+
+    private static BookingResult toResult(ResultSet resultSet, String notes) throws SQLException {
+        BookingResult result = new BookingResult();
+        result.setClientFound(resultSet.getObject("client_id") != null);
+        result.setProviderFound(resultSet.getObject("provider_id") != null);
+        result.setServiceFound(resultSet.getObject("service_id") != null);
+        result.setDuration(resultSet.getObject("duration", Integer.class));
+        result.setConflictStart(resultSet.getObject("conflict_start", Long.class));
+        result.setConflictEnd(resultSet.getObject("conflict_end", Long.class));
+        result.setCapacity(resultSet.getObject("capacity", Integer.class));
+        result.setSeatsBooked(resultSet.getObject("seats_booked", Integer.class));
+
+        Long appointmentId = resultSet.getObject("appointment_id", Long.class);
+        if (appointmentId == null) {
+            return result;
+        }
+        AppointmentDTO appointment = new AppointmentDTO();
+        appointment.setId(appointmentId);
+        long startTime = resultSet.getLong("start_time");
+        int duration = resultSet.getInt("duration");
+        appointment.setStartTime(startTime);
+        appointment.setDuration(duration);
+        appointment.setEndTime(startTime + duration * 60L);
+        appointment.setStatus(AppointmentStatus.CONFIRMED);
+        appointment.setNotes(notes);
+
+        ClientDTO client = new ClientDTO();
+        client.setId(resultSet.getLong("client_id"));
+        client.setFirstName(resultSet.getString("client_first_name"));
+        client.setLastName(resultSet.getString("client_last_name"));
+        client.setPhone(resultSet.getString("phone"));
+        appointment.setClient(client);
+
+        ProviderDTO provider = new ProviderDTO();
+        provider.setId(resultSet.getLong("provider_id"));
+        provider.setFirstName(resultSet.getString("provider_first_name"));
+        provider.setLastName(resultSet.getString("provider_last_name"));
+        provider.setDescription(resultSet.getString("provider_description"));
+        provider.setIsActive(resultSet.getObject("provider_active", Boolean.class));
+        appointment.setProvider(provider);
+
+        ServiceDTO service = new ServiceDTO();
+        service.setId(resultSet.getLong("service_id"));
+        service.setName(resultSet.getString("name"));
+        service.setDescription(resultSet.getString("service_description"));
+        String category = resultSet.getString("category");
+        service.setCategory(category != null ? Category.fromCode(category) : null);
+        service.setDuration(duration);
+        service.setPrice(resultSet.getBigDecimal("price"));
+        service.setIsActive(resultSet.getObject("service_active", Boolean.class));
+        service.setCapacity(resultSet.getObject("capacity", Integer.class));
+        appointment.setService(service);
+        result.setAppointment(appointment);
+        return result;
+    }
+}
@@ -2,16 +2,27 @@ package com.cstar.schedulease.service.appointment.repository;
 
 import com.cstar.schedulease.common.enums.AppointmentStatus;
 import com.cstar.schedulease.service.appointment.entity.Appointment;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentBookingRepository {
     
+    /**
+     * Loads the appointment with its row locked until the transaction ends, so concurrent changes of it
+     * see each other's status. Take it before the provider's outbox lock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Appointment a WHERE a.id = :id")
+    Optional<Appointment> findByIdForUpdate(@Param("id") Long id);
+
     List<Appointment> findByClientId(Long clientId);
     
     List<Appointment> findByProviderId(Long providerId);
@@ -44,12 +55,69 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
         @Param("endTime") Long endTime
     );
     
+    @Query("SELECT a.startTime FROM Appointment a WHERE a.provider.id = :providerId " +
+           "AND a.service.id = :serviceId " +
+           "AND a.startTime > :startAfter AND a.startTime < :startBefore " +
+           "AND a.status NOT IN ('CANCELLED') " +
+           "ORDER BY a.startTime ASC")
+    List<Long> findBookedStartTimes(
+        @Param("providerId") Long providerId,
+        @Param("serviceId") Long serviceId,
+        @Param("startAfter") Long startAfter,
+        @Param("startBefore") Long startBefore
+    );
+    
+    @Query("SELECT a.provider.id AS providerId, a.startTime AS startTime FROM Appointment a " +
+           "WHERE a.provider.id IN :providerIds " +
+           "AND a.service.id = :serviceId " +
+           "AND a.startTime > :startAfter AND a.startTime < :startBefore " +
+           "AND a.status NOT IN ('CANCELLED') " +
+           "ORDER BY a.provider.id ASC, a.startTime ASC")
+    List<BookedStart> findBookedStartTimesOfProviders(
+        @Param("providerIds") List<Long> providerIds,
+        @Param("serviceId") Long serviceId,
+        @Param("startAfter") Long startAfter,
+        @Param("startBefore") Long startBefore
+    );
+    
+    // The lower bound by the longest service keeps the start_time index scan to the range
     @Query("SELECT a FROM Appointment a " +
            "WHERE a.startTime < :endTime AND (a.startTime + a.service.duration * 60) > :startTime " +
+           "AND a.startTime > :startTime - (SELECT COALESCE(MAX(x.duration), 0) FROM Service x) * 60 " +
            "ORDER BY a.startTime ASC")
     List<Appointment> findByTimeRange(
         @Param("startTime") Long startTime,
         @Param("endTime") Long endTime
     );
-}
 
+    @Query("SELECT a FROM Appointment a " +
+           "JOIN FETCH a.client JOIN FETCH a.provider JOIN FETCH a.service")
+    List<Appointment> findAllWithReferences();
+
+    @Query("SELECT a FROM Appointment a " +
+           "JOIN FETCH a.client JOIN FETCH a.provider JOIN FETCH a.service s " +
+           "WHERE a.startTime < :endTime AND (a.startTime + s.duration * 60) > :startTime " +
+           "AND a.startTime > :startTime - (SELECT COALESCE(MAX(x.duration), 0) FROM Service x) * 60 " +
+           "ORDER BY a.startTime ASC")
+    List<Appointment> findByTimeRangeWithReferences(
+        @Param("startTime") Long startTime,
+        @Param("endTime") Long endTime
+    );
+
+    @Query("SELECT a FROM Appointment a " +
+           "JOIN FETCH a.client JOIN FETCH a.provider JOIN FETCH a.service " +
+           "WHERE a.id = :id")
+    Optional<Appointment> findByIdWithReferences(@Param("id") Long id);
+
+    @Query("SELECT a FROM Appointment a " +
+           "JOIN FETCH a.client JOIN FETCH a.provider JOIN FETCH a.service " +
+           "WHERE a.seriesId = :seriesId " +
+           "ORDER BY a.startTime ASC")
+    List<Appointment> findBySeriesIdWithReferences(@Param("seriesId") Long seriesId);
+
+    interface BookedStart {
+        Long getProviderId();
+
+        Long getStartTime();
+    }
+}
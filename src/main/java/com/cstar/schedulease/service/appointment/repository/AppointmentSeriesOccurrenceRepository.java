@@ -0,0 +1,27 @@
+package com.cstar.schedulease.service.appointment.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based statements over all occurrences of a series, each executed as a single query.
+ */
+public interface AppointmentSeriesOccurrenceRepository {
+
+    /**
+     * Start times of active appointments of the provider and service that overlap any occurrence.
+     */
+    List<Long> findConflictingStartTimes(Long providerId, Long serviceId, long durationSeconds, long[] occurrenceStartTimes);
+
+    /**
+     * Inserts one CONFIRMED appointment per occurrence and returns the generated ids.
+     */
+    List<Long> insertOccurrences(Long seriesId, Long clientId, Long providerId, Long serviceId, String notes,
+                                 long[] occurrenceStartTimes);
+
+    /**
+     * Cancels every CONFIRMED occurrence starting at or after fromTime.
+     * Returns the start time of each cancelled appointment keyed by appointment id.
+     */
+    Map<Long, Long> cancelOccurrences(Long seriesId, long fromTime, String cancellationReason);
+}
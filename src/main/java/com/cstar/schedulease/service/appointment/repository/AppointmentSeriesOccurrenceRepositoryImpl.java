@@ -0,0 +1,83 @@
+package com.cstar.schedulease.service.appointment.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class AppointmentSeriesOccurrenceRepositoryImpl implements AppointmentSeriesOccurrenceRepository {
+
+    private static final String FIND_CONFLICTS_SQL =
+        "SELECT DISTINCT a.start_time FROM appointments a " +
+        "JOIN unnest(?) AS o(start_time) " +
+        "ON a.start_time < o.start_time + ? AND a.start_time + ? > o.start_time " +
+        "WHERE a.provider_id = ? AND a.service_id = ? AND a.status NOT IN ('CANCELLED') " +
+        "ORDER BY a.start_time";
+
+    private static final String INSERT_OCCURRENCES_SQL =
+        "INSERT INTO appointments (client_id, provider_id, service_id, start_time, status, notes, series_id, price) " +
+        "SELECT ?, ?, s.id, o.start_time, 'CONFIRMED', ?, ?, s.price FROM service s, unnest(?) AS o(start_time) " +
+        "WHERE s.id = ? RETURNING id";
+
+    private static final String CANCEL_OCCURRENCES_SQL =
+        "UPDATE appointments SET status = 'CANCELLED', cancellation_reason = ? " +
+        "WHERE series_id = ? AND status = 'CONFIRMED' AND start_time >= ? " +
+        "RETURNING id, start_time";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> findConflictingStartTimes(Long providerId, Long serviceId, long durationSeconds,
+                                                long[] occurrenceStartTimes) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_CONFLICTS_SQL);
+            statement.setArray(1, toBigintArray(connection, occurrenceStartTimes));
+            statement.setLong(2, durationSeconds);
+            statement.setLong(3, durationSeconds);
+            statement.setLong(4, providerId);
+            statement.setLong(5, serviceId);
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong(1));
+    }
+
+    @Override
+    public List<Long> insertOccurrences(Long seriesId, Long clientId, Long providerId, Long serviceId, String notes,
+                                        long[] occurrenceStartTimes) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_OCCURRENCES_SQL);
+            statement.setLong(1, clientId);
+            statement.setLong(2, providerId);
+            statement.setString(3, notes);
+            statement.setLong(4, seriesId);
+            statement.setArray(5, toBigintArray(connection, occurrenceStartTimes));
+            statement.setLong(6, serviceId);
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong(1));
+    }
+
+    @Override
+    public Map<Long, Long> cancelOccurrences(Long seriesId, long fromTime, String cancellationReason) {
+        Map<Long, Long> cancelled = new LinkedHashMap<>();
+        jdbcTemplate.query(CANCEL_OCCURRENCES_SQL,
+            resultSet -> {
+                cancelled.put(resultSet.getLong(1), resultSet.getLong(2));
+            },
+            cancellationReason, seriesId, fromTime);
+        return cancelled;
+    }
+
+    private static Array toBigintArray(Connection connection, long[] values) throws SQLException {
+        Long[] boxed = new Long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return connection.createArrayOf("bigint", boxed);
+    }
+}
@@ -0,0 +1,9 @@
+package com.cstar.schedulease.service.appointment.repository;
+
+import com.cstar.schedulease.service.appointment.entity.AppointmentSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AppointmentSeriesRepository extends JpaRepository<AppointmentSeries, Long>, AppointmentSeriesOccurrenceRepository {
+}
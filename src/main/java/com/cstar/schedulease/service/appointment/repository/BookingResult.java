@@ -0,0 +1,24 @@
+package com.cstar.schedulease.service.appointment.repository;
+
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import lombok.Data;
+
+/**
+ * Outcome of AppointmentBookingRepository.insertIfSlotFree.
+ */
+@Data
+public class BookingResult {
+    private boolean clientFound;
+    private boolean providerFound;
+    private boolean serviceFound;
+    private Integer duration;
+    // Clients per session of the service
+    private Integer capacity;
+    // Span of the overlapping appointments; null when the slot was free
+    private Long conflictStart;
+    private Long conflictEnd;
+    // The booked appointment with its client, provider and service; null when nothing was inserted
+    private AppointmentDTO appointment;
+    // Seats taken in the group session including this booking; null for single-client services
+    private Integer seatsBooked;
+}
@@ -0,0 +1,79 @@
+package com.cstar.schedulease.service.appointment.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * session_seat rows: seats taken in each session of a group service. Claims and releases are
+ * single conditional statements, so concurrent bookings of a session queue on its row instead
+ * of counting appointments.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SessionSeatRepository {
+
+    private static final String CLAIM_SQL =
+        "INSERT INTO session_seat (provider_id, service_id, start_time, booked) VALUES (?, ?, ?, 1) " +
+        "ON CONFLICT (provider_id, service_id, start_time) DO UPDATE SET booked = session_seat.booked + 1 " +
+        "WHERE session_seat.booked < ? " +
+        "RETURNING booked";
+
+    private static final String RELEASE_SQL =
+        "UPDATE session_seat SET booked = booked - 1 " +
+        "WHERE provider_id = ? AND service_id = ? AND start_time = ? AND booked > 0 " +
+        "RETURNING booked";
+
+    private static final String FIND_SEATS_SQL =
+        "SELECT provider_id, start_time, booked FROM session_seat " +
+        "WHERE provider_id = ANY(?) AND service_id = ? AND start_time > ? AND start_time < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value
+    public static class SessionSeats {
+        Long providerId;
+        long startTime;
+        int booked;
+    }
+
+    /**
+     * Takes a seat unless the session already has capacity of them.
+     *
+     * @return seats taken including this one, or null when the session is full
+     */
+    public Integer claim(Long providerId, Long serviceId, long startTime, int capacity) {
+        List<Integer> booked = jdbcTemplate.queryForList(CLAIM_SQL, Integer.class,
+            providerId, serviceId, startTime, capacity);
+        return booked.isEmpty() ? null : booked.get(0);
+    }
+
+    /**
+     * Gives back a seat of a cancelled or deleted group booking.
+     *
+     * @return seats still taken, or null when the session had none
+     */
+    public Integer release(Long providerId, Long serviceId, long startTime) {
+        List<Integer> booked = jdbcTemplate.queryForList(RELEASE_SQL, Integer.class, providerId, serviceId, startTime);
+        return booked.isEmpty() ? null : booked.get(0);
+    }
+
+    /**
+     * Seat counts of the providers' sessions of the service starting in (startAfter, startBefore).
+     */
+    public List<SessionSeats> findSeats(List<Long> providerIds, Long serviceId, long startAfter, long startBefore) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_SEATS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", providerIds.toArray()));
+            statement.setLong(2, serviceId);
+            statement.setLong(3, startAfter);
+            statement.setLong(4, startBefore);
+            return statement;
+        }, (resultSet, rowNum) -> new SessionSeats(resultSet.getLong("provider_id"), resultSet.getLong("start_time"),
+            resultSet.getInt("booked")));
+    }
+}
@@ -0,0 +1,12 @@
+package com.cstar.schedulease.service.appointment.service;
+
+import com.cstar.schedulease.service.appointment.dto.AppointmentSeriesDTO;
+
+public interface AppointmentSeriesService {
+
+    AppointmentSeriesDTO createSeries(AppointmentSeriesDTO seriesDTO);
+
+    AppointmentSeriesDTO getSeriesById(Long id);
+
+    AppointmentSeriesDTO cancelSeries(Long id, Long fromTime, String cancellationReason);
+}
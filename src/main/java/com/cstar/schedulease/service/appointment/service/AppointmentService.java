@@ -2,6 +2,7 @@ package com.cstar.schedulease.service.appointment.service;
 
 import com.cstar.schedulease.common.enums.AppointmentStatus;
 import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.dto.CompactAppointmentListDTO;
 
 import java.util.List;
 
@@ -11,6 +12,8 @@ public interface AppointmentService {
     
     AppointmentDTO updateAppointmentStatus(Long id, AppointmentStatus status, String cancellationReason);
     
+    AppointmentDTO rescheduleAppointment(Long id, Long startTime);
+    
     AppointmentDTO getAppointmentById(Long id);
     
     List<AppointmentDTO> getAllAppointments();
@@ -23,6 +26,10 @@ public interface AppointmentService {
     
     List<AppointmentDTO> getAppointmentsByTimeRange(Long startTime, Long endTime);
     
+    CompactAppointmentListDTO getCompactAppointments(Long startTime, Long endTime);
+    
+    List<AppointmentDTO> getAppointmentsBySeriesId(Long seriesId);
+    
     void deleteAppointment(Long id);
 }
 
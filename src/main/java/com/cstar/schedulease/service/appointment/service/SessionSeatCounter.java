@@ -0,0 +1,93 @@
+package com.cstar.schedulease.service.appointment.service;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.config.AvailabilityProperties;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Last known seat counts of group sessions, in lock stripes by session, so the booking rush on a
+ * popular session turns away the late comers without a round trip once it is full.
+ *
+ * session_seat stays the authority: other nodes book and cancel too, so a count is trusted only for
+ * the seat count TTL, and only to refuse. A session that may have a seat always goes to the database.
+ */
+@Component
+public class SessionSeatCounter {
+
+    private static final int STRIPES = 64;
+    // Past this many sessions a stripe drops the counts that are no longer trusted
+    private static final int PRUNE_THRESHOLD = 1024;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long ttlMillis;
+
+    public SessionSeatCounter(AvailabilityProperties availabilityProperties) {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.ttlMillis = availabilityProperties.getSeatCountTtl().toMillis();
+    }
+
+    /**
+     * End time of the session when it was seen full within the TTL, in the current tenant; null otherwise.
+     */
+    public Long fullUntil(Long providerId, Long serviceId, long startTime) {
+        Key key = new Key(TenantContext.getTenantId(), providerId, serviceId, startTime);
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            Count count = stripe.counts.get(key);
+            if (count == null || count.getBooked() < count.getCapacity() || !fresh(count, System.currentTimeMillis())) {
+                return null;
+            }
+            return count.getEndTime();
+        }
+    }
+
+    /**
+     * Records the seats taken in the session, as just read or written in session_seat.
+     */
+    public void record(Long providerId, Long serviceId, long startTime, long endTime, int booked, int capacity) {
+        Key key = new Key(TenantContext.getTenantId(), providerId, serviceId, startTime);
+        long now = System.currentTimeMillis();
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            if (stripe.counts.size() >= PRUNE_THRESHOLD) {
+                stripe.counts.values().removeIf(count -> !fresh(count, now));
+            }
+            stripe.counts.put(key, new Count(endTime, booked, capacity, now));
+        }
+    }
+
+    private boolean fresh(Count count, long now) {
+        return now - count.getSeenAt() < ttlMillis;
+    }
+
+    private Stripe stripeOf(Key key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    @Value
+    private static class Key {
+        String tenantId;
+        Long providerId;
+        Long serviceId;
+        long startTime;
+    }
+
+    @Value
+    private static class Count {
+        long endTime;
+        int booked;
+        int capacity;
+        long seenAt;
+    }
+
+    private static final class Stripe {
+        // Guarded by the stripe's monitor
+        final Map<Key, Count> counts = new HashMap<>();
+    }
+}
@@ -0,0 +1,196 @@
+package com.cstar.schedulease.service.appointment.service.impl;
+
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.config.AvailabilityProperties;
+import com.cstar.schedulease.config.ScheduleProperties;
+import com.cstar.schedulease.exception.ResourceNotFoundException;
+import com.cstar.schedulease.exception.SlotUnavailableException;
+import com.cstar.schedulease.service.appointment.dto.AppointmentSeriesDTO;
+import com.cstar.schedulease.service.appointment.entity.AppointmentSeries;
+import com.cstar.schedulease.service.appointment.event.AppointmentCancelledEvent;
+import com.cstar.schedulease.service.appointment.repository.AppointmentRepository;
+import com.cstar.schedulease.service.appointment.repository.AppointmentSeriesRepository;
+import com.cstar.schedulease.service.appointment.service.AppointmentSeriesService;
+import com.cstar.schedulease.service.appointment.service.AppointmentService;
+import com.cstar.schedulease.service.availability.service.AvailabilityService;
+import com.cstar.schedulease.service.client.entity.Client;
+import com.cstar.schedulease.service.client.repository.ClientRepository;
+import com.cstar.schedulease.service.hold.service.SlotHoldTable;
+import com.cstar.schedulease.service.outbox.service.AppointmentOutbox;
+import com.cstar.schedulease.service.provider.entity.Provider;
+import com.cstar.schedulease.service.provider.repository.ProviderRepository;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
+import com.cstar.schedulease.service.provider.service.ProviderScheduleCache;
+import com.cstar.schedulease.service.services.entity.Service;
+import com.cstar.schedulease.service.services.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AppointmentSeriesServiceImpl implements AppointmentSeriesService {
+
+    private final AppointmentSeriesRepository seriesRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ClientRepository clientRepository;
+    private final ProviderRepository providerRepository;
+    private final ServiceRepository serviceRepository;
+    private final AppointmentService appointmentService;
+    private final AvailabilityService availabilityService;
+    private final AvailabilityProperties availabilityProperties;
+    private final ScheduleProperties scheduleProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProviderScheduleCache providerScheduleCache;
+    private final AppointmentOutbox appointmentOutbox;
+    private final ProviderCapabilityIndex capabilityIndex;
+    private final SlotHoldTable slotHoldTable;
+
+    @Override
+    public AppointmentSeriesDTO createSeries(AppointmentSeriesDTO seriesDTO) {
+        log.info("Creating appointment series: provider {}, service {}, {} x {}",
+            seriesDTO.getProviderId(), seriesDTO.getServiceId(), seriesDTO.getOccurrences(), seriesDTO.getFrequency());
+
+        if (seriesDTO.getOccurrences() > scheduleProperties.getMaxSeriesOccurrences()) {
+            throw new IllegalArgumentException("Occurrences must not exceed " + scheduleProperties.getMaxSeriesOccurrences());
+        }
+        int interval = seriesDTO.getInterval() != null ? seriesDTO.getInterval() : 1;
+
+        Client client = clientRepository.findByIdAndDeletedFalse(seriesDTO.getClientId())
+            .orElseThrow(() -> ResourceNotFoundException.forId("Client", seriesDTO.getClientId()));
+        Provider provider = providerRepository.findByIdAndDeletedFalse(seriesDTO.getProviderId())
+            .orElseThrow(() -> ResourceNotFoundException.forId("Provider", seriesDTO.getProviderId()));
+        Service service = serviceRepository.findById(seriesDTO.getServiceId())
+            .orElseThrow(() -> ResourceNotFoundException.forId("Service", seriesDTO.getServiceId()));
+        if (!capabilityIndex.offers(provider.getId(), service.getId())) {
+            throw new IllegalArgumentException("Provider " + provider.getId() + " does not offer service " + service.getId());
+        }
+
+        if (service.getDuration() == null || service.getDuration() <= 0) {
+            throw new IllegalArgumentException("Service duration must be greater than 0");
+        }
+        if (service.getCapacity() > 1) {
+            throw new IllegalArgumentException("Service " + service.getId() + " is booked by the seat in group"
+                + " sessions; recurring series are for single-client services");
+        }
+        long durationSeconds = service.getDuration() * 60L;
+
+        long[] occurrenceStartTimes = expand(seriesDTO, interval);
+
+        // Working hours and other clients' checkout holds are in memory, one occurrence at a time
+        for (long occurrenceStart : occurrenceStartTimes) {
+            if (!providerScheduleCache.isOpen(provider.getId(), occurrenceStart, service.getDuration())) {
+                throw new SlotUnavailableException(provider.getId(), service.getId(),
+                    occurrenceStart, occurrenceStart + durationSeconds,
+                    availabilityService.findAvailableSlots(provider.getId(), service.getId(), occurrenceStart, null,
+                        availabilityProperties.getConflictSuggestions()));
+            }
+            SlotHoldTable.Hold held = slotHoldTable.findOverlap(provider.getId(), service.getId(),
+                occurrenceStart, occurrenceStart + durationSeconds, client.getId());
+            if (held != null) {
+                throw new SlotUnavailableException(provider.getId(), service.getId(),
+                    held.getStartTime(), held.getEndTime(),
+                    availabilityService.findAvailableSlots(provider.getId(), service.getId(), held.getStartTime(), null,
+                        availabilityProperties.getConflictSuggestions()));
+            }
+        }
+
+        // One query checks every occurrence against the provider's bookings
+        List<Long> conflicts = seriesRepository.findConflictingStartTimes(
+            provider.getId(), service.getId(), durationSeconds, occurrenceStartTimes);
+        if (!conflicts.isEmpty()) {
+            long conflictStart = conflicts.get(0);
+            long conflictEnd = conflicts.get(conflicts.size() - 1) + durationSeconds;
+            throw new SlotUnavailableException(provider.getId(), service.getId(), conflictStart, conflictEnd,
+                availabilityService.findAvailableSlots(provider.getId(), service.getId(), conflictStart, null,
+                    availabilityProperties.getConflictSuggestions()));
+        }
+
+        AppointmentSeries series = new AppointmentSeries();
+        series.setClient(client);
+        series.setProvider(provider);
+        series.setService(service);
+        series.setStartTime(seriesDTO.getStartTime());
+        series.setFrequency(seriesDTO.getFrequency());
+        series.setInterval(interval);
+        series.setOccurrences(seriesDTO.getOccurrences());
+        series.setNotes(seriesDTO.getNotes());
+        AppointmentSeries saved = seriesRepository.save(series);
+
+        // One multi-row INSERT for all occurrences
+        List<Long> appointmentIds = seriesRepository.insertOccurrences(saved.getId(), client.getId(), provider.getId(),
+            service.getId(), seriesDTO.getNotes(), occurrenceStartTimes);
+        appointmentOutbox.appendForAppointments(AppointmentChangeType.CREATED, null, appointmentIds);
+        log.info("Appointment series created with id: {}, {} appointments", saved.getId(), appointmentIds.size());
+
+        return convertToDTO(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AppointmentSeriesDTO getSeriesById(Long id) {
+        AppointmentSeries series = seriesRepository.findById(id)
+            .orElseThrow(() -> ResourceNotFoundException.forId("Appointment series", id));
+        return convertToDTO(series);
+    }
+
+    @Override
+    public AppointmentSeriesDTO cancelSeries(Long id, Long fromTime, String cancellationReason) {
+        AppointmentSeries series = seriesRepository.findById(id)
+            .orElseThrow(() -> ResourceNotFoundException.forId("Appointment series", id));
+
+        // One UPDATE cancels every confirmed occurrence starting at or after fromTime
+        Map<Long, Long> cancelled = seriesRepository.cancelOccurrences(id,
+            fromTime != null ? fromTime : Long.MIN_VALUE, cancellationReason);
+        log.info("Cancelled {} appointments of series {}", cancelled.size(), id);
+        appointmentOutbox.appendForAppointments(AppointmentChangeType.STATUS_CHANGED, AppointmentStatus.CONFIRMED,
+            new ArrayList<>(cancelled.keySet()));
+
+        long durationSeconds = series.getService().getDuration() * 60L;
+        cancelled.forEach((appointmentId, startTime) -> eventPublisher.publishEvent(new AppointmentCancelledEvent(
+            appointmentId, series.getProvider().getId(), series.getService().getId(),
+            startTime, startTime + durationSeconds)));
+
+        return convertToDTO(series);
+    }
+
+    private long[] expand(AppointmentSeriesDTO seriesDTO, int interval) {
+        ZonedDateTime first = Instant.ofEpochSecond(seriesDTO.getStartTime()).atZone(scheduleProperties.getTimeZone());
+        long[] startTimes = new long[seriesDTO.getOccurrences()];
+        for (int i = 0; i < startTimes.length; i++) {
+            long steps = (long) i * interval;
+            ZonedDateTime occurrence = switch (seriesDTO.getFrequency()) {
+                case DAILY -> first.plusDays(steps);
+                case WEEKLY -> first.plusWeeks(steps);
+                case MONTHLY -> first.plusMonths(steps);
+            };
+            startTimes[i] = occurrence.toEpochSecond();
+        }
+        return startTimes;
+    }
+
+    private AppointmentSeriesDTO convertToDTO(AppointmentSeries series) {
+        AppointmentSeriesDTO dto = new AppointmentSeriesDTO();
+        dto.setId(series.getId());
+        dto.setClientId(series.getClient().getId());
+        dto.setProviderId(series.getProvider().getId());
+        dto.setServiceId(series.getService().getId());
+        dto.setStartTime(series.getStartTime());
+        dto.setFrequency(series.getFrequency());
+        dto.setInterval(series.getInterval());
+        dto.setOccurrences(series.getOccurrences());
+        dto.setNotes(series.getNotes());
+        dto.setAppointments(appointmentService.getAppointmentsBySeriesId(series.getId()));
+        return dto;
+    }
+}
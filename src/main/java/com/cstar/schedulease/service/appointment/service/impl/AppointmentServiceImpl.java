@@ -1,23 +1,41 @@
 package com.cstar.schedulease.service.appointment.service.impl;
 
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
 import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.config.AvailabilityProperties;
+import com.cstar.schedulease.exception.ResourceNotFoundException;
+import com.cstar.schedulease.exception.SlotUnavailableException;
 import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.dto.CompactAppointmentDTO;
+import com.cstar.schedulease.service.appointment.dto.CompactAppointmentListDTO;
 import com.cstar.schedulease.service.appointment.entity.Appointment;
+import com.cstar.schedulease.service.appointment.event.AppointmentCancelledEvent;
 import com.cstar.schedulease.service.appointment.repository.AppointmentRepository;
+import com.cstar.schedulease.service.appointment.repository.BookingResult;
+import com.cstar.schedulease.service.appointment.repository.SessionSeatRepository;
 import com.cstar.schedulease.service.appointment.service.AppointmentService;
+import com.cstar.schedulease.service.appointment.service.SessionSeatCounter;
+import com.cstar.schedulease.service.availability.dto.TimeSlotDTO;
+import com.cstar.schedulease.service.availability.service.AvailabilityService;
+import com.cstar.schedulease.service.cache.service.CacheInvalidationPublisher;
 import com.cstar.schedulease.service.client.dto.ClientDTO;
 import com.cstar.schedulease.service.client.entity.Client;
-import com.cstar.schedulease.service.client.repository.ClientRepository;
+import com.cstar.schedulease.service.hold.service.SlotHoldTable;
+import com.cstar.schedulease.service.outbox.service.AppointmentOutbox;
 import com.cstar.schedulease.service.provider.dto.ProviderDTO;
 import com.cstar.schedulease.service.provider.entity.Provider;
-import com.cstar.schedulease.service.provider.repository.ProviderRepository;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
+import com.cstar.schedulease.service.provider.service.ProviderScheduleCache;
 import com.cstar.schedulease.service.services.dto.ServiceDTO;
 import com.cstar.schedulease.service.services.entity.Service;
-import com.cstar.schedulease.service.services.repository.ServiceRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,57 +44,102 @@ import java.util.stream.Collectors;
 public class AppointmentServiceImpl implements AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
-    private final ClientRepository clientRepository;
-    private final ProviderRepository providerRepository;
-    private final ServiceRepository serviceRepository;
+    private final AvailabilityService availabilityService;
+    private final AvailabilityProperties availabilityProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProviderScheduleCache providerScheduleCache;
+    private final AppointmentOutbox appointmentOutbox;
+    private final ProviderCapabilityIndex capabilityIndex;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final SlotHoldTable slotHoldTable;
+    private final SessionSeatRepository sessionSeatRepository;
+    private final SessionSeatCounter sessionSeatCounter;
 
     @Override
     @Transactional
     public AppointmentDTO createAppointment(AppointmentDTO appointmentDTO) {
-        Client client = clientRepository.findById(appointmentDTO.getClientId())
-            .orElseThrow(() -> new EntityNotFoundException("Client not found with id: " + appointmentDTO.getClientId()));
-
-        Provider provider = providerRepository.findById(appointmentDTO.getProviderId())
-            .orElseThrow(() -> new EntityNotFoundException("Provider not found with id: " + appointmentDTO.getProviderId()));
+        ensureOffered(appointmentDTO.getProviderId(), appointmentDTO.getServiceId());
+        // A group session this node just saw full is turned away without a round trip
+        Long fullUntil = sessionSeatCounter.fullUntil(appointmentDTO.getProviderId(), appointmentDTO.getServiceId(),
+            appointmentDTO.getStartTime());
+        if (fullUntil != null) {
+            throw slotUnavailable(appointmentDTO, appointmentDTO.getStartTime(), fullUntil);
+        }
 
-        Service service = serviceRepository.findById(appointmentDTO.getServiceId())
-            .orElseThrow(() -> new EntityNotFoundException("Service not found with id: " + appointmentDTO.getServiceId()));
+        // Reference checks, conflict check, insert and outbox event in one round trip
+        appointmentOutbox.lockProviders(List.of(appointmentDTO.getProviderId()));
+        BookingResult booking = appointmentRepository.insertIfSlotFree(appointmentDTO.getClientId(),
+            appointmentDTO.getProviderId(), appointmentDTO.getServiceId(), appointmentDTO.getStartTime(),
+            appointmentDTO.getNotes(), System.currentTimeMillis());
 
-        if (service.getDuration() == null || service.getDuration() <= 0) {
+        if (!booking.isClientFound()) {
+            throw ResourceNotFoundException.forId("Client", appointmentDTO.getClientId());
+        }
+        if (!booking.isProviderFound()) {
+            throw ResourceNotFoundException.forId("Provider", appointmentDTO.getProviderId());
+        }
+        if (!booking.isServiceFound()) {
+            throw ResourceNotFoundException.forId("Service", appointmentDTO.getServiceId());
+        }
+        if (booking.getDuration() == null || booking.getDuration() <= 0) {
             throw new IllegalArgumentException("Service duration must be greater than 0");
         }
 
-        Long calculatedEndTime = appointmentDTO.getStartTime() + service.getDuration() * 60L;
-
-        List<Appointment> conflicts = appointmentRepository.findConflictingAppointments(
-            appointmentDTO.getProviderId(),
-            appointmentDTO.getServiceId(),
-            appointmentDTO.getStartTime(),
-            calculatedEndTime
-        );
-
-        if (!conflicts.isEmpty()) {
-            throw new IllegalStateException("Time slot is not available");
+        long endTime = appointmentDTO.getStartTime() + booking.getDuration() * 60L;
+        if (booking.getConflictStart() != null) {
+            throw slotUnavailable(appointmentDTO, booking.getConflictStart(), booking.getConflictEnd());
+        }
+        boolean groupSession = booking.getCapacity() != null && booking.getCapacity() > 1;
+        if (groupSession && booking.getSeatsBooked() == null) {
+            sessionSeatCounter.record(appointmentDTO.getProviderId(), appointmentDTO.getServiceId(),
+                appointmentDTO.getStartTime(), endTime, booking.getCapacity(), booking.getCapacity());
+            throw slotUnavailable(appointmentDTO, appointmentDTO.getStartTime(), endTime);
+        }
+        if (booking.getAppointment() == null) {
+            // Lost the race for the same start time to a concurrent booking, or already has a seat in the session
+            throw slotUnavailable(appointmentDTO, appointmentDTO.getStartTime(), endTime);
+        }
+        // Working hours are only known once the duration is; throwing rolls the insert back
+        if (!providerScheduleCache.isOpen(appointmentDTO.getProviderId(), appointmentDTO.getStartTime(),
+                booking.getDuration())) {
+            throw slotUnavailable(appointmentDTO, appointmentDTO.getStartTime(), endTime);
+        }
+        // Another client holds the slot during checkout; the client's own hold gives way to its booking
+        SlotHoldTable.Hold held = slotHoldTable.findOverlap(appointmentDTO.getProviderId(),
+            appointmentDTO.getServiceId(), appointmentDTO.getStartTime(), endTime, appointmentDTO.getClientId());
+        if (held != null) {
+            throw slotUnavailable(appointmentDTO, held.getStartTime(), held.getEndTime());
         }
 
-        Appointment appointment = new Appointment();
-        appointment.setClient(client);
-        appointment.setProvider(provider);
-        appointment.setService(service);
-        appointment.setStartTime(appointmentDTO.getStartTime());
-        appointment.setStatus(AppointmentStatus.CONFIRMED);
-        appointment.setNotes(appointmentDTO.getNotes());
-
-        Appointment saved = appointmentRepository.save(appointment);
-        return convertToDTO(saved);
+        appointmentOutbox.appended();
+        if (groupSession) {
+            afterCommit(() -> sessionSeatCounter.record(appointmentDTO.getProviderId(), appointmentDTO.getServiceId(),
+                appointmentDTO.getStartTime(), endTime, booking.getSeatsBooked(), booking.getCapacity()));
+        }
+        afterCommit(() -> slotHoldTable.releaseFor(appointmentDTO.getClientId(), appointmentDTO.getProviderId(),
+            appointmentDTO.getServiceId(), appointmentDTO.getStartTime()));
+        cacheInvalidationPublisher.appointmentChanged(booking.getAppointment().getId());
+        return booking.getAppointment();
     }
 
     @Override
     @Transactional
     public AppointmentDTO updateAppointmentStatus(Long id, AppointmentStatus status, String cancellationReason) {
-        Appointment appointment = appointmentRepository.findById(id)
+        Appointment appointment = appointmentRepository.findByIdForUpdate(id)
             .orElseThrow(() -> new EntityNotFoundException("Appointment not found with id: " + id));
 
+        AppointmentStatus previousStatus = appointment.getStatus();
+        boolean freesSlot = status == AppointmentStatus.CANCELLED
+            && previousStatus != AppointmentStatus.CANCELLED;
+        boolean takesSlot = previousStatus == AppointmentStatus.CANCELLED
+            && status != AppointmentStatus.CANCELLED;
+        if (Boolean.TRUE.equals(appointment.getGroupSession())) {
+            if (freesSlot) {
+                releaseSeat(appointment);
+            } else if (takesSlot) {
+                claimSeat(appointment);
+            }
+        }
         appointment.setStatus(status);
         
         if (status == AppointmentStatus.CANCELLED) {
@@ -84,13 +147,60 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         Appointment updated = appointmentRepository.save(appointment);
+        if (status != previousStatus) {
+            appointmentOutbox.append(AppointmentChangeType.STATUS_CHANGED, updated, previousStatus);
+            cacheInvalidationPublisher.appointmentChanged(id);
+        }
+        if (freesSlot) {
+            eventPublisher.publishEvent(new AppointmentCancelledEvent(updated.getId(),
+                updated.getProvider().getId(), updated.getService().getId(),
+                updated.getStartTime(), updated.getStartTime() + updated.getService().getDuration() * 60L));
+        }
+        return convertToDTO(updated);
+    }
+
+    @Override
+    @Transactional
+    public AppointmentDTO rescheduleAppointment(Long id, Long startTime) {
+        Appointment appointment = appointmentRepository.findByIdForUpdate(id)
+            .orElseThrow(() -> new EntityNotFoundException("Appointment not found with id: " + id));
+
+        if (appointment.getStatus() != AppointmentStatus.CONFIRMED) {
+            throw new IllegalArgumentException("Only confirmed appointments can be rescheduled, appointment " + id
+                + " is " + appointment.getStatus());
+        }
+        if (startTime.equals(appointment.getStartTime())) {
+            return convertToDTO(appointment);
+        }
+        if (Boolean.TRUE.equals(appointment.getGroupSession())) {
+            throw new IllegalArgumentException("Appointment " + id + " is a seat in a group session and cannot be"
+                + " rescheduled; cancel it and book another session");
+        }
+
+        Service service = appointment.getService();
+        AppointmentDTO request = new AppointmentDTO();
+        request.setClientId(appointment.getClient().getId());
+        request.setProviderId(appointment.getProvider().getId());
+        request.setServiceId(service.getId());
+        request.setStartTime(startTime);
+        ensureSlotOpen(request, service, id);
+
+        long previousStart = appointment.getStartTime();
+        appointment.setStartTime(startTime);
+        Appointment updated = appointmentRepository.save(appointment);
+        appointmentOutbox.appendRescheduled(updated, previousStart);
+        cacheInvalidationPublisher.appointmentChanged(id);
+        // The old slot is free again, same as after a cancellation
+        eventPublisher.publishEvent(new AppointmentCancelledEvent(updated.getId(),
+            updated.getProvider().getId(), service.getId(),
+            previousStart, previousStart + service.getDuration() * 60L));
         return convertToDTO(updated);
     }
 
     @Override
     @Transactional(readOnly = true)
     public AppointmentDTO getAppointmentById(Long id) {
-        Appointment appointment = appointmentRepository.findById(id)
+        Appointment appointment = appointmentRepository.findByIdWithReferences(id)
             .orElseThrow(() -> new EntityNotFoundException("Appointment not found with id: " + id));
         return convertToDTO(appointment);
     }
@@ -98,7 +208,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAllAppointments() {
-        return appointmentRepository.findAll().stream()
+        return appointmentRepository.findAllWithReferences().stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
@@ -130,18 +240,186 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByTimeRange(Long startTime, Long endTime) {
-        return appointmentRepository.findByTimeRange(startTime, endTime).stream()
+        return appointmentRepository.findByTimeRangeWithReferences(startTime, endTime).stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAppointmentsBySeriesId(Long seriesId) {
+        return appointmentRepository.findBySeriesIdWithReferences(seriesId).stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompactAppointmentListDTO getCompactAppointments(Long startTime, Long endTime) {
+        List<Appointment> appointments = (startTime != null && endTime != null)
+            ? appointmentRepository.findByTimeRangeWithReferences(startTime, endTime)
+            : appointmentRepository.findAllWithReferences();
+
+        // Single pass: each referenced client, provider and service is converted once
+        CompactAppointmentListDTO result = new CompactAppointmentListDTO();
+        List<CompactAppointmentDTO> rows = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            Client client = appointment.getClient();
+            Provider provider = appointment.getProvider();
+            Service service = appointment.getService();
+
+            result.getClients().computeIfAbsent(client.getId(), id -> toClientDTO(client));
+            result.getProviders().computeIfAbsent(provider.getId(), id -> toProviderDTO(provider));
+            result.getServices().computeIfAbsent(service.getId(), id -> toServiceDTO(service));
+
+            rows.add(new CompactAppointmentDTO(
+                appointment.getId(),
+                client.getId(),
+                provider.getId(),
+                service.getId(),
+                appointment.getStartTime(),
+                service.getDuration(),
+                appointment.getStartTime() + service.getDuration() * 60L,
+                appointment.getStatus(),
+                appointment.getNotes(),
+                appointment.getCancellationReason()
+            ));
+        }
+        result.setAppointments(rows);
+        return result;
+    }
+
     @Override
     @Transactional
     public void deleteAppointment(Long id) {
-        if (!appointmentRepository.existsById(id)) {
-            throw new EntityNotFoundException("Appointment not found with id: " + id);
+        Appointment appointment = appointmentRepository.findByIdForUpdate(id)
+            .orElseThrow(() -> new EntityNotFoundException("Appointment not found with id: " + id));
+        if (Boolean.TRUE.equals(appointment.getGroupSession()) && appointment.getStatus() != AppointmentStatus.CANCELLED) {
+            releaseSeat(appointment);
+        }
+        appointmentOutbox.append(AppointmentChangeType.DELETED, appointment, appointment.getStatus());
+        appointmentRepository.delete(appointment);
+        cacheInvalidationPublisher.appointmentChanged(id);
+    }
+
+    private void ensureOffered(Long providerId, Long serviceId) {
+        if (!capabilityIndex.offers(providerId, serviceId)) {
+            throw new IllegalArgumentException("Provider " + providerId + " does not offer service " + serviceId);
+        }
+    }
+
+    private void releaseSeat(Appointment appointment) {
+        // Provider before seat, the order a booking takes them in
+        appointmentOutbox.lockProviders(List.of(appointment.getProvider().getId()));
+        Service service = appointment.getService();
+        Integer booked = sessionSeatRepository.release(appointment.getProvider().getId(), service.getId(),
+            appointment.getStartTime());
+        if (booked != null) {
+            recordSeats(appointment, booked);
+        }
+    }
+
+    /**
+     * Takes the seat back for a cancelled group booking that is reinstated, unless the session filled up meanwhile.
+     */
+    private void claimSeat(Appointment appointment) {
+        Service service = appointment.getService();
+        Long providerId = appointment.getProvider().getId();
+        appointmentOutbox.lockProviders(List.of(providerId));
+        Integer booked = sessionSeatRepository.claim(providerId, service.getId(), appointment.getStartTime(),
+            service.getCapacity());
+        if (booked == null) {
+            AppointmentDTO request = new AppointmentDTO();
+            request.setClientId(appointment.getClient().getId());
+            request.setProviderId(providerId);
+            request.setServiceId(service.getId());
+            request.setStartTime(appointment.getStartTime());
+            throw slotUnavailable(request, appointment.getStartTime(),
+                appointment.getStartTime() + service.getDuration() * 60L);
+        }
+        recordSeats(appointment, booked);
+    }
+
+    private void recordSeats(Appointment appointment, int booked) {
+        Long providerId = appointment.getProvider().getId();
+        Service service = appointment.getService();
+        Long serviceId = service.getId();
+        long startTime = appointment.getStartTime();
+        long endTime = startTime + service.getDuration() * 60L;
+        int capacity = service.getCapacity();
+        afterCommit(() -> sessionSeatCounter.record(providerId, serviceId, startTime, endTime, booked, capacity));
+    }
+
+    /**
+     * Rejects a start outside the provider's working hours or overlapping another booking,
+     * ignoring the appointment being moved when excludeId is set.
+     */
+    private void ensureSlotOpen(AppointmentDTO appointmentDTO, Service service, Long excludeId) {
+        Long calculatedEndTime = appointmentDTO.getStartTime() + service.getDuration() * 60L;
+
+        if (!providerScheduleCache.isOpen(appointmentDTO.getProviderId(), appointmentDTO.getStartTime(), service.getDuration())) {
+            throw slotUnavailable(appointmentDTO, appointmentDTO.getStartTime(), calculatedEndTime);
+        }
+
+        List<Appointment> conflicts = excludeId == null
+            ? appointmentRepository.findConflictingAppointments(
+                appointmentDTO.getProviderId(),
+                appointmentDTO.getServiceId(),
+                appointmentDTO.getStartTime(),
+                calculatedEndTime)
+            : appointmentRepository.findConflictingAppointmentsExcludingCurrent(
+                excludeId,
+                appointmentDTO.getProviderId(),
+                appointmentDTO.getServiceId(),
+                appointmentDTO.getStartTime(),
+                calculatedEndTime);
+
+        if (!conflicts.isEmpty()) {
+            long durationSeconds = service.getDuration() * 60L;
+            long conflictStart = Long.MAX_VALUE;
+            long conflictEnd = Long.MIN_VALUE;
+            for (Appointment conflict : conflicts) {
+                conflictStart = Math.min(conflictStart, conflict.getStartTime());
+                conflictEnd = Math.max(conflictEnd, conflict.getStartTime() + durationSeconds);
+            }
+            throw slotUnavailable(appointmentDTO, conflictStart, conflictEnd);
+        }
+
+        SlotHoldTable.Hold held = slotHoldTable.findOverlap(appointmentDTO.getProviderId(),
+            appointmentDTO.getServiceId(), appointmentDTO.getStartTime(), calculatedEndTime,
+            appointmentDTO.getClientId());
+        if (held != null) {
+            throw slotUnavailable(appointmentDTO, held.getStartTime(), held.getEndTime());
+        }
+    }
+
+    /**
+     * Conflict with existing bookings, or [start, end) of the request itself when it falls outside working hours.
+     */
+    private SlotUnavailableException slotUnavailable(AppointmentDTO appointmentDTO, long conflictStart, long conflictEnd) {
+        List<TimeSlotDTO> availableSlots = availabilityService.findAvailableSlots(
+            appointmentDTO.getProviderId(),
+            appointmentDTO.getServiceId(),
+            appointmentDTO.getStartTime(),
+            null,
+            availabilityProperties.getConflictSuggestions()
+        );
+
+        return new SlotUnavailableException(appointmentDTO.getProviderId(), appointmentDTO.getServiceId(),
+            conflictStart, conflictEnd, availableSlots);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
-        appointmentRepository.deleteById(id);
     }
 
     private AppointmentDTO convertToDTO(Appointment appointment) {
@@ -157,24 +435,35 @@ public class AppointmentServiceImpl implements AppointmentService {
         dto.setStatus(appointment.getStatus());
         dto.setNotes(appointment.getNotes());
         dto.setCancellationReason(appointment.getCancellationReason());
+        dto.setSeriesId(appointment.getSeriesId());
 
-        Client client = appointment.getClient();
+        dto.setClient(toClientDTO(appointment.getClient()));
+        dto.setProvider(toProviderDTO(appointment.getProvider()));
+        dto.setService(toServiceDTO(service));
+
+        return dto;
+    }
+
+    private ClientDTO toClientDTO(Client client) {
         ClientDTO clientDTO = new ClientDTO();
         clientDTO.setId(client.getId());
         clientDTO.setFirstName(client.getFirstName());
         clientDTO.setLastName(client.getLastName());
         clientDTO.setPhone(client.getPhone());
-        dto.setClient(clientDTO);
+        return clientDTO;
+    }
 
-        Provider provider = appointment.getProvider();
+    private ProviderDTO toProviderDTO(Provider provider) {
         ProviderDTO providerDTO = new ProviderDTO();
         providerDTO.setId(provider.getId());
         providerDTO.setFirstName(provider.getFirstName());
         providerDTO.setLastName(provider.getLastName());
         providerDTO.setDescription(provider.getDescription());
         providerDTO.setIsActive(provider.getIsActive());
-        dto.setProvider(providerDTO);
+        return providerDTO;
+    }
 
+    private ServiceDTO toServiceDTO(Service service) {
         ServiceDTO serviceDTO = new ServiceDTO();
         serviceDTO.setId(service.getId());
         serviceDTO.setName(service.getName());
@@ -183,9 +472,8 @@ public class AppointmentServiceImpl implements AppointmentService {
         serviceDTO.setDuration(service.getDuration());
         serviceDTO.setPrice(service.getPrice());
         serviceDTO.setIsActive(service.getIsActive());
-        dto.setService(serviceDTO);
-
-        return dto;
+        serviceDTO.setCapacity(service.getCapacity());
+        return serviceDTO;
     }
 }
 
@@ -0,0 +1,31 @@
+package com.cstar.schedulease.service.availability.controller;
+
+import com.cstar.schedulease.service.availability.dto.TimeSlotDTO;
+import com.cstar.schedulease.service.availability.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/availability")
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    @GetMapping
+    public ResponseEntity<List<TimeSlotDTO>> getAvailableSlots(
+            @RequestParam Long providerId,
+            @RequestParam Long serviceId,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Integer limit) {
+        log.info("REST request to get available slots, providerId: {}, serviceId: {}", providerId, serviceId);
+        List<TimeSlotDTO> slots = availabilityService.findAvailableSlots(providerId, serviceId, from, to, limit);
+        return ResponseEntity.ok(slots);
+    }
+}
@@ -0,0 +1,19 @@
+package com.cstar.schedulease.service.availability.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSlotDTO {
+    private Long providerId;
+    private Long serviceId;
+    private Long startTime;
+    private Long endTime;
+    // Seats still free in the session of a group service; absent for single-client services
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer seatsLeft;
+}
@@ -0,0 +1,15 @@
+package com.cstar.schedulease.service.availability.service;
+
+import com.cstar.schedulease.service.availability.dto.TimeSlotDTO;
+
+import java.util.List;
+
+public interface AvailabilityService {
+
+    List<TimeSlotDTO> findAvailableSlots(Long providerId, Long serviceId, Long fromTime, Long toTime, Integer limit);
+
+    /**
+     * Earliest open slots of the service with any active provider offering it, ordered by start time.
+     */
+    List<TimeSlotDTO> findEarliestSlots(Long serviceId, Long fromTime, Long toTime, Integer limit);
+}
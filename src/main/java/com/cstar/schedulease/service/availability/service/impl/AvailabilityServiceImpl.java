@@ -0,0 +1,272 @@
+package com.cstar.schedulease.service.availability.service.impl;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.config.AvailabilityProperties;
+import com.cstar.schedulease.exception.ResourceNotFoundException;
+import com.cstar.schedulease.service.appointment.repository.AppointmentRepository;
+import com.cstar.schedulease.service.appointment.repository.SessionSeatRepository;
+import com.cstar.schedulease.service.appointment.service.SessionSeatCounter;
+import com.cstar.schedulease.service.availability.dto.TimeSlotDTO;
+import com.cstar.schedulease.service.availability.service.AvailabilityService;
+import com.cstar.schedulease.service.hold.service.SlotHoldTable;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
+import com.cstar.schedulease.service.provider.service.ProviderScheduleCache;
+import com.cstar.schedulease.service.services.entity.Service;
+import com.cstar.schedulease.service.services.repository.ServiceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+@org.springframework.stereotype.Service
+@Slf4j
+@Transactional(readOnly = true)
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private static final Comparator<TimeSlotDTO> EARLIEST_FIRST =
+        Comparator.comparing(TimeSlotDTO::getStartTime).thenComparing(TimeSlotDTO::getProviderId);
+
+    private final AppointmentRepository appointmentRepository;
+    private final ServiceRepository serviceRepository;
+    private final AvailabilityProperties availabilityProperties;
+    private final ProviderScheduleCache providerScheduleCache;
+    private final ProviderCapabilityIndex capabilityIndex;
+    private final SlotHoldTable slotHoldTable;
+    private final SessionSeatRepository sessionSeatRepository;
+    private final SessionSeatCounter sessionSeatCounter;
+    // Per-provider searches of one request run side by side here, not in the common pool
+    private final ForkJoinPool searchPool;
+
+    public AvailabilityServiceImpl(AppointmentRepository appointmentRepository,
+                                   ServiceRepository serviceRepository,
+                                   AvailabilityProperties availabilityProperties,
+                                   ProviderScheduleCache providerScheduleCache,
+                                   ProviderCapabilityIndex capabilityIndex,
+                                   SlotHoldTable slotHoldTable,
+                                   SessionSeatRepository sessionSeatRepository,
+                                   SessionSeatCounter sessionSeatCounter) {
+        this.appointmentRepository = appointmentRepository;
+        this.serviceRepository = serviceRepository;
+        this.availabilityProperties = availabilityProperties;
+        this.providerScheduleCache = providerScheduleCache;
+        this.capabilityIndex = capabilityIndex;
+        this.slotHoldTable = slotHoldTable;
+        this.sessionSeatRepository = sessionSeatRepository;
+        this.sessionSeatCounter = sessionSeatCounter;
+        this.searchPool = new ForkJoinPool(Math.max(availabilityProperties.getParallelism(), 1));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        searchPool.shutdownNow();
+    }
+
+    @Override
+    public List<TimeSlotDTO> findAvailableSlots(Long providerId, Long serviceId, Long fromTime, Long toTime, Integer limit) {
+        Service service = findBookableService(serviceId);
+        long from = fromTime != null ? fromTime : System.currentTimeMillis() / 1000;
+        long to = toTime != null ? toTime : from + availabilityProperties.getHorizonDays() * 86400L;
+        int maxSlots = maxSlots(limit, from, to);
+
+        long durationSeconds = service.getDuration() * 60L;
+        List<Long> booked = withHolds(providerId, serviceId, appointmentRepository.findBookedStartTimes(
+            providerId, serviceId, from - durationSeconds, to), from - durationSeconds, to);
+        Map<Long, Integer> seats = seatsOf(List.of(providerId), service, from - durationSeconds, to)
+            .getOrDefault(providerId, Map.of());
+        log.debug("Searching slots for provider {} service {} in [{}, {}) against {} bookings",
+            providerId, serviceId, from, to, booked.size());
+
+        return searchProvider(providerId, serviceId, service.getDuration(), booked, seats, service.getCapacity(),
+            from, to, maxSlots, new AtomicLong(Long.MAX_VALUE));
+    }
+
+    @Override
+    public List<TimeSlotDTO> findEarliestSlots(Long serviceId, Long fromTime, Long toTime, Integer limit) {
+        Service service = findBookableService(serviceId);
+        long from = fromTime != null ? fromTime : System.currentTimeMillis() / 1000;
+        long to = toTime != null ? toTime : from + availabilityProperties.getHorizonDays() * 86400L;
+        int maxSlots = maxSlots(limit, from, to);
+
+        List<Long> providerIds = capabilityIndex.activeProvidersFor(serviceId);
+        if (providerIds.isEmpty()) {
+            return List.of();
+        }
+
+        // One query for every provider's bookings; the searches themselves only read memory
+        long durationSeconds = service.getDuration() * 60L;
+        Map<Long, List<Long>> bookedByProvider = new HashMap<>();
+        for (AppointmentRepository.BookedStart booked : appointmentRepository.findBookedStartTimesOfProviders(
+                providerIds, serviceId, from - durationSeconds, to)) {
+            bookedByProvider.computeIfAbsent(booked.getProviderId(), id -> new ArrayList<>()).add(booked.getStartTime());
+        }
+        Map<Long, Map<Long, Integer>> seatsByProvider = seatsOf(providerIds, service, from - durationSeconds, to);
+        log.debug("Searching slots of {} providers for service {} in [{}, {})", providerIds.size(), serviceId, from, to);
+
+        // Once any provider has maxSlots slots, the answer cannot start after its last one
+        AtomicLong cutoff = new AtomicLong(Long.MAX_VALUE);
+        String tenantId = TenantContext.getTenantId();
+        List<Callable<List<TimeSlotDTO>>> searches = new ArrayList<>(providerIds.size());
+        for (Long providerId : providerIds) {
+            List<Long> booked = withHolds(providerId, serviceId, bookedByProvider.getOrDefault(providerId, List.of()),
+                from - durationSeconds, to);
+            Map<Long, Integer> seats = seatsByProvider.getOrDefault(providerId, Map.of());
+            searches.add(() -> {
+                TenantContext.setTenantId(tenantId);
+                try {
+                    return searchProvider(providerId, serviceId, service.getDuration(), booked, seats,
+                        service.getCapacity(), from, to, maxSlots, cutoff);
+                } finally {
+                    TenantContext.clear();
+                }
+            });
+        }
+
+        List<List<TimeSlotDTO>> slotsByProvider = new ArrayList<>(providerIds.size());
+        for (Future<List<TimeSlotDTO>> search : searchPool.invokeAll(searches)) {
+            try {
+                slotsByProvider.add(search.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while searching availability", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+            }
+        }
+        return mergeEarliest(slotsByProvider, maxSlots);
+    }
+
+    /**
+     * k-way merge of per-provider slot lists, each sorted by start time, stopping after maxSlots slots.
+     */
+    static List<TimeSlotDTO> mergeEarliest(List<List<TimeSlotDTO>> slotsByProvider, int maxSlots) {
+        // Each entry is {list index, position in list}
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(slotsByProvider.size(), 1),
+            (a, b) -> EARLIEST_FIRST.compare(slotsByProvider.get(a[0]).get(a[1]), slotsByProvider.get(b[0]).get(b[1])));
+        for (int list = 0; list < slotsByProvider.size(); list++) {
+            if (!slotsByProvider.get(list).isEmpty()) {
+                heads.add(new int[]{list, 0});
+            }
+        }
+        List<TimeSlotDTO> merged = new ArrayList<>(maxSlots);
+        while (merged.size() < maxSlots && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<TimeSlotDTO> slots = slotsByProvider.get(head[0]);
+            merged.add(slots.get(head[1]));
+            if (head[1] + 1 < slots.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Booked start times with the starts of live slot holds merged in, still sorted.
+     */
+    private List<Long> withHolds(Long providerId, Long serviceId, List<Long> booked, long startAfter, long startBefore) {
+        List<Long> held = slotHoldTable.heldStartTimes(providerId, serviceId, startAfter, startBefore);
+        if (held.isEmpty()) {
+            return booked;
+        }
+        List<Long> merged = new ArrayList<>(booked.size() + held.size());
+        merged.addAll(booked);
+        merged.addAll(held);
+        merged.sort(null);
+        return merged;
+    }
+
+    /**
+     * Seats taken per session start, per provider, for a group service; empty for a single-client service.
+     * The counts also refresh what bookings on this node know about full sessions.
+     */
+    private Map<Long, Map<Long, Integer>> seatsOf(List<Long> providerIds, Service service, long startAfter,
+                                                  long startBefore) {
+        if (service.getCapacity() <= 1) {
+            return Map.of();
+        }
+        long durationSeconds = service.getDuration() * 60L;
+        Map<Long, Map<Long, Integer>> seats = new HashMap<>();
+        for (SessionSeatRepository.SessionSeats session : sessionSeatRepository.findSeats(providerIds, service.getId(),
+                startAfter, startBefore)) {
+            seats.computeIfAbsent(session.getProviderId(), id -> new HashMap<>())
+                .put(session.getStartTime(), session.getBooked());
+            sessionSeatCounter.record(session.getProviderId(), service.getId(), session.getStartTime(),
+                session.getStartTime() + durationSeconds, session.getBooked(), service.getCapacity());
+        }
+        return seats;
+    }
+
+    private Service findBookableService(Long serviceId) {
+        Service service = serviceRepository.findById(serviceId)
+            .orElseThrow(() -> ResourceNotFoundException.forId("Service", serviceId));
+
+        if (service.getDuration() == null || service.getDuration() <= 0) {
+            throw new IllegalArgumentException("Service duration must be greater than 0");
+        }
+        return service;
+    }
+
+    private int maxSlots(Integer limit, long from, long to) {
+        int maxSlots = limit != null ? Math.min(limit, availabilityProperties.getMaxSlots()) : availabilityProperties.getMaxSlots();
+        if (to <= from || maxSlots <= 0) {
+            throw new IllegalArgumentException("Availability window must have an end time after its start time and a positive limit");
+        }
+        return maxSlots;
+    }
+
+    /**
+     * Open slots of one provider in [from, to), at most maxSlots and none starting after the cutoff,
+     * which is lowered to the last slot's start once maxSlots are found. For a group service, a booked
+     * session with seats left is a slot at its own start time; seats maps session starts to seats taken.
+     */
+    private List<TimeSlotDTO> searchProvider(Long providerId, Long serviceId, int duration, List<Long> booked,
+                                             Map<Long, Integer> seats, int capacity, long from, long to,
+                                             int maxSlots, AtomicLong cutoff) {
+        long durationSeconds = duration * 60L;
+        // Bookings of the same service share one duration, so they are sorted by end time as well
+        List<TimeSlotDTO> slots = new ArrayList<>();
+        int next = 0;
+        long candidate = from;
+        while (slots.size() < maxSlots && candidate + durationSeconds <= to && candidate <= cutoff.get()) {
+            while (next < booked.size() && booked.get(next) + durationSeconds <= candidate) {
+                next++;
+            }
+            if (next < booked.size() && booked.get(next) < candidate + durationSeconds) {
+                long session = booked.get(next);
+                if (session < candidate || seats.getOrDefault(session, capacity) >= capacity) {
+                    candidate = session + durationSeconds;
+                    continue;
+                }
+                if (session > candidate) {
+                    candidate = session;
+                    continue;
+                }
+            }
+            long open = providerScheduleCache.nextOpenStart(providerId, candidate, duration, to);
+            if (open != candidate) {
+                if (open == Long.MAX_VALUE) {
+                    break;
+                }
+                candidate = open;
+                continue;
+            }
+            Integer seatsLeft = capacity > 1 ? capacity - seats.getOrDefault(candidate, 0) : null;
+            slots.add(new TimeSlotDTO(providerId, serviceId, candidate, candidate + durationSeconds, seatsLeft));
+            candidate += durationSeconds;
+        }
+        if (slots.size() == maxSlots) {
+            cutoff.accumulateAndGet(slots.get(maxSlots - 1).getStartTime(), Math::min);
+        }
+        return slots;
+    }
+}
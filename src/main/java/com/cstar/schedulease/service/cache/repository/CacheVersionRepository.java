@@ -0,0 +1,42 @@
+package com.cstar.schedulease.service.cache.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * cache_version, and the NOTIFY sent with each bump. NOTIFY is transactional: nodes receive it once
+ * the caller's transaction commits, and never when it rolls back.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CacheVersionRepository {
+
+    private static final String BUMP_AND_NOTIFY_SQL =
+        "WITH v AS (UPDATE cache_version SET version = version + 1 WHERE cache = ? RETURNING version) " +
+        "SELECT pg_notify(?, ? || '|' || current_schema() || '|' || ? || '|' || v.version || '|' || ?) FROM v";
+
+    private static final String NOTIFY_SQL =
+        "SELECT pg_notify(?, ? || '|' || current_schema() || '|' || ? || '|0|' || ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void bumpAndNotify(String channel, String node, String cache, String id) {
+        jdbcTemplate.queryForList(BUMP_AND_NOTIFY_SQL, cache, channel, node, cache, id);
+    }
+
+    public void notify(String channel, String node, String kind, String id) {
+        jdbcTemplate.queryForList(NOTIFY_SQL, channel, node, kind, id);
+    }
+
+    public Map<String, Long> findVersions() {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query("SELECT cache, version FROM cache_version", resultSet -> {
+            versions.put(resultSet.getString("cache"), resultSet.getLong("version"));
+        });
+        return versions;
+    }
+}
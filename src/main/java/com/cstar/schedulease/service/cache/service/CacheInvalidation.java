@@ -0,0 +1,44 @@
+package com.cstar.schedulease.service.cache.service;
+
+import lombok.Value;
+
+/**
+ * One NOTIFY payload: node|schema|kind|version|id, e.g. "3f2a91c0|public|schedule|17|42".
+ * Version is 0 for kinds without a cache_version row; id is empty when the whole kind changed.
+ */
+@Value
+public class CacheInvalidation {
+
+    public enum Kind {
+        PROVIDER, SERVICE, SCHEDULE, APPOINTMENT, WAITLIST;
+
+        /**
+         * cache_version key, or null when the kind is not versioned.
+         */
+        public String versionKey() {
+            return this == APPOINTMENT || this == WAITLIST ? null : name().toLowerCase();
+        }
+    }
+
+    String node;
+    String schema;
+    Kind kind;
+    long version;
+    Long id;
+
+    /**
+     * Null for payloads of another format.
+     */
+    public static CacheInvalidation parse(String payload) {
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 5) {
+            return null;
+        }
+        try {
+            return new CacheInvalidation(parts[0], parts[1], Kind.valueOf(parts[2].toUpperCase()),
+                Long.parseLong(parts[3]), parts[4].isEmpty() ? null : Long.valueOf(parts[4]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.cstar.schedulease.service.cache.service;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.common.tenant.TenantScoped;
+import com.cstar.schedulease.config.CacheProperties;
+import com.cstar.schedulease.config.TenantRoutingDataSource;
+import com.cstar.schedulease.service.analytics.service.AppointmentSnapshot;
+import com.cstar.schedulease.service.cache.repository.CacheVersionRepository;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
+import com.cstar.schedulease.service.provider.service.ProviderScheduleCache;
+import com.cstar.schedulease.service.tenant.dto.TenantDTO;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import com.cstar.schedulease.service.waitlist.service.WaitlistIndex;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the cache invalidations of other nodes. Each shard gets a thread with its own connection,
+ * outside the pools, that LISTENs on the channel and evicts exactly what a notification names.
+ *
+ * Notifications sent while the connection is down are lost, so after a reconnect the cache_version
+ * rows are compared with the last versions seen and every cache whose version moved is reloaded.
+ * Appointments and waitlist entries are not versioned; the analytics snapshot and the waitlist index
+ * are simply marked stale.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    private final DataSource dataSource;
+    private final ObjectProvider<TenantDirectory> tenantDirectory;
+    private final CacheVersionRepository cacheVersionRepository;
+    private final CacheInvalidationPublisher publisher;
+    private final ProviderCapabilityIndex capabilityIndex;
+    private final ProviderScheduleCache scheduleCache;
+    private final AppointmentSnapshot appointmentSnapshot;
+    private final WaitlistIndex waitlistIndex;
+    private final CacheProperties cacheProperties;
+    private final Counter invalidationCounter;
+
+    // Last cache_version seen per cache key, per tenant
+    private final TenantScoped<Map<String, Long>> seenVersions = new TenantScoped<>(ConcurrentHashMap::new);
+
+    private volatile boolean running;
+    private final List<Thread> workers = new ArrayList<>();
+
+    public CacheInvalidationListener(DataSource dataSource,
+                                     ObjectProvider<TenantDirectory> tenantDirectory,
+                                     CacheVersionRepository cacheVersionRepository,
+                                     CacheInvalidationPublisher publisher,
+                                     ProviderCapabilityIndex capabilityIndex,
+                                     ProviderScheduleCache scheduleCache,
+                                     AppointmentSnapshot appointmentSnapshot,
+                                     WaitlistIndex waitlistIndex,
+                                     CacheProperties cacheProperties,
+                                     MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.tenantDirectory = tenantDirectory;
+        this.cacheVersionRepository = cacheVersionRepository;
+        this.publisher = publisher;
+        this.capabilityIndex = capabilityIndex;
+        this.scheduleCache = scheduleCache;
+        this.appointmentSnapshot = appointmentSnapshot;
+        this.waitlistIndex = waitlistIndex;
+        this.cacheProperties = cacheProperties;
+        this.invalidationCounter = Counter.builder("schedulease.cache.invalidations")
+            .description("Cache invalidations received from other nodes")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!cacheProperties.isListenerEnabled() || running) {
+            return;
+        }
+        Map<String, HikariDataSource> shards;
+        try {
+            shards = shards();
+        } catch (SQLException e) {
+            log.warn("Cache listener disabled, no connection pool to listen on: {}", e.getMessage());
+            return;
+        }
+        running = true;
+        shards.forEach((shard, pool) -> {
+            Thread worker = new Thread(() -> run(shard, pool), "cache-listener-" + shard);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        });
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private Map<String, HikariDataSource> shards() throws SQLException {
+        if (dataSource.isWrapperFor(TenantRoutingDataSource.class)) {
+            return dataSource.unwrap(TenantRoutingDataSource.class).getShards();
+        }
+        return Map.of(TenantDirectory.DEFAULT_SHARD, dataSource.unwrap(HikariDataSource.class));
+    }
+
+    private void run(String shard, HikariDataSource pool) {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(pool.getJdbcUrl(), pool.getUsername(),
+                    pool.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + cacheProperties.getChannel().replace("\"", "\"\"") + "\"");
+                }
+                // Listening before reading the versions, so no change falls between the two
+                checkVersions(shard, reconnect);
+                reconnect = true;
+                listen(shard, connection);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache listener on shard {} lost its connection, reconnecting in {} ms: {}",
+                    shard, cacheProperties.getReconnectDelay().toMillis(), e.getMessage());
+                try {
+                    Thread.sleep(cacheProperties.getReconnectDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(String shard, Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        int timeout = (int) cacheProperties.getListenTimeout().toMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(timeout);
+            if (notifications == null || notifications.length == 0) {
+                // Nothing arrived: make sure the connection is still alive
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                continue;
+            }
+            Map<String, Set<Long>> appointmentIds = new LinkedHashMap<>();
+            for (PGNotification notification : notifications) {
+                CacheInvalidation invalidation = CacheInvalidation.parse(notification.getParameter());
+                if (invalidation == null) {
+                    log.debug("Ignoring cache notification {}", notification.getParameter());
+                    continue;
+                }
+                String tenantId = tenantOf(shard, invalidation.getSchema());
+                if (tenantId == null) {
+                    continue;
+                }
+                if (invalidation.getKind() == CacheInvalidation.Kind.APPOINTMENT) {
+                    if (!publisher.getNodeId().equals(invalidation.getNode()) && invalidation.getId() != null) {
+                        appointmentIds.computeIfAbsent(tenantId, id -> new HashSet<>()).add(invalidation.getId());
+                    }
+                    continue;
+                }
+                inTenant(tenantId, () -> apply(invalidation));
+            }
+            // One query per tenant for all appointments of the batch
+            appointmentIds.forEach((tenantId, ids) -> inTenant(tenantId, () -> {
+                appointmentSnapshot.refresh(ids);
+                invalidationCounter.increment(ids.size());
+            }));
+        }
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        seenVersions.get().merge(invalidation.getKind().versionKey(), invalidation.getVersion(), Math::max);
+        // The writing node updated its own caches after commit
+        if (publisher.getNodeId().equals(invalidation.getNode())) {
+            return;
+        }
+        switch (invalidation.getKind()) {
+            case PROVIDER, SERVICE -> capabilityIndex.invalidate();
+            case SCHEDULE -> {
+                if (invalidation.getId() != null) {
+                    scheduleCache.reload(invalidation.getId());
+                } else {
+                    scheduleCache.reloadAll();
+                }
+            }
+            case WAITLIST -> {
+                if (invalidation.getId() != null) {
+                    waitlistIndex.reload(invalidation.getId());
+                } else {
+                    waitlistIndex.invalidate();
+                }
+            }
+            case APPOINTMENT -> {
+            }
+        }
+        invalidationCounter.increment();
+    }
+
+    /**
+     * Records the current versions of the shard's tenants; after a reconnect, first reloads
+     * the caches whose version changed while the connection was down.
+     */
+    private void checkVersions(String shard, boolean reconnect) {
+        for (String tenantId : tenantsOn(shard)) {
+            inTenant(tenantId, () -> {
+                Map<String, Long> versions = cacheVersionRepository.findVersions();
+                Map<String, Long> seen = seenVersions.get();
+                if (reconnect && !seen.isEmpty()) {
+                    Set<String> changed = new HashSet<>();
+                    versions.forEach((cache, version) -> {
+                        if (!Objects.equals(seen.get(cache), version)) {
+                            changed.add(cache);
+                        }
+                    });
+                    if (changed.contains(CacheInvalidation.Kind.PROVIDER.versionKey())
+                            || changed.contains(CacheInvalidation.Kind.SERVICE.versionKey())) {
+                        capabilityIndex.invalidate();
+                    }
+                    if (changed.contains(CacheInvalidation.Kind.SCHEDULE.versionKey())) {
+                        scheduleCache.reloadAll();
+                    }
+                    appointmentSnapshot.invalidate();
+                    waitlistIndex.invalidate();
+                    log.info("Cache listener of tenant {} reconnected, reloaded caches {}", tenantId, changed);
+                }
+                seen.putAll(versions);
+            });
+        }
+    }
+
+    private List<String> tenantsOn(String shard) {
+        TenantDirectory directory = tenantDirectory.getIfAvailable();
+        if (directory == null) {
+            return List.of(TenantContext.DEFAULT_TENANT);
+        }
+        return directory.getTenants().stream()
+            .filter(tenant -> shard.equals(tenant.getShard()))
+            .map(TenantDTO::getTenantId)
+            .toList();
+    }
+
+    /**
+     * Tenant whose schema sent the notification; null when it is not on this shard, or no longer exists.
+     */
+    private String tenantOf(String shard, String schema) {
+        TenantDirectory directory = tenantDirectory.getIfAvailable();
+        if (directory == null) {
+            return TenantContext.DEFAULT_TENANT;
+        }
+        for (TenantDTO tenant : directory.getTenants()) {
+            if (schema.equals(tenant.getSchema())) {
+                return shard.equals(tenant.getShard()) ? tenant.getTenantId() : null;
+            }
+        }
+        // The default tenant uses the shard's default schema
+        return TenantDirectory.DEFAULT_SHARD.equals(shard) ? TenantContext.DEFAULT_TENANT : null;
+    }
+
+    private static void inTenant(String tenantId, Runnable action) {
+        TenantContext.setTenantId(tenantId);
+        try {
+            action.run();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.cstar.schedulease.service.cache.service;
+
+import com.cstar.schedulease.config.CacheProperties;
+import com.cstar.schedulease.service.cache.repository.CacheVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Tells the other nodes which cached data a write changed. Call inside the write's transaction:
+ * the notification goes out when it commits. The writing node updates its own caches after commit
+ * as before, and ignores its own notifications.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationPublisher {
+
+    private final CacheVersionRepository cacheVersionRepository;
+    private final CacheProperties cacheProperties;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void providerChanged(Long providerId) {
+        publish(CacheInvalidation.Kind.PROVIDER, providerId);
+    }
+
+    /**
+     * @param serviceId null when several services changed
+     */
+    public void serviceChanged(Long serviceId) {
+        publish(CacheInvalidation.Kind.SERVICE, serviceId);
+    }
+
+    public void scheduleChanged(Long providerId) {
+        publish(CacheInvalidation.Kind.SCHEDULE, providerId);
+    }
+
+    public void appointmentChanged(Long appointmentId) {
+        publish(CacheInvalidation.Kind.APPOINTMENT, appointmentId);
+    }
+
+    public void waitlistChanged(Long entryId) {
+        publish(CacheInvalidation.Kind.WAITLIST, entryId);
+    }
+
+    private void publish(CacheInvalidation.Kind kind, Long id) {
+        String key = kind.name().toLowerCase();
+        String value = id != null ? id.toString() : "";
+        if (kind.versionKey() != null) {
+            cacheVersionRepository.bumpAndNotify(cacheProperties.getChannel(), nodeId, key, value);
+        } else {
+            cacheVersionRepository.notify(cacheProperties.getChannel(), nodeId, key, value);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.cstar.schedulease.service.client.controller;
 
+import com.cstar.schedulease.common.admission.BulkEndpoint;
 import com.cstar.schedulease.service.client.dto.ClientDTO;
 import com.cstar.schedulease.service.client.service.ClientService;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -25,6 +27,7 @@ public class ClientController {
         return new ResponseEntity<>(createdClient, HttpStatus.CREATED);
     }
 
+    @BulkEndpoint
     @GetMapping
     public ResponseEntity<List<ClientDTO>> getAllClients() {
         log.info("REST request to get all Clients");
@@ -49,10 +52,10 @@ public class ClientController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteClient(@PathVariable Long id) {
+    public ResponseEntity<PurgeJobDTO> deleteClient(@PathVariable Long id) {
         log.info("REST request to delete Client with id: {}", id);
-        clientService.deleteClient(id);
-        return ResponseEntity.noContent().build();
+        PurgeJobDTO job = clientService.deleteClient(id);
+        return ResponseEntity.accepted().body(job);
     }
 }
 
@@ -4,7 +4,13 @@ import com.cstar.schedulease.service.client.entity.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
+    Optional<Client> findByIdAndDeletedFalse(Long id);
+
+    List<Client> findByDeletedFalse();
 }
 
@@ -1,6 +1,7 @@
 package com.cstar.schedulease.service.client.service;
 
 import com.cstar.schedulease.service.client.dto.ClientDTO;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
 
 import java.util.List;
 
@@ -13,6 +14,9 @@ public interface ClientService {
 
     ClientDTO updateClient(Long id, ClientDTO dto);
 
-    void deleteClient(Long id);
+    /**
+     * Hides the client at once; its appointments and the client row are removed by the returned purge job.
+     */
+    PurgeJobDTO deleteClient(Long id);
 }
 
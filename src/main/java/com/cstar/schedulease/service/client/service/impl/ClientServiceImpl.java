@@ -1,10 +1,13 @@
 package com.cstar.schedulease.service.client.service.impl;
 
+import com.cstar.schedulease.common.enums.PurgeEntityType;
 import com.cstar.schedulease.exception.ResourceNotFoundException;
 import com.cstar.schedulease.service.client.dto.ClientDTO;
 import com.cstar.schedulease.service.client.entity.Client;
 import com.cstar.schedulease.service.client.repository.ClientRepository;
 import com.cstar.schedulease.service.client.service.ClientService;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
+import com.cstar.schedulease.service.purge.service.PurgeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,6 +23,7 @@ import java.util.stream.Collectors;
 public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
+    private final PurgeService purgeService;
 
     @Override
     public ClientDTO createClient(ClientDTO dto) {
@@ -41,7 +45,7 @@ public class ClientServiceImpl implements ClientService {
     public ClientDTO getClientById(Long id) {
         log.info("Fetching client with id: {}", id);
         
-        Client client = clientRepository.findById(id)
+        Client client = clientRepository.findByIdAndDeletedFalse(id)
             .orElseThrow(() -> ResourceNotFoundException.forId("Client", id));
         
         return convertToDTO(client);
@@ -52,7 +56,7 @@ public class ClientServiceImpl implements ClientService {
     public List<ClientDTO> getAllClients() {
         log.info("Fetching all clients");
         
-        List<Client> clients = clientRepository.findAll();
+        List<Client> clients = clientRepository.findByDeletedFalse();
         
         log.info("Found {} clients", clients.size());
         return clients.stream()
@@ -64,7 +68,7 @@ public class ClientServiceImpl implements ClientService {
     public ClientDTO updateClient(Long id, ClientDTO dto) {
         log.info("Updating client with id: {}", id);
         
-        Client client = clientRepository.findById(id)
+        Client client = clientRepository.findByIdAndDeletedFalse(id)
             .orElseThrow(() -> ResourceNotFoundException.forId("Client", id));
         
         if (dto.getFirstName() != null) {
@@ -84,14 +88,18 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
-    public void deleteClient(Long id) {
+    public PurgeJobDTO deleteClient(Long id) {
         log.info("Deleting client with id: {}", id);
         
-        Client client = clientRepository.findById(id)
+        Client client = clientRepository.findByIdAndDeletedFalse(id)
             .orElseThrow(() -> ResourceNotFoundException.forId("Client", id));
         
-        clientRepository.delete(client);
-        log.info("Client deleted successfully with id: {}", id);
+        // The appointment cascade runs in the background, in small batches
+        client.setDeleted(true);
+        clientRepository.save(client);
+        PurgeJobDTO job = purgeService.schedulePurge(PurgeEntityType.CLIENT, id);
+        log.info("Client marked deleted with id: {}, purge job {}", id, job.getId());
+        return job;
     }
 
     private ClientDTO convertToDTO(Client client) {
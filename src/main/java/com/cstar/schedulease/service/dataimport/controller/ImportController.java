@@ -0,0 +1,38 @@
+package com.cstar.schedulease.service.dataimport.controller;
+
+import com.cstar.schedulease.common.admission.BulkEndpoint;
+import com.cstar.schedulease.common.enums.ImportEntity;
+import com.cstar.schedulease.common.enums.ImportFormat;
+import com.cstar.schedulease.service.dataimport.dto.ImportResultDTO;
+import com.cstar.schedulease.service.dataimport.service.ImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+@Slf4j
+public class ImportController {
+
+    private final ImportService importService;
+
+    /**
+     * The request body is the raw CSV or NDJSON file; it is streamed, never read into memory whole.
+     */
+    @BulkEndpoint
+    @PostMapping("/{entity}")
+    public ResponseEntity<ImportResultDTO> importRecords(
+            @PathVariable String entity,
+            @RequestParam(defaultValue = "CSV") String format,
+            HttpServletRequest request) throws IOException {
+        log.info("REST request to import {} as {}", entity, format);
+        ImportResultDTO result = importService.importRecords(ImportEntity.fromCode(entity),
+            ImportFormat.fromCode(format), request.getInputStream());
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,14 @@
+package com.cstar.schedulease.service.dataimport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRejectDTO {
+    // Line of the input where the rejected row starts, the header being line 1 of a CSV file
+    private Long line;
+    private String reason;
+}
@@ -0,0 +1,22 @@
+package com.cstar.schedulease.service.dataimport.dto;
+
+import com.cstar.schedulease.common.enums.ImportEntity;
+import com.cstar.schedulease.common.enums.ImportFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private ImportEntity entity;
+    private ImportFormat format;
+    private Long rows;
+    private Long imported;
+    private Long rejected;
+    // Ordered by line; at most schedulease.import.max-reported-rejects of them, rejected counts them all
+    private List<ImportRejectDTO> rejects;
+}
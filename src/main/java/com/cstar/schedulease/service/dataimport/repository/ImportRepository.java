@@ -0,0 +1,181 @@
+package com.cstar.schedulease.service.dataimport.repository;
+
+import com.cstar.schedulease.common.enums.ImportEntity;
+import com.cstar.schedulease.service.dataimport.dto.ImportRejectDTO;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Bulk import through temporary staging tables: rows are streamed in with COPY, checked against the
+ * database and merged with one statement per step. Must run in a transaction, whose commit drops the
+ * staging table; a reject reason set on a staged row keeps it out of the merge.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImportRepository {
+
+    private static final String CREATE_CLIENT_STAGING_SQL =
+        "CREATE TEMPORARY TABLE import_client (line BIGINT PRIMARY KEY, first_name TEXT, last_name TEXT, " +
+        "phone TEXT, reject TEXT) ON COMMIT DROP";
+
+    private static final String CREATE_SERVICE_STAGING_SQL =
+        "CREATE TEMPORARY TABLE import_service (line BIGINT PRIMARY KEY, name TEXT, description TEXT, " +
+        "category TEXT, duration INTEGER, price NUMERIC(10,2), is_active BOOLEAN, reject TEXT) ON COMMIT DROP";
+
+    private static final String CREATE_APPOINTMENT_STAGING_SQL =
+        "CREATE TEMPORARY TABLE import_appointment (line BIGINT PRIMARY KEY, client_id BIGINT, provider_id BIGINT, " +
+        "service_id BIGINT, start_time BIGINT, status TEXT, notes TEXT, reject TEXT) ON COMMIT DROP";
+
+    private static final String MERGE_CLIENTS_SQL =
+        "INSERT INTO client (first_name, last_name, phone) " +
+        "SELECT first_name, last_name, phone FROM import_client ORDER BY line";
+
+    // The last row of a name wins, like consecutive updates would
+    private static final String REJECT_SUPERSEDED_SERVICES_SQL =
+        "UPDATE import_service i SET reject = 'Service ' || i.name || ' is repeated on line ' || d.last_line " +
+        "FROM (SELECT name, MAX(line) AS last_line FROM import_service GROUP BY name HAVING COUNT(*) > 1) d " +
+        "WHERE i.name = d.name AND i.line < d.last_line";
+
+    private static final String MERGE_SERVICES_SQL =
+        "INSERT INTO service (name, description, category, duration, price, is_active) " +
+        "SELECT name, description, category, duration, price, is_active FROM import_service " +
+        "WHERE reject IS NULL ORDER BY line " +
+        "ON CONFLICT (name) DO UPDATE SET description = EXCLUDED.description, category = EXCLUDED.category, " +
+        "duration = EXCLUDED.duration, price = EXCLUDED.price, is_active = EXCLUDED.is_active";
+
+    private static final String REJECT_UNKNOWN_CLIENTS_SQL =
+        "UPDATE import_appointment i SET reject = 'Client not found with id: ' || i.client_id " +
+        "WHERE NOT EXISTS (SELECT 1 FROM client c WHERE c.id = i.client_id AND NOT c.deleted)";
+
+    private static final String REJECT_UNKNOWN_PROVIDERS_SQL =
+        "UPDATE import_appointment i SET reject = 'Provider not found with id: ' || i.provider_id " +
+        "WHERE i.reject IS NULL AND NOT EXISTS (SELECT 1 FROM provider p WHERE p.id = i.provider_id AND NOT p.deleted)";
+
+    private static final String REJECT_UNKNOWN_SERVICES_SQL =
+        "UPDATE import_appointment i SET reject = 'Service not found with id: ' || i.service_id " +
+        "WHERE i.reject IS NULL AND NOT EXISTS (SELECT 1 FROM service s WHERE s.id = i.service_id)";
+
+    // Group sessions count their seats in session_seat, which only bookings through the API maintain
+    private static final String REJECT_GROUP_SERVICES_SQL =
+        "UPDATE import_appointment i SET reject = 'Service ' || i.service_id || ' is booked by the seat in group sessions' " +
+        "WHERE i.reject IS NULL AND EXISTS (SELECT 1 FROM service s WHERE s.id = i.service_id AND s.capacity > 1)";
+
+    // Staged and booked appointments of one provider and service have the same duration, so two of them overlap
+    // (start_time < other_end AND other_start < end) exactly when their starts are less than a duration apart
+    private static final String INDEX_APPOINTMENT_STAGING_SQL =
+        "CREATE INDEX ON import_appointment (provider_id, service_id, start_time)";
+
+    private static final String REJECT_BOOKED_SLOTS_SQL =
+        "UPDATE import_appointment i SET reject = 'Slot overlaps appointment ' || a.id " +
+        "FROM service s, appointments a WHERE i.reject IS NULL AND i.status <> 'CANCELLED' AND s.id = i.service_id " +
+        "AND a.provider_id = i.provider_id AND a.service_id = i.service_id " +
+        "AND a.start_time > i.start_time - s.duration * 60 AND a.start_time < i.start_time + s.duration * 60 " +
+        "AND a.status <> 'CANCELLED'";
+
+    // Checked against every earlier row still in the import, so of a chain of overlapping rows only the first stays
+    private static final String REJECT_OVERLAPPING_ROWS_SQL =
+        "UPDATE import_appointment i SET reject = 'Slot overlaps line ' || o.line " +
+        "FROM service s, import_appointment o WHERE i.reject IS NULL AND i.status <> 'CANCELLED' " +
+        "AND s.id = i.service_id AND o.reject IS NULL AND o.status <> 'CANCELLED' AND o.line < i.line " +
+        "AND o.provider_id = i.provider_id AND o.service_id = i.service_id " +
+        "AND o.start_time > i.start_time - s.duration * 60 AND o.start_time < i.start_time + s.duration * 60";
+
+    // Booking times of imported appointments are unknown. Every inserted row gets its CREATED event,
+    // and a booking that took the same start since the checks above is skipped rather than failing the import
+    private static final String MERGE_APPOINTMENTS_SQL =
+        "WITH ins AS (" +
+        "  INSERT INTO appointments (client_id, provider_id, service_id, start_time, status, notes, created_at, price) " +
+        "  SELECT i.client_id, i.provider_id, i.service_id, i.start_time, i.status, i.notes, NULL, s.price " +
+        "  FROM import_appointment i JOIN service s ON s.id = i.service_id " +
+        "  WHERE i.reject IS NULL ORDER BY i.line " +
+        "  ON CONFLICT DO NOTHING " +
+        "  RETURNING id, client_id, provider_id, service_id, start_time, status, price) " +
+        "INSERT INTO appointment_outbox (event_type, appointment_id, provider_id, service_id, client_id, " +
+        "  start_time, end_time, status, previous_status, previous_start_time, occurred_at, price) " +
+        "SELECT 'CREATED', ins.id, ins.provider_id, ins.service_id, ins.client_id, ins.start_time, " +
+        "  ins.start_time + s.duration * 60, ins.status, NULL, NULL, ?, ins.price " +
+        "FROM ins JOIN service s ON s.id = ins.service_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createStaging(ImportEntity entity) {
+        jdbcTemplate.execute(switch (entity) {
+            case CLIENTS -> CREATE_CLIENT_STAGING_SQL;
+            case SERVICES -> CREATE_SERVICE_STAGING_SQL;
+            case APPOINTMENTS -> CREATE_APPOINTMENT_STAGING_SQL;
+        });
+    }
+
+    /**
+     * Streams CSV rows, line first and then the columns ImportRows produces, into the staging table.
+     */
+    public long copyIn(ImportEntity entity, Reader rows) {
+        String sql = "COPY " + stagingTable(entity) + " (" + switch (entity) {
+            case CLIENTS -> "line, first_name, last_name, phone";
+            case SERVICES -> "line, name, description, category, duration, price, is_active";
+            case APPOINTMENTS -> "line, client_id, provider_id, service_id, start_time, status, notes";
+        } + ") FROM STDIN WITH (FORMAT csv)";
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, rows);
+            } catch (IOException e) {
+                throw new IllegalStateException("Reading import input failed: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Rejects what the database does not accept, then inserts the rest. Returns the rows written.
+     */
+    public long merge(ImportEntity entity, long occurredAt) {
+        return switch (entity) {
+            case CLIENTS -> jdbcTemplate.update(MERGE_CLIENTS_SQL);
+            case SERVICES -> {
+                jdbcTemplate.update(REJECT_SUPERSEDED_SERVICES_SQL);
+                yield jdbcTemplate.update(MERGE_SERVICES_SQL);
+            }
+            case APPOINTMENTS -> {
+                // Built once the rows are in; fresh statistics for the joins below, a temporary table is
+                // never auto-analyzed
+                jdbcTemplate.execute(INDEX_APPOINTMENT_STAGING_SQL);
+                jdbcTemplate.execute("ANALYZE import_appointment");
+                jdbcTemplate.update(REJECT_UNKNOWN_CLIENTS_SQL);
+                jdbcTemplate.update(REJECT_UNKNOWN_PROVIDERS_SQL);
+                jdbcTemplate.update(REJECT_UNKNOWN_SERVICES_SQL);
+                jdbcTemplate.update(REJECT_GROUP_SERVICES_SQL);
+                // Booked appointments first, so a row they reject cannot block a later row
+                jdbcTemplate.update(REJECT_BOOKED_SLOTS_SQL);
+                jdbcTemplate.update(REJECT_OVERLAPPING_ROWS_SQL);
+                yield jdbcTemplate.update(MERGE_APPOINTMENTS_SQL, occurredAt);
+            }
+        };
+    }
+
+    public long countRejects(ImportEntity entity) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + stagingTable(entity) + " WHERE reject IS NOT NULL", Long.class);
+        return count != null ? count : 0;
+    }
+
+    public List<ImportRejectDTO> findRejects(ImportEntity entity, int limit) {
+        return jdbcTemplate.query(
+            "SELECT line, reject FROM " + stagingTable(entity) + " WHERE reject IS NOT NULL ORDER BY line LIMIT ?",
+            (resultSet, rowNum) -> new ImportRejectDTO(resultSet.getLong("line"), resultSet.getString("reject")),
+            limit);
+    }
+
+    private static String stagingTable(ImportEntity entity) {
+        return switch (entity) {
+            case CLIENTS -> "import_client";
+            case SERVICES -> "import_service";
+            case APPOINTMENTS -> "import_appointment";
+        };
+    }
+}
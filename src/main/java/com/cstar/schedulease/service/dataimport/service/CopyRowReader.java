@@ -0,0 +1,91 @@
+package com.cstar.schedulease.service.dataimport.service;
+
+import com.cstar.schedulease.common.enums.ImportEntity;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * COPY ... FROM STDIN (FORMAT csv) input produced on demand: each read pulls the next rows from the
+ * record reader, validates them and encodes the valid ones, prefixed with their line. Rejected rows go
+ * to the reject list and never reach the database.
+ */
+public final class CopyRowReader extends Reader {
+
+    private final RecordReader records;
+    private final ImportEntity entity;
+    private final ImportRejects rejects;
+    private final StringBuilder buffer = new StringBuilder();
+    private int position;
+    private long rows;
+    private boolean exhausted;
+
+    public CopyRowReader(RecordReader records, ImportEntity entity, ImportRejects rejects) {
+        this.records = records;
+        this.entity = entity;
+        this.rejects = rejects;
+    }
+
+    /**
+     * Rows read so far, valid or not.
+     */
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public int read(char[] target, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (position == buffer.length()) {
+            if (exhausted) {
+                return -1;
+            }
+            buffer.setLength(0);
+            position = 0;
+            fill();
+        }
+        int count = Math.min(length, buffer.length() - position);
+        buffer.getChars(position, position + count, target, offset);
+        position += count;
+        return count;
+    }
+
+    private void fill() throws IOException {
+        ImportRecord record;
+        try {
+            record = records.next();
+        } catch (RecordReader.MalformedRowException e) {
+            rows++;
+            rejects.add(e.getLine(), e.getMessage());
+            return;
+        }
+        if (record == null) {
+            exhausted = true;
+            return;
+        }
+        rows++;
+        String[] values;
+        try {
+            values = ImportRows.validate(entity, record);
+        } catch (IllegalArgumentException e) {
+            rejects.add(record.getLine(), e.getMessage());
+            return;
+        }
+        buffer.append(record.getLine());
+        for (String value : values) {
+            buffer.append(',');
+            if (value != null) {
+                // Quoted, so an empty string stays distinct from NULL
+                buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+            }
+        }
+        buffer.append('\n');
+    }
+
+    @Override
+    public void close() {
+        // The request or file stream is closed by its owner
+    }
+}
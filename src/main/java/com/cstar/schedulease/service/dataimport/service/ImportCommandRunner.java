@@ -0,0 +1,72 @@
+package com.cstar.schedulease.service.dataimport.service;
+
+import com.cstar.schedulease.common.enums.ImportEntity;
+import com.cstar.schedulease.common.enums.ImportFormat;
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.service.dataimport.dto.ImportResultDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command line import: {@code --import=clients --file=clients.csv [--format=ndjson] [--tenant=id]}
+ * imports the file, prints the result as JSON and exits; 0 when every row was imported, 2 with rejects,
+ * 1 on failure. Best run with --spring.main.web-application-type=none.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportCommandRunner implements ApplicationRunner {
+
+    private final ImportService importService;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("import")) {
+            return;
+        }
+        int exitCode;
+        try {
+            ImportEntity entity = ImportEntity.fromCode(option(args, "import"));
+            Path file = Path.of(option(args, "file"));
+            String format = args.containsOption("format") ? option(args, "format")
+                : file.toString().endsWith(".ndjson") || file.toString().endsWith(".jsonl") ? "NDJSON" : "CSV";
+            if (args.containsOption("tenant")) {
+                TenantContext.setTenantId(option(args, "tenant"));
+            }
+            ImportResultDTO result;
+            try (InputStream input = Files.newInputStream(file)) {
+                result = importService.importRecords(entity, ImportFormat.fromCode(format), input);
+            } finally {
+                TenantContext.clear();
+            }
+            System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+            exitCode = result.getRejected() > 0 ? 2 : 0;
+        } catch (Exception e) {
+            log.error("Import failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        if (values == null || values.isEmpty() || values.get(0).isBlank()) {
+            throw new IllegalArgumentException("--" + name + " needs a value");
+        }
+        return values.get(0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cstar.schedulease.service.dataimport.service;
+
+import java.util.Map;
+
+/**
+ * One input row: the line it starts on and its values by normalized column name.
+ */
+public final class ImportRecord {
+
+    private final long line;
+    private final Map<String, String> values;
+
+    ImportRecord(long line, Map<String, String> values) {
+        this.line = line;
+        this.values = values;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Trimmed value of the column, null when missing or blank.
+     */
+    public String get(String column) {
+        String value = values.get(column);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * first_name, First Name and firstName all name the same column.
+     */
+    static String normalize(String column) {
+        StringBuilder normalized = new StringBuilder(column.length());
+        for (int i = 0; i < column.length(); i++) {
+            char c = column.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.cstar.schedulease.service.dataimport.service;
+
+import com.cstar.schedulease.service.dataimport.dto.ImportRejectDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Counts every reject but keeps only the first ones, so memory stays bounded on large, dirty inputs.
+ */
+public final class ImportRejects {
+
+    private final int capacity;
+    private final List<ImportRejectDTO> kept = new ArrayList<>();
+    private long count;
+
+    public ImportRejects(int capacity) {
+        this.capacity = Math.max(capacity, 0);
+    }
+
+    public void add(long line, String reason) {
+        count++;
+        if (kept.size() < capacity) {
+            kept.add(new ImportRejectDTO(line, reason));
+        }
+    }
+
+    public void addAll(List<ImportRejectDTO> rejects, long total) {
+        count += total;
+        for (ImportRejectDTO reject : rejects) {
+            if (kept.size() < capacity) {
+                kept.add(reject);
+            }
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * The kept rejects, ordered by line.
+     */
+    public List<ImportRejectDTO> reported() {
+        List<ImportRejectDTO> sorted = new ArrayList<>(kept);
+        sorted.sort(Comparator.comparing(ImportRejectDTO::getLine));
+        return sorted;
+    }
+}
@@ -0,0 +1,131 @@
+package com.cstar.schedulease.service.dataimport.service;
+
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.common.enums.ImportEntity;
+
+import java.math.BigDecimal;
+
+/**
+ * Checks a row against the rules the REST endpoints apply and returns its staging table values, in
+ * ImportRepository's column order. Throws IllegalArgumentException with the reject reason otherwise.
+ * Rules that need the database, such as unknown ids or taken slots, are checked by the merge.
+ */
+public final class ImportRows {
+
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private ImportRows() {
+    }
+
+    public static String[] validate(ImportEntity entity, ImportRecord record) {
+        return switch (entity) {
+            case CLIENTS -> new String[]{
+                text(record, "firstName", 100, true),
+                text(record, "lastName", 100, true),
+                text(record, "phone", 15, true)
+            };
+            case SERVICES -> new String[]{
+                text(record, "name", 200, true),
+                text(record, "description", 5000, false),
+                category(record),
+                positiveInteger(record, "duration"),
+                price(record),
+                active(record)
+            };
+            case APPOINTMENTS -> new String[]{
+                id(record, "clientId"),
+                id(record, "providerId"),
+                id(record, "serviceId"),
+                startTime(record),
+                status(record),
+                text(record, "notes", 5000, false)
+            };
+        };
+    }
+
+    private static String text(ImportRecord record, String column, int maxLength, boolean required) {
+        String value = record.get(ImportRecord.normalize(column));
+        if (value == null) {
+            if (required) {
+                throw new IllegalArgumentException(column + " is required");
+            }
+            return null;
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(column + " must not exceed " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static String category(ImportRecord record) {
+        return Category.fromCode(text(record, "category", 50, true)).getCode();
+    }
+
+    private static String positiveInteger(ImportRecord record, String column) {
+        String value = text(record, column, 20, true);
+        try {
+            int number = Integer.parseInt(value);
+            if (number <= 0) {
+                throw new IllegalArgumentException(column + " must be greater than 0");
+            }
+            return Integer.toString(number);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a whole number: " + value);
+        }
+    }
+
+    private static String price(ImportRecord record) {
+        String value = text(record, "price", 20, false);
+        if (value == null) {
+            return null;
+        }
+        try {
+            BigDecimal price = new BigDecimal(value);
+            if (price.signum() < 0 || price.compareTo(MAX_PRICE) > 0) {
+                throw new IllegalArgumentException("price must be between 0 and " + MAX_PRICE);
+            }
+            return price.toPlainString();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price must be a number: " + value);
+        }
+    }
+
+    private static String active(ImportRecord record) {
+        String value = text(record, "isActive", 5, false);
+        if (value == null) {
+            return "true";
+        }
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("isActive must be true or false: " + value);
+        }
+        return value.toLowerCase();
+    }
+
+    private static String id(ImportRecord record, String column) {
+        String value = text(record, column, 20, true);
+        try {
+            long id = Long.parseLong(value);
+            if (id <= 0) {
+                throw new IllegalArgumentException(column + " must be greater than 0");
+            }
+            return Long.toString(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a whole number: " + value);
+        }
+    }
+
+    private static String startTime(ImportRecord record) {
+        String value = text(record, "startTime", 20, true);
+        try {
+            return Long.toString(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("startTime must be epoch seconds: " + value);
+        }
+    }
+
+    private static String status(ImportRecord record) {
+        String value = text(record, "status", 20, false);
+        return value != null ? AppointmentStatus.fromCode(value).getCode() : AppointmentStatus.CONFIRMED.getCode();
+    }
+}
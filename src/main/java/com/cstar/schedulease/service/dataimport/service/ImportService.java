@@ -0,0 +1,15 @@
+package com.cstar.schedulease.service.dataimport.service;
+
+import com.cstar.schedulease.common.enums.ImportEntity;
+import com.cstar.schedulease.common.enums.ImportFormat;
+import com.cstar.schedulease.service.dataimport.dto.ImportResultDTO;
+
+import java.io.InputStream;
+
+public interface ImportService {
+
+    /**
+     * Imports the UTF-8 input in one transaction; invalid rows are rejected and reported, the rest imported.
+     */
+    ImportResultDTO importRecords(ImportEntity entity, ImportFormat format, InputStream input);
+}
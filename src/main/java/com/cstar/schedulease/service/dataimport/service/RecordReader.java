@@ -0,0 +1,182 @@
+package com.cstar.schedulease.service.dataimport.service;
+
+import com.cstar.schedulease.common.enums.ImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads input rows one at a time, so an import holds a single row in memory whatever the input size.
+ * A row that cannot be parsed comes back as a MalformedRowException; reading continues after it.
+ */
+public abstract class RecordReader {
+
+    public static RecordReader open(ImportFormat format, Reader input, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(input, 64 * 1024);
+        return switch (format) {
+            case CSV -> new CsvRecordReader(reader);
+            case NDJSON -> new NdjsonRecordReader(reader, objectMapper);
+        };
+    }
+
+    /**
+     * Next row, or null at the end of the input.
+     */
+    public abstract ImportRecord next() throws IOException;
+
+    public static class MalformedRowException extends IOException {
+        private final long line;
+
+        MalformedRowException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        public long getLine() {
+            return line;
+        }
+    }
+
+    /**
+     * RFC 4180: a header row names the columns; quoted fields may hold commas, doubled quotes and line breaks.
+     */
+    static final class CsvRecordReader extends RecordReader {
+        private final BufferedReader reader;
+        private final List<String> columns = new ArrayList<>();
+        private long line;
+
+        CsvRecordReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readFields();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV input is empty, expected a header row");
+            }
+            for (String column : header) {
+                columns.add(ImportRecord.normalize(column));
+            }
+        }
+
+        @Override
+        public ImportRecord next() throws IOException {
+            while (true) {
+                long start = line + 1;
+                List<String> fields = readFields();
+                if (fields == null) {
+                    return null;
+                }
+                if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                    continue;
+                }
+                if (fields.size() != columns.size()) {
+                    throw new MalformedRowException(start, "Expected " + columns.size() + " fields but found " + fields.size());
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < fields.size(); i++) {
+                    values.put(columns.get(i), fields.get(i));
+                }
+                return new ImportRecord(start, values);
+            }
+        }
+
+        private List<String> readFields() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // A line break inside quotes belongs to the field
+                    text = reader.readLine();
+                    if (text == null) {
+                        throw new MalformedRowException(line, "Unterminated quoted field");
+                    }
+                    line++;
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * One JSON object per line; nested values are rejected.
+     */
+    static final class NdjsonRecordReader extends RecordReader {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long line;
+
+        NdjsonRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public ImportRecord next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+            } while (text.isBlank());
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                throw new MalformedRowException(line, "Invalid JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw new MalformedRowException(line, "Expected a JSON object");
+            }
+            Map<String, String> values = new HashMap<>();
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                JsonNode value = field.getValue();
+                if (value.isContainerNode()) {
+                    throw new MalformedRowException(line, "Field " + field.getKey() + " must not be an object or array");
+                }
+                values.put(ImportRecord.normalize(field.getKey()), value.isNull() ? null : value.asText());
+            }
+            return new ImportRecord(line, values);
+        }
+    }
+}
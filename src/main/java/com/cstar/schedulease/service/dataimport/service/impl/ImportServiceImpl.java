@@ -0,0 +1,90 @@
+package com.cstar.schedulease.service.dataimport.service.impl;
+
+import com.cstar.schedulease.common.enums.ImportEntity;
+import com.cstar.schedulease.common.enums.ImportFormat;
+import com.cstar.schedulease.config.ImportProperties;
+import com.cstar.schedulease.service.cache.service.CacheInvalidationPublisher;
+import com.cstar.schedulease.service.dataimport.dto.ImportResultDTO;
+import com.cstar.schedulease.service.dataimport.repository.ImportRepository;
+import com.cstar.schedulease.service.dataimport.service.CopyRowReader;
+import com.cstar.schedulease.service.dataimport.service.ImportRejects;
+import com.cstar.schedulease.service.dataimport.service.ImportService;
+import com.cstar.schedulease.service.dataimport.service.RecordReader;
+import com.cstar.schedulease.service.outbox.service.AppointmentOutbox;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportServiceImpl implements ImportService {
+
+    private final ImportRepository importRepository;
+    private final ImportProperties importProperties;
+    private final ObjectMapper objectMapper;
+    private final AppointmentOutbox appointmentOutbox;
+    private final ProviderCapabilityIndex capabilityIndex;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Override
+    @Transactional
+    public ImportResultDTO importRecords(ImportEntity entity, ImportFormat format, InputStream input) {
+        log.info("Importing {} from {}", entity, format);
+        long started = System.nanoTime();
+
+        RecordReader records;
+        try {
+            records = RecordReader.open(format, new InputStreamReader(input, StandardCharsets.UTF_8), objectMapper);
+        } catch (IOException e) {
+            throw new IllegalStateException("Reading import input failed: " + e.getMessage(), e);
+        }
+        ImportRejects rejects = new ImportRejects(importProperties.getMaxReportedRejects());
+        CopyRowReader rows = new CopyRowReader(records, entity, rejects);
+
+        // Parsing and validation run inside COPY as the driver pulls rows, so nothing is buffered
+        importRepository.createStaging(entity);
+        long staged = importRepository.copyIn(entity, rows);
+        if (entity == ImportEntity.APPOINTMENTS) {
+            // The merge appends CREATED events for any number of providers
+            appointmentOutbox.lockAllProviders();
+        }
+        long imported = importRepository.merge(entity, System.currentTimeMillis());
+        long mergeRejects = importRepository.countRejects(entity);
+        if (mergeRejects > 0) {
+            rejects.addAll(importRepository.findRejects(entity, rejects.capacity()), mergeRejects);
+        }
+
+        switch (entity) {
+            case SERVICES -> {
+                afterCommit(capabilityIndex::invalidate);
+                cacheInvalidationPublisher.serviceChanged(null);
+            }
+            case APPOINTMENTS -> appointmentOutbox.appended();
+            case CLIENTS -> {
+            }
+        }
+        log.info("Imported {} of {} {} rows ({} staged, {} rejected) in {} ms", imported, rows.rows(), entity,
+            staged, rejects.count(), (System.nanoTime() - started) / 1_000_000);
+        return new ImportResultDTO(entity, format, rows.rows(), imported, rejects.count(), rejects.reported());
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
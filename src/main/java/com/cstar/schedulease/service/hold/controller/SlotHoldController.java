@@ -0,0 +1,49 @@
+package com.cstar.schedulease.service.hold.controller;
+
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.hold.dto.SlotHoldDTO;
+import com.cstar.schedulease.service.hold.service.SlotHoldService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/appointments/holds")
+@RequiredArgsConstructor
+@Slf4j
+public class SlotHoldController {
+
+    private final SlotHoldService slotHoldService;
+
+    @PostMapping
+    public ResponseEntity<SlotHoldDTO> createHold(@Validated(SlotHoldDTO.Create.class) @RequestBody SlotHoldDTO dto) {
+        log.info("REST request to hold slot at {} of provider {} for client {}", dto.getStartTime(),
+            dto.getProviderId(), dto.getClientId());
+        return new ResponseEntity<>(slotHoldService.createHold(dto), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SlotHoldDTO> getHold(@PathVariable Long id) {
+        return ResponseEntity.ok(slotHoldService.getHold(id));
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<AppointmentDTO> confirmHold(@PathVariable Long id,
+                                                      @RequestBody(required = false) Map<String, String> request) {
+        log.info("REST request to confirm slot hold {}", id);
+        String notes = request != null ? request.get("notes") : null;
+        return ResponseEntity.status(HttpStatus.CREATED).body(slotHoldService.confirmHold(id, notes));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long id) {
+        log.info("REST request to release slot hold {}", id);
+        slotHoldService.releaseHold(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.cstar.schedulease.service.hold.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SlotHoldDTO {
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long id;
+
+    @NotNull(message = "Client ID is required", groups = Create.class)
+    private Long clientId;
+
+    @NotNull(message = "Provider ID is required", groups = Create.class)
+    private Long providerId;
+
+    @NotNull(message = "Service ID is required", groups = Create.class)
+    private Long serviceId;
+
+    @NotNull(message = "Start time is required", groups = Create.class)
+    private Long startTime;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long endTime;
+
+    // Minutes the hold lasts; schedulease.hold.default-ttl when not given
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private Integer ttlMinutes;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long expiresAt;
+
+    public interface Create {}
+}
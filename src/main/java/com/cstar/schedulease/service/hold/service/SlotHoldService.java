@@ -0,0 +1,21 @@
+package com.cstar.schedulease.service.hold.service;
+
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.hold.dto.SlotHoldDTO;
+
+public interface SlotHoldService {
+
+    /**
+     * Holds the slot for the client, if neither a booking nor another client's hold is in the way.
+     */
+    SlotHoldDTO createHold(SlotHoldDTO dto);
+
+    SlotHoldDTO getHold(Long id);
+
+    void releaseHold(Long id);
+
+    /**
+     * Books the held slot for the hold's client; the hold ends once the booking commits.
+     */
+    AppointmentDTO confirmHold(Long id, String notes);
+}
@@ -0,0 +1,302 @@
+package com.cstar.schedulease.service.hold.service;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.common.timer.HierarchicalTimingWheel;
+import com.cstar.schedulease.config.HoldProperties;
+import com.cstar.schedulease.exception.ServerOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tentative holds on slots, in memory. Holds are kept in lock stripes by tenant, provider and service,
+ * so holding or checking one provider's slots never waits on another provider's.
+ *
+ * A timing wheel of one-second ticks removes holds when their TTL runs out; lookups skip holds past
+ * their expiry as well, so a late tick changes nothing. Holds belong to this node and do not survive
+ * a restart: the booking insert stays the final word on conflicts.
+ */
+@Component
+@Slf4j
+public class SlotHoldTable implements SmartLifecycle {
+
+    // Holds expire continuously, so a full table has room again soon
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final Stripe[] stripes;
+    private final Map<Long, Hold> holdsById = new ConcurrentHashMap<>();
+    // Hold ids are unique over all tenants, so they double as timer keys
+    private final AtomicLong ids = new AtomicLong();
+
+    // Guards the wheel; never taken while holding a stripe, nor the other way round
+    private final Object wheelLock = new Object();
+    private final HierarchicalTimingWheel wheel;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public SlotHoldTable(HoldProperties holdProperties, MeterRegistry meterRegistry) {
+        if (holdProperties.getMaxTtl().toSeconds() >= HierarchicalTimingWheel.RANGE) {
+            throw new IllegalArgumentException("schedulease.hold.max-ttl must stay below "
+                + HierarchicalTimingWheel.RANGE + " seconds");
+        }
+        this.stripes = new Stripe[Math.max(holdProperties.getStripes(), 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.wheel = new HierarchicalTimingWheel(holdProperties.getCapacity(), now());
+
+        Gauge.builder("schedulease.holds.active", holdsById, Map::size)
+            .description("Slot holds waiting to be confirmed or to expire")
+            .register(meterRegistry);
+    }
+
+    @Value
+    public static class Hold {
+        long id;
+        String tenantId;
+        Long clientId;
+        Long providerId;
+        Long serviceId;
+        long startTime;
+        long endTime;
+        long expiresAt;
+
+        boolean overlaps(long start, long end) {
+            return startTime < end && start < endTime;
+        }
+    }
+
+    /**
+     * Holds [start, end) for the client until now + ttl, in the current tenant.
+     *
+     * @return the new hold, or null when a live hold of another client overlaps it
+     */
+    public Hold hold(Long clientId, Long providerId, Long serviceId, long start, long end, long ttlSeconds) {
+        if (holdsById.size() >= wheel.capacity()) {
+            throw new ServerOverloadedException("Too many slot holds", RETRY_AFTER_SECONDS);
+        }
+        Key key = new Key(TenantContext.getTenantId(), providerId, serviceId);
+        long now = now();
+        Hold hold = new Hold(ids.incrementAndGet(), key.getTenantId(), clientId, providerId, serviceId, start, end,
+            now + ttlSeconds);
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            List<Hold> holds = stripe.holds.computeIfAbsent(key, k -> new ArrayList<>());
+            if (overlapping(holds, start, end, clientId, now) != null) {
+                return null;
+            }
+            holds.add(hold);
+            holdsById.put(hold.getId(), hold);
+        }
+        boolean scheduled;
+        synchronized (wheelLock) {
+            scheduled = wheel.schedule(hold.getId(), hold.getExpiresAt());
+        }
+        if (!scheduled) {
+            remove(hold.getId());
+            throw new ServerOverloadedException("Too many slot holds", RETRY_AFTER_SECONDS);
+        }
+        return hold;
+    }
+
+    /**
+     * Live hold with the id in the current tenant, or null.
+     */
+    public Hold get(long holdId) {
+        Hold hold = holdsById.get(holdId);
+        if (hold == null || !hold.getTenantId().equals(TenantContext.getTenantId()) || hold.getExpiresAt() <= now()) {
+            return null;
+        }
+        return hold;
+    }
+
+    /**
+     * A live hold overlapping [start, end) that belongs to a client other than the given one, or null.
+     */
+    public Hold findOverlap(Long providerId, Long serviceId, long start, long end, Long clientId) {
+        Key key = new Key(TenantContext.getTenantId(), providerId, serviceId);
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            List<Hold> holds = stripe.holds.get(key);
+            return holds != null ? overlapping(holds, start, end, clientId, now()) : null;
+        }
+    }
+
+    /**
+     * Start times of the live holds starting in (startAfter, startBefore), sorted.
+     */
+    public List<Long> heldStartTimes(Long providerId, Long serviceId, long startAfter, long startBefore) {
+        Key key = new Key(TenantContext.getTenantId(), providerId, serviceId);
+        Stripe stripe = stripeOf(key);
+        List<Long> starts = new ArrayList<>();
+        long now = now();
+        synchronized (stripe) {
+            List<Hold> holds = stripe.holds.get(key);
+            if (holds != null) {
+                for (Hold hold : holds) {
+                    if (hold.getExpiresAt() > now && hold.getStartTime() > startAfter
+                            && hold.getStartTime() < startBefore) {
+                        starts.add(hold.getStartTime());
+                    }
+                }
+            }
+        }
+        starts.sort(null);
+        return starts;
+    }
+
+    /**
+     * Ends the client's holds on exactly this slot, once it is booked.
+     */
+    public void releaseFor(Long clientId, Long providerId, Long serviceId, long start) {
+        Key key = new Key(TenantContext.getTenantId(), providerId, serviceId);
+        List<Long> released = new ArrayList<>();
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            List<Hold> holds = stripe.holds.get(key);
+            if (holds != null) {
+                for (Hold hold : holds) {
+                    if (hold.getClientId().equals(clientId) && hold.getStartTime() == start) {
+                        released.add(hold.getId());
+                    }
+                }
+            }
+        }
+        released.forEach(this::release);
+    }
+
+    /**
+     * @return false when there was no such hold
+     */
+    public boolean release(long holdId) {
+        if (!remove(holdId)) {
+            return false;
+        }
+        synchronized (wheelLock) {
+            wheel.cancel(holdId);
+        }
+        return true;
+    }
+
+    public int size() {
+        return holdsById.size();
+    }
+
+    private boolean remove(long holdId) {
+        Hold hold = holdsById.remove(holdId);
+        if (hold == null) {
+            return false;
+        }
+        Key key = new Key(hold.getTenantId(), hold.getProviderId(), hold.getServiceId());
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            List<Hold> holds = stripe.holds.get(key);
+            if (holds != null) {
+                holds.removeIf(held -> held.getId() == holdId);
+                if (holds.isEmpty()) {
+                    stripe.holds.remove(key);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Hold overlapping(List<Hold> holds, long start, long end, Long clientId, long now) {
+        for (Hold hold : holds) {
+            if (hold.getExpiresAt() > now && hold.overlaps(start, end) && !hold.getClientId().equals(clientId)) {
+                return hold;
+            }
+        }
+        return null;
+    }
+
+    private Stripe stripeOf(Key key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    /**
+     * Removes the holds whose TTL ran out up to the given epoch second.
+     */
+    void expire(long now) {
+        List<Long> expired = new ArrayList<>();
+        synchronized (wheelLock) {
+            wheel.advanceTo(now, expired::add);
+        }
+        expired.forEach(this::remove);
+        if (!expired.isEmpty()) {
+            log.debug("Expired {} slot holds", expired.size());
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "slot-hold-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                expire(now());
+                Thread.sleep(1000 - System.currentTimeMillis() % 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Slot hold expiry failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Value
+    private static class Key {
+        String tenantId;
+        Long providerId;
+        Long serviceId;
+    }
+
+    private static final class Stripe {
+        // Guarded by the stripe's monitor
+        final Map<Key, List<Hold>> holds = new HashMap<>();
+    }
+}
@@ -0,0 +1,150 @@
+package com.cstar.schedulease.service.hold.service.impl;
+
+import com.cstar.schedulease.config.AvailabilityProperties;
+import com.cstar.schedulease.config.HoldProperties;
+import com.cstar.schedulease.exception.ResourceNotFoundException;
+import com.cstar.schedulease.exception.SlotUnavailableException;
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.entity.Appointment;
+import com.cstar.schedulease.service.appointment.repository.AppointmentRepository;
+import com.cstar.schedulease.service.appointment.service.AppointmentService;
+import com.cstar.schedulease.service.availability.service.AvailabilityService;
+import com.cstar.schedulease.service.client.repository.ClientRepository;
+import com.cstar.schedulease.service.hold.dto.SlotHoldDTO;
+import com.cstar.schedulease.service.hold.service.SlotHoldService;
+import com.cstar.schedulease.service.hold.service.SlotHoldTable;
+import com.cstar.schedulease.service.provider.repository.ProviderRepository;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
+import com.cstar.schedulease.service.provider.service.ProviderScheduleCache;
+import com.cstar.schedulease.service.services.entity.Service;
+import com.cstar.schedulease.service.services.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotHoldServiceImpl implements SlotHoldService {
+
+    private final SlotHoldTable slotHoldTable;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentService appointmentService;
+    private final AvailabilityService availabilityService;
+    private final ClientRepository clientRepository;
+    private final ProviderRepository providerRepository;
+    private final ServiceRepository serviceRepository;
+    private final ProviderCapabilityIndex capabilityIndex;
+    private final ProviderScheduleCache providerScheduleCache;
+    private final HoldProperties holdProperties;
+    private final AvailabilityProperties availabilityProperties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SlotHoldDTO createHold(SlotHoldDTO dto) {
+        long ttlSeconds = ttlSeconds(dto.getTtlMinutes());
+        if (clientRepository.findByIdAndDeletedFalse(dto.getClientId()).isEmpty()) {
+            throw ResourceNotFoundException.forId("Client", dto.getClientId());
+        }
+        if (!providerRepository.existsByIdAndDeletedFalse(dto.getProviderId())) {
+            throw ResourceNotFoundException.forId("Provider", dto.getProviderId());
+        }
+        Service service = serviceRepository.findById(dto.getServiceId())
+            .orElseThrow(() -> ResourceNotFoundException.forId("Service", dto.getServiceId()));
+        if (service.getDuration() == null || service.getDuration() <= 0) {
+            throw new IllegalArgumentException("Service duration must be greater than 0");
+        }
+        if (service.getCapacity() > 1) {
+            throw new IllegalArgumentException("Service " + service.getId() + " is booked by the seat in group"
+                + " sessions, which are not held");
+        }
+        if (!capabilityIndex.offers(dto.getProviderId(), dto.getServiceId())) {
+            throw new IllegalArgumentException("Provider " + dto.getProviderId() + " does not offer service "
+                + dto.getServiceId());
+        }
+
+        long start = dto.getStartTime();
+        long end = start + service.getDuration() * 60L;
+        if (!providerScheduleCache.isOpen(dto.getProviderId(), start, service.getDuration())) {
+            throw slotUnavailable(dto, start, end);
+        }
+        List<Appointment> conflicts = appointmentRepository.findConflictingAppointments(
+            dto.getProviderId(), dto.getServiceId(), start, end);
+        if (!conflicts.isEmpty()) {
+            long conflictStart = conflicts.stream().mapToLong(Appointment::getStartTime).min().getAsLong();
+            long conflictEnd = conflicts.stream().mapToLong(Appointment::getStartTime).max().getAsLong()
+                + service.getDuration() * 60L;
+            throw slotUnavailable(dto, conflictStart, conflictEnd);
+        }
+
+        SlotHoldTable.Hold hold = slotHoldTable.hold(dto.getClientId(), dto.getProviderId(), dto.getServiceId(),
+            start, end, ttlSeconds);
+        if (hold == null) {
+            SlotHoldTable.Hold other = slotHoldTable.findOverlap(dto.getProviderId(), dto.getServiceId(), start, end,
+                dto.getClientId());
+            throw other != null ? slotUnavailable(dto, other.getStartTime(), other.getEndTime())
+                : slotUnavailable(dto, start, end);
+        }
+        log.info("Slot hold {} created for client {} until {}", hold.getId(), hold.getClientId(), hold.getExpiresAt());
+        return convertToDTO(hold);
+    }
+
+    @Override
+    public SlotHoldDTO getHold(Long id) {
+        return convertToDTO(findHold(id));
+    }
+
+    @Override
+    public void releaseHold(Long id) {
+        if (slotHoldTable.get(id) == null || !slotHoldTable.release(id)) {
+            throw ResourceNotFoundException.forId("Slot hold", id);
+        }
+        log.info("Slot hold {} released", id);
+    }
+
+    @Override
+    public AppointmentDTO confirmHold(Long id, String notes) {
+        SlotHoldTable.Hold hold = findHold(id);
+        AppointmentDTO request = new AppointmentDTO();
+        request.setClientId(hold.getClientId());
+        request.setProviderId(hold.getProviderId());
+        request.setServiceId(hold.getServiceId());
+        request.setStartTime(hold.getStartTime());
+        request.setNotes(notes);
+        // The client's own hold does not block the booking, which ends it after commit
+        return appointmentService.createAppointment(request);
+    }
+
+    private SlotHoldTable.Hold findHold(Long id) {
+        SlotHoldTable.Hold hold = slotHoldTable.get(id);
+        if (hold == null) {
+            throw ResourceNotFoundException.forId("Slot hold", id);
+        }
+        return hold;
+    }
+
+    private long ttlSeconds(Integer ttlMinutes) {
+        if (ttlMinutes == null) {
+            return holdProperties.getDefaultTtl().toSeconds();
+        }
+        long ttlSeconds = ttlMinutes * 60L;
+        if (ttlMinutes <= 0 || ttlSeconds > holdProperties.getMaxTtl().toSeconds()) {
+            throw new IllegalArgumentException("Hold TTL must be between 1 and "
+                + holdProperties.getMaxTtl().toMinutes() + " minutes");
+        }
+        return ttlSeconds;
+    }
+
+    private SlotUnavailableException slotUnavailable(SlotHoldDTO dto, long conflictStart, long conflictEnd) {
+        return new SlotUnavailableException(dto.getProviderId(), dto.getServiceId(), conflictStart, conflictEnd,
+            availabilityService.findAvailableSlots(dto.getProviderId(), dto.getServiceId(), dto.getStartTime(), null,
+                availabilityProperties.getConflictSuggestions()));
+    }
+
+    private static SlotHoldDTO convertToDTO(SlotHoldTable.Hold hold) {
+        return new SlotHoldDTO(hold.getId(), hold.getClientId(), hold.getProviderId(), hold.getServiceId(),
+            hold.getStartTime(), hold.getEndTime(), null, hold.getExpiresAt());
+    }
+}
@@ -0,0 +1,36 @@
+package com.cstar.schedulease.service.outbox.dto;
+
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of appointment_outbox. Carries the appointment as of the change,
+ * so sinks need no query to act on it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentChangeEvent {
+    private Long id;
+    private AppointmentChangeType type;
+    private Long appointmentId;
+    private Long providerId;
+    private Long serviceId;
+    private Long clientId;
+    private Long startTime;
+    private Long endTime;
+    private AppointmentStatus status;
+    // Null for CREATED
+    private AppointmentStatus previousStatus;
+    // Set for RESCHEDULED only
+    private Long previousStartTime;
+    // Epoch milliseconds
+    private Long occurredAt;
+    // Price the appointment was booked at, null when the service has none
+    private BigDecimal price;
+}
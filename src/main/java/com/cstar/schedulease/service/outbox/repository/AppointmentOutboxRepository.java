@@ -0,0 +1,162 @@
+package com.cstar.schedulease.service.outbox.repository;
+
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class AppointmentOutboxRepository {
+
+    private static final String COLUMNS =
+        "event_type, appointment_id, provider_id, service_id, client_id, start_time, end_time, " +
+        "status, previous_status, previous_start_time, occurred_at, price";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO appointment_outbox (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_FOR_APPOINTMENTS_SQL =
+        "INSERT INTO appointment_outbox (" + COLUMNS + ") " +
+        "SELECT ?, a.id, a.provider_id, a.service_id, a.client_id, a.start_time, a.start_time + s.duration * 60, " +
+        "a.status, ?, NULL, ?, a.price FROM appointments a JOIN service s ON s.id = a.service_id " +
+        "WHERE a.id = ANY(?) ORDER BY a.id";
+
+    // Writers hold a provider's key from before they append until they commit, so a provider's events get
+    // ids in commit order. Key 0 is shared by every writer, and taken alone by writers of many providers
+    private static final String WRITER_LOCK_KEY = "hashtext(current_schema() || '.appointment_outbox.provider')";
+
+    private static final String LOCK_WRITERS_SQL = "SELECT pg_advisory_xact_lock(" + WRITER_LOCK_KEY + ", 0)";
+
+    // Keys in ascending order, key 0 first, so writers cannot deadlock one another
+    private static final String LOCK_PROVIDERS_SQL =
+        "SELECT CASE WHEN k = 0 THEN pg_advisory_xact_lock_shared(" + WRITER_LOCK_KEY + ", 0) " +
+        "  ELSE pg_advisory_xact_lock(" + WRITER_LOCK_KEY + ", k) END " +
+        "FROM (SELECT 0 AS k UNION SELECT (p % 2147483647)::int + 1 FROM unnest(?) AS p ORDER BY k OFFSET 0) keys";
+
+    private static final String LOCK_PROVIDERS_OF_SQL =
+        "SELECT CASE WHEN k = 0 THEN pg_advisory_xact_lock_shared(" + WRITER_LOCK_KEY + ", 0) " +
+        "  ELSE pg_advisory_xact_lock(" + WRITER_LOCK_KEY + ", k) END " +
+        "FROM (SELECT 0 AS k UNION SELECT (provider_id % 2147483647)::int + 1 FROM appointments " +
+        "  WHERE id = ANY(?) ORDER BY k OFFSET 0) keys";
+
+    // One relay per schema at a time keeps delivery in commit order per provider across nodes
+    private static final String TRY_LOCK_SQL =
+        "SELECT pg_try_advisory_xact_lock(hashtext(current_schema() || '.appointment_outbox'))";
+
+    private static final String SELECT_BATCH_SQL =
+        "SELECT id, " + COLUMNS + " FROM appointment_outbox ORDER BY id LIMIT ?";
+
+    private static final String DELETE_SQL = "DELETE FROM appointment_outbox WHERE id = ANY(?)";
+
+    private static final RowMapper<AppointmentChangeEvent> EVENT_MAPPER = (resultSet, rowNum) -> {
+        String previousStatus = resultSet.getString("previous_status");
+        Long previousStartTime = resultSet.getObject("previous_start_time", Long.class);
+        return new AppointmentChangeEvent(
+            resultSet.getLong("id"),
+            AppointmentChangeType.fromCode(resultSet.getString("event_type")),
+            resultSet.getLong("appointment_id"),
+            resultSet.getLong("provider_id"),
+            resultSet.getLong("service_id"),
+            resultSet.getLong("client_id"),
+            resultSet.getLong("start_time"),
+            resultSet.getLong("end_time"),
+            AppointmentStatus.fromCode(resultSet.getString("status")),
+            previousStatus != null ? AppointmentStatus.fromCode(previousStatus) : null,
+            previousStartTime,
+            resultSet.getLong("occurred_at"),
+            resultSet.getBigDecimal("price")
+        );
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(AppointmentChangeEvent event) {
+        jdbcTemplate.update(INSERT_SQL,
+            event.getType().getCode(),
+            event.getAppointmentId(),
+            event.getProviderId(),
+            event.getServiceId(),
+            event.getClientId(),
+            event.getStartTime(),
+            event.getEndTime(),
+            event.getStatus() != null ? event.getStatus().getCode() : null,
+            event.getPreviousStatus() != null ? event.getPreviousStatus().getCode() : null,
+            event.getPreviousStartTime(),
+            event.getOccurredAt(),
+            event.getPrice());
+    }
+
+    /**
+     * Appends one event per appointment from its current row, in a single statement.
+     */
+    public int appendForAppointments(AppointmentChangeType type, AppointmentStatus previousStatus,
+                                     List<Long> appointmentIds, long occurredAt) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_FOR_APPOINTMENTS_SQL);
+            statement.setString(1, type.getCode());
+            statement.setString(2, previousStatus != null ? previousStatus.getCode() : null);
+            statement.setLong(3, occurredAt);
+            statement.setArray(4, connection.createArrayOf("bigint", appointmentIds.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Locks the providers' outbox order until the transaction ends. Take it before appending their events,
+     * and after any row locks the transaction takes on existing appointments.
+     */
+    public void lockProviders(Collection<Long> providerIds) {
+        lock(LOCK_PROVIDERS_SQL, providerIds);
+    }
+
+    /**
+     * lockProviders for the providers of these appointments.
+     */
+    public void lockProvidersOf(List<Long> appointmentIds) {
+        lock(LOCK_PROVIDERS_OF_SQL, appointmentIds);
+    }
+
+    /**
+     * Locks the outbox order of every provider until the transaction ends: waits for the writers in progress
+     * and holds off new ones. For bulk writes whose providers are not known up front.
+     */
+    public void lockAllProviders() {
+        jdbcTemplate.execute(LOCK_WRITERS_SQL);
+    }
+
+    /**
+     * Transaction-scoped lock; false when another relay is draining this outbox.
+     */
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class));
+    }
+
+    public List<AppointmentChangeEvent> findBatch(int limit) {
+        return jdbcTemplate.query(SELECT_BATCH_SQL, EVENT_MAPPER, limit);
+    }
+
+    private void lock(String sql, Collection<Long> ids) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, resultSet -> {
+        });
+    }
+
+    public void deleteByIds(List<Long> ids) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DELETE_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        });
+    }
+}
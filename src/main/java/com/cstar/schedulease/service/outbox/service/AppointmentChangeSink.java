@@ -0,0 +1,15 @@
+package com.cstar.schedulease.service.outbox.service;
+
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+
+import java.util.List;
+
+/**
+ * In-process consumer of appointment change events. Every sink bean receives each batch in order
+ * per provider: a provider's events arrive in the order their transactions committed. Delivery is at
+ * least once: when any sink throws, the whole batch is delivered again, so sinks must tolerate duplicates.
+ */
+public interface AppointmentChangeSink {
+
+    void publish(List<AppointmentChangeEvent> events);
+}
@@ -0,0 +1,102 @@
+package com.cstar.schedulease.service.outbox.service;
+
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.service.appointment.entity.Appointment;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import com.cstar.schedulease.service.outbox.repository.AppointmentOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Appends appointment change events to appointment_outbox in the caller's transaction
+ * and wakes the relay once that transaction commits. Appending locks the providers' outbox order
+ * until commit, so each provider's events are delivered in the order their transactions committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentOutbox {
+
+    private final AppointmentOutboxRepository outboxRepository;
+    private final AppointmentOutboxRelay relay;
+
+    public void append(AppointmentChangeType type, Appointment appointment, AppointmentStatus previousStatus) {
+        append(type, appointment, previousStatus, null);
+    }
+
+    public void appendRescheduled(Appointment appointment, long previousStartTime) {
+        append(AppointmentChangeType.RESCHEDULED, appointment, null, previousStartTime);
+    }
+
+    private void append(AppointmentChangeType type, Appointment appointment, AppointmentStatus previousStatus,
+                        Long previousStartTime) {
+        long startTime = appointment.getStartTime();
+        outboxRepository.lockProviders(List.of(appointment.getProvider().getId()));
+        outboxRepository.append(new AppointmentChangeEvent(
+            null,
+            type,
+            appointment.getId(),
+            appointment.getProvider().getId(),
+            appointment.getService().getId(),
+            appointment.getClient().getId(),
+            startTime,
+            startTime + appointment.getService().getDuration() * 60L,
+            appointment.getStatus(),
+            previousStatus,
+            previousStartTime,
+            System.currentTimeMillis(),
+            appointment.getPrice()
+        ));
+        wakeRelayAfterCommit();
+    }
+
+    public void appendForAppointments(AppointmentChangeType type, AppointmentStatus previousStatus,
+                                      List<Long> appointmentIds) {
+        if (appointmentIds.isEmpty()) {
+            return;
+        }
+        outboxRepository.lockProvidersOf(appointmentIds);
+        outboxRepository.appendForAppointments(type, previousStatus, appointmentIds, System.currentTimeMillis());
+        wakeRelayAfterCommit();
+    }
+
+    /**
+     * For callers that append with their own statement: call before it.
+     */
+    public void lockProviders(Collection<Long> providerIds) {
+        outboxRepository.lockProviders(providerIds);
+    }
+
+    /**
+     * For callers that append events of providers not known up front with their own statement: call before it.
+     * Waits for every other writer of the schema and holds off new ones until commit.
+     */
+    public void lockAllProviders() {
+        outboxRepository.lockAllProviders();
+    }
+
+    /**
+     * For events the caller inserted with its own statement: wakes the relay once the transaction commits.
+     */
+    public void appended() {
+        wakeRelayAfterCommit();
+    }
+
+    private void wakeRelayAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.wakeUp();
+                }
+            });
+        } else {
+            relay.wakeUp();
+        }
+    }
+}
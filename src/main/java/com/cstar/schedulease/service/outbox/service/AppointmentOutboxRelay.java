@@ -0,0 +1,192 @@
+package com.cstar.schedulease.service.outbox.service;
+
+import com.cstar.schedulease.common.enums.TenantStatus;
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.config.OutboxProperties;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import com.cstar.schedulease.service.outbox.repository.AppointmentOutboxRepository;
+import com.cstar.schedulease.service.tenant.dto.TenantDTO;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains appointment_outbox in batches and hands each batch to every AppointmentChangeSink.
+ * A batch is read, published and deleted in one transaction, so delivery is at least once;
+ * an advisory lock keeps a single relay per schema, so batches go out in id order. Writers lock their
+ * providers before appending (AppointmentOutbox), so within a provider id order is commit order and
+ * each provider's events go out in the order they committed.
+ */
+@Component
+@Slf4j
+public class AppointmentOutboxRelay implements SmartLifecycle {
+
+    private final AppointmentOutboxRepository outboxRepository;
+    private final ObjectProvider<AppointmentChangeSink> sinks;
+    private final ObjectProvider<TenantDirectory> tenantDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties outboxProperties;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Timer deliveryLag;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile boolean running;
+    private Thread worker;
+
+    public AppointmentOutboxRelay(AppointmentOutboxRepository outboxRepository,
+                                  ObjectProvider<AppointmentChangeSink> sinks,
+                                  ObjectProvider<TenantDirectory> tenantDirectory,
+                                  PlatformTransactionManager transactionManager,
+                                  OutboxProperties outboxProperties,
+                                  MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks;
+        this.tenantDirectory = tenantDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxProperties = outboxProperties;
+
+        TimeGauge.builder("schedulease.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Age of the oldest undelivered outbox event at the last relay pass")
+            .register(meterRegistry);
+        this.publishedCounter = Counter.builder("schedulease.outbox.published")
+            .description("Outbox events delivered to the sinks")
+            .register(meterRegistry);
+        this.deliveryLag = Timer.builder("schedulease.outbox.delivery.lag")
+            .description("Time from commit of a change to its delivery to the sinks")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Called after a transaction that appended events commits.
+     */
+    public void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!outboxProperties.isRelayEnabled() || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        int failures = 0;
+        while (running) {
+            try {
+                if (!drainAllTenants()) {
+                    wakeUps.tryAcquire(outboxProperties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+                failures = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failures++;
+                long backoff = Math.min(outboxProperties.getPollInterval().toMillis() << Math.min(failures, 16),
+                    outboxProperties.getMaxBackoff().toMillis());
+                log.warn("Outbox relay pass failed ({} in a row), retrying in {} ms: {}",
+                    failures, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drains one batch per tenant; true when some outbox may hold more events.
+     */
+    private boolean drainAllTenants() {
+        TenantDirectory directory = tenantDirectory.getIfAvailable();
+        if (directory == null) {
+            return drainBatch() == outboxProperties.getBatchSize();
+        }
+
+        boolean more = false;
+        for (TenantDTO tenant : directory.getTenants()) {
+            if (tenant.getStatus() == TenantStatus.MOVING) {
+                // Its tables are locked for the copy; the new shard takes over afterwards
+                continue;
+            }
+            TenantContext.setTenantId(tenant.getTenantId());
+            try {
+                more |= drainBatch() == outboxProperties.getBatchSize();
+            } finally {
+                TenantContext.clear();
+            }
+        }
+        return more;
+    }
+
+    int drainBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!outboxRepository.tryLock()) {
+                return 0;
+            }
+            List<AppointmentChangeEvent> events = outboxRepository.findBatch(outboxProperties.getBatchSize());
+            if (events.isEmpty()) {
+                lagMillis.set(0);
+                return 0;
+            }
+
+            long now = System.currentTimeMillis();
+            lagMillis.set(now - events.get(0).getOccurredAt());
+            List<AppointmentChangeEvent> batch = Collections.unmodifiableList(events);
+            sinks.orderedStream().forEach(sink -> sink.publish(batch));
+            outboxRepository.deleteByIds(events.stream().map(AppointmentChangeEvent::getId).toList());
+
+            for (AppointmentChangeEvent event : events) {
+                deliveryLag.record(now - event.getOccurredAt(), TimeUnit.MILLISECONDS);
+            }
+            publishedCounter.increment(events.size());
+            return events.size();
+        });
+        return published != null ? published : 0;
+    }
+}
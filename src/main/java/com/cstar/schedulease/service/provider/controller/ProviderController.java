@@ -1,7 +1,9 @@
 package com.cstar.schedulease.service.provider.controller;
 
+import com.cstar.schedulease.common.admission.BulkEndpoint;
 import com.cstar.schedulease.service.provider.dto.ProviderDTO;
 import com.cstar.schedulease.service.provider.service.ProviderService;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -27,11 +29,16 @@ public class ProviderController {
         return new ResponseEntity<>(createdProvider, HttpStatus.CREATED);
     }
 
+    @BulkEndpoint
     @GetMapping
     public ResponseEntity<List<ProviderDTO>> getAllProviders(
-            @RequestParam(required = false) Boolean activeOnly) {
-        log.info("REST request to get all Providers, activeOnly: {}", activeOnly);
-        List<ProviderDTO> providers = providerService.getAllProviders(activeOnly);
+            @RequestParam(required = false) Boolean activeOnly,
+            @RequestParam(required = false) Long serviceId) {
+        log.info("REST request to get all Providers, activeOnly: {}, serviceId: {}", activeOnly, serviceId);
+        // Only active providers can be booked, so a service filter implies activeOnly
+        List<ProviderDTO> providers = serviceId != null
+            ? providerService.getProvidersOffering(serviceId)
+            : providerService.getAllProviders(activeOnly);
         return ResponseEntity.ok(providers);
     }
 
@@ -52,7 +59,13 @@ public class ProviderController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteProvider(@PathVariable Long id) {
+    public ResponseEntity<PurgeJobDTO> deleteProvider(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean purge) {
+        if (purge) {
+            log.info("REST request to purge Provider with id: {}", id);
+            return ResponseEntity.accepted().body(providerService.purgeProvider(id));
+        }
         log.info("REST request to delete (deactivate) Provider with id: {}", id);
         ProviderDTO dto = new ProviderDTO();
         dto.setIsActive(false);
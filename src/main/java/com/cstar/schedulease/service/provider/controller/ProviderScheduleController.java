@@ -0,0 +1,55 @@
+package com.cstar.schedulease.service.provider.controller;
+
+import com.cstar.schedulease.service.provider.dto.ProviderScheduleDTO;
+import com.cstar.schedulease.service.provider.dto.ScheduleOverrideDTO;
+import com.cstar.schedulease.service.provider.dto.WorkingIntervalDTO;
+import com.cstar.schedulease.service.provider.service.ProviderScheduleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/providers/{providerId}/schedule")
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderScheduleController {
+
+    private final ProviderScheduleService scheduleService;
+
+    @GetMapping
+    public ResponseEntity<ProviderScheduleDTO> getSchedule(@PathVariable Long providerId) {
+        log.info("REST request to get schedule of Provider: {}", providerId);
+        return ResponseEntity.ok(scheduleService.getSchedule(providerId));
+    }
+
+    @PutMapping("/weekly")
+    public ResponseEntity<ProviderScheduleDTO> updateWeeklyHours(
+            @PathVariable Long providerId,
+            @RequestBody List<WorkingIntervalDTO> weeklyHours) {
+        log.info("REST request to update weekly hours of Provider: {}", providerId);
+        return ResponseEntity.ok(scheduleService.updateWeeklyHours(providerId, weeklyHours));
+    }
+
+    @PutMapping("/overrides/{date}")
+    public ResponseEntity<ScheduleOverrideDTO> updateOverride(
+            @PathVariable Long providerId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestBody List<WorkingIntervalDTO> intervals) {
+        log.info("REST request to override hours of Provider: {} on {}", providerId, date);
+        return ResponseEntity.ok(scheduleService.updateOverride(providerId, date, intervals));
+    }
+
+    @DeleteMapping("/overrides/{date}")
+    public ResponseEntity<Void> deleteOverride(
+            @PathVariable Long providerId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("REST request to remove hours override of Provider: {} on {}", providerId, date);
+        scheduleService.deleteOverride(providerId, date);
+        return ResponseEntity.noContent().build();
+    }
+}
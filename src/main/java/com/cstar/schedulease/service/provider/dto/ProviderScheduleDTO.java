@@ -0,0 +1,23 @@
+package com.cstar.schedulease.service.provider.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProviderScheduleDTO {
+
+    private Long providerId;
+
+    // Empty when the provider has no weekly template and can be booked at any time
+    private List<WorkingIntervalDTO> weeklyHours;
+
+    // Upcoming date overrides
+    private List<ScheduleOverrideDTO> overrides;
+}
@@ -0,0 +1,21 @@
+package com.cstar.schedulease.service.provider.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScheduleOverrideDTO {
+
+    private LocalDate date;
+
+    // Empty when the provider does not work on this date
+    private List<WorkingIntervalDTO> intervals;
+}
@@ -0,0 +1,24 @@
+package com.cstar.schedulease.service.provider.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WorkingIntervalDTO {
+
+    // Weekly template only; ignored for date overrides
+    private DayOfWeek dayOfWeek;
+
+    private LocalTime startTime;
+
+    // Exclusive; 00:00 means end of day
+    private LocalTime endTime;
+}
@@ -0,0 +1,35 @@
+package com.cstar.schedulease.service.provider.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Replaces the weekly template on one date. A row without start and end minutes marks the date as closed.
+ */
+@Entity
+@Table(name = "provider_schedule_override")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderScheduleOverride {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    @Column(name = "override_date", nullable = false)
+    private LocalDate overrideDate;
+
+    @Column(name = "start_minute")
+    private Integer startMinute;
+
+    @Column(name = "end_minute")
+    private Integer endMinute;
+}
@@ -0,0 +1,34 @@
+package com.cstar.schedulease.service.provider.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One working interval of a provider's weekly template, in minutes of the day (business time zone).
+ */
+@Entity
+@Table(name = "provider_working_hours")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderWorkingHours {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    // ISO day of week, 1 = Monday ... 7 = Sunday
+    @Column(name = "day_of_week", nullable = false)
+    private Integer dayOfWeek;
+
+    @Column(name = "start_minute", nullable = false)
+    private Integer startMinute;
+
+    @Column(name = "end_minute", nullable = false)
+    private Integer endMinute;
+}
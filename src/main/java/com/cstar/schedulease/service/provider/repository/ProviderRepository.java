@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProviderRepository extends JpaRepository<Provider, Long> {
@@ -13,4 +14,12 @@ public interface ProviderRepository extends JpaRepository<Provider, Long> {
     List<Provider> findByIsActive(Boolean isActive);
 
     boolean existsByIdAndIsActiveTrue(Long id);
+
+    Optional<Provider> findByIdAndDeletedFalse(Long id);
+
+    List<Provider> findByDeletedFalse();
+
+    List<Provider> findByIsActiveAndDeletedFalse(Boolean isActive);
+
+    boolean existsByIdAndDeletedFalse(Long id);
 }
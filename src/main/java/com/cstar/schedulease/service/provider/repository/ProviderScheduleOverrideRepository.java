@@ -0,0 +1,21 @@
+package com.cstar.schedulease.service.provider.repository;
+
+import com.cstar.schedulease.service.provider.entity.ProviderScheduleOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProviderScheduleOverrideRepository extends JpaRepository<ProviderScheduleOverride, Long> {
+
+    List<ProviderScheduleOverride> findByOverrideDateGreaterThanEqual(LocalDate date);
+
+    List<ProviderScheduleOverride> findByProviderIdAndOverrideDateGreaterThanEqualOrderByOverrideDateAscStartMinuteAsc(
+        Long providerId, LocalDate date);
+
+    @Modifying
+    void deleteByProviderIdAndOverrideDate(Long providerId, LocalDate date);
+}
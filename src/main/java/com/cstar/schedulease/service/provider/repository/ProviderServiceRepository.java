@@ -2,6 +2,9 @@ package com.cstar.schedulease.service.provider.repository;
 
 import com.cstar.schedulease.service.provider.entity.ProviderService;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,5 +19,19 @@ public interface ProviderServiceRepository extends JpaRepository<ProviderService
     List<ProviderService> findByIsActive(Boolean isActive);
     
     boolean existsByProviderIdAndServiceId(Long providerId, Long serviceId);
+
+    @Query("SELECT ps.provider.id AS providerId, ps.service.id AS serviceId FROM ProviderService ps " +
+           "WHERE ps.isActive = true")
+    List<Capability> findActiveCapabilities();
+
+    @Modifying
+    @Query("DELETE FROM ProviderService ps WHERE ps.provider.id = :providerId")
+    void deleteByProviderId(@Param("providerId") Long providerId);
+
+    interface Capability {
+        Long getProviderId();
+
+        Long getServiceId();
+    }
 }
 
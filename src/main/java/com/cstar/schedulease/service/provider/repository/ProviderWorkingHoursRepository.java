@@ -0,0 +1,17 @@
+package com.cstar.schedulease.service.provider.repository;
+
+import com.cstar.schedulease.service.provider.entity.ProviderWorkingHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProviderWorkingHoursRepository extends JpaRepository<ProviderWorkingHours, Long> {
+
+    List<ProviderWorkingHours> findByProviderIdOrderByDayOfWeekAscStartMinuteAsc(Long providerId);
+
+    @Modifying
+    void deleteByProviderId(Long providerId);
+}
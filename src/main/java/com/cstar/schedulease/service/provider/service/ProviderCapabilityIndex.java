@@ -0,0 +1,197 @@
+package com.cstar.schedulease.service.provider.service;
+
+import com.cstar.schedulease.common.tenant.TenantScoped;
+import com.cstar.schedulease.service.provider.entity.Provider;
+import com.cstar.schedulease.service.provider.repository.ProviderRepository;
+import com.cstar.schedulease.service.provider.repository.ProviderServiceRepository;
+import com.cstar.schedulease.service.services.dto.ServiceDTO;
+import com.cstar.schedulease.service.services.entity.Service;
+import com.cstar.schedulease.service.services.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Which provider offers which service: one bitset over service indexes per provider, plus the active providers
+ * of every service precomputed, so booking checks and provider listings need no join.
+ * Built per tenant on first use and rebuilt on the next read after a provider, service or mapping change commits.
+ * Providers without active mappings offer every service.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderCapabilityIndex {
+
+    private final ProviderRepository providerRepository;
+    private final ServiceRepository serviceRepository;
+    private final ProviderServiceRepository providerServiceRepository;
+
+    private final TenantScoped<State> states = new TenantScoped<>(State::new);
+
+    /**
+     * Unknown providers and services pass; the booking itself reports them as not found.
+     */
+    public boolean offers(Long providerId, Long serviceId) {
+        Snapshot snapshot = snapshot();
+        Integer provider = snapshot.providerIndexes.get(providerId);
+        Integer service = snapshot.serviceIndexes.get(serviceId);
+        if (provider == null || service == null) {
+            return true;
+        }
+        BitSet offered = snapshot.offered[provider];
+        return offered == null || offered.get(service);
+    }
+
+    /**
+     * Ids of the active providers offering the service, ascending.
+     */
+    public List<Long> activeProvidersFor(Long serviceId) {
+        Snapshot snapshot = snapshot();
+        Integer service = snapshot.serviceIndexes.get(serviceId);
+        return service != null ? snapshot.activeProviders.get(service) : List.of();
+    }
+
+    /**
+     * Active services the provider offers, ascending by id; every active service for an unknown provider.
+     */
+    public List<ServiceDTO> servicesOf(Long providerId) {
+        Snapshot snapshot = snapshot();
+        Integer provider = snapshot.providerIndexes.get(providerId);
+        BitSet offered = provider != null ? snapshot.offered[provider] : null;
+        List<ServiceDTO> services = new ArrayList<>();
+        for (int service = snapshot.activeServices.nextSetBit(0); service >= 0;
+             service = snapshot.activeServices.nextSetBit(service + 1)) {
+            if (offered == null || offered.get(service)) {
+                services.add(copy(snapshot.services[service]));
+            }
+        }
+        return services;
+    }
+
+    /**
+     * Call after a change to providers, services or provider_service commits.
+     */
+    public void invalidate() {
+        State state = states.get();
+        synchronized (state) {
+            state.version++;
+            state.snapshot = null;
+        }
+    }
+
+    private Snapshot snapshot() {
+        State state = states.get();
+        Snapshot snapshot = state.snapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long version;
+        synchronized (state) {
+            if (state.snapshot != null) {
+                return state.snapshot;
+            }
+            version = state.version;
+        }
+        Snapshot built = build();
+        synchronized (state) {
+            // An invalidation during the build may have missed it; use it once but do not keep it
+            if (state.version == version) {
+                state.snapshot = built;
+            }
+        }
+        return built;
+    }
+
+    private Snapshot build() {
+        List<Service> services = new ArrayList<>(serviceRepository.findAll());
+        services.sort(Comparator.comparing(Service::getId));
+        List<Provider> providers = new ArrayList<>(providerRepository.findAll());
+        providers.sort(Comparator.comparing(Provider::getId));
+
+        Snapshot snapshot = new Snapshot(providers.size(), services.size());
+        for (int index = 0; index < services.size(); index++) {
+            Service service = services.get(index);
+            snapshot.serviceIndexes.put(service.getId(), index);
+            snapshot.services[index] = toServiceDTO(service);
+            if (Boolean.TRUE.equals(service.getIsActive())) {
+                snapshot.activeServices.set(index);
+            }
+        }
+        for (int index = 0; index < providers.size(); index++) {
+            snapshot.providerIndexes.put(providers.get(index).getId(), index);
+        }
+        for (ProviderServiceRepository.Capability capability : providerServiceRepository.findActiveCapabilities()) {
+            Integer provider = snapshot.providerIndexes.get(capability.getProviderId());
+            Integer service = snapshot.serviceIndexes.get(capability.getServiceId());
+            if (provider != null && service != null) {
+                if (snapshot.offered[provider] == null) {
+                    snapshot.offered[provider] = new BitSet(services.size());
+                }
+                snapshot.offered[provider].set(service);
+            }
+        }
+
+        List<List<Long>> activeProviders = new ArrayList<>(services.size());
+        for (int service = 0; service < services.size(); service++) {
+            activeProviders.add(new ArrayList<>());
+        }
+        for (int provider = 0; provider < providers.size(); provider++) {
+            if (!Boolean.TRUE.equals(providers.get(provider).getIsActive())) {
+                continue;
+            }
+            BitSet offered = snapshot.offered[provider];
+            for (int service = 0; service < services.size(); service++) {
+                if (offered == null || offered.get(service)) {
+                    activeProviders.get(service).add(providers.get(provider).getId());
+                }
+            }
+        }
+        for (int service = 0; service < services.size(); service++) {
+            snapshot.activeProviders.add(Collections.unmodifiableList(activeProviders.get(service)));
+        }
+        log.info("Indexed {} providers against {} services", providers.size(), services.size());
+        return snapshot;
+    }
+
+    private static ServiceDTO toServiceDTO(Service service) {
+        return new ServiceDTO(service.getId(), service.getName(), service.getDescription(), service.getCategory(),
+            service.getDuration(), service.getPrice(), service.getIsActive(), service.getCapacity());
+    }
+
+    private static ServiceDTO copy(ServiceDTO service) {
+        return new ServiceDTO(service.getId(), service.getName(), service.getDescription(), service.getCategory(),
+            service.getDuration(), service.getPrice(), service.getIsActive(), service.getCapacity());
+    }
+
+    private static class State {
+        volatile Snapshot snapshot;
+        // Guarded by the state's monitor
+        long version;
+    }
+
+    private static class Snapshot {
+        final Map<Long, Integer> providerIndexes = new HashMap<>();
+        final Map<Long, Integer> serviceIndexes = new HashMap<>();
+        final ServiceDTO[] services;
+        final BitSet activeServices;
+        // Services offered by provider index; null when the provider has no mappings
+        final BitSet[] offered;
+        // Active provider ids by service index
+        final List<List<Long>> activeProviders;
+
+        Snapshot(int providers, int services) {
+            this.services = new ServiceDTO[services];
+            this.activeServices = new BitSet(services);
+            this.offered = new BitSet[providers];
+            this.activeProviders = new ArrayList<>(services);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.cstar.schedulease.service.provider.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled working hours of one provider: one bit per minute of the day for each weekday,
+ * plus date overrides. Instances are immutable; updates return a copy sharing unchanged days.
+ */
+public final class ProviderSchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final BitSet ALL_DAY = new BitSet(MINUTES_PER_DAY);
+
+    static {
+        ALL_DAY.set(0, MINUTES_PER_DAY);
+    }
+
+    // Index 0 = Monday; null when the provider has no weekly template
+    private final BitSet[] weekly;
+    private final Map<LocalDate, BitSet> overrides;
+
+    ProviderSchedule(BitSet[] weekly, Map<LocalDate, BitSet> overrides) {
+        this.weekly = weekly;
+        this.overrides = overrides;
+    }
+
+    static ProviderSchedule empty() {
+        return new ProviderSchedule(null, Map.of());
+    }
+
+    ProviderSchedule withWeekly(BitSet[] newWeekly) {
+        return new ProviderSchedule(newWeekly, overrides);
+    }
+
+    ProviderSchedule withOverride(LocalDate date, BitSet minutes) {
+        Map<LocalDate, BitSet> copy = new HashMap<>(overrides);
+        if (minutes != null) {
+            copy.put(date, minutes);
+        } else {
+            copy.remove(date);
+        }
+        return new ProviderSchedule(weekly, copy);
+    }
+
+    /**
+     * Drops overrides for dates before the given date.
+     */
+    ProviderSchedule withoutOverridesBefore(LocalDate date) {
+        Map<LocalDate, BitSet> copy = new HashMap<>(overrides);
+        copy.keySet().removeIf(overrideDate -> overrideDate.isBefore(date));
+        return new ProviderSchedule(weekly, copy);
+    }
+
+    boolean isUnrestricted() {
+        return weekly == null && overrides.isEmpty();
+    }
+
+    BitSet minutesOn(LocalDate date) {
+        BitSet override = overrides.get(date);
+        if (override != null) {
+            return override;
+        }
+        return weekly != null ? weekly[date.getDayOfWeek().getValue() - 1] : ALL_DAY;
+    }
+
+    /**
+     * Whether every minute in [startMinute, endMinute) of the date is working time.
+     */
+    boolean covers(LocalDate date, int startMinute, int endMinute) {
+        return endMinute <= MINUTES_PER_DAY && minutesOn(date).nextClearBit(startMinute) >= endMinute;
+    }
+
+    /**
+     * First minute at or after fromMinute that starts a run of working time of the given length, or -1.
+     */
+    int nextFit(LocalDate date, int fromMinute, int lengthMinutes) {
+        BitSet minutes = minutesOn(date);
+        int start = minutes.nextSetBit(fromMinute);
+        while (start >= 0 && start + lengthMinutes <= MINUTES_PER_DAY) {
+            int end = minutes.nextClearBit(start);
+            if (end - start >= lengthMinutes) {
+                return start;
+            }
+            start = minutes.nextSetBit(end);
+        }
+        return -1;
+    }
+
+    static BitSet[] newWeek() {
+        BitSet[] week = new BitSet[DayOfWeek.values().length];
+        for (int i = 0; i < week.length; i++) {
+            week[i] = new BitSet(MINUTES_PER_DAY);
+        }
+        return week;
+    }
+}
@@ -0,0 +1,232 @@
+package com.cstar.schedulease.service.provider.service;
+
+import com.cstar.schedulease.common.tenant.TenantScoped;
+import com.cstar.schedulease.config.ScheduleProperties;
+import com.cstar.schedulease.service.provider.entity.ProviderScheduleOverride;
+import com.cstar.schedulease.service.provider.entity.ProviderWorkingHours;
+import com.cstar.schedulease.service.provider.repository.ProviderScheduleOverrideRepository;
+import com.cstar.schedulease.service.provider.repository.ProviderWorkingHoursRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled working hours of every provider with a schedule, so booking and availability
+ * checks need no query. Loaded per tenant on first use; ProviderScheduleServiceImpl recompiles
+ * only the changed week or date after commit.
+ * Providers without a schedule can be booked at any time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderScheduleCache {
+
+    private final ProviderWorkingHoursRepository workingHoursRepository;
+    private final ProviderScheduleOverrideRepository overrideRepository;
+    private final ScheduleProperties scheduleProperties;
+
+    private final TenantScoped<State> states = new TenantScoped<>(State::new);
+
+    /**
+     * Whether [startTime, startTime + durationMinutes) lies within one day's working hours.
+     */
+    public boolean isOpen(Long providerId, long startTime, int durationMinutes) {
+        ProviderSchedule schedule = scheduleOf(providerId);
+        if (schedule == null) {
+            return true;
+        }
+        ZonedDateTime start = Instant.ofEpochSecond(startTime).atZone(scheduleProperties.getTimeZone());
+        ZonedDateTime end = start.plusMinutes(durationMinutes);
+        int startMinute = start.getHour() * 60 + start.getMinute();
+        int endMinute = end.toLocalDate().equals(start.toLocalDate())
+            ? end.getHour() * 60 + end.getMinute() + (end.getSecond() > 0 ? 1 : 0)
+            : ProviderSchedule.MINUTES_PER_DAY + (end.toLocalTime().equals(LocalTime.MIDNIGHT) ? 0 : 1);
+        return schedule.covers(start.toLocalDate(), startMinute, endMinute);
+    }
+
+    /**
+     * Earliest start at or after fromTime whose slot lies within working hours and ends by toTime,
+     * or Long.MAX_VALUE if there is none.
+     */
+    public long nextOpenStart(Long providerId, long fromTime, int durationMinutes, long toTime) {
+        ProviderSchedule schedule = scheduleOf(providerId);
+        if (schedule == null) {
+            return fromTime;
+        }
+        ZonedDateTime from = Instant.ofEpochSecond(fromTime).atZone(scheduleProperties.getTimeZone());
+        LocalDate date = from.toLocalDate();
+        int fromMinute = from.getHour() * 60 + from.getMinute() + (from.getSecond() > 0 ? 1 : 0);
+        LocalDate lastDate = Instant.ofEpochSecond(toTime).atZone(scheduleProperties.getTimeZone()).toLocalDate();
+
+        while (!date.isAfter(lastDate)) {
+            int minute = fromMinute < ProviderSchedule.MINUTES_PER_DAY
+                ? schedule.nextFit(date, fromMinute, durationMinutes) : -1;
+            if (minute >= 0) {
+                long start = date.atTime(minute / 60, minute % 60)
+                    .atZone(scheduleProperties.getTimeZone()).toEpochSecond();
+                return start + durationMinutes * 60L <= toTime ? start : Long.MAX_VALUE;
+            }
+            date = date.plusDays(1);
+            fromMinute = 0;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Working minutes of the provider over [from, to], or null when the provider has no schedule.
+     * Overrides of past dates are not kept, so days before yesterday count with the weekly template.
+     */
+    public Long scheduledMinutes(Long providerId, LocalDate from, LocalDate to) {
+        ProviderSchedule schedule = scheduleOf(providerId);
+        if (schedule == null) {
+            return null;
+        }
+        long minutes = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            minutes += schedule.minutesOn(date).cardinality();
+        }
+        return minutes;
+    }
+
+    public void recompileWeekly(Long providerId, List<ProviderWorkingHours> workingHours) {
+        State state = ensureLoaded();
+        BitSet[] week = workingHours.isEmpty() ? null : compileWeek(workingHours);
+        store(state, providerId, scheduleOrEmpty(state, providerId).withWeekly(week));
+    }
+
+    public void recompileOverride(Long providerId, LocalDate date, List<ProviderScheduleOverride> rows) {
+        State state = ensureLoaded();
+        store(state, providerId,
+            scheduleOrEmpty(state, providerId).withOverride(date, rows.isEmpty() ? null : compileDay(rows)));
+    }
+
+    private ProviderSchedule scheduleOf(Long providerId) {
+        return ensureLoaded().schedules.get(providerId);
+    }
+
+    private static ProviderSchedule scheduleOrEmpty(State state, Long providerId) {
+        ProviderSchedule schedule = state.schedules.get(providerId);
+        return schedule != null ? schedule : ProviderSchedule.empty();
+    }
+
+    private void store(State state, Long providerId, ProviderSchedule schedule) {
+        schedule = schedule.withoutOverridesBefore(LocalDate.now(scheduleProperties.getTimeZone()).minusDays(1));
+        if (schedule.isUnrestricted()) {
+            state.schedules.remove(providerId);
+        } else {
+            state.schedules.put(providerId, schedule);
+        }
+    }
+
+    /**
+     * Reloads one provider's hours from the database, after another node changed them.
+     */
+    public void reload(Long providerId) {
+        State state = states.get();
+        if (!state.loaded) {
+            return;
+        }
+        List<ProviderWorkingHours> weekly = workingHoursRepository.findByProviderIdOrderByDayOfWeekAscStartMinuteAsc(providerId);
+        Map<LocalDate, List<ProviderScheduleOverride>> overrides = new HashMap<>();
+        for (ProviderScheduleOverride row : overrideRepository
+                .findByProviderIdAndOverrideDateGreaterThanEqualOrderByOverrideDateAscStartMinuteAsc(providerId, since())) {
+            overrides.computeIfAbsent(row.getOverrideDate(), date -> new ArrayList<>()).add(row);
+        }
+        ProviderSchedule schedule = ProviderSchedule.empty().withWeekly(weekly.isEmpty() ? null : compileWeek(weekly));
+        for (Map.Entry<LocalDate, List<ProviderScheduleOverride>> override : overrides.entrySet()) {
+            schedule = schedule.withOverride(override.getKey(), compileDay(override.getValue()));
+        }
+        store(state, providerId, schedule);
+    }
+
+    /**
+     * Reloads every provider's hours, when changes of other nodes may have been missed.
+     * Readers see each provider's old or new hours throughout.
+     */
+    public void reloadAll() {
+        State state = states.get();
+        if (!state.loaded) {
+            return;
+        }
+        synchronized (state) {
+            Map<Long, ProviderSchedule> loaded = loadAll();
+            state.schedules.keySet().retainAll(loaded.keySet());
+            state.schedules.putAll(loaded);
+        }
+    }
+
+    private State ensureLoaded() {
+        State state = states.get();
+        if (state.loaded) {
+            return state;
+        }
+        synchronized (state) {
+            if (state.loaded) {
+                return state;
+            }
+            state.schedules.putAll(loadAll());
+            state.loaded = true;
+            log.info("Compiled working hours for {} providers", state.schedules.size());
+        }
+        return state;
+    }
+
+    private Map<Long, ProviderSchedule> loadAll() {
+        Map<Long, ProviderSchedule> schedules = new HashMap<>();
+        Map<Long, List<ProviderWorkingHours>> weekly = new HashMap<>();
+        for (ProviderWorkingHours hours : workingHoursRepository.findAll()) {
+            weekly.computeIfAbsent(hours.getProviderId(), id -> new ArrayList<>()).add(hours);
+        }
+        weekly.forEach((providerId, rows) ->
+            schedules.put(providerId, ProviderSchedule.empty().withWeekly(compileWeek(rows))));
+
+        Map<Long, Map<LocalDate, List<ProviderScheduleOverride>>> overrides = new HashMap<>();
+        for (ProviderScheduleOverride row : overrideRepository.findByOverrideDateGreaterThanEqual(since())) {
+            overrides.computeIfAbsent(row.getProviderId(), id -> new HashMap<>())
+                .computeIfAbsent(row.getOverrideDate(), date -> new ArrayList<>()).add(row);
+        }
+        overrides.forEach((providerId, byDate) -> byDate.forEach((date, rows) ->
+            schedules.put(providerId, schedules.getOrDefault(providerId, ProviderSchedule.empty())
+                .withOverride(date, compileDay(rows)))));
+        return schedules;
+    }
+
+    private LocalDate since() {
+        return LocalDate.now(scheduleProperties.getTimeZone()).minusDays(1);
+    }
+
+    private static class State {
+        final Map<Long, ProviderSchedule> schedules = new ConcurrentHashMap<>();
+        volatile boolean loaded;
+    }
+
+    private static BitSet[] compileWeek(List<ProviderWorkingHours> workingHours) {
+        BitSet[] week = ProviderSchedule.newWeek();
+        for (ProviderWorkingHours hours : workingHours) {
+            week[hours.getDayOfWeek() - 1].set(hours.getStartMinute(), hours.getEndMinute());
+        }
+        return week;
+    }
+
+    private static BitSet compileDay(List<ProviderScheduleOverride> rows) {
+        BitSet day = new BitSet(ProviderSchedule.MINUTES_PER_DAY);
+        for (ProviderScheduleOverride row : rows) {
+            // A row without minutes only marks the date as closed
+            if (row.getStartMinute() != null && row.getEndMinute() != null) {
+                day.set(row.getStartMinute(), row.getEndMinute());
+            }
+        }
+        return day;
+    }
+}
@@ -0,0 +1,25 @@
+package com.cstar.schedulease.service.provider.service;
+
+import com.cstar.schedulease.service.provider.dto.ProviderScheduleDTO;
+import com.cstar.schedulease.service.provider.dto.ScheduleOverrideDTO;
+import com.cstar.schedulease.service.provider.dto.WorkingIntervalDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProviderScheduleService {
+
+    ProviderScheduleDTO getSchedule(Long providerId);
+
+    /**
+     * Replaces the weekly template. An empty list removes it, so the provider can be booked at any time.
+     */
+    ProviderScheduleDTO updateWeeklyHours(Long providerId, List<WorkingIntervalDTO> weeklyHours);
+
+    /**
+     * Replaces the working hours of one date. An empty list closes the date.
+     */
+    ScheduleOverrideDTO updateOverride(Long providerId, LocalDate date, List<WorkingIntervalDTO> intervals);
+
+    void deleteOverride(Long providerId, LocalDate date);
+}
@@ -1,6 +1,7 @@
 package com.cstar.schedulease.service.provider.service;
 
 import com.cstar.schedulease.service.provider.dto.ProviderDTO;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
 
 import java.util.List;
 
@@ -12,4 +13,12 @@ public interface ProviderService {
     List<ProviderDTO> getAllProviders(Boolean activeOnly);
 
     ProviderDTO updateProvider(Long id, ProviderDTO dto);
+
+    List<ProviderDTO> getProvidersOffering(Long serviceId);
+
+    /**
+     * Deletes the provider for good, unlike deactivation: hidden at once, then its appointments and the
+     * provider row are removed by the returned purge job.
+     */
+    PurgeJobDTO purgeProvider(Long id);
 }
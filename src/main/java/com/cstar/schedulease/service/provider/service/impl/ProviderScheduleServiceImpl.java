@@ -0,0 +1,159 @@
+package com.cstar.schedulease.service.provider.service.impl;
+
+import com.cstar.schedulease.config.ScheduleProperties;
+import com.cstar.schedulease.exception.ResourceNotFoundException;
+import com.cstar.schedulease.service.cache.service.CacheInvalidationPublisher;
+import com.cstar.schedulease.service.provider.dto.ProviderScheduleDTO;
+import com.cstar.schedulease.service.provider.dto.ScheduleOverrideDTO;
+import com.cstar.schedulease.service.provider.dto.WorkingIntervalDTO;
+import com.cstar.schedulease.service.provider.entity.ProviderScheduleOverride;
+import com.cstar.schedulease.service.provider.entity.ProviderWorkingHours;
+import com.cstar.schedulease.service.provider.repository.ProviderRepository;
+import com.cstar.schedulease.service.provider.repository.ProviderScheduleOverrideRepository;
+import com.cstar.schedulease.service.provider.repository.ProviderWorkingHoursRepository;
+import com.cstar.schedulease.service.provider.service.ProviderSchedule;
+import com.cstar.schedulease.service.provider.service.ProviderScheduleCache;
+import com.cstar.schedulease.service.provider.service.ProviderScheduleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ProviderScheduleServiceImpl implements ProviderScheduleService {
+
+    private final ProviderRepository providerRepository;
+    private final ProviderWorkingHoursRepository workingHoursRepository;
+    private final ProviderScheduleOverrideRepository overrideRepository;
+    private final ProviderScheduleCache scheduleCache;
+    private final ScheduleProperties scheduleProperties;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProviderScheduleDTO getSchedule(Long providerId) {
+        ensureProviderExists(providerId);
+
+        List<WorkingIntervalDTO> weeklyHours = workingHoursRepository
+            .findByProviderIdOrderByDayOfWeekAscStartMinuteAsc(providerId).stream()
+            .map(hours -> toIntervalDTO(DayOfWeek.of(hours.getDayOfWeek()), hours.getStartMinute(), hours.getEndMinute()))
+            .collect(Collectors.toList());
+
+        Map<LocalDate, ScheduleOverrideDTO> overrides = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now(scheduleProperties.getTimeZone());
+        for (ProviderScheduleOverride row : overrideRepository
+                .findByProviderIdAndOverrideDateGreaterThanEqualOrderByOverrideDateAscStartMinuteAsc(providerId, today)) {
+            ScheduleOverrideDTO override = overrides.computeIfAbsent(row.getOverrideDate(),
+                date -> new ScheduleOverrideDTO(date, new ArrayList<>()));
+            if (row.getStartMinute() != null) {
+                override.getIntervals().add(toIntervalDTO(null, row.getStartMinute(), row.getEndMinute()));
+            }
+        }
+
+        return new ProviderScheduleDTO(providerId, weeklyHours, new ArrayList<>(overrides.values()));
+    }
+
+    @Override
+    public ProviderScheduleDTO updateWeeklyHours(Long providerId, List<WorkingIntervalDTO> weeklyHours) {
+        log.info("Updating weekly working hours of provider {}: {} intervals", providerId, weeklyHours.size());
+        ensureProviderExists(providerId);
+
+        List<ProviderWorkingHours> rows = new ArrayList<>();
+        for (WorkingIntervalDTO interval : weeklyHours) {
+            if (interval.getDayOfWeek() == null) {
+                throw new IllegalArgumentException("Day of week is required for weekly working hours");
+            }
+            int[] minutes = toMinutes(interval);
+            rows.add(new ProviderWorkingHours(null, providerId,
+                interval.getDayOfWeek().getValue(), minutes[0], minutes[1]));
+        }
+
+        workingHoursRepository.deleteByProviderId(providerId);
+        List<ProviderWorkingHours> saved = workingHoursRepository.saveAll(rows);
+        afterCommit(() -> scheduleCache.recompileWeekly(providerId, saved));
+        cacheInvalidationPublisher.scheduleChanged(providerId);
+
+        return getSchedule(providerId);
+    }
+
+    @Override
+    public ScheduleOverrideDTO updateOverride(Long providerId, LocalDate date, List<WorkingIntervalDTO> intervals) {
+        log.info("Updating working hours of provider {} on {}: {} intervals", providerId, date, intervals.size());
+        ensureProviderExists(providerId);
+
+        List<ProviderScheduleOverride> rows = new ArrayList<>();
+        for (WorkingIntervalDTO interval : intervals) {
+            int[] minutes = toMinutes(interval);
+            rows.add(new ProviderScheduleOverride(null, providerId, date, minutes[0], minutes[1]));
+        }
+        if (rows.isEmpty()) {
+            rows.add(new ProviderScheduleOverride(null, providerId, date, null, null));
+        }
+
+        overrideRepository.deleteByProviderIdAndOverrideDate(providerId, date);
+        List<ProviderScheduleOverride> saved = overrideRepository.saveAll(rows);
+        afterCommit(() -> scheduleCache.recompileOverride(providerId, date, saved));
+        cacheInvalidationPublisher.scheduleChanged(providerId);
+
+        return new ScheduleOverrideDTO(date, intervals);
+    }
+
+    @Override
+    public void deleteOverride(Long providerId, LocalDate date) {
+        log.info("Removing working hours override of provider {} on {}", providerId, date);
+        ensureProviderExists(providerId);
+
+        overrideRepository.deleteByProviderIdAndOverrideDate(providerId, date);
+        afterCommit(() -> scheduleCache.recompileOverride(providerId, date, List.of()));
+        cacheInvalidationPublisher.scheduleChanged(providerId);
+    }
+
+    private void ensureProviderExists(Long providerId) {
+        if (!providerRepository.existsByIdAndDeletedFalse(providerId)) {
+            throw ResourceNotFoundException.forId("Provider", providerId);
+        }
+    }
+
+    private static int[] toMinutes(WorkingIntervalDTO interval) {
+        if (interval.getStartTime() == null || interval.getEndTime() == null) {
+            throw new IllegalArgumentException("Working interval requires a start time and an end time");
+        }
+        int start = interval.getStartTime().getHour() * 60 + interval.getStartTime().getMinute();
+        int end = interval.getEndTime().equals(LocalTime.MIDNIGHT)
+            ? ProviderSchedule.MINUTES_PER_DAY
+            : interval.getEndTime().getHour() * 60 + interval.getEndTime().getMinute();
+        if (end <= start) {
+            throw new IllegalArgumentException("Working interval must end after it starts: "
+                + interval.getStartTime() + " - " + interval.getEndTime());
+        }
+        return new int[] {start, end};
+    }
+
+    private static WorkingIntervalDTO toIntervalDTO(DayOfWeek dayOfWeek, int startMinute, int endMinute) {
+        LocalTime end = endMinute == ProviderSchedule.MINUTES_PER_DAY
+            ? LocalTime.MIDNIGHT : LocalTime.of(endMinute / 60, endMinute % 60);
+        return new WorkingIntervalDTO(dayOfWeek, LocalTime.of(startMinute / 60, startMinute % 60), end);
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,15 +1,32 @@
 package com.cstar.schedulease.service.provider.service.impl;
 
+import com.cstar.schedulease.common.enums.PurgeEntityType;
 import com.cstar.schedulease.exception.ResourceNotFoundException;
+import com.cstar.schedulease.service.cache.service.CacheInvalidationPublisher;
 import com.cstar.schedulease.service.provider.dto.ProviderDTO;
 import com.cstar.schedulease.service.provider.entity.Provider;
+import com.cstar.schedulease.service.provider.entity.ProviderService;
 import com.cstar.schedulease.service.provider.repository.ProviderRepository;
+import com.cstar.schedulease.service.provider.repository.ProviderServiceRepository;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
+import com.cstar.schedulease.service.purge.service.PurgeService;
+import com.cstar.schedulease.service.services.dto.ServiceDTO;
+import com.cstar.schedulease.service.services.entity.Service;
+import com.cstar.schedulease.service.services.repository.ServiceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @org.springframework.stereotype.Service
@@ -19,6 +36,11 @@ import java.util.stream.Collectors;
 public class ProviderServiceImpl implements com.cstar.schedulease.service.provider.service.ProviderService {
 
     private final ProviderRepository providerRepository;
+    private final ProviderServiceRepository providerServiceRepository;
+    private final ServiceRepository serviceRepository;
+    private final ProviderCapabilityIndex capabilityIndex;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final PurgeService purgeService;
 
     @Override
     public ProviderDTO createProvider(ProviderDTO dto) {
@@ -30,12 +52,14 @@ public class ProviderServiceImpl implements com.cstar.schedulease.service.provid
         provider.setDescription(dto.getDescription());
         provider.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
         
-        // Note: Service associations are no longer managed through provider_service table
-        // Services are directly associated with appointments
-        
         Provider savedProvider = providerRepository.save(provider);
         log.info("Provider created successfully with id: {}", savedProvider.getId());
-        
+        afterCommit(capabilityIndex::invalidate);
+        cacheInvalidationPublisher.providerChanged(savedProvider.getId());
+
+        if (dto.getServiceIds() != null) {
+            return convertToDTO(savedProvider, replaceServices(savedProvider, dto.getServiceIds()));
+        }
         return convertToDTO(savedProvider);
     }
 
@@ -44,7 +68,7 @@ public class ProviderServiceImpl implements com.cstar.schedulease.service.provid
     public ProviderDTO getProviderById(Long id) {
         log.info("Fetching provider with id: {}", id);
         
-        Provider provider = providerRepository.findById(id)
+        Provider provider = providerRepository.findByIdAndDeletedFalse(id)
             .orElseThrow(() -> ResourceNotFoundException.forId("Provider", id));
         
         return convertToDTO(provider);
@@ -60,9 +84,9 @@ public class ProviderServiceImpl implements com.cstar.schedulease.service.provid
         if (activeOnly != null && activeOnly) {
             providers = providerRepository.findByIsActiveTrue();
         } else if (activeOnly != null) {
-            providers = providerRepository.findByIsActive(activeOnly);
+            providers = providerRepository.findByIsActiveAndDeletedFalse(activeOnly);
         } else {
-            providers = providerRepository.findAll();
+            providers = providerRepository.findByDeletedFalse();
         }
         
         log.info("Found {} providers", providers.size());
@@ -75,7 +99,7 @@ public class ProviderServiceImpl implements com.cstar.schedulease.service.provid
     public ProviderDTO updateProvider(Long id, ProviderDTO dto) {
         log.info("Updating provider with id: {}", id);
         
-        Provider provider = providerRepository.findById(id)
+        Provider provider = providerRepository.findByIdAndDeletedFalse(id)
             .orElseThrow(() -> ResourceNotFoundException.forId("Provider", id));
         
         if (dto.getFirstName() != null) {
@@ -91,27 +115,113 @@ public class ProviderServiceImpl implements com.cstar.schedulease.service.provid
             provider.setIsActive(dto.getIsActive());
         }
         
-        // Note: Service associations are no longer managed through provider_service table
-        // Services are directly associated with appointments
-        
         Provider updatedProvider = providerRepository.save(provider);
         log.info("Provider updated successfully with id: {}", updatedProvider.getId());
-        
+        afterCommit(capabilityIndex::invalidate);
+        cacheInvalidationPublisher.providerChanged(updatedProvider.getId());
+
+        if (dto.getServiceIds() != null) {
+            return convertToDTO(updatedProvider, replaceServices(updatedProvider, dto.getServiceIds()));
+        }
         return convertToDTO(updatedProvider);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProviderDTO> getProvidersOffering(Long serviceId) {
+        log.info("Fetching active providers offering service {}", serviceId);
+
+        if (!serviceRepository.existsById(serviceId)) {
+            throw ResourceNotFoundException.forId("Service", serviceId);
+        }
+        return providerRepository.findAllById(capabilityIndex.activeProvidersFor(serviceId)).stream()
+            .sorted(Comparator.comparing(Provider::getId))
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public PurgeJobDTO purgeProvider(Long id) {
+        log.info("Purging provider with id: {}", id);
+
+        Provider provider = providerRepository.findByIdAndDeletedFalse(id)
+            .orElseThrow(() -> ResourceNotFoundException.forId("Provider", id));
+
+        provider.setIsActive(false);
+        provider.setDeleted(true);
+        providerRepository.save(provider);
+        afterCommit(capabilityIndex::invalidate);
+        cacheInvalidationPublisher.providerChanged(id);
+        PurgeJobDTO job = purgeService.schedulePurge(PurgeEntityType.PROVIDER, id);
+        log.info("Provider marked deleted with id: {}, purge job {}", id, job.getId());
+        return job;
+    }
+
+    /**
+     * Replaces the provider's provider_service rows; an empty list lets the provider offer every service.
+     * Returns the services as the index will report them once the transaction commits.
+     */
+    private List<ServiceDTO> replaceServices(Provider provider, List<Long> serviceIds) {
+        Set<Long> ids = new LinkedHashSet<>(serviceIds);
+        Map<Long, Service> services = serviceRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Service::getId, Function.identity()));
+        for (Long serviceId : ids) {
+            if (!services.containsKey(serviceId)) {
+                throw ResourceNotFoundException.forId("Service", serviceId);
+            }
+        }
+
+        providerServiceRepository.deleteByProviderId(provider.getId());
+        List<ProviderService> rows = new ArrayList<>();
+        for (Long serviceId : ids) {
+            ProviderService row = new ProviderService();
+            row.setProvider(provider);
+            row.setService(services.get(serviceId));
+            row.setIsActive(true);
+            rows.add(row);
+        }
+        providerServiceRepository.saveAll(rows);
+        log.info("Provider {} now offers services {}", provider.getId(), ids);
+
+        if (ids.isEmpty()) {
+            return serviceRepository.findByIsActiveTrue().stream()
+                .sorted(Comparator.comparing(Service::getId))
+                .map(ProviderServiceImpl::toServiceDTO)
+                .collect(Collectors.toList());
+        }
+        return services.values().stream()
+            .filter(service -> Boolean.TRUE.equals(service.getIsActive()))
+            .sorted(Comparator.comparing(Service::getId))
+            .map(ProviderServiceImpl::toServiceDTO)
+            .collect(Collectors.toList());
+    }
+
     private ProviderDTO convertToDTO(Provider provider) {
+        return convertToDTO(provider, capabilityIndex.servicesOf(provider.getId()));
+    }
+
+    private ProviderDTO convertToDTO(Provider provider, List<ServiceDTO> services) {
         ProviderDTO dto = new ProviderDTO();
         dto.setId(provider.getId());
         dto.setFirstName(provider.getFirstName());
         dto.setLastName(provider.getLastName());
         dto.setDescription(provider.getDescription());
         dto.setIsActive(provider.getIsActive());
-        
-        // Note: Services are no longer managed through provider_service table
-        // Services list is set to empty as they are now directly associated with appointments
-        dto.setServices(new ArrayList<>());
-        
+        dto.setServices(services);
         return dto;
     }
+
+    private static ServiceDTO toServiceDTO(Service service) {
+        return new ServiceDTO(service.getId(), service.getName(), service.getDescription(), service.getCategory(),
+            service.getDuration(), service.getPrice(), service.getIsActive(), service.getCapacity());
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,33 @@
+package com.cstar.schedulease.service.purge.controller;
+
+import com.cstar.schedulease.common.admission.BulkEndpoint;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
+import com.cstar.schedulease.service.purge.service.PurgeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/purge-jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class PurgeJobController {
+
+    private final PurgeService purgeService;
+
+    @BulkEndpoint
+    @GetMapping
+    public ResponseEntity<List<PurgeJobDTO>> getRecentJobs(@RequestParam(required = false) Integer limit) {
+        log.info("REST request to get recent purge jobs, limit: {}", limit);
+        return ResponseEntity.ok(purgeService.getRecentJobs(limit));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PurgeJobDTO> getJob(@PathVariable Long id) {
+        log.info("REST request to get purge job with id: {}", id);
+        return ResponseEntity.ok(purgeService.getJob(id));
+    }
+}
@@ -0,0 +1,26 @@
+package com.cstar.schedulease.service.purge.dto;
+
+import com.cstar.schedulease.common.enums.PurgeEntityType;
+import com.cstar.schedulease.common.enums.PurgeJobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PurgeJobDTO {
+    private Long id;
+    private PurgeEntityType entityType;
+    private Long entityId;
+    private PurgeJobStatus status;
+    private Long deletedAppointments;
+    // Error of the last failed batch; the purger retries until the job completes
+    private String lastError;
+    // Epoch milliseconds
+    private Long createdAt;
+    private Long updatedAt;
+    private Long completedAt;
+}
@@ -0,0 +1,112 @@
+package com.cstar.schedulease.service.purge.repository;
+
+import com.cstar.schedulease.common.enums.PurgeEntityType;
+import com.cstar.schedulease.common.enums.PurgeJobStatus;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * purge_job rows and the batched deletes they drive. A batch deletes the oldest appointments of the
+ * entity and appends their DELETED events in the same statement, so rollups and reminders follow.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PurgeJobRepository {
+
+    private static final String COLUMNS =
+        "id, entity_type, entity_id, status, deleted_appointments, last_error, created_at, updated_at, completed_at";
+
+    // Rows another transaction holds, such as a status change in progress, wait for a later batch.
+    // Live group bookings give their seats back in the same statement
+    private static final String DELETE_BATCH_SQL =
+        "WITH doomed AS (" +
+        "  SELECT id FROM appointments WHERE %s = ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED), " +
+        "del AS (" +
+        "  DELETE FROM appointments a USING doomed WHERE a.id = doomed.id " +
+        "  RETURNING a.id, a.client_id, a.provider_id, a.service_id, a.start_time, a.status, a.group_session, a.price), " +
+        "seats AS (" +
+        "  UPDATE session_seat ss SET booked = GREATEST(ss.booked - g.seats, 0) " +
+        "  FROM (SELECT provider_id, service_id, start_time, COUNT(*) AS seats FROM del " +
+        "    WHERE group_session AND status <> 'CANCELLED' GROUP BY provider_id, service_id, start_time) g " +
+        "  WHERE ss.provider_id = g.provider_id AND ss.service_id = g.service_id AND ss.start_time = g.start_time) " +
+        "INSERT INTO appointment_outbox (event_type, appointment_id, provider_id, service_id, client_id, " +
+        "  start_time, end_time, status, previous_status, previous_start_time, occurred_at, price) " +
+        "SELECT 'DELETED', del.id, del.provider_id, del.service_id, del.client_id, del.start_time, " +
+        "  del.start_time + s.duration * 60, del.status, del.status, NULL, ?, del.price " +
+        "FROM del JOIN service s ON s.id = del.service_id";
+
+    private static final RowMapper<PurgeJobDTO> ROW_MAPPER = (resultSet, rowNum) -> new PurgeJobDTO(
+        resultSet.getLong("id"),
+        PurgeEntityType.fromCode(resultSet.getString("entity_type")),
+        resultSet.getLong("entity_id"),
+        PurgeJobStatus.fromCode(resultSet.getString("status")),
+        resultSet.getLong("deleted_appointments"),
+        resultSet.getString("last_error"),
+        resultSet.getLong("created_at"),
+        resultSet.getLong("updated_at"),
+        resultSet.getObject("completed_at", Long.class)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PurgeJobDTO create(PurgeEntityType entityType, Long entityId, long now) {
+        return jdbcTemplate.queryForObject(
+            "INSERT INTO purge_job (entity_type, entity_id, status, created_at, updated_at) " +
+            "VALUES (?, ?, 'PENDING', ?, ?) RETURNING " + COLUMNS,
+            ROW_MAPPER, entityType.getCode(), entityId, now, now);
+    }
+
+    public Optional<PurgeJobDTO> findById(Long id) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM purge_job WHERE id = ?", ROW_MAPPER, id)
+            .stream().findFirst();
+    }
+
+    public List<PurgeJobDTO> findRecent(int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM purge_job ORDER BY id DESC LIMIT ?", ROW_MAPPER, limit);
+    }
+
+    /**
+     * Oldest job not completed, locked until the end of the transaction; empty if none or another purger has it.
+     */
+    public Optional<PurgeJobDTO> lockNextOpen() {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM purge_job WHERE status <> 'COMPLETED' " +
+                "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", ROW_MAPPER)
+            .stream().findFirst();
+    }
+
+    /**
+     * Deletes up to batchSize appointments of the entity with their events; returns how many.
+     */
+    public int deleteAppointmentBatch(PurgeEntityType entityType, Long entityId, int batchSize, long now) {
+        String column = entityType == PurgeEntityType.CLIENT ? "client_id" : "provider_id";
+        return jdbcTemplate.update(String.format(DELETE_BATCH_SQL, column), entityId, batchSize, now);
+    }
+
+    /**
+     * Deletes the entity row; its remaining dependents (series, waitlist entries, working hours) cascade.
+     */
+    public void deleteEntity(PurgeEntityType entityType, Long entityId) {
+        String table = entityType == PurgeEntityType.CLIENT ? "client" : "provider";
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE id = ? AND deleted", entityId);
+    }
+
+    public void recordProgress(Long jobId, int deletedAppointments, long now) {
+        jdbcTemplate.update("UPDATE purge_job SET status = 'RUNNING', deleted_appointments = deleted_appointments + ?, " +
+            "last_error = NULL, updated_at = ? WHERE id = ?", deletedAppointments, now, jobId);
+    }
+
+    public void complete(Long jobId, long now) {
+        jdbcTemplate.update("UPDATE purge_job SET status = 'COMPLETED', last_error = NULL, updated_at = ?, " +
+            "completed_at = ? WHERE id = ?", now, now, jobId);
+    }
+
+    public void recordFailure(Long jobId, String error, long now) {
+        jdbcTemplate.update("UPDATE purge_job SET last_error = ?, updated_at = ? WHERE id = ?", error, now, jobId);
+    }
+}
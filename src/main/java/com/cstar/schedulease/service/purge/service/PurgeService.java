@@ -0,0 +1,18 @@
+package com.cstar.schedulease.service.purge.service;
+
+import com.cstar.schedulease.common.enums.PurgeEntityType;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
+
+import java.util.List;
+
+public interface PurgeService {
+
+    /**
+     * Queues the purge of an entity the caller has just marked deleted; runs once the caller's transaction commits.
+     */
+    PurgeJobDTO schedulePurge(PurgeEntityType entityType, Long entityId);
+
+    PurgeJobDTO getJob(Long id);
+
+    List<PurgeJobDTO> getRecentJobs(Integer limit);
+}
@@ -0,0 +1,214 @@
+package com.cstar.schedulease.service.purge.service;
+
+import com.cstar.schedulease.common.enums.PurgeEntityType;
+import com.cstar.schedulease.common.enums.TenantStatus;
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.config.PurgeProperties;
+import com.cstar.schedulease.service.outbox.service.AppointmentOutbox;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
+import com.cstar.schedulease.service.purge.repository.PurgeJobRepository;
+import com.cstar.schedulease.service.tenant.dto.TenantDTO;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Works through purge_job: each pass deletes one batch of a deleted client's or provider's appointments
+ * in its own short transaction, pausing between batches so bookings never wait behind a long cascade.
+ * When no appointment is left the entity row goes, taking its few remaining dependents with it.
+ * Jobs survive restarts; the row lock on the job keeps a single purger per job across instances.
+ */
+@Component
+@Slf4j
+public class PurgeWorker implements SmartLifecycle {
+
+    private final PurgeJobRepository purgeJobRepository;
+    private final ObjectProvider<TenantDirectory> tenantDirectory;
+    private final AppointmentOutbox appointmentOutbox;
+    private final ProviderCapabilityIndex capabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final PurgeProperties purgeProperties;
+    private final Counter purgedCounter;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile boolean running;
+    private Thread worker;
+
+    public PurgeWorker(PurgeJobRepository purgeJobRepository,
+                       ObjectProvider<TenantDirectory> tenantDirectory,
+                       AppointmentOutbox appointmentOutbox,
+                       ProviderCapabilityIndex capabilityIndex,
+                       PlatformTransactionManager transactionManager,
+                       PurgeProperties purgeProperties,
+                       MeterRegistry meterRegistry) {
+        this.purgeJobRepository = purgeJobRepository;
+        this.tenantDirectory = tenantDirectory;
+        this.appointmentOutbox = appointmentOutbox;
+        this.capabilityIndex = capabilityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgeProperties = purgeProperties;
+        this.purgedCounter = Counter.builder("schedulease.purge.appointments")
+            .description("Appointments deleted by the background purge")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Called after a transaction that scheduled a purge commits.
+     */
+    public void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!purgeProperties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "purge-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        int failures = 0;
+        while (running) {
+            try {
+                if (purgeAllTenants()) {
+                    Thread.sleep(purgeProperties.getBatchPause().toMillis());
+                } else {
+                    wakeUps.tryAcquire(purgeProperties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+                failures = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failures++;
+                long backoff = Math.min(purgeProperties.getBatchPause().toMillis() << Math.min(failures, 16),
+                    purgeProperties.getMaxBackoff().toMillis());
+                log.warn("Purge pass failed ({} in a row), retrying in {} ms: {}", failures, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one batch per tenant; true when some tenant may have more to purge.
+     */
+    private boolean purgeAllTenants() {
+        TenantDirectory directory = tenantDirectory.getIfAvailable();
+        if (directory == null) {
+            return purgeBatch();
+        }
+
+        boolean more = false;
+        for (TenantDTO tenant : directory.getTenants()) {
+            if (tenant.getStatus() == TenantStatus.MOVING) {
+                // Its tables are locked for the copy; the new shard takes over afterwards
+                continue;
+            }
+            TenantContext.setTenantId(tenant.getTenantId());
+            try {
+                more |= purgeBatch();
+            } finally {
+                TenantContext.clear();
+            }
+        }
+        return more;
+    }
+
+    /**
+     * One batch of the oldest open job; false when there was nothing to do.
+     */
+    boolean purgeBatch() {
+        PurgeJobDTO[] current = new PurgeJobDTO[1];
+        try {
+            Boolean completed = transactionTemplate.execute(status -> {
+                Optional<PurgeJobDTO> next = purgeJobRepository.lockNextOpen();
+                if (next.isEmpty()) {
+                    return null;
+                }
+                PurgeJobDTO job = next.get();
+                current[0] = job;
+                long now = System.currentTimeMillis();
+                // The batch appends DELETED events; a client's appointments span many providers
+                if (job.getEntityType() == PurgeEntityType.PROVIDER) {
+                    appointmentOutbox.lockProviders(List.of(job.getEntityId()));
+                } else {
+                    appointmentOutbox.lockAllProviders();
+                }
+                int deleted = purgeJobRepository.deleteAppointmentBatch(job.getEntityType(), job.getEntityId(),
+                    purgeProperties.getBatchSize(), now);
+                if (deleted > 0) {
+                    purgeJobRepository.recordProgress(job.getId(), deleted, now);
+                    appointmentOutbox.appended();
+                    purgedCounter.increment(deleted);
+                    return false;
+                }
+                // New bookings of a deleted entity are refused; one that raced the delete goes with the cascade
+                purgeJobRepository.deleteEntity(job.getEntityType(), job.getEntityId());
+                purgeJobRepository.complete(job.getId(), now);
+                return true;
+            });
+            if (Boolean.TRUE.equals(completed)) {
+                log.info("Purge job {} completed: {} {} removed", current[0].getId(), current[0].getEntityType(),
+                    current[0].getEntityId());
+                if (current[0].getEntityType() == PurgeEntityType.PROVIDER) {
+                    capabilityIndex.invalidate();
+                }
+            }
+            return completed != null;
+        } catch (RuntimeException e) {
+            if (current[0] != null) {
+                Long jobId = current[0].getId();
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                        purgeJobRepository.recordFailure(jobId, e.getMessage(), System.currentTimeMillis()));
+                } catch (RuntimeException recordFailed) {
+                    e.addSuppressed(recordFailed);
+                }
+            }
+            throw e;
+        }
+    }
+}
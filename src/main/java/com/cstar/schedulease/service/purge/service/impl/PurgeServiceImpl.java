@@ -0,0 +1,55 @@
+package com.cstar.schedulease.service.purge.service.impl;
+
+import com.cstar.schedulease.common.enums.PurgeEntityType;
+import com.cstar.schedulease.exception.ResourceNotFoundException;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
+import com.cstar.schedulease.service.purge.repository.PurgeJobRepository;
+import com.cstar.schedulease.service.purge.service.PurgeService;
+import com.cstar.schedulease.service.purge.service.PurgeWorker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class PurgeServiceImpl implements PurgeService {
+
+    private static final int MAX_LISTED_JOBS = 100;
+
+    private final PurgeJobRepository purgeJobRepository;
+    private final PurgeWorker purgeWorker;
+
+    @Override
+    public PurgeJobDTO schedulePurge(PurgeEntityType entityType, Long entityId) {
+        PurgeJobDTO job = purgeJobRepository.create(entityType, entityId, System.currentTimeMillis());
+        log.info("Scheduled purge job {} for {} {}", job.getId(), entityType, entityId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                purgeWorker.wakeUp();
+            }
+        });
+        return job;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PurgeJobDTO getJob(Long id) {
+        return purgeJobRepository.findById(id)
+            .orElseThrow(() -> ResourceNotFoundException.forId("Purge job", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PurgeJobDTO> getRecentJobs(Integer limit) {
+        int count = limit != null ? Math.min(Math.max(limit, 1), MAX_LISTED_JOBS) : MAX_LISTED_JOBS;
+        return purgeJobRepository.findRecent(count);
+    }
+}
@@ -0,0 +1,21 @@
+package com.cstar.schedulease.service.reminder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Reminder {
+    private String tenantId;
+    private Long appointmentId;
+    private Long clientId;
+    private Long providerId;
+    private Long serviceId;
+    private Long startTime;
+    // How long before startTime the reminder is due
+    private Duration leadTime;
+}
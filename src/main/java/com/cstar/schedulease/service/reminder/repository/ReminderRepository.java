@@ -0,0 +1,169 @@
+package com.cstar.schedulease.service.reminder.repository;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.service.reminder.dto.Reminder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class ReminderRepository {
+
+    // Rows are pulled through a cursor instead of materializing the whole horizon
+    private static final int FETCH_SIZE = 10_000;
+
+    // One range scan on idx_appointments_status_start per lead time
+    private static final String DUE_BRANCH_SQL =
+        "SELECT id, ? AS lead_index, start_time - ? AS fire_at FROM appointments " +
+        "WHERE status = 'CONFIRMED' AND start_time > ? AND start_time <= ?";
+
+    private static final String SELECT_CONFIRMED_SQL =
+        "SELECT id, client_id, provider_id, service_id, start_time FROM appointments " +
+        "WHERE id = ANY(?) AND status = 'CONFIRMED'";
+
+    // Returns only the reminders no node has claimed before
+    private static final String CLAIM_SQL =
+        "INSERT INTO reminder_sent (appointment_id, start_time, lead_seconds, sent_at) " +
+        "SELECT appointment_id, start_time, lead_seconds, ? FROM unnest(?, ?, ?) " +
+        "AS r(appointment_id, start_time, lead_seconds) " +
+        "ON CONFLICT DO NOTHING RETURNING appointment_id, start_time, lead_seconds";
+
+    private static final String RELEASE_SQL =
+        "DELETE FROM reminder_sent WHERE (appointment_id, start_time, lead_seconds) IN " +
+        "(SELECT * FROM unnest(?, ?, ?))";
+
+    private static final String DELETE_SENT_BEFORE_SQL = "DELETE FROM reminder_sent WHERE start_time < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Receives due reminders in fire time order; returning false stops the scan.
+     */
+    @FunctionalInterface
+    public interface DueReminderHandler {
+        boolean accept(long appointmentId, int leadIndex, long fireAt);
+    }
+
+    /**
+     * Streams the reminders of confirmed appointments that fire in (fromExclusive, toInclusive].
+     */
+    @Transactional(readOnly = true)
+    public void streamDue(long fromExclusive, long toInclusive, long[] leadSeconds, DueReminderHandler handler) {
+        String sql = String.join(" UNION ALL ", Collections.nCopies(leadSeconds.length, DUE_BRANCH_SQL))
+            + " ORDER BY fire_at";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            int parameter = 1;
+            for (int leadIndex = 0; leadIndex < leadSeconds.length; leadIndex++) {
+                statement.setInt(parameter++, leadIndex);
+                statement.setLong(parameter++, leadSeconds[leadIndex]);
+                statement.setLong(parameter++, fromExclusive + leadSeconds[leadIndex]);
+                statement.setLong(parameter++, toInclusive + leadSeconds[leadIndex]);
+            }
+            return statement;
+        }, (ResultSetExtractor<Void>) resultSet -> {
+            while (resultSet.next()) {
+                if (!handler.accept(resultSet.getLong("id"), resultSet.getInt("lead_index"),
+                        resultSet.getLong("fire_at"))) {
+                    break;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Records the reminders as sent and returns those this call claimed; the others were claimed by another node.
+     */
+    public List<Reminder> claim(List<Reminder> reminders, long now) {
+        Map<List<Long>, Reminder> byKey = new HashMap<>(reminders.size() * 2);
+        for (Reminder reminder : reminders) {
+            byKey.put(claimKey(reminder.getAppointmentId(), reminder.getStartTime(),
+                reminder.getLeadTime().toSeconds()), reminder);
+        }
+        List<Reminder> claimed = new ArrayList<>(reminders.size());
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CLAIM_SQL);
+            statement.setLong(1, now);
+            setKeys(connection, statement, 2, reminders);
+            return statement;
+        }, resultSet -> {
+            claimed.add(byKey.get(claimKey(resultSet.getLong("appointment_id"), resultSet.getLong("start_time"),
+                resultSet.getLong("lead_seconds"))));
+        });
+        return claimed;
+    }
+
+    /**
+     * Gives up claims whose reminders could not be sent, so a retry can claim them again.
+     */
+    public void release(List<Reminder> reminders) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RELEASE_SQL);
+            setKeys(connection, statement, 1, reminders);
+            return statement;
+        });
+    }
+
+    /**
+     * Forgets the claims of appointments that started before the given time.
+     */
+    public int deleteSentBefore(long startTime) {
+        return jdbcTemplate.update(DELETE_SENT_BEFORE_SQL, startTime);
+    }
+
+    private static void setKeys(Connection connection, PreparedStatement statement, int first,
+                                List<Reminder> reminders) throws SQLException {
+        Long[] appointmentIds = new Long[reminders.size()];
+        Long[] startTimes = new Long[reminders.size()];
+        Long[] leadSeconds = new Long[reminders.size()];
+        for (int i = 0; i < reminders.size(); i++) {
+            appointmentIds[i] = reminders.get(i).getAppointmentId();
+            startTimes[i] = reminders.get(i).getStartTime();
+            leadSeconds[i] = reminders.get(i).getLeadTime().toSeconds();
+        }
+        statement.setArray(first, connection.createArrayOf("bigint", appointmentIds));
+        statement.setArray(first + 1, connection.createArrayOf("bigint", startTimes));
+        statement.setArray(first + 2, connection.createArrayOf("bigint", leadSeconds));
+    }
+
+    private static List<Long> claimKey(long appointmentId, long startTime, long leadSeconds) {
+        return List.of(appointmentId, startTime, leadSeconds);
+    }
+
+    /**
+     * Confirmed appointments among the ids by id, as reminders without a lead time.
+     */
+    public Map<Long, Reminder> findConfirmedByIds(Collection<Long> ids) {
+        Map<Long, Reminder> confirmed = new HashMap<>(ids.size() * 2);
+        String tenantId = TenantContext.getTenantId();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_CONFIRMED_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, resultSet -> {
+            long id = resultSet.getLong("id");
+            confirmed.put(id, new Reminder(tenantId, id,
+                resultSet.getLong("client_id"),
+                resultSet.getLong("provider_id"),
+                resultSet.getLong("service_id"),
+                resultSet.getLong("start_time"),
+                null));
+        });
+        return confirmed;
+    }
+}
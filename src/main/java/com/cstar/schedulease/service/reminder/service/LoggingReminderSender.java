@@ -0,0 +1,22 @@
+package com.cstar.schedulease.service.reminder.service;
+
+import com.cstar.schedulease.service.reminder.dto.Reminder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Used when no ReminderSender bean is configured.
+ */
+@Slf4j
+public class LoggingReminderSender implements ReminderSender {
+
+    @Override
+    public void send(List<Reminder> reminders) {
+        for (Reminder reminder : reminders) {
+            log.info("Reminder due: tenant {}, appointment {}, client {}, starts at {} ({} ahead)",
+                reminder.getTenantId(), reminder.getAppointmentId(), reminder.getClientId(),
+                reminder.getStartTime(), reminder.getLeadTime());
+        }
+    }
+}
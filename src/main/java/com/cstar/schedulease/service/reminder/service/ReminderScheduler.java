@@ -0,0 +1,443 @@
+package com.cstar.schedulease.service.reminder.service;
+
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.TenantStatus;
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.common.timer.HierarchicalTimingWheel;
+import com.cstar.schedulease.config.ReminderProperties;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import com.cstar.schedulease.service.outbox.service.AppointmentChangeSink;
+import com.cstar.schedulease.service.reminder.dto.Reminder;
+import com.cstar.schedulease.service.reminder.repository.ReminderRepository;
+import com.cstar.schedulease.service.tenant.dto.TenantDTO;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the reminders of confirmed appointments that fall due within a rolling horizon in a timing wheel.
+ *
+ * The horizon is extended from the database every refresh interval; appointment changes from the outbox
+ * add, move and cancel timers inside the loaded horizon. A timer is keyed by tenant, appointment and lead time.
+ * Due reminders are re-read before sending, so a timer that outlived its appointment is dropped there.
+ *
+ * Every node runs its own wheel, but only the node holding the outbox lock sees the changes, so the others
+ * may fire stale timers. Each reminder is claimed in reminder_sent before sending; whichever node claims
+ * it first sends it, and a node whose timer is stale finds it claimed or re-reads the appointment and skips it.
+ */
+@Component
+@Slf4j
+public class ReminderScheduler implements AppointmentChangeSink, SmartLifecycle {
+
+    // key = tenant index (15 bits) | appointment id (45 bits) | lead time index (3 bits)
+    private static final int LEAD_BITS = 3;
+    private static final int TENANT_SHIFT = 48;
+    private static final long APPOINTMENT_MASK = (1L << (TENANT_SHIFT - LEAD_BITS)) - 1;
+    private static final int MAX_TENANTS = 1 << (Long.SIZE - 1 - TENANT_SHIFT);
+
+    private final ReminderRepository reminderRepository;
+    private final ReminderSender sender;
+    private final ObjectProvider<TenantDirectory> tenantDirectory;
+    private final ReminderProperties reminderProperties;
+    private final List<Duration> leadTimes;
+    private final long[] leadSeconds;
+
+    private final Counter sentCounter;
+    private final Counter droppedCounter;
+
+    // Everything below is guarded by lock
+    private final Object lock = new Object();
+    private HierarchicalTimingWheel wheel;
+    private final List<String> tenants = new ArrayList<>();
+    private final Map<String, Integer> tenantIndexes = new HashMap<>();
+    // Reminders firing up to this epoch second are in the wheel, per tenant
+    private final Map<String, Long> loadedUntil = new HashMap<>();
+    private final Map<Long, Integer> failedAttempts = new HashMap<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ReminderScheduler(ReminderRepository reminderRepository,
+                             ObjectProvider<ReminderSender> senders,
+                             ObjectProvider<TenantDirectory> tenantDirectory,
+                             ReminderProperties reminderProperties,
+                             MeterRegistry meterRegistry) {
+        this.reminderRepository = reminderRepository;
+        this.sender = senders.getIfAvailable(LoggingReminderSender::new);
+        this.tenantDirectory = tenantDirectory;
+        this.reminderProperties = reminderProperties;
+        this.leadTimes = List.copyOf(reminderProperties.getLeadTimes());
+        this.leadSeconds = leadTimes.stream().mapToLong(Duration::toSeconds).toArray();
+
+        if (leadTimes.isEmpty() || leadTimes.size() > 1 << LEAD_BITS) {
+            throw new IllegalArgumentException("schedulease.reminder.lead-times must list 1 to "
+                + (1 << LEAD_BITS) + " durations");
+        }
+        if (reminderProperties.getHorizon().toSeconds() >= HierarchicalTimingWheel.RANGE
+                || maxRetryDelay() >= HierarchicalTimingWheel.RANGE) {
+            throw new IllegalArgumentException("schedulease.reminder horizon and retry backoff must stay below "
+                + HierarchicalTimingWheel.RANGE + " seconds");
+        }
+
+        Gauge.builder("schedulease.reminders.pending", this, ReminderScheduler::pending)
+            .description("Reminders waiting in the timing wheel")
+            .register(meterRegistry);
+        this.sentCounter = Counter.builder("schedulease.reminders.sent")
+            .description("Reminders accepted by the sender")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("schedulease.reminders.dropped")
+            .description("Reminders given up after the last failed attempt")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(List<AppointmentChangeEvent> events) {
+        if (reminderProperties.isEnabled()) {
+            apply(events, System.currentTimeMillis() / 1000);
+        }
+    }
+
+    void apply(List<AppointmentChangeEvent> events, long now) {
+        String tenantId = TenantContext.getTenantId();
+        synchronized (lock) {
+            if (!loadedUntil.containsKey(tenantId)) {
+                // Nothing loaded yet; the first horizon load reads these appointments
+                return;
+            }
+            int tenantIndex = tenantIndex(tenantId);
+            for (AppointmentChangeEvent event : events) {
+                boolean remind = event.getType() != AppointmentChangeType.DELETED
+                    && event.getStatus() == AppointmentStatus.CONFIRMED;
+                for (int leadIndex = 0; leadIndex < leadSeconds.length; leadIndex++) {
+                    long key = key(tenantIndex, event.getAppointmentId(), leadIndex);
+                    long fireAt = event.getStartTime() - leadSeconds[leadIndex];
+                    if (remind && fireAt > now && fireAt <= loadedUntil.get(tenantId)) {
+                        scheduleOrShrink(tenantId, key, fireAt);
+                    } else {
+                        wheel.cancel(key);
+                        failedAttempts.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Extends the loaded horizon of every tenant to now + horizon, and forgets the claims of started appointments.
+     */
+    void refreshHorizon(long now) {
+        TenantDirectory directory = tenantDirectory.getIfAvailable();
+        if (directory == null) {
+            loadHorizon(TenantContext.DEFAULT_TENANT, now);
+            reminderRepository.deleteSentBefore(now);
+            return;
+        }
+        for (TenantDTO tenant : directory.getTenants()) {
+            TenantContext.setTenantId(tenant.getTenantId());
+            try {
+                loadHorizon(tenant.getTenantId(), now);
+                if (tenant.getStatus() != TenantStatus.MOVING) {
+                    reminderRepository.deleteSentBefore(now);
+                }
+            } finally {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    private void loadHorizon(String tenantId, long now) {
+        long from;
+        long to = now + reminderProperties.getHorizon().toSeconds();
+        int tenantIndex;
+        synchronized (lock) {
+            ensureWheel(now);
+            from = Math.max(loadedUntil.getOrDefault(tenantId, now), now);
+            if (to <= from) {
+                return;
+            }
+            // Advanced before reading, so changes committed during the scan are scheduled by apply
+            loadedUntil.put(tenantId, to);
+            tenantIndex = tenantIndex(tenantId);
+        }
+
+        try {
+            reminderRepository.streamDue(from, to, leadSeconds, (appointmentId, leadIndex, fireAt) -> {
+                synchronized (lock) {
+                    return scheduleOrShrink(tenantId, key(tenantIndex, appointmentId, leadIndex), fireAt);
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                // Read this part again on the next refresh; timers already set are simply replaced
+                loadedUntil.put(tenantId, Math.min(loadedUntil.get(tenantId), from));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fires the reminders due by now and sends them.
+     */
+    void tick(long now) {
+        List<Long> due = new ArrayList<>();
+        synchronized (lock) {
+            if (wheel == null) {
+                return;
+            }
+            wheel.advanceTo(now, due::add);
+        }
+        if (!due.isEmpty()) {
+            dispatch(due, now);
+        }
+    }
+
+    private void dispatch(List<Long> due, long now) {
+        Map<Integer, List<Long>> keysByTenant = new LinkedHashMap<>();
+        for (Long key : due) {
+            keysByTenant.computeIfAbsent((int) (key >>> TENANT_SHIFT), tenant -> new ArrayList<>()).add(key);
+        }
+
+        for (Map.Entry<Integer, List<Long>> entry : keysByTenant.entrySet()) {
+            String tenantId;
+            synchronized (lock) {
+                tenantId = tenants.get(entry.getKey());
+            }
+            List<Long> keys = entry.getValue();
+            if (isMoving(tenantId)) {
+                // Sent once the move is over, read from the new shard
+                postpone(keys, now + reminderProperties.getRetryBackoff().toSeconds());
+                continue;
+            }
+            TenantContext.setTenantId(tenantId);
+            try {
+                for (int from = 0; from < keys.size(); from += reminderProperties.getBatchSize()) {
+                    sendBatch(keys.subList(from, Math.min(keys.size(), from + reminderProperties.getBatchSize())), now);
+                }
+            } finally {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<Long> keys, long now) {
+        Map<Long, Reminder> confirmed;
+        try {
+            LinkedHashSet<Long> appointmentIds = new LinkedHashSet<>();
+            for (Long key : keys) {
+                appointmentIds.add((key >>> LEAD_BITS) & APPOINTMENT_MASK);
+            }
+            confirmed = reminderRepository.findConfirmedByIds(appointmentIds);
+        } catch (RuntimeException e) {
+            log.warn("Reading {} due reminders failed: {}", keys.size(), e.getMessage());
+            retry(keys, now);
+            return;
+        }
+
+        Map<Reminder, Long> keysByReminder = new LinkedHashMap<>();
+        for (Long key : keys) {
+            Reminder appointment = confirmed.get((key >>> LEAD_BITS) & APPOINTMENT_MASK);
+            int leadIndex = (int) (key & ((1 << LEAD_BITS) - 1));
+            // Skip appointments cancelled, moved later or already started since the timer was set
+            if (appointment == null || appointment.getStartTime() - leadSeconds[leadIndex] > now
+                    || appointment.getStartTime() <= now) {
+                continue;
+            }
+            keysByReminder.put(new Reminder(appointment.getTenantId(), appointment.getAppointmentId(),
+                appointment.getClientId(), appointment.getProviderId(), appointment.getServiceId(),
+                appointment.getStartTime(), leadTimes.get(leadIndex)), key);
+        }
+
+        if (!keysByReminder.isEmpty()) {
+            List<Reminder> reminders;
+            try {
+                // Every node holds the timer; the first to claim a reminder sends it
+                reminders = reminderRepository.claim(new ArrayList<>(keysByReminder.keySet()), now);
+            } catch (RuntimeException e) {
+                log.warn("Claiming {} reminders failed: {}", keysByReminder.size(), e.getMessage());
+                retry(new ArrayList<>(keysByReminder.values()), now);
+                return;
+            }
+            if (!reminders.isEmpty()) {
+                try {
+                    sender.send(reminders);
+                } catch (RuntimeException e) {
+                    log.warn("Sending {} reminders failed: {}", reminders.size(), e.getMessage());
+                    release(reminders);
+                    retry(reminders.stream().map(keysByReminder::get).toList(), now);
+                    return;
+                }
+                sentCounter.increment(reminders.size());
+            }
+        }
+        synchronized (lock) {
+            keys.forEach(failedAttempts::remove);
+        }
+    }
+
+    private void release(List<Reminder> reminders) {
+        try {
+            reminderRepository.release(reminders);
+        } catch (RuntimeException e) {
+            // The claims stay, so no node sends these reminders again
+            log.error("Releasing {} unsent reminders failed, they are lost: {}", reminders.size(), e.getMessage());
+        }
+    }
+
+    private void retry(List<Long> keys, long now) {
+        synchronized (lock) {
+            for (Long key : keys) {
+                int attempts = failedAttempts.merge(key, 1, Integer::sum);
+                if (attempts >= reminderProperties.getMaxAttempts()) {
+                    failedAttempts.remove(key);
+                    droppedCounter.increment();
+                    log.error("Dropping reminder for appointment {} after {} attempts",
+                        (key >>> LEAD_BITS) & APPOINTMENT_MASK, attempts);
+                } else if (!wheel.schedule(key, now + (reminderProperties.getRetryBackoff().toSeconds() << (attempts - 1)))) {
+                    failedAttempts.remove(key);
+                    droppedCounter.increment();
+                    log.error("Dropping reminder for appointment {}: no capacity left for the retry",
+                        (key >>> LEAD_BITS) & APPOINTMENT_MASK);
+                }
+            }
+        }
+    }
+
+    private boolean isMoving(String tenantId) {
+        TenantDirectory directory = tenantDirectory.getIfAvailable();
+        return directory != null && directory.isMoving(tenantId);
+    }
+
+    /**
+     * Fires the timers again at the given time, without counting an attempt.
+     */
+    private void postpone(List<Long> keys, long fireAt) {
+        synchronized (lock) {
+            for (Long key : keys) {
+                if (!wheel.schedule(key, fireAt)) {
+                    droppedCounter.increment();
+                    log.error("Dropping reminder for appointment {}: no capacity left to postpone it",
+                        (key >>> LEAD_BITS) & APPOINTMENT_MASK);
+                }
+            }
+        }
+    }
+
+    /**
+     * Schedules the timer or, with the wheel full, pulls the tenant's horizon in before it;
+     * a later refresh loads the rest once there is room. Called with the lock held.
+     */
+    private boolean scheduleOrShrink(String tenantId, long key, long fireAt) {
+        if (wheel.schedule(key, fireAt)) {
+            return true;
+        }
+        long until = loadedUntil.get(tenantId);
+        if (fireAt - 1 < until) {
+            loadedUntil.put(tenantId, fireAt - 1);
+            log.warn("Reminder capacity of {} reached, tenant {} is loaded up to {} only",
+                wheel.capacity(), tenantId, fireAt - 1);
+        }
+        return false;
+    }
+
+    private void ensureWheel(long now) {
+        if (wheel == null) {
+            wheel = new HierarchicalTimingWheel(reminderProperties.getCapacity(), now);
+        }
+    }
+
+    private int tenantIndex(String tenantId) {
+        return tenantIndexes.computeIfAbsent(tenantId, id -> {
+            if (tenants.size() == MAX_TENANTS) {
+                throw new IllegalStateException("More than " + MAX_TENANTS + " tenants have reminders");
+            }
+            tenants.add(id);
+            return tenants.size() - 1;
+        });
+    }
+
+    private static long key(int tenantIndex, long appointmentId, int leadIndex) {
+        return ((long) tenantIndex << TENANT_SHIFT) | (appointmentId << LEAD_BITS) | leadIndex;
+    }
+
+    private long maxRetryDelay() {
+        return reminderProperties.getRetryBackoff().toSeconds() << Math.max(reminderProperties.getMaxAttempts() - 2, 0);
+    }
+
+    private double pending() {
+        synchronized (lock) {
+            return wheel != null ? wheel.size() : 0;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!reminderProperties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "reminder-timer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long nextRefresh = 0;
+        while (running) {
+            long now = System.currentTimeMillis() / 1000;
+            if (now >= nextRefresh) {
+                try {
+                    refreshHorizon(now);
+                    nextRefresh = now + reminderProperties.getRefreshInterval().toSeconds();
+                } catch (RuntimeException e) {
+                    log.warn("Loading the reminder horizon failed: {}", e.getMessage());
+                    nextRefresh = now + reminderProperties.getRetryBackoff().toSeconds();
+                }
+            }
+            try {
+                tick(now);
+            } catch (RuntimeException e) {
+                log.warn("Reminder tick failed: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(1000 - System.currentTimeMillis() % 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.cstar.schedulease.service.reminder.service;
+
+import com.cstar.schedulease.service.reminder.dto.Reminder;
+
+import java.util.List;
+
+/**
+ * Delivers reminders, e.g. through an SMS or email gateway. Throwing retries the whole batch later,
+ * so implementations should tolerate receiving a reminder more than once.
+ */
+public interface ReminderSender {
+
+    void send(List<Reminder> reminders);
+}
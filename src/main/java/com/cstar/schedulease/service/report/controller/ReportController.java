@@ -0,0 +1,39 @@
+package com.cstar.schedulease.service.report.controller;
+
+import com.cstar.schedulease.common.admission.BulkEndpoint;
+import com.cstar.schedulease.common.enums.ReportGrouping;
+import com.cstar.schedulease.service.report.dto.RevenueReportDTO;
+import com.cstar.schedulease.service.report.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Slf4j
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @BulkEndpoint
+    @GetMapping("/revenue")
+    public ResponseEntity<RevenueReportDTO> getRevenueReport(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("REST request to get revenue report - groupBy: {}, from: {}, to: {}", groupBy, from, to);
+        return ResponseEntity.ok(reportService.getRevenueReport(ReportGrouping.fromCode(groupBy), from, to));
+    }
+
+    @PostMapping("/revenue/rebuild")
+    public ResponseEntity<Void> rebuildRollups() {
+        log.info("REST request to rebuild revenue rollups");
+        reportService.rebuildRollups();
+        return ResponseEntity.noContent().build();
+    }
+}
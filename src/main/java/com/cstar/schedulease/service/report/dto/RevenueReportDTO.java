@@ -0,0 +1,19 @@
+package com.cstar.schedulease.service.report.dto;
+
+import com.cstar.schedulease.common.enums.ReportGrouping;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueReportDTO {
+    private ReportGrouping groupBy;
+    private LocalDate from;
+    private LocalDate to;
+    private List<RevenueReportRowDTO> rows;
+}
@@ -0,0 +1,28 @@
+package com.cstar.schedulease.service.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueReportRowDTO {
+    // Provider or service id, category code, yyyy-MM-dd or yyyy-MM
+    private String key;
+    private String label;
+    // Appointments that kept their slot: confirmed, completed and no-show
+    private Long appointments;
+    private Long completed;
+    private Long cancelled;
+    private Long noShow;
+    private Long bookedMinutes;
+    // Price of completed appointments
+    private BigDecimal revenue;
+    // Price of cancelled and no-show appointments
+    private BigDecimal lostRevenue;
+    // bookedMinutes over scheduled working minutes; provider grouping with working hours only
+    private Double utilization;
+}
@@ -0,0 +1,125 @@
+package com.cstar.schedulease.service.report.repository;
+
+import com.cstar.schedulease.common.enums.ReportGrouping;
+import com.cstar.schedulease.service.report.dto.RevenueReportRowDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * appointment_rollup holds per day, provider and service the appointment counts by status,
+ * booked minutes and revenue, so reports never touch the appointments table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppointmentRollupRepository {
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO appointment_rollup (day, provider_id, service_id, confirmed_count, completed_count, " +
+        "cancelled_count, no_show_count, booked_minutes, revenue, lost_revenue) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (day, provider_id, service_id) DO UPDATE SET " +
+        "confirmed_count = appointment_rollup.confirmed_count + EXCLUDED.confirmed_count, " +
+        "completed_count = appointment_rollup.completed_count + EXCLUDED.completed_count, " +
+        "cancelled_count = appointment_rollup.cancelled_count + EXCLUDED.cancelled_count, " +
+        "no_show_count = appointment_rollup.no_show_count + EXCLUDED.no_show_count, " +
+        "booked_minutes = appointment_rollup.booked_minutes + EXCLUDED.booked_minutes, " +
+        "revenue = appointment_rollup.revenue + EXCLUDED.revenue, " +
+        "lost_revenue = appointment_rollup.lost_revenue + EXCLUDED.lost_revenue";
+
+    // Same lock the outbox relay tries, so no batch is applied while the rollups are rebuilt
+    private static final String LOCK_OUTBOX_SQL =
+        "SELECT pg_advisory_xact_lock(hashtext(current_schema() || '.appointment_outbox'))";
+
+    // Waits for running appointment writes and holds off new ones until commit
+    private static final String LOCK_APPOINTMENTS_SQL = "LOCK TABLE appointments IN SHARE MODE";
+
+    private static final String REBUILD_SQL =
+        "INSERT INTO appointment_rollup (day, provider_id, service_id, confirmed_count, completed_count, " +
+        "cancelled_count, no_show_count, booked_minutes, revenue, lost_revenue) " +
+        "SELECT (to_timestamp(a.start_time) AT TIME ZONE ?)::date, a.provider_id, a.service_id, " +
+        "COUNT(*) FILTER (WHERE a.status = 'CONFIRMED'), " +
+        "COUNT(*) FILTER (WHERE a.status = 'COMPLETED'), " +
+        "COUNT(*) FILTER (WHERE a.status = 'CANCELLED'), " +
+        "COUNT(*) FILTER (WHERE a.status = 'NO_SHOW'), " +
+        "COALESCE(SUM(s.duration) FILTER (WHERE a.status <> 'CANCELLED'), 0), " +
+        "COALESCE(SUM(a.price) FILTER (WHERE a.status = 'COMPLETED'), 0), " +
+        "COALESCE(SUM(a.price) FILTER (WHERE a.status IN ('CANCELLED', 'NO_SHOW')), 0) " +
+        "FROM appointments a JOIN service s ON s.id = a.service_id GROUP BY 1, 2, 3";
+
+    private static final String AGGREGATES =
+        "SUM(r.confirmed_count + r.completed_count + r.no_show_count) AS appointments, " +
+        "SUM(r.completed_count) AS completed, SUM(r.cancelled_count) AS cancelled, " +
+        "SUM(r.no_show_count) AS no_show, SUM(r.booked_minutes) AS booked_minutes, " +
+        "SUM(r.revenue) AS revenue, SUM(r.lost_revenue) AS lost_revenue ";
+
+    private static final RowMapper<RevenueReportRowDTO> ROW_MAPPER = (resultSet, rowNum) -> new RevenueReportRowDTO(
+        resultSet.getString("group_key"),
+        resultSet.getString("label"),
+        resultSet.getLong("appointments"),
+        resultSet.getLong("completed"),
+        resultSet.getLong("cancelled"),
+        resultSet.getLong("no_show"),
+        resultSet.getLong("booked_minutes"),
+        resultSet.getBigDecimal("revenue"),
+        resultSet.getBigDecimal("lost_revenue"),
+        null
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void apply(Collection<RollupDelta> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        for (RollupDelta delta : deltas) {
+            if (!delta.isEmpty()) {
+                rows.add(new Object[]{Date.valueOf(delta.getDay()), delta.getProviderId(), delta.getServiceId(),
+                    delta.getConfirmed(), delta.getCompleted(), delta.getCancelled(), delta.getNoShow(),
+                    delta.getBookedMinutes(), delta.getRevenue(), delta.getLostRevenue()});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * Recomputes all rows from appointments. Must run in a transaction, which keeps the outbox relay
+     * and appointment writes out until it commits.
+     */
+    public void rebuild(ZoneId timeZone) {
+        jdbcTemplate.execute(LOCK_OUTBOX_SQL);
+        jdbcTemplate.execute(LOCK_APPOINTMENTS_SQL);
+        jdbcTemplate.update("DELETE FROM appointment_rollup");
+        jdbcTemplate.update(REBUILD_SQL, timeZone.getId());
+    }
+
+    public List<RevenueReportRowDTO> report(ReportGrouping groupBy, LocalDate from, LocalDate to) {
+        String sql = switch (groupBy) {
+            case PROVIDER -> "SELECT r.provider_id::text AS group_key, " +
+                "MAX(p.first_name || ' ' || p.last_name) AS label, " + AGGREGATES +
+                "FROM appointment_rollup r LEFT JOIN provider p ON p.id = r.provider_id " +
+                "WHERE r.day BETWEEN ? AND ? GROUP BY r.provider_id ORDER BY r.provider_id";
+            case SERVICE -> "SELECT r.service_id::text AS group_key, MAX(s.name) AS label, " + AGGREGATES +
+                "FROM appointment_rollup r LEFT JOIN service s ON s.id = r.service_id " +
+                "WHERE r.day BETWEEN ? AND ? GROUP BY r.service_id ORDER BY r.service_id";
+            case CATEGORY -> "SELECT s.category AS group_key, s.category AS label, " + AGGREGATES +
+                "FROM appointment_rollup r JOIN service s ON s.id = r.service_id " +
+                "WHERE r.day BETWEEN ? AND ? GROUP BY s.category ORDER BY s.category";
+            case DAY -> "SELECT to_char(r.day, 'YYYY-MM-DD') AS group_key, to_char(r.day, 'YYYY-MM-DD') AS label, " +
+                AGGREGATES + "FROM appointment_rollup r " +
+                "WHERE r.day BETWEEN ? AND ? GROUP BY r.day ORDER BY r.day";
+            case MONTH -> "SELECT to_char(r.day, 'YYYY-MM') AS group_key, to_char(r.day, 'YYYY-MM') AS label, " +
+                AGGREGATES + "FROM appointment_rollup r " +
+                "WHERE r.day BETWEEN ? AND ? GROUP BY 1 ORDER BY 1";
+        };
+        return jdbcTemplate.query(sql, ROW_MAPPER, Date.valueOf(from), Date.valueOf(to));
+    }
+}
@@ -0,0 +1,54 @@
+package com.cstar.schedulease.service.report.repository;
+
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Change to one appointment_rollup row, accumulated over a batch of appointment changes.
+ */
+@Data
+public class RollupDelta {
+    private final LocalDate day;
+    private final Long providerId;
+    private final Long serviceId;
+    private int confirmed;
+    private int completed;
+    private int cancelled;
+    private int noShow;
+    private long bookedMinutes;
+    private BigDecimal revenue = BigDecimal.ZERO;
+    private BigDecimal lostRevenue = BigDecimal.ZERO;
+
+    /**
+     * Adds (sign 1) or removes (sign -1) one appointment in the given status.
+     */
+    public void add(AppointmentStatus status, int sign, long minutes, BigDecimal price) {
+        BigDecimal signedPrice = sign < 0 ? price.negate() : price;
+        switch (status) {
+            case CONFIRMED -> confirmed += sign;
+            case COMPLETED -> {
+                completed += sign;
+                revenue = revenue.add(signedPrice);
+            }
+            case CANCELLED -> {
+                cancelled += sign;
+                lostRevenue = lostRevenue.add(signedPrice);
+            }
+            case NO_SHOW -> {
+                noShow += sign;
+                lostRevenue = lostRevenue.add(signedPrice);
+            }
+        }
+        if (status != AppointmentStatus.CANCELLED) {
+            bookedMinutes += sign * minutes;
+        }
+    }
+
+    public boolean isEmpty() {
+        return confirmed == 0 && completed == 0 && cancelled == 0 && noShow == 0 && bookedMinutes == 0
+            && revenue.signum() == 0 && lostRevenue.signum() == 0;
+    }
+}
@@ -0,0 +1,26 @@
+package com.cstar.schedulease.service.report.service;
+
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import com.cstar.schedulease.service.outbox.service.AppointmentChangeSink;
+import com.cstar.schedulease.service.report.repository.AppointmentRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies appointment changes to appointment_rollup. The upsert runs in the relay's transaction,
+ * which also deletes the batch from the outbox, so every change is counted exactly once.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentRollupSink implements AppointmentChangeSink {
+
+    private final RollupCalculator rollupCalculator;
+    private final AppointmentRollupRepository rollupRepository;
+
+    @Override
+    public void publish(List<AppointmentChangeEvent> events) {
+        rollupRepository.apply(rollupCalculator.deltas(events, false));
+    }
+}
@@ -0,0 +1,19 @@
+package com.cstar.schedulease.service.report.service;
+
+import com.cstar.schedulease.common.enums.ReportGrouping;
+import com.cstar.schedulease.service.report.dto.RevenueReportDTO;
+
+import java.time.LocalDate;
+
+public interface ReportService {
+
+    /**
+     * Revenue and utilization over [from, to] in business days; defaults to the year up to today.
+     */
+    RevenueReportDTO getRevenueReport(ReportGrouping groupBy, LocalDate from, LocalDate to);
+
+    /**
+     * Recomputes the rollups from the appointments table, e.g. after rows were removed by a cascade.
+     */
+    void rebuildRollups();
+}
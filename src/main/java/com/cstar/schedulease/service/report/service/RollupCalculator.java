@@ -0,0 +1,70 @@
+package com.cstar.schedulease.service.report.service;
+
+import com.cstar.schedulease.config.ScheduleProperties;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import com.cstar.schedulease.service.report.repository.RollupDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns appointment change events into rollup row deltas, one per touched day, provider and service.
+ */
+@Component
+@RequiredArgsConstructor
+public class RollupCalculator {
+
+    private final ScheduleProperties scheduleProperties;
+
+    /**
+     * @param reverse undo the events instead, for events that are already counted but not yet delivered
+     */
+    public Collection<RollupDelta> deltas(List<AppointmentChangeEvent> events, boolean reverse) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        Map<RollupKey, RollupDelta> deltas = new LinkedHashMap<>();
+        int sign = reverse ? -1 : 1;
+        for (AppointmentChangeEvent event : events) {
+            // The booked price travels with the event, so undoing it takes back exactly what it added
+            BigDecimal price = event.getPrice() != null ? event.getPrice() : BigDecimal.ZERO;
+            long minutes = (event.getEndTime() - event.getStartTime()) / 60;
+            RollupDelta current = deltaFor(deltas, event, event.getStartTime());
+            switch (event.getType()) {
+                case CREATED -> current.add(event.getStatus(), sign, minutes, price);
+                case STATUS_CHANGED -> {
+                    current.add(event.getPreviousStatus(), -sign, minutes, price);
+                    current.add(event.getStatus(), sign, minutes, price);
+                }
+                case RESCHEDULED -> {
+                    deltaFor(deltas, event, event.getPreviousStartTime())
+                        .add(event.getStatus(), -sign, minutes, price);
+                    current.add(event.getStatus(), sign, minutes, price);
+                }
+                case DELETED -> current.add(event.getStatus(), -sign, minutes, price);
+            }
+        }
+        return deltas.values();
+    }
+
+    private RollupDelta deltaFor(Map<RollupKey, RollupDelta> deltas, AppointmentChangeEvent event, long startTime) {
+        LocalDate day = Instant.ofEpochSecond(startTime).atZone(scheduleProperties.getTimeZone()).toLocalDate();
+        return deltas.computeIfAbsent(new RollupKey(day, event.getProviderId(), event.getServiceId()),
+            key -> new RollupDelta(day, event.getProviderId(), event.getServiceId()));
+    }
+
+    @Value
+    private static class RollupKey {
+        LocalDate day;
+        Long providerId;
+        Long serviceId;
+    }
+}
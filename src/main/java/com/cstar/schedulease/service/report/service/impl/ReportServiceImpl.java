@@ -0,0 +1,65 @@
+package com.cstar.schedulease.service.report.service.impl;
+
+import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.common.enums.ReportGrouping;
+import com.cstar.schedulease.config.ScheduleProperties;
+import com.cstar.schedulease.service.outbox.repository.AppointmentOutboxRepository;
+import com.cstar.schedulease.service.provider.service.ProviderScheduleCache;
+import com.cstar.schedulease.service.report.dto.RevenueReportDTO;
+import com.cstar.schedulease.service.report.dto.RevenueReportRowDTO;
+import com.cstar.schedulease.service.report.repository.AppointmentRollupRepository;
+import com.cstar.schedulease.service.report.service.ReportService;
+import com.cstar.schedulease.service.report.service.RollupCalculator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportServiceImpl implements ReportService {
+
+    private final AppointmentRollupRepository rollupRepository;
+    private final AppointmentOutboxRepository outboxRepository;
+    private final RollupCalculator rollupCalculator;
+    private final ProviderScheduleCache providerScheduleCache;
+    private final ScheduleProperties scheduleProperties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public RevenueReportDTO getRevenueReport(ReportGrouping groupBy, LocalDate from, LocalDate to) {
+        ReportGrouping grouping = groupBy != null ? groupBy : ReportGrouping.PROVIDER;
+        LocalDate end = to != null ? to : LocalDate.now(scheduleProperties.getTimeZone());
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        log.info("Building revenue report by {} from {} to {}", grouping, start, end);
+
+        List<RevenueReportRowDTO> rows = rollupRepository.report(grouping, start, end);
+        for (RevenueReportRowDTO row : rows) {
+            if (grouping == ReportGrouping.PROVIDER) {
+                Long scheduled = providerScheduleCache.scheduledMinutes(Long.valueOf(row.getKey()), start, end);
+                if (scheduled != null && scheduled > 0) {
+                    row.setUtilization((double) row.getBookedMinutes() / scheduled);
+                }
+            } else if (grouping == ReportGrouping.CATEGORY) {
+                row.setLabel(Category.fromCode(row.getKey()).getDisplayName());
+            }
+        }
+        return new RevenueReportDTO(grouping, start, end, rows);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildRollups() {
+        log.info("Rebuilding appointment rollups");
+        rollupRepository.rebuild(scheduleProperties.getTimeZone());
+        // The rebuild already counts changes still waiting in the outbox; back them out so the relay
+        // does not count them twice
+        rollupRepository.apply(rollupCalculator.deltas(outboxRepository.findBatch(Integer.MAX_VALUE), true));
+    }
+}
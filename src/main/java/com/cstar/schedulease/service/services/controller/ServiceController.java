@@ -1,6 +1,9 @@
 package com.cstar.schedulease.service.services.controller;
 
+import com.cstar.schedulease.common.admission.BulkEndpoint;
 import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.service.availability.dto.TimeSlotDTO;
+import com.cstar.schedulease.service.availability.service.AvailabilityService;
 import com.cstar.schedulease.service.services.dto.ServiceDTO;
 import com.cstar.schedulease.service.services.service.ServiceService;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +22,7 @@ import java.util.List;
 public class ServiceController {
 
     private final ServiceService serviceService;
+    private final AvailabilityService availabilityService;
 
     @PostMapping
     public ResponseEntity<ServiceDTO> createService(
@@ -28,6 +32,7 @@ public class ServiceController {
         return new ResponseEntity<>(createdService, HttpStatus.CREATED);
     }
 
+    @BulkEndpoint
     @GetMapping
     public ResponseEntity<List<ServiceDTO>> getAllServices(
             @RequestParam(required = false) Boolean activeOnly,
@@ -44,6 +49,17 @@ public class ServiceController {
         return ResponseEntity.ok(service);
     }
 
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<List<TimeSlotDTO>> getEarliestSlots(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Integer limit) {
+        log.info("REST request to get earliest slots of Service {} with any provider", id);
+        List<TimeSlotDTO> slots = availabilityService.findEarliestSlots(id, from, to, limit);
+        return ResponseEntity.ok(slots);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ServiceDTO> updateService(
             @PathVariable Long id,
@@ -40,6 +40,10 @@ public class ServiceDTO {
 
     private Boolean isActive;
 
+    @Min(value = 1, message = "Capacity must be at least 1")
+    @Max(value = 1000, message = "Capacity must not exceed 1000")
+    private Integer capacity; // clients per session
+
     public interface Create {}
     public interface Update {}
 }
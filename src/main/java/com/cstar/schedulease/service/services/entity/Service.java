@@ -37,5 +37,9 @@ public class Service {
 
     @Column(nullable = false)
     private Boolean isActive = true;
+
+    // Clients per session; above 1 the service is booked as a group session
+    @Column(nullable = false)
+    private Integer capacity = 1;
 }
 
@@ -2,6 +2,8 @@ package com.cstar.schedulease.service.services.service.impl;
 
 import com.cstar.schedulease.common.enums.Category;
 import com.cstar.schedulease.exception.ResourceNotFoundException;
+import com.cstar.schedulease.service.cache.service.CacheInvalidationPublisher;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
 import com.cstar.schedulease.service.services.dto.ServiceDTO;
 import com.cstar.schedulease.service.services.entity.Service;
 import com.cstar.schedulease.service.services.repository.ServiceRepository;
@@ -9,6 +11,8 @@ import com.cstar.schedulease.service.services.service.ServiceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,6 +24,8 @@ import java.util.stream.Collectors;
 public class ServiceServiceImpl implements ServiceService {
 
     private final ServiceRepository serviceRepository;
+    private final ProviderCapabilityIndex capabilityIndex;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
 
     @Override
     public ServiceDTO createService(ServiceDTO dto) {
@@ -37,9 +43,12 @@ public class ServiceServiceImpl implements ServiceService {
         service.setDuration(dto.getDuration());
         service.setPrice(dto.getPrice());
         service.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+        service.setCapacity(dto.getCapacity() != null ? dto.getCapacity() : 1);
         
         Service savedService = serviceRepository.save(service);
         log.info("Service created successfully with id: {}", savedService.getId());
+        afterCommit(capabilityIndex::invalidate);
+        cacheInvalidationPublisher.serviceChanged(savedService.getId());
         
         return convertToDTO(savedService);
     }
@@ -110,9 +119,15 @@ public class ServiceServiceImpl implements ServiceService {
         if (dto.getIsActive() != null) {
             service.setIsActive(dto.getIsActive());
         }
+        // Sessions booked beyond a lowered capacity keep their seats; they just take no new ones
+        if (dto.getCapacity() != null) {
+            service.setCapacity(dto.getCapacity());
+        }
         
         Service updatedService = serviceRepository.save(service);
         log.info("Service updated successfully with id: {}", updatedService.getId());
+        afterCommit(capabilityIndex::invalidate);
+        cacheInvalidationPublisher.serviceChanged(updatedService.getId());
         
         return convertToDTO(updatedService);
     }
@@ -126,6 +141,8 @@ public class ServiceServiceImpl implements ServiceService {
         
         service.setIsActive(false);
         serviceRepository.save(service);
+        afterCommit(capabilityIndex::invalidate);
+        cacheInvalidationPublisher.serviceChanged(id);
         
         log.info("Service deactivated successfully with id: {}", id);
     }
@@ -139,7 +156,16 @@ public class ServiceServiceImpl implements ServiceService {
         dto.setDuration(service.getDuration());
         dto.setPrice(service.getPrice());
         dto.setIsActive(service.getIsActive());
+        dto.setCapacity(service.getCapacity());
         return dto;
     }
-}
 
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
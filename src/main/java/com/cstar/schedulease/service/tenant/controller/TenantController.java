@@ -0,0 +1,39 @@
+package com.cstar.schedulease.service.tenant.controller;
+
+import com.cstar.schedulease.service.tenant.dto.TenantDTO;
+import com.cstar.schedulease.service.tenant.service.TenantMigrationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/tenants")
+@ConditionalOnProperty(prefix = "schedulease.tenancy", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TenantController {
+
+    private final TenantMigrationService tenantMigrationService;
+
+    @GetMapping
+    public ResponseEntity<List<TenantDTO>> getTenants() {
+        log.info("REST request to get all Tenants");
+        return ResponseEntity.ok(tenantMigrationService.getTenants());
+    }
+
+    @GetMapping("/{tenantId}")
+    public ResponseEntity<TenantDTO> getTenant(@PathVariable String tenantId) {
+        log.info("REST request to get Tenant: {}", tenantId);
+        return ResponseEntity.ok(tenantMigrationService.getTenant(tenantId));
+    }
+
+    @PostMapping("/{tenantId}/move")
+    public ResponseEntity<TenantDTO> moveTenant(@PathVariable String tenantId, @RequestParam String targetShard) {
+        log.info("REST request to move Tenant {} to shard {}", tenantId, targetShard);
+        return ResponseEntity.ok(tenantMigrationService.moveTenant(tenantId, targetShard));
+    }
+}
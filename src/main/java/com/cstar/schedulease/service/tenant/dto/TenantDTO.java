@@ -0,0 +1,19 @@
+package com.cstar.schedulease.service.tenant.dto;
+
+import com.cstar.schedulease.common.enums.TenantStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TenantDTO {
+    private String tenantId;
+    private String shard;
+    // Null for the default tenant, which uses the public schema
+    private String schema;
+    private TenantStatus status;
+}
@@ -0,0 +1,203 @@
+package com.cstar.schedulease.service.tenant.service;
+
+import com.cstar.schedulease.common.enums.TenantStatus;
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.exception.TenantUnavailableException;
+import com.cstar.schedulease.service.tenant.dto.TenantDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Tenant to shard map, plus the write freeze used to move a tenant online.
+ *
+ * Runtime assignments and freezes are stored in tenant_directory on the default shard, which every
+ * node re-reads on each change notification and every refresh interval (see TenantDirectoryListener).
+ * The local copy only makes writes fail fast; the move itself fences the source schema in the database.
+ */
+@Slf4j
+public class TenantDirectory {
+
+    public static final String DEFAULT_SHARD = "default";
+
+    /** Channel notified on the default shard whenever a row of tenant_directory changes. */
+    public static final String CHANNEL = "schedulease_tenant_directory";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z][a-z0-9_]{0,62}");
+
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS public.tenant_directory (" +
+        "tenant_id VARCHAR(63) PRIMARY KEY, shard VARCHAR(63) NOT NULL, updated_at BIGINT NOT NULL)";
+
+    // Epoch second until which the tenant is frozen; a freeze left by a node that died mid-move expires
+    private static final String ADD_FROZEN_UNTIL_SQL =
+        "ALTER TABLE public.tenant_directory ADD COLUMN IF NOT EXISTS frozen_until BIGINT NOT NULL DEFAULT 0";
+
+    private static final String SELECT_SQL =
+        "SELECT tenant_id, shard, frozen_until > EXTRACT(EPOCH FROM now()) FROM public.tenant_directory";
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO public.tenant_directory AS d (tenant_id, shard, updated_at) " +
+        "VALUES (?, ?, EXTRACT(EPOCH FROM now())::BIGINT) " +
+        "ON CONFLICT (tenant_id) DO UPDATE SET shard = EXCLUDED.shard, updated_at = EXCLUDED.updated_at";
+
+    // Only one node can hold the freeze of a tenant at a time
+    private static final String FREEZE_SQL =
+        "INSERT INTO public.tenant_directory AS d (tenant_id, shard, updated_at, frozen_until) " +
+        "VALUES (?, ?, EXTRACT(EPOCH FROM now())::BIGINT, FLOOR(EXTRACT(EPOCH FROM now()))::BIGINT + ?) " +
+        "ON CONFLICT (tenant_id) DO UPDATE SET frozen_until = EXCLUDED.frozen_until " +
+        "WHERE d.frozen_until <= EXTRACT(EPOCH FROM now())";
+
+    private static final String UNFREEZE_SQL =
+        "UPDATE public.tenant_directory AS d SET frozen_until = 0 WHERE tenant_id = ?";
+
+    private final Map<String, Tenant> tenants = new ConcurrentHashMap<>();
+    private final Set<String> shards;
+    private final JdbcTemplate defaultShardJdbcTemplate;
+
+    public TenantDirectory(Set<String> shards, Map<String, String> initialAssignment,
+                           JdbcTemplate defaultShardJdbcTemplate) {
+        this.shards = Set.copyOf(shards);
+        this.defaultShardJdbcTemplate = defaultShardJdbcTemplate;
+
+        tenants.put(TenantContext.DEFAULT_TENANT, new Tenant(DEFAULT_SHARD));
+        initialAssignment.forEach(this::register);
+
+        defaultShardJdbcTemplate.execute(CREATE_TABLE_SQL);
+        defaultShardJdbcTemplate.execute(ADD_FROZEN_UNTIL_SQL);
+        refresh();
+        log.info("Tenant directory loaded with {} tenants on {} shards", tenants.size(), shards.size());
+    }
+
+    /**
+     * Re-reads the assignments and freezes stored by any node.
+     */
+    public void refresh() {
+        defaultShardJdbcTemplate.query(SELECT_SQL, resultSet -> {
+            String tenantId = resultSet.getString(1);
+            register(tenantId, resultSet.getString(2));
+            tenants.get(tenantId).moving = resultSet.getBoolean(3);
+        });
+    }
+
+    public boolean exists(String tenantId) {
+        return tenants.containsKey(tenantId);
+    }
+
+    public String shardOf(String tenantId) {
+        return tenant(tenantId).shard;
+    }
+
+    /**
+     * Schema holding the tenant's tables, or null for the default tenant (public schema).
+     */
+    public String schemaOf(String tenantId) {
+        tenant(tenantId);
+        return TenantContext.DEFAULT_TENANT.equals(tenantId) ? null : tenantId;
+    }
+
+    public boolean isShard(String shard) {
+        return shards.contains(shard);
+    }
+
+    /**
+     * True while some node is moving the tenant; background writers skip it meanwhile.
+     */
+    public boolean isMoving(String tenantId) {
+        return tenant(tenantId).moving;
+    }
+
+    public List<TenantDTO> getTenants() {
+        List<TenantDTO> result = new ArrayList<>();
+        tenants.keySet().forEach(tenantId -> result.add(describe(tenantId)));
+        result.sort(Comparator.comparing(TenantDTO::getTenantId));
+        return result;
+    }
+
+    public TenantDTO describe(String tenantId) {
+        Tenant tenant = tenant(tenantId);
+        return new TenantDTO(tenantId, tenant.shard, schemaOf(tenantId),
+            tenant.moving ? TenantStatus.MOVING : TenantStatus.ACTIVE);
+    }
+
+    /**
+     * Fails fast while the tenant is being moved.
+     */
+    public void checkWritable(String tenantId, long retryAfterSeconds) {
+        if (tenant(tenantId).moving) {
+            throw new TenantUnavailableException(tenantId, retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Marks the tenant as moving for every node, for at most the given time.
+     */
+    public void freezeWrites(String tenantId, Duration timeout) {
+        Tenant tenant = tenant(tenantId);
+        if (updateAndNotify(FREEZE_SQL, tenantId, tenant.shard, timeout.toSeconds()) == 0) {
+            throw new IllegalArgumentException("Tenant " + tenantId + " is already being moved");
+        }
+        tenant.moving = true;
+    }
+
+    public void unfreezeWrites(String tenantId) {
+        updateAndNotify(UNFREEZE_SQL, tenantId);
+        tenant(tenantId).moving = false;
+    }
+
+    /**
+     * Points the tenant at another shard. Connections opened afterwards go to the new shard,
+     * on other nodes once they received the notification.
+     */
+    public void reassign(String tenantId, String shard) {
+        Tenant tenant = tenant(tenantId);
+        updateAndNotify(UPSERT_SQL, tenantId, shard);
+        tenant.shard = shard;
+        log.info("Tenant {} now served by shard {}", tenantId, shard);
+    }
+
+    /**
+     * Runs an insert or update of tenant_directory and notifies the changed tenant in the same statement,
+     * so listeners only hear of committed changes. Returns the number of changed rows.
+     */
+    private int updateAndNotify(String sql, Object... args) {
+        return defaultShardJdbcTemplate.query(
+            "WITH changed AS (" + sql + " RETURNING d.tenant_id) SELECT pg_notify('" + CHANNEL + "', tenant_id) FROM changed",
+            (resultSet, row) -> row, args).size();
+    }
+
+    private void register(String tenantId, String shard) {
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            throw new IllegalArgumentException("Invalid tenant id: " + tenantId);
+        }
+        if (!shards.contains(shard)) {
+            throw new IllegalArgumentException("Tenant " + tenantId + " is assigned to unknown shard: " + shard);
+        }
+        tenants.computeIfAbsent(tenantId, id -> new Tenant(shard)).shard = shard;
+    }
+
+    private Tenant tenant(String tenantId) {
+        Tenant tenant = tenants.get(tenantId);
+        if (tenant == null) {
+            throw new IllegalArgumentException("Unknown tenant: " + tenantId);
+        }
+        return tenant;
+    }
+
+    private static class Tenant {
+        volatile String shard;
+        volatile boolean moving;
+
+        Tenant(String shard) {
+            this.shard = shard;
+        }
+    }
+}
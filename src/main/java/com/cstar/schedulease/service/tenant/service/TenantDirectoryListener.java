@@ -0,0 +1,100 @@
+package com.cstar.schedulease.service.tenant.service;
+
+import com.cstar.schedulease.config.TenancyProperties;
+import com.cstar.schedulease.config.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps this node's tenant directory in step with tenant_directory: re-reads it as soon as another node
+ * notifies a freeze or reassignment, and every refresh interval in case a notification was missed.
+ * Listens on its own connection to the default shard, outside the pool.
+ */
+@Component
+@ConditionalOnProperty(prefix = "schedulease.tenancy", name = "enabled", havingValue = "true")
+@Slf4j
+public class TenantDirectoryListener implements SmartLifecycle {
+
+    private final TenantDirectory directory;
+    private final HikariDataSource defaultShard;
+    private final TenancyProperties tenancyProperties;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public TenantDirectoryListener(TenantDirectory directory, TenantRoutingDataSource dataSource,
+                                   TenancyProperties tenancyProperties) {
+        this.directory = directory;
+        this.defaultShard = dataSource.getShard(TenantDirectory.DEFAULT_SHARD);
+        this.tenancyProperties = tenancyProperties;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "tenant-directory-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        int timeout = (int) tenancyProperties.getRefreshInterval().toMillis();
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(defaultShard.getJdbcUrl(),
+                    defaultShard.getUsername(), defaultShard.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + TenantDirectory.CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    // Listening before reading, so no change falls between the two
+                    directory.refresh();
+                    pgConnection.getNotifications(timeout);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Tenant directory listener failed, retrying in {} ms: {}", timeout, e.getMessage());
+                try {
+                    Thread.sleep(timeout);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.cstar.schedulease.service.tenant.service;
+
+import com.cstar.schedulease.service.tenant.dto.TenantDTO;
+
+import java.util.List;
+
+public interface TenantMigrationService {
+
+    List<TenantDTO> getTenants();
+
+    TenantDTO getTenant(String tenantId);
+
+    /**
+     * Copies the tenant's schema to the target shard and switches its routing there.
+     * Reads keep being served throughout; writes of this tenant get 503 while the copy runs.
+     */
+    TenantDTO moveTenant(String tenantId, String targetShard);
+}
@@ -0,0 +1,231 @@
+package com.cstar.schedulease.service.tenant.service.impl;
+
+import com.cstar.schedulease.config.TenancyConfig;
+import com.cstar.schedulease.config.TenancyProperties;
+import com.cstar.schedulease.config.TenantRoutingDataSource;
+import com.cstar.schedulease.service.tenant.dto.TenantDTO;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import com.cstar.schedulease.service.tenant.service.TenantMigrationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+
+@org.springframework.stereotype.Service
+@ConditionalOnProperty(prefix = "schedulease.tenancy", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TenantMigrationServiceImpl implements TenantMigrationService {
+
+    // Every table of the migrations, parents before children so foreign keys hold while copying
+    static final String[] TENANT_TABLES = {
+        "client", "provider", "service", "appointment_series", "appointments",
+        "waitlist_entry", "provider_working_hours", "provider_schedule_override", "provider_service",
+        "session_seat", "reminder_sent", "appointment_outbox", "appointment_rollup", "purge_job", "cache_version"
+    };
+
+    // Tables the migrations seed: the target's rows are replaced by the source's instead of blocking the move
+    static final Set<String> SEEDED_TABLES = Set.of("cache_version");
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final TenantDirectory directory;
+    private final TenantRoutingDataSource dataSource;
+    private final TenancyProperties tenancyProperties;
+    private final Flyway flyway;
+
+    @Override
+    public List<TenantDTO> getTenants() {
+        return directory.getTenants();
+    }
+
+    @Override
+    public TenantDTO getTenant(String tenantId) {
+        return directory.describe(tenantId);
+    }
+
+    @Override
+    public TenantDTO moveTenant(String tenantId, String targetShard) {
+        String sourceShard = directory.shardOf(tenantId);
+        String schema = directory.schemaOf(tenantId);
+        if (schema == null) {
+            throw new IllegalArgumentException("The default tenant cannot be moved");
+        }
+        if (!directory.isShard(targetShard)) {
+            throw new IllegalArgumentException("Unknown shard: " + targetShard);
+        }
+        if (sourceShard.equals(targetShard)) {
+            throw new IllegalArgumentException("Tenant " + tenantId + " is already on shard " + targetShard);
+        }
+        log.info("Moving tenant {} from shard {} to shard {}", tenantId, sourceShard, targetShard);
+        // The target schema is migrated like any other, before the freeze since that may take a while
+        TenancyConfig.migrateSchema(flyway, dataSource.getShard(targetShard), schema);
+
+        long started = System.currentTimeMillis();
+        directory.freezeWrites(tenantId, tenancyProperties.getMoveTimeout());
+        try {
+            String retiredSchema = retiredSchemaName(schema, started);
+            long rows = copySchema(tenantId, sourceShard, targetShard, schema, retiredSchema);
+            log.info("Moved tenant {} ({} rows) to shard {} in {} ms; schema {} on shard {} can now be dropped",
+                tenantId, rows, targetShard, System.currentTimeMillis() - started, retiredSchema, sourceShard);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not copy tenant " + tenantId + " to shard " + targetShard, e);
+        } finally {
+            directory.unfreezeWrites(tenantId);
+        }
+        return directory.describe(tenantId);
+    }
+
+    /**
+     * Copies the schema and switches the tenant over. The source tables stay locked against writes from the
+     * snapshot until the source schema is renamed away, so a write from any node or background job either
+     * lands before the snapshot or fails afterwards; none is left behind on the old shard.
+     */
+    private long copySchema(String tenantId, String sourceShard, String targetShard, String schema,
+                            String retiredSchema) throws SQLException {
+        try (Connection source = dataSource.getShardConnection(sourceShard, schema);
+             Connection target = dataSource.getShardConnection(targetShard, schema)) {
+            // One consistent snapshot on the source, one all-or-nothing transaction on the target
+            source.setAutoCommit(false);
+            source.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            target.setAutoCommit(false);
+            try {
+                lockTables(source);
+                for (String table : TENANT_TABLES) {
+                    if (SEEDED_TABLES.contains(table)) {
+                        try (Statement statement = target.createStatement()) {
+                            statement.execute("DELETE FROM " + table);
+                        }
+                    } else if (hasRows(target, table)) {
+                        throw new IllegalArgumentException("Table " + table + " of schema " + schema
+                            + " on shard " + targetShard + " is not empty");
+                    }
+                }
+                long total = 0;
+                for (String table : TENANT_TABLES) {
+                    long copied = copyTable(source, target, table);
+                    if (copied != countRows(target, table)) {
+                        throw new IllegalStateException("Row count mismatch after copying " + table);
+                    }
+                    resetSequence(target, table);
+                    total += copied;
+                }
+                try (Statement statement = source.createStatement()) {
+                    statement.execute("ALTER SCHEMA " + schema + " RENAME TO " + retiredSchema);
+                }
+                target.commit();
+                try {
+                    directory.reassign(tenantId, targetShard);
+                } catch (RuntimeException e) {
+                    log.error("Tenant {} stays on shard {}; its copy on shard {} must be emptied before a retry",
+                        tenantId, sourceShard, targetShard);
+                    throw e;
+                }
+                source.commit();
+                return total;
+            } catch (SQLException | RuntimeException e) {
+                target.rollback();
+                source.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Blocks writes to the source tables, waiting up to the drain timeout for those in flight.
+     * Must run before the first query, which takes the REPEATABLE READ snapshot.
+     */
+    private void lockTables(Connection source) throws SQLException {
+        try (Statement statement = source.createStatement()) {
+            statement.execute("SET LOCAL lock_timeout = " + tenancyProperties.getMoveDrainTimeout().toMillis());
+            statement.execute("LOCK TABLE " + String.join(", ", TENANT_TABLES) + " IN EXCLUSIVE MODE");
+        }
+    }
+
+    private static String retiredSchemaName(String schema, long movedAtMillis) {
+        String suffix = "_moved_" + movedAtMillis / 1000;
+        return schema.substring(0, Math.min(schema.length(), 63 - suffix.length())) + suffix;
+    }
+
+    private static long copyTable(Connection source, Connection target, String table) throws SQLException {
+        try (Statement select = source.createStatement()) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery("SELECT * FROM " + table)) {
+                ResultSetMetaData meta = rows.getMetaData();
+                int columns = meta.getColumnCount();
+                StringBuilder names = new StringBuilder();
+                StringBuilder placeholders = new StringBuilder();
+                for (int i = 1; i <= columns; i++) {
+                    names.append(i > 1 ? ", " : "").append(meta.getColumnName(i));
+                    placeholders.append(i > 1 ? ", ?" : "?");
+                }
+
+                long copied = 0;
+                try (PreparedStatement insert = target.prepareStatement(
+                        "INSERT INTO " + table + " (" + names + ") VALUES (" + placeholders + ")")) {
+                    while (rows.next()) {
+                        for (int i = 1; i <= columns; i++) {
+                            insert.setObject(i, rows.getObject(i));
+                        }
+                        insert.addBatch();
+                        if (++copied % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+                return copied;
+            }
+        }
+    }
+
+    private static boolean hasRows(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table + ")")) {
+            resultSet.next();
+            return resultSet.getBoolean(1);
+        }
+    }
+
+    private static long countRows(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Moves the sequence of the table's id column past the copied rows; tables keyed otherwise have none.
+     */
+    private static void resetSequence(Connection connection, String table) throws SQLException {
+        String sequence = null;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT pg_get_serial_sequence(table_name, column_name) FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? AND column_name = 'id'")) {
+            statement.setString(1, table);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    sequence = resultSet.getString(1);
+                }
+            }
+        }
+        if (sequence == null) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT setval(?, COALESCE((SELECT MAX(id) FROM " + table + "), 0) + 1, false)")) {
+            statement.setString(1, sequence);
+            statement.execute();
+        }
+    }
+}
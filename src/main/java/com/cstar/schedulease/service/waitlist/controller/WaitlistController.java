@@ -0,0 +1,53 @@
+package com.cstar.schedulease.service.waitlist.controller;
+
+import com.cstar.schedulease.common.admission.BulkEndpoint;
+import com.cstar.schedulease.common.enums.WaitlistStatus;
+import com.cstar.schedulease.service.waitlist.dto.WaitlistEntryDTO;
+import com.cstar.schedulease.service.waitlist.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    public ResponseEntity<WaitlistEntryDTO> createEntry(
+            @Validated(WaitlistEntryDTO.Create.class) @RequestBody WaitlistEntryDTO dto) {
+        log.info("REST request to create Waitlist entry for client: {}", dto.getClientId());
+        WaitlistEntryDTO created = waitlistService.createEntry(dto);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @BulkEndpoint
+    @GetMapping
+    public ResponseEntity<List<WaitlistEntryDTO>> getEntries(
+            @RequestParam(required = false) Long providerId,
+            @RequestParam(required = false) WaitlistStatus status) {
+        log.info("REST request to get Waitlist entries - providerId: {}, status: {}", providerId, status);
+        return ResponseEntity.ok(waitlistService.getEntries(providerId, status));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistEntryDTO> getEntryById(@PathVariable Long id) {
+        log.info("REST request to get Waitlist entry with id: {}", id);
+        return ResponseEntity.ok(waitlistService.getEntryById(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelEntry(@PathVariable Long id) {
+        log.info("REST request to cancel Waitlist entry with id: {}", id);
+        waitlistService.cancelEntry(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.cstar.schedulease.service.waitlist.dto;
+
+import com.cstar.schedulease.common.enums.WaitlistStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WaitlistEntryDTO {
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long id;
+
+    @NotNull(message = "Client ID is required", groups = Create.class)
+    private Long clientId;
+
+    @NotNull(message = "Provider ID is required", groups = Create.class)
+    private Long providerId;
+
+    @NotNull(message = "Service ID is required", groups = Create.class)
+    private Long serviceId;
+
+    @NotNull(message = "Window start is required", groups = Create.class)
+    private Long windowStart;
+
+    @NotNull(message = "Window end is required", groups = Create.class)
+    private Long windowEnd;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private WaitlistStatus status;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long appointmentId;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long createdAt;
+
+    public interface Create {}
+}
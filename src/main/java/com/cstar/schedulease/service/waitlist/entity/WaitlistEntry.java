@@ -0,0 +1,50 @@
+package com.cstar.schedulease.service.waitlist.entity;
+
+import com.cstar.schedulease.common.enums.WaitlistStatus;
+import com.cstar.schedulease.service.client.entity.Client;
+import com.cstar.schedulease.service.provider.entity.Provider;
+import com.cstar.schedulease.service.services.entity.Service;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "waitlist_entry")
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    private Client client;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "provider_id", nullable = false)
+    private Provider provider;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false)
+    private Service service;
+
+    @Column(name = "window_start", nullable = false)
+    private Long windowStart;
+
+    @Column(name = "window_end", nullable = false)
+    private Long windowEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    @Column(name = "created_at", nullable = false)
+    private Long createdAt;
+}
@@ -0,0 +1,30 @@
+package com.cstar.schedulease.service.waitlist.repository;
+
+import com.cstar.schedulease.common.enums.WaitlistStatus;
+import com.cstar.schedulease.service.waitlist.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByStatus(WaitlistStatus status);
+
+    List<WaitlistEntry> findByStatusAndWindowEndGreaterThan(WaitlistStatus status, Long windowEnd);
+
+    List<WaitlistEntry> findByProviderIdAndStatus(Long providerId, WaitlistStatus status);
+
+    /**
+     * Moves a waiting entry to BOOKED and returns 1, or returns 0 when it is no longer waiting. The row stays
+     * locked until the transaction ends, so a concurrent claim waits for it and then sees its outcome.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry e SET e.status = com.cstar.schedulease.common.enums.WaitlistStatus.BOOKED " +
+        "WHERE e.id = :id AND e.status = com.cstar.schedulease.common.enums.WaitlistStatus.WAITING")
+    int claim(@Param("id") Long id);
+}
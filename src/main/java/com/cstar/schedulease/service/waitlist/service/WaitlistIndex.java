@@ -0,0 +1,151 @@
+package com.cstar.schedulease.service.waitlist.service;
+
+import com.cstar.schedulease.common.enums.WaitlistStatus;
+import com.cstar.schedulease.common.tenant.TenantScoped;
+import com.cstar.schedulease.service.waitlist.entity.WaitlistEntry;
+import com.cstar.schedulease.service.waitlist.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of WAITING waitlist entries, bucketed by provider and service
+ * and ordered first come, first served within a bucket.
+ * Loaded from the database on first use (per tenant) and kept current by WaitlistServiceImpl after commit,
+ * and by CacheInvalidationListener for changes made on other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistIndex {
+
+    private static final Comparator<Entry> PRIORITY =
+        Comparator.comparingLong(Entry::getCreatedAt).thenComparingLong(Entry::getId);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    private final TenantScoped<State> states = new TenantScoped<>(State::new);
+
+    public void add(WaitlistEntry entry) {
+        index(ensureLoaded(), entry);
+    }
+
+    public void remove(Long entryId) {
+        State state = ensureLoaded();
+        Entry entry = state.entriesById.remove(entryId);
+        if (entry != null) {
+            NavigableSet<Entry> bucket = state.buckets.get(entry.getKey());
+            if (bucket != null) {
+                bucket.remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Re-reads one entry changed on another node: indexed while it is waiting, dropped otherwise.
+     */
+    public void reload(Long entryId) {
+        State state = ensureLoaded();
+        remove(entryId);
+        long now = System.currentTimeMillis() / 1000;
+        waitlistEntryRepository.findById(entryId)
+            .filter(entry -> entry.getStatus() == WaitlistStatus.WAITING && entry.getWindowEnd() > now)
+            .ifPresent(entry -> index(state, entry));
+    }
+
+    /**
+     * Drops the index so that the next use loads it again, e.g. after notifications may have been missed.
+     */
+    public void invalidate() {
+        states.get().loaded = false;
+    }
+
+    /**
+     * Waiting entries whose window contains the slot, best candidate first.
+     */
+    public List<Entry> candidatesFor(Long providerId, Long serviceId, long slotStart, long slotEnd) {
+        NavigableSet<Entry> bucket = ensureLoaded().buckets.get(new Key(providerId, serviceId));
+        List<Entry> candidates = new ArrayList<>();
+        if (bucket != null) {
+            long now = System.currentTimeMillis() / 1000;
+            for (Entry entry : bucket) {
+                if (entry.getWindowEnd() <= now) {
+                    // Window has passed; the entry can never be matched again
+                    remove(entry.getId());
+                } else if (entry.getWindowStart() <= slotStart && slotEnd <= entry.getWindowEnd()) {
+                    candidates.add(entry);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    public int size() {
+        return ensureLoaded().entriesById.size();
+    }
+
+    private State ensureLoaded() {
+        State state = states.get();
+        if (state.loaded) {
+            return state;
+        }
+        synchronized (state) {
+            if (!state.loaded) {
+                state.buckets.clear();
+                state.entriesById.clear();
+                long now = System.currentTimeMillis() / 1000;
+                List<WaitlistEntry> waiting = waitlistEntryRepository.findByStatusAndWindowEndGreaterThan(
+                    WaitlistStatus.WAITING, now);
+                waiting.forEach(entry -> index(state, entry));
+                state.loaded = true;
+                log.info("Waitlist index loaded with {} entries", waiting.size());
+            }
+        }
+        return state;
+    }
+
+    private void index(State state, WaitlistEntry waitlistEntry) {
+        Entry entry = new Entry(
+            waitlistEntry.getId(),
+            waitlistEntry.getClient().getId(),
+            new Key(waitlistEntry.getProvider().getId(), waitlistEntry.getService().getId()),
+            waitlistEntry.getWindowStart(),
+            waitlistEntry.getWindowEnd(),
+            waitlistEntry.getCreatedAt()
+        );
+        if (state.entriesById.putIfAbsent(entry.getId(), entry) == null) {
+            state.buckets.computeIfAbsent(entry.getKey(), key -> new ConcurrentSkipListSet<>(PRIORITY)).add(entry);
+        }
+    }
+
+    private static class State {
+        final Map<Key, NavigableSet<Entry>> buckets = new ConcurrentHashMap<>();
+        final Map<Long, Entry> entriesById = new ConcurrentHashMap<>();
+        volatile boolean loaded;
+    }
+
+    @Value
+    public static class Key {
+        Long providerId;
+        Long serviceId;
+    }
+
+    @Value
+    public static class Entry {
+        Long id;
+        Long clientId;
+        Key key;
+        Long windowStart;
+        Long windowEnd;
+        Long createdAt;
+    }
+}
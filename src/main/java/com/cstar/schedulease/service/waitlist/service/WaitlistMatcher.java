@@ -0,0 +1,61 @@
+package com.cstar.schedulease.service.waitlist.service;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.exception.SlotUnavailableException;
+import com.cstar.schedulease.exception.WaitlistEntryClosedException;
+import com.cstar.schedulease.service.appointment.event.AppointmentCancelledEvent;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Offers a slot freed by a committed cancellation to the best matching waitlist entry.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistMatcher {
+
+    private final WaitlistIndex waitlistIndex;
+    private final WaitlistService waitlistService;
+    private final ObjectProvider<TenantDirectory> tenantDirectory;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAppointmentCancelled(AppointmentCancelledEvent event) {
+        if (event.getStartTime() <= System.currentTimeMillis() / 1000) {
+            return;
+        }
+        TenantDirectory directory = tenantDirectory.getIfAvailable();
+        if (directory != null && directory.isMoving(TenantContext.getTenantId())) {
+            // The tenant's tables are locked for a move; the slot stays open for regular booking
+            log.info("Freed slot at {} for provider {} not offered, tenant {} is being moved",
+                event.getStartTime(), event.getProviderId(), TenantContext.getTenantId());
+            return;
+        }
+
+        for (WaitlistIndex.Entry candidate : waitlistIndex.candidatesFor(
+                event.getProviderId(), event.getServiceId(), event.getStartTime(), event.getEndTime())) {
+            try {
+                waitlistService.allocate(candidate.getId(), event.getStartTime());
+                return;
+            } catch (SlotUnavailableException e) {
+                // Someone else booked the slot first; nothing left to offer
+                log.info("Freed slot at {} for provider {} was taken before waitlist allocation",
+                    event.getStartTime(), event.getProviderId());
+                return;
+            } catch (WaitlistEntryClosedException e) {
+                // Booked or cancelled on another node; it can never be matched again
+                waitlistIndex.remove(candidate.getId());
+            } catch (RuntimeException e) {
+                // Possibly transient, e.g. a lost connection: the entry stays for the next freed slot
+                log.warn("Could not allocate waitlist entry {}: {}", candidate.getId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.cstar.schedulease.service.waitlist.service;
+
+import com.cstar.schedulease.common.enums.WaitlistStatus;
+import com.cstar.schedulease.service.waitlist.dto.WaitlistEntryDTO;
+
+import java.util.List;
+
+public interface WaitlistService {
+
+    WaitlistEntryDTO createEntry(WaitlistEntryDTO dto);
+
+    WaitlistEntryDTO getEntryById(Long id);
+
+    List<WaitlistEntryDTO> getEntries(Long providerId, WaitlistStatus status);
+
+    void cancelEntry(Long id);
+
+    /**
+     * Books the slot for the waitlist entry and marks it BOOKED, in one transaction.
+     */
+    WaitlistEntryDTO allocate(Long entryId, Long startTime);
+}
@@ -0,0 +1,155 @@
+package com.cstar.schedulease.service.waitlist.service.impl;
+
+import com.cstar.schedulease.common.enums.WaitlistStatus;
+import com.cstar.schedulease.exception.ResourceNotFoundException;
+import com.cstar.schedulease.exception.WaitlistEntryClosedException;
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.service.AppointmentService;
+import com.cstar.schedulease.service.cache.service.CacheInvalidationPublisher;
+import com.cstar.schedulease.service.client.repository.ClientRepository;
+import com.cstar.schedulease.service.provider.repository.ProviderRepository;
+import com.cstar.schedulease.service.services.repository.ServiceRepository;
+import com.cstar.schedulease.service.waitlist.dto.WaitlistEntryDTO;
+import com.cstar.schedulease.service.waitlist.entity.WaitlistEntry;
+import com.cstar.schedulease.service.waitlist.repository.WaitlistEntryRepository;
+import com.cstar.schedulease.service.waitlist.service.WaitlistIndex;
+import com.cstar.schedulease.service.waitlist.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ClientRepository clientRepository;
+    private final ProviderRepository providerRepository;
+    private final ServiceRepository serviceRepository;
+    private final AppointmentService appointmentService;
+    private final WaitlistIndex waitlistIndex;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Override
+    public WaitlistEntryDTO createEntry(WaitlistEntryDTO dto) {
+        log.info("Creating waitlist entry: client {}, provider {}, service {}",
+            dto.getClientId(), dto.getProviderId(), dto.getServiceId());
+
+        if (dto.getWindowEnd() <= dto.getWindowStart()) {
+            throw new IllegalArgumentException("Window end must be after window start");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setClient(clientRepository.findByIdAndDeletedFalse(dto.getClientId())
+            .orElseThrow(() -> ResourceNotFoundException.forId("Client", dto.getClientId())));
+        entry.setProvider(providerRepository.findByIdAndDeletedFalse(dto.getProviderId())
+            .orElseThrow(() -> ResourceNotFoundException.forId("Provider", dto.getProviderId())));
+        entry.setService(serviceRepository.findById(dto.getServiceId())
+            .orElseThrow(() -> ResourceNotFoundException.forId("Service", dto.getServiceId())));
+        entry.setWindowStart(dto.getWindowStart());
+        entry.setWindowEnd(dto.getWindowEnd());
+        entry.setStatus(WaitlistStatus.WAITING);
+        entry.setCreatedAt(System.currentTimeMillis() / 1000);
+
+        WaitlistEntry saved = waitlistEntryRepository.save(entry);
+        afterCommit(() -> waitlistIndex.add(saved));
+        cacheInvalidationPublisher.waitlistChanged(saved.getId());
+        log.info("Waitlist entry created successfully with id: {}", saved.getId());
+
+        return convertToDTO(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WaitlistEntryDTO getEntryById(Long id) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(id)
+            .orElseThrow(() -> ResourceNotFoundException.forId("Waitlist entry", id));
+        return convertToDTO(entry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDTO> getEntries(Long providerId, WaitlistStatus status) {
+        WaitlistStatus effectiveStatus = status != null ? status : WaitlistStatus.WAITING;
+        List<WaitlistEntry> entries = providerId != null
+            ? waitlistEntryRepository.findByProviderIdAndStatus(providerId, effectiveStatus)
+            : waitlistEntryRepository.findByStatus(effectiveStatus);
+        return entries.stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void cancelEntry(Long id) {
+        log.info("Cancelling waitlist entry with id: {}", id);
+
+        WaitlistEntry entry = waitlistEntryRepository.findById(id)
+            .orElseThrow(() -> ResourceNotFoundException.forId("Waitlist entry", id));
+        if (entry.getStatus() == WaitlistStatus.WAITING) {
+            entry.setStatus(WaitlistStatus.CANCELLED);
+            waitlistEntryRepository.save(entry);
+            afterCommit(() -> waitlistIndex.remove(id));
+            cacheInvalidationPublisher.waitlistChanged(id);
+        }
+    }
+
+    @Override
+    public WaitlistEntryDTO allocate(Long entryId, Long startTime) {
+        // Claim before booking: a concurrent allocation of the same entry blocks on the row until this
+        // transaction ends and then finds it booked, or waiting again if this booking rolled back
+        if (waitlistEntryRepository.claim(entryId) == 0) {
+            if (!waitlistEntryRepository.existsById(entryId)) {
+                throw ResourceNotFoundException.forId("Waitlist entry", entryId);
+            }
+            throw new WaitlistEntryClosedException(entryId);
+        }
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+            .orElseThrow(() -> ResourceNotFoundException.forId("Waitlist entry", entryId));
+
+        AppointmentDTO request = new AppointmentDTO();
+        request.setClientId(entry.getClient().getId());
+        request.setProviderId(entry.getProvider().getId());
+        request.setServiceId(entry.getService().getId());
+        request.setStartTime(startTime);
+        request.setNotes("Booked from waitlist");
+        AppointmentDTO appointment = appointmentService.createAppointment(request);
+
+        entry.setAppointmentId(appointment.getId());
+        waitlistEntryRepository.save(entry);
+        afterCommit(() -> waitlistIndex.remove(entryId));
+        cacheInvalidationPublisher.waitlistChanged(entryId);
+        log.info("Waitlist entry {} booked into appointment {}", entryId, appointment.getId());
+
+        return convertToDTO(entry);
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private WaitlistEntryDTO convertToDTO(WaitlistEntry entry) {
+        WaitlistEntryDTO dto = new WaitlistEntryDTO();
+        dto.setId(entry.getId());
+        dto.setClientId(entry.getClient().getId());
+        dto.setProviderId(entry.getProvider().getId());
+        dto.setServiceId(entry.getService().getId());
+        dto.setWindowStart(entry.getWindowStart());
+        dto.setWindowEnd(entry.getWindowEnd());
+        dto.setStatus(entry.getStatus());
+        dto.setAppointmentId(entry.getAppointmentId());
+        dto.setCreatedAt(entry.getCreatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,250 @@
+-- ============================================================================
+-- V1: schema as it stood before versioned migrations.
+-- Existing databases are baselined at version 0 and run this file too, whichever
+-- revision of schedulease.sql created them: it only adds what is missing, so a
+-- database from the original four-table schema gains the later tables and columns.
+-- Indexes that V2 and V5 replace are left out; their replacements are built there,
+-- CONCURRENTLY, and those migrations drop the old ones where a database still has them.
+-- ============================================================================
+
+-- ---------------------------------------------------------------------------
+-- Client Table
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS client (
+    id BIGSERIAL PRIMARY KEY,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    phone VARCHAR(15) NOT NULL
+);
+
+-- Set on delete; the row goes once purge_job has removed its appointments
+ALTER TABLE client ADD COLUMN IF NOT EXISTS deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- ---------------------------------------------------------------------------
+-- Provider Table
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS provider (
+    id BIGSERIAL PRIMARY KEY,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    description TEXT,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+-- Set on purge; the row goes once purge_job has removed its appointments
+ALTER TABLE provider ADD COLUMN IF NOT EXISTS deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- ---------------------------------------------------------------------------
+-- Service Table
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS service (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(200) NOT NULL UNIQUE,
+    description TEXT,
+    category VARCHAR(50) NOT NULL,
+    duration INTEGER NOT NULL,
+    price DECIMAL(10,2),
+    is_active BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+-- ---------------------------------------------------------------------------
+-- Appointment Series Table (recurring appointments)
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS appointment_series (
+    id BIGSERIAL PRIMARY KEY,
+    client_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    start_time BIGINT NOT NULL,
+    frequency VARCHAR(20) NOT NULL,
+    interval_count INTEGER NOT NULL DEFAULT 1,
+    occurrences INTEGER NOT NULL,
+    notes TEXT,
+    CONSTRAINT fk_series_client FOREIGN KEY (client_id) 
+        REFERENCES client(id) ON DELETE CASCADE,
+    CONSTRAINT fk_series_provider FOREIGN KEY (provider_id) 
+        REFERENCES provider(id) ON DELETE CASCADE,
+    CONSTRAINT fk_series_service FOREIGN KEY (service_id) 
+        REFERENCES service(id) ON DELETE CASCADE,
+    CONSTRAINT check_series_frequency CHECK (frequency IN ('DAILY', 'WEEKLY', 'MONTHLY'))
+);
+
+-- ---------------------------------------------------------------------------
+-- Appointments Table
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS appointments (
+    id BIGSERIAL PRIMARY KEY,
+    client_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    start_time BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'CONFIRMED',
+    notes TEXT,
+    cancellation_reason TEXT,
+    CONSTRAINT fk_appointments_client FOREIGN KEY (client_id) 
+        REFERENCES client(id) ON DELETE CASCADE,
+    CONSTRAINT fk_appointments_provider FOREIGN KEY (provider_id) 
+        REFERENCES provider(id) ON DELETE CASCADE,
+    CONSTRAINT fk_appointments_service FOREIGN KEY (service_id) 
+        REFERENCES service(id) ON DELETE CASCADE,
+    CONSTRAINT check_appointment_status CHECK (status IN ('CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW'))
+);
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS series_id BIGINT;
+ALTER TABLE appointments DROP CONSTRAINT IF EXISTS fk_appointments_series;
+ALTER TABLE appointments ADD CONSTRAINT fk_appointments_series FOREIGN KEY (series_id)
+    REFERENCES appointment_series(id) ON DELETE SET NULL;
+-- Booking time, epoch seconds; added before its default so that older appointments keep NULL (unknown)
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS created_at BIGINT;
+ALTER TABLE appointments ALTER COLUMN created_at SET DEFAULT EXTRACT(EPOCH FROM NOW())::BIGINT;
+
+-- ---------------------------------------------------------------------------
+-- Waitlist Entry Table
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS waitlist_entry (
+    id BIGSERIAL PRIMARY KEY,
+    client_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    window_start BIGINT NOT NULL,
+    window_end BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'WAITING',
+    appointment_id BIGINT,
+    created_at BIGINT NOT NULL,
+    CONSTRAINT fk_waitlist_client FOREIGN KEY (client_id) 
+        REFERENCES client(id) ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_provider FOREIGN KEY (provider_id) 
+        REFERENCES provider(id) ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_service FOREIGN KEY (service_id) 
+        REFERENCES service(id) ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_appointment FOREIGN KEY (appointment_id) 
+        REFERENCES appointments(id) ON DELETE SET NULL,
+    CONSTRAINT check_waitlist_window CHECK (window_end > window_start),
+    CONSTRAINT check_waitlist_status CHECK (status IN ('WAITING', 'BOOKED', 'CANCELLED'))
+);
+
+-- ---------------------------------------------------------------------------
+-- Provider Working Hours Tables
+-- ---------------------------------------------------------------------------
+-- Minutes of the day in the business time zone; end_minute is exclusive
+CREATE TABLE IF NOT EXISTS provider_working_hours (
+    id BIGSERIAL PRIMARY KEY,
+    provider_id BIGINT NOT NULL,
+    day_of_week SMALLINT NOT NULL,
+    start_minute INTEGER NOT NULL,
+    end_minute INTEGER NOT NULL,
+    CONSTRAINT fk_working_hours_provider FOREIGN KEY (provider_id) 
+        REFERENCES provider(id) ON DELETE CASCADE,
+    CONSTRAINT check_working_hours_day CHECK (day_of_week BETWEEN 1 AND 7),
+    CONSTRAINT check_working_hours_range CHECK (start_minute >= 0 AND end_minute <= 1440 AND end_minute > start_minute)
+);
+
+-- Rows without minutes mark the date as closed
+CREATE TABLE IF NOT EXISTS provider_schedule_override (
+    id BIGSERIAL PRIMARY KEY,
+    provider_id BIGINT NOT NULL,
+    override_date DATE NOT NULL,
+    start_minute INTEGER,
+    end_minute INTEGER,
+    CONSTRAINT fk_schedule_override_provider FOREIGN KEY (provider_id) 
+        REFERENCES provider(id) ON DELETE CASCADE,
+    CONSTRAINT check_schedule_override_range CHECK (
+        (start_minute IS NULL AND end_minute IS NULL)
+        OR (start_minute >= 0 AND end_minute <= 1440 AND end_minute > start_minute))
+);
+
+-- ---------------------------------------------------------------------------
+-- Appointment Outbox Table
+-- ---------------------------------------------------------------------------
+-- Change events appended in the same transaction as the appointment write and
+-- deleted by the relay once delivered. No foreign keys: DELETED events outlive the row.
+CREATE TABLE IF NOT EXISTS appointment_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(20) NOT NULL,
+    appointment_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    client_id BIGINT NOT NULL,
+    start_time BIGINT NOT NULL,
+    end_time BIGINT NOT NULL,
+    status VARCHAR(20),
+    previous_status VARCHAR(20),
+    previous_start_time BIGINT,
+    occurred_at BIGINT NOT NULL,
+    CONSTRAINT check_outbox_event_type CHECK (event_type IN ('CREATED', 'STATUS_CHANGED', 'RESCHEDULED', 'DELETED'))
+);
+
+-- ---------------------------------------------------------------------------
+-- Appointment Rollup Table
+-- ---------------------------------------------------------------------------
+-- Per business day, provider and service; maintained from the outbox.
+-- booked_minutes excludes cancelled appointments, lost_revenue is cancelled and no-show.
+CREATE TABLE IF NOT EXISTS appointment_rollup (
+    day DATE NOT NULL,
+    provider_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    confirmed_count INT NOT NULL DEFAULT 0,
+    completed_count INT NOT NULL DEFAULT 0,
+    cancelled_count INT NOT NULL DEFAULT 0,
+    no_show_count INT NOT NULL DEFAULT 0,
+    booked_minutes BIGINT NOT NULL DEFAULT 0,
+    revenue NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    lost_revenue NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, provider_id, service_id)
+);
+
+-- ---------------------------------------------------------------------------
+-- Provider Service Table
+-- ---------------------------------------------------------------------------
+-- Services a provider offers; a provider without active rows offers every service
+CREATE TABLE IF NOT EXISTS provider_service (
+    id BIGSERIAL PRIMARY KEY,
+    provider_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT fk_provider_service_provider FOREIGN KEY (provider_id)
+        REFERENCES provider(id) ON DELETE CASCADE,
+    CONSTRAINT fk_provider_service_service FOREIGN KEY (service_id)
+        REFERENCES service(id) ON DELETE CASCADE,
+    CONSTRAINT uk_provider_service UNIQUE (provider_id, service_id)
+);
+
+-- ---------------------------------------------------------------------------
+-- Purge Job Table
+-- ---------------------------------------------------------------------------
+-- Background removal of a deleted client's or provider's appointments in small batches,
+-- then of the row itself. Times are epoch milliseconds.
+CREATE TABLE IF NOT EXISTS purge_job (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    deleted_appointments BIGINT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at BIGINT NOT NULL,
+    updated_at BIGINT NOT NULL,
+    completed_at BIGINT,
+    CONSTRAINT check_purge_entity_type CHECK (entity_type IN ('CLIENT', 'PROVIDER')),
+    CONSTRAINT check_purge_status CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED'))
+);
+
+-- ============================================================================
+-- Indexes
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_provider_active ON provider(is_active);
+CREATE INDEX IF NOT EXISTS idx_service_active ON service(is_active);
+CREATE INDEX IF NOT EXISTS idx_service_category ON service(category);
+
+CREATE INDEX IF NOT EXISTS idx_appointments_service ON appointments(service_id);
+CREATE INDEX IF NOT EXISTS idx_appointments_start_time ON appointments(start_time);
+CREATE INDEX IF NOT EXISTS idx_appointments_series ON appointments(series_id);
+
+CREATE INDEX IF NOT EXISTS idx_working_hours_provider ON provider_working_hours(provider_id);
+CREATE INDEX IF NOT EXISTS idx_schedule_override_provider_date ON provider_schedule_override(provider_id, override_date);
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_provider_service ON waitlist_entry(provider_id, service_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_provider_service_service ON provider_service(service_id);
+
+CREATE INDEX IF NOT EXISTS idx_purge_job_open ON purge_job(id) WHERE status <> 'COMPLETED';
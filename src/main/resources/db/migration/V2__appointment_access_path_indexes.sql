@@ -0,0 +1,18 @@
+-- ============================================================================
+-- V2: appointment indexes matched to the queries that use them.
+-- Built CONCURRENTLY so writes continue meanwhile; Flyway runs this file outside
+-- a transaction. A build that fails leaves an INVALID index, which the startup
+-- index check reports (drop it and run the migration again).
+-- ============================================================================
+
+-- Client history and purge by client, ordered by start time
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_client_start ON appointments(client_id, start_time);
+DROP INDEX CONCURRENTLY IF EXISTS idx_appointments_client;
+
+-- Provider calendar, purge by provider and provider time ranges
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_provider_start ON appointments(provider_id, start_time);
+DROP INDEX CONCURRENTLY IF EXISTS idx_appointments_provider;
+
+-- Appointments by status, and the reminder horizon scan of confirmed ones
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_status_start ON appointments(status, start_time);
+DROP INDEX CONCURRENTLY IF EXISTS idx_appointments_status;
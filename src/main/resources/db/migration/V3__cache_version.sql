@@ -0,0 +1,13 @@
+-- ============================================================================
+-- V3: versions of the cached provider, service and schedule data.
+-- Writes bump the row in their transaction and send a NOTIFY on commit; a node that
+-- reconnects its listener compares versions to find out what it may have missed.
+-- Databases created by schedulease.sql already have the table.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS cache_version (
+    cache VARCHAR(20) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO cache_version (cache) VALUES ('provider'), ('service'), ('schedule') ON CONFLICT DO NOTHING;
@@ -0,0 +1,26 @@
+-- ============================================================================
+-- V4: group services. A service takes up to capacity clients per session, a
+-- session being one provider, service and start time. Bookings of a group
+-- service are flagged group_session and claim a seat in session_seat, whose
+-- conditional update is what keeps a session from overfilling.
+-- ============================================================================
+
+ALTER TABLE service ADD COLUMN IF NOT EXISTS capacity INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE service DROP CONSTRAINT IF EXISTS check_service_capacity;
+ALTER TABLE service ADD CONSTRAINT check_service_capacity CHECK (capacity > 0);
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS group_session BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Seats taken by the live (not cancelled) group bookings of each session
+CREATE TABLE IF NOT EXISTS session_seat (
+    provider_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    start_time BIGINT NOT NULL,
+    booked INTEGER NOT NULL,
+    PRIMARY KEY (provider_id, service_id, start_time),
+    CONSTRAINT fk_session_seat_provider FOREIGN KEY (provider_id)
+        REFERENCES provider(id) ON DELETE CASCADE,
+    CONSTRAINT fk_session_seat_service FOREIGN KEY (service_id)
+        REFERENCES service(id) ON DELETE CASCADE,
+    CONSTRAINT check_session_seat_booked CHECK (booked >= 0)
+);
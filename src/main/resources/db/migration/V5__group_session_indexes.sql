@@ -0,0 +1,15 @@
+-- ============================================================================
+-- V5: the one-appointment-per-slot rule leaves group bookings out; a group session
+-- instead takes one live booking per client. Built CONCURRENTLY like V2, so Flyway
+-- runs this file outside a transaction. uk_appointments_slot replaces
+-- uk_appointments_time_slot, which also covered group bookings.
+-- ============================================================================
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_appointments_slot
+    ON appointments(provider_id, service_id, start_time)
+    WHERE status NOT IN ('CANCELLED') AND NOT group_session;
+DROP INDEX CONCURRENTLY IF EXISTS uk_appointments_time_slot;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_appointments_session_client
+    ON appointments(provider_id, service_id, start_time, client_id)
+    WHERE status NOT IN ('CANCELLED') AND group_session;
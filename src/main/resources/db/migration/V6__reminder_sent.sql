@@ -0,0 +1,18 @@
+-- ============================================================================
+-- V6: reminders already sent. Every node keeps its own reminder timers, so a
+-- node claims each reminder here before sending it and skips those another
+-- node claimed first. The start time is part of the key, so a rescheduled
+-- appointment is reminded again at its new time.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS reminder_sent (
+    appointment_id BIGINT NOT NULL,
+    start_time BIGINT NOT NULL,
+    lead_seconds BIGINT NOT NULL,
+    sent_at BIGINT NOT NULL,
+    PRIMARY KEY (appointment_id, start_time, lead_seconds),
+    CONSTRAINT fk_reminder_sent_appointment FOREIGN KEY (appointment_id)
+        REFERENCES appointments(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_reminder_sent_start ON reminder_sent(start_time);
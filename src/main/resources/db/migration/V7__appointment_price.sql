@@ -0,0 +1,15 @@
+-- ============================================================================
+-- V7: the service price an appointment was booked at, copied onto each of its
+-- change events. Rollups count revenue at this price, so undoing an event and
+-- rebuilding the rollups both use the same amount after the service's price
+-- changes. Existing rows take the current price.
+-- ============================================================================
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS price DECIMAL(10,2);
+ALTER TABLE appointment_outbox ADD COLUMN IF NOT EXISTS price DECIMAL(10,2);
+
+UPDATE appointments a SET price = s.price
+FROM service s WHERE s.id = a.service_id AND a.price IS NULL AND s.price IS NOT NULL;
+
+UPDATE appointment_outbox o SET price = s.price
+FROM service s WHERE s.id = o.service_id AND o.price IS NULL AND s.price IS NOT NULL;
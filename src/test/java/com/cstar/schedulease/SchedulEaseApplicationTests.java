@@ -3,7 +3,7 @@ package com.cstar.schedulease;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"spring.flyway.enabled=false", "schedulease.schema.index-check=off"})
 class SchedulEaseApplicationTests {
 
     @Test
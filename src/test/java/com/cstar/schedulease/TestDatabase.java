@@ -0,0 +1,60 @@
+package com.cstar.schedulease;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * PostgreSQL for the database tests: the one SCHEDULEASE_TEST_DB_URL points at (SCHEDULEASE_TEST_DB_USERNAME and
+ * SCHEDULEASE_TEST_DB_PASSWORD optional), otherwise an embedded PostgreSQL started once per test run.
+ */
+public final class TestDatabase {
+
+    private static EmbeddedPostgres embedded;
+
+    private TestDatabase() {
+    }
+
+    public static synchronized String url() {
+        String url = System.getenv("SCHEDULEASE_TEST_DB_URL");
+        if (url != null && !url.isEmpty()) {
+            return url;
+        }
+        if (embedded == null) {
+            try {
+                embedded = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Starting embedded PostgreSQL failed", e);
+            }
+            EmbeddedPostgres started = embedded;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException ignored) {
+                    // The process is exiting anyway
+                }
+            }));
+        }
+        return embedded.getJdbcUrl("postgres", "postgres");
+    }
+
+    public static String username() {
+        return System.getenv().getOrDefault("SCHEDULEASE_TEST_DB_USERNAME", "postgres");
+    }
+
+    public static String password() {
+        return System.getenv().getOrDefault("SCHEDULEASE_TEST_DB_PASSWORD", "");
+    }
+
+    /**
+     * Points the application's datasource at the test database, with schema as the current schema.
+     */
+    public static void register(DynamicPropertyRegistry registry, String schema) {
+        String url = url();
+        registry.add("spring.datasource.url", () -> url + (url.contains("?") ? "&" : "?") + "currentSchema=" + schema);
+        registry.add("spring.datasource.username", TestDatabase::username);
+        registry.add("spring.datasource.password", TestDatabase::password);
+    }
+}
@@ -0,0 +1,132 @@
+package com.cstar.schedulease.benchmark;
+
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.dto.CompactAppointmentDTO;
+import com.cstar.schedulease.service.appointment.dto.CompactAppointmentListDTO;
+import com.cstar.schedulease.service.client.dto.ClientDTO;
+import com.cstar.schedulease.service.provider.dto.ProviderDTO;
+import com.cstar.schedulease.service.services.dto.ServiceDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload size and encode/decode time of appointment lists in JSON, CBOR and Smile.
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.cstar.schedulease.benchmark.PayloadEncodingBenchmark [-Dexec.args=5000]
+ * </pre>
+ */
+public class PayloadEncodingBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("JSON", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("CBOR", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+        mappers.put("Smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+
+        List<AppointmentDTO> full = fullList(size);
+        CompactAppointmentListDTO compact = compactList(full);
+
+        System.out.printf("%d appointments, %d warm-up + %d measured iterations%n%n",
+            size, WARMUP_ITERATIONS, MEASURED_ITERATIONS);
+        System.out.printf("%-16s %12s %10s %14s %14s%n", "payload", "bytes", "vs JSON", "encode ms/op", "decode ms/op");
+
+        run("full", full, mappers);
+        run("compact", compact, mappers);
+    }
+
+    private static void run(String view, Object payload, Map<String, ObjectMapper> mappers) throws Exception {
+        long jsonBytes = -1;
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] encoded = mapper.writeValueAsBytes(payload);
+            if (jsonBytes < 0) {
+                jsonBytes = encoded.length;
+            }
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                mapper.readTree(mapper.writeValueAsBytes(payload));
+            }
+
+            long sink = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                sink += mapper.writeValueAsBytes(payload).length;
+            }
+            double encodeMs = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                sink += mapper.readTree(encoded).size();
+            }
+            double decodeMs = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+
+            if (sink == 42) {
+                System.out.println();
+            }
+            System.out.printf("%-16s %12d %9.0f%% %14.3f %14.3f%n", view + " " + entry.getKey(),
+                encoded.length, 100.0 * encoded.length / jsonBytes, encodeMs, decodeMs);
+        }
+    }
+
+    private static List<AppointmentDTO> fullList(int size) {
+        List<ProviderDTO> providers = new ArrayList<>();
+        for (long i = 1; i <= 6; i++) {
+            providers.add(new ProviderDTO(i, "Provider" + i, "Lastname" + i,
+                "Senior hairstylist, " + i + " years experience", true, null, null));
+        }
+        List<ServiceDTO> services = new ArrayList<>();
+        for (long i = 1; i <= 4; i++) {
+            services.add(new ServiceDTO(i, "Service " + i, "Includes wash, cut, and blow dry",
+                i <= 2 ? Category.HAIRCUT : Category.MASSAGE, 30 * (int) i, BigDecimal.valueOf(50L * i, 0), true, 1));
+        }
+
+        long start = 1_760_000_000L;
+        List<AppointmentDTO> appointments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ClientDTO client = new ClientDTO((long) (i % 1000) + 1, "Client" + (i % 1000), "Smith", "4165550001");
+            ServiceDTO service = services.get(i % services.size());
+            AppointmentDTO dto = new AppointmentDTO();
+            dto.setId((long) i + 1);
+            dto.setStartTime(start + i * 1800L);
+            dto.setDuration(service.getDuration());
+            dto.setEndTime(dto.getStartTime() + service.getDuration() * 60L);
+            dto.setStatus(i % 10 == 0 ? AppointmentStatus.CANCELLED : AppointmentStatus.CONFIRMED);
+            dto.setNotes(i % 3 == 0 ? "Would like a shorter cut" : null);
+            dto.setClient(client);
+            dto.setProvider(providers.get(i % providers.size()));
+            dto.setService(service);
+            appointments.add(dto);
+        }
+        return appointments;
+    }
+
+    private static CompactAppointmentListDTO compactList(List<AppointmentDTO> full) {
+        CompactAppointmentListDTO compact = new CompactAppointmentListDTO();
+        for (AppointmentDTO dto : full) {
+            compact.getClients().putIfAbsent(dto.getClient().getId(), dto.getClient());
+            compact.getProviders().putIfAbsent(dto.getProvider().getId(), dto.getProvider());
+            compact.getServices().putIfAbsent(dto.getService().getId(), dto.getService());
+            compact.getAppointments().add(new CompactAppointmentDTO(dto.getId(), dto.getClient().getId(),
+                dto.getProvider().getId(), dto.getService().getId(), dto.getStartTime(), dto.getDuration(),
+                dto.getEndTime(), dto.getStatus(), dto.getNotes(), dto.getCancellationReason()));
+        }
+        return compact;
+    }
+}
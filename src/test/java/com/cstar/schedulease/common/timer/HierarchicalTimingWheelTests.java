@@ -0,0 +1,101 @@
+package com.cstar.schedulease.common.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTests {
+
+    @Test
+    void firesEveryTimerExactlyAtItsDeadline() {
+        long start = 1_700_000_123L;
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(20_000, start);
+        Map<Long, Long> deadlines = new HashMap<>();
+        Random random = new Random(42);
+        for (long key = 0; key < 20_000; key++) {
+            // Spread over all levels: seconds, minutes, hours and days ahead
+            long deadline = start + 1 + (long) Math.pow(random.nextDouble(), 4) * 400_000;
+            deadlines.put(key, deadline);
+            assertThat(wheel.schedule(key, deadline)).isTrue();
+        }
+
+        Map<Long, Long> fired = new HashMap<>();
+        wheel.advanceTo(start + 400_001, key -> fired.put(key, wheel.currentTick()));
+
+        assertThat(fired).isEqualTo(deadlines);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimersDoNotFireAndRescheduledOnesMove() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(8, 0);
+        wheel.schedule(1, 100);
+        wheel.schedule(2, 100);
+        wheel.schedule(3, 5_000);
+
+        assertThat(wheel.cancel(2)).isTrue();
+        assertThat(wheel.cancel(2)).isFalse();
+        wheel.schedule(3, 50);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advanceTo(10_000, fired::add);
+        assertThat(fired).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void capacityIsFixed() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(2, 0);
+        assertThat(wheel.schedule(1, 10)).isTrue();
+        assertThat(wheel.schedule(2, 10)).isTrue();
+        assertThat(wheel.schedule(3, 10)).isFalse();
+        // Replacing an existing key needs no room
+        assertThat(wheel.schedule(2, 20)).isTrue();
+
+        wheel.cancel(1);
+        assertThat(wheel.schedule(3, 10)).isTrue();
+        assertThatThrownBy(() -> wheel.schedule(4, HierarchicalTimingWheel.RANGE))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void consumerMayCancelAndScheduleWhileTimersExpire() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(4, 0);
+        wheel.schedule(1, 10);
+        wheel.schedule(2, 10);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advanceTo(20, key -> {
+            fired.add(key);
+            if (key == 1 && wheel.currentTick() == 10) {
+                // Key 2 expires in the same tick, so it is no longer pending
+                assertThat(wheel.cancel(2)).isFalse();
+                wheel.schedule(1, 15);
+            }
+        });
+
+        assertThat(fired).containsExactly(1L, 2L, 1L);
+    }
+
+    @Test
+    void holdsAMillionTimers() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1_000_000, 0);
+        for (long key = 0; key < 1_000_000; key++) {
+            wheel.schedule(key << 3, 1 + key % 86_400);
+        }
+        for (long key = 0; key < 1_000_000; key += 2) {
+            wheel.cancel(key << 3);
+        }
+        assertThat(wheel.size()).isEqualTo(500_000);
+
+        long[] fired = new long[1];
+        wheel.advanceTo(86_400, key -> fired[0]++);
+        assertThat(fired[0]).isEqualTo(500_000);
+    }
+}
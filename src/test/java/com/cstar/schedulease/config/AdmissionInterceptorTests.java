@@ -0,0 +1,181 @@
+package com.cstar.schedulease.config;
+
+import com.cstar.schedulease.common.admission.BulkEndpoint;
+import com.cstar.schedulease.common.admission.TokenBucket;
+import com.cstar.schedulease.exception.RateLimitExceededException;
+import com.cstar.schedulease.exception.ServerOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionInterceptorTests {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void bulkRequestsCannotTakeReservedCapacity() throws Exception {
+        AdmissionInterceptor interceptor = interceptor(3, 1);
+        HandlerMethod list = handler("list");
+        HandlerMethod book = handler("book");
+
+        List<MockHttpServletRequest> admitted = new ArrayList<>();
+        admitted.add(admit(interceptor, list, "a"));
+        admitted.add(admit(interceptor, list, "b"));
+        assertThatThrownBy(() -> admit(interceptor, list, "c"))
+            .isInstanceOf(ServerOverloadedException.class);
+
+        admitted.add(admit(interceptor, book, "c"));
+        assertThatThrownBy(() -> admit(interceptor, book, "d"))
+            .isInstanceOf(ServerOverloadedException.class)
+            .extracting(ex -> ((ServerOverloadedException) ex).getRetryAfterSeconds()).isEqualTo(1L);
+
+        admitted.forEach(request -> interceptor.afterCompletion(request, response, book, null));
+        assertThat(interceptor.inFlight()).isZero();
+    }
+
+    @Test
+    void eachClientIsCappedByItsOwnBucket() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setClientRate(1);
+        properties.setClientBurst(2);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(properties, new SimpleMeterRegistry());
+        HandlerMethod book = handler("book");
+
+        release(interceptor, admit(interceptor, book, "a"));
+        release(interceptor, admit(interceptor, book, "a"));
+        assertThatThrownBy(() -> admit(interceptor, book, "a"))
+            .isInstanceOf(RateLimitExceededException.class)
+            .extracting(ex -> ((RateLimitExceededException) ex).getRetryAfterSeconds()).isEqualTo(1L);
+
+        // Other clients keep their own budget
+        release(interceptor, admit(interceptor, book, "b"));
+    }
+
+    @Test
+    void clientHeaderCountsOnlyFromTrustedProxies() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setClientRate(0.001);
+        properties.setClientBurst(1);
+        properties.setTrustedProxies(Set.of("10.0.0.1"));
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(properties, new SimpleMeterRegistry());
+        HandlerMethod book = handler("book");
+
+        release(interceptor, admit(interceptor, book, request("192.0.2.7", "first")));
+        // A new header value from the same address does not buy a new bucket
+        assertThatThrownBy(() -> admit(interceptor, book, request("192.0.2.7", "second")))
+            .isInstanceOf(RateLimitExceededException.class);
+
+        release(interceptor, admit(interceptor, book, request("10.0.0.1", "first")));
+        release(interceptor, admit(interceptor, book, request("10.0.0.1", "second")));
+        assertThatThrownBy(() -> admit(interceptor, book, request("10.0.0.1", "second")))
+            .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void forgetsRefilledClientsFirst() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setClientRate(2);
+        properties.setClientBurst(1);
+        properties.setMaxTrackedClients(2);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(properties, new SimpleMeterRegistry());
+        HandlerMethod book = handler("book");
+
+        release(interceptor, admit(interceptor, book, "a"));
+        Thread.sleep(600);
+        release(interceptor, admit(interceptor, book, "b"));
+        assertThatThrownBy(() -> admit(interceptor, book, "b"))
+            .isInstanceOf(RateLimitExceededException.class);
+        release(interceptor, admit(interceptor, book, "c"));
+
+        assertThat(interceptor.trackedClients()).isEqualTo(2);
+        // a had refilled, so it made room for c while b keeps its drained bucket
+        assertThatThrownBy(() -> admit(interceptor, book, "b"))
+            .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void staysWithinTheLimitWhenNoBucketHasRefilled() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setClientRate(0.001);
+        properties.setClientBurst(1);
+        properties.setMaxTrackedClients(2);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(properties, new SimpleMeterRegistry());
+        HandlerMethod book = handler("book");
+
+        release(interceptor, admit(interceptor, book, "a"));
+        release(interceptor, admit(interceptor, book, "b"));
+        release(interceptor, admit(interceptor, book, "c"));
+
+        assertThat(interceptor.trackedClients()).isEqualTo(2);
+        // The new client is never the one dropped
+        assertThatThrownBy(() -> admit(interceptor, book, "c"))
+            .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void tokenBucketRefillsAtItsRate() {
+        TokenBucket bucket = new TokenBucket(10, 2);
+        long now = 5_000_000_000L;
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(bucket.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(100))).isZero();
+        assertThat(bucket.isFull(now + TimeUnit.MILLISECONDS.toNanos(200))).isFalse();
+        assertThat(bucket.isFull(now + TimeUnit.MILLISECONDS.toNanos(300))).isTrue();
+    }
+
+    private static AdmissionInterceptor interceptor(int maxConcurrent, int reservedForPriority) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxConcurrent(maxConcurrent);
+        properties.setReservedForPriority(reservedForPriority);
+        return new AdmissionInterceptor(properties, new SimpleMeterRegistry());
+    }
+
+    private MockHttpServletRequest admit(AdmissionInterceptor interceptor, HandlerMethod handler, String client) {
+        return admit(interceptor, handler, request("192.0.2." + (client.charAt(0) - 'a' + 1), null));
+    }
+
+    private MockHttpServletRequest admit(AdmissionInterceptor interceptor, HandlerMethod handler,
+                                         MockHttpServletRequest request) {
+        assertThat(interceptor.preHandle(request, response, handler)).isTrue();
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String clientHeader) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        if (clientHeader != null) {
+            request.addHeader("X-Client-ID", clientHeader);
+        }
+        return request;
+    }
+
+    private void release(AdmissionInterceptor interceptor, MockHttpServletRequest request) {
+        interceptor.afterCompletion(request, response, null, null);
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), SampleController.class.getMethod(method));
+    }
+
+    static class SampleController {
+
+        @BulkEndpoint
+        public void list() {
+        }
+
+        public void book() {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.cstar.schedulease.config;
+
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.entity.Appointment;
+import com.cstar.schedulease.service.services.entity.Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeHintsConfigTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void registerHints() {
+        new NativeHintsConfig.SchedulEaseRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersJacksonBindingForDtos() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(AppointmentDTO.class.getMethod("getStartTime")))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(AppointmentDTO.class.getMethod("setStartTime", Long.class)))
+            .accepts(hints);
+    }
+
+    @Test
+    void registersEveryDtoOfTheControllers() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+        Set<String> used = new TreeSet<>();
+        for (BeanDefinition controller : scanner.findCandidateComponents("com.cstar.schedulease")) {
+            for (Method method : Class.forName(controller.getBeanClassName()).getDeclaredMethods()) {
+                collectDtos(ResolvableType.forMethodReturnType(method), used);
+                for (int i = 0; i < method.getParameterCount(); i++) {
+                    collectDtos(ResolvableType.forMethodParameter(new MethodParameter(method, i)), used);
+                }
+            }
+        }
+
+        assertThat(used).isNotEmpty();
+        for (String dto : used) {
+            assertThat(NativeHintsConfig.DTO_TYPES).extracting(Class::getName).as(dto).contains(dto);
+        }
+    }
+
+    @Test
+    void registersJsonCreatorFactoriesOnEnums() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(AppointmentStatus.class.getMethod("fromCode", String.class)))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Category.class.getMethod("fromCode", String.class)))
+            .accepts(hints);
+    }
+
+    @Test
+    void registersEntities() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Appointment.class)
+            .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Service.class)
+            .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS))
+            .accepts(hints);
+    }
+
+    private static void collectDtos(ResolvableType type, Set<String> dtos) {
+        Class<?> resolved = type.resolve();
+        if (resolved != null && resolved.getSimpleName().endsWith("DTO")) {
+            dtos.add(resolved.getName());
+        }
+        for (ResolvableType generic : type.getGenerics()) {
+            collectDtos(generic, dtos);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.cstar.schedulease.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaIndexVerifierTests {
+
+    private static final Map<String, Set<String>> EXPECTED = Map.of(
+        "appointments", Set.of("idx_appointments_client_start", "idx_appointments_status_start"),
+        "service", Set.of("idx_service_active"));
+
+    @Test
+    void matchingIndexesPass() {
+        SchemaIndexVerifier.Report report = SchemaIndexVerifier.compare(EXPECTED, List.of(
+            new SchemaIndexVerifier.Index("appointments", "idx_appointments_client_start", true),
+            new SchemaIndexVerifier.Index("appointments", "idx_appointments_status_start", true),
+            new SchemaIndexVerifier.Index("service", "idx_service_active", true)));
+
+        assertThat(report.matches()).isTrue();
+    }
+
+    @Test
+    void reportsMissingInvalidAndUnexpectedIndexes() {
+        SchemaIndexVerifier.Report report = SchemaIndexVerifier.compare(EXPECTED, List.of(
+            // Left behind by a failed CREATE INDEX CONCURRENTLY
+            new SchemaIndexVerifier.Index("appointments", "idx_appointments_client_start", false),
+            new SchemaIndexVerifier.Index("appointments", "idx_appointments_status", true),
+            new SchemaIndexVerifier.Index("service", "idx_service_active", true)));
+
+        assertThat(report.matches()).isFalse();
+        assertThat(report.getMissing()).containsExactly("appointments.idx_appointments_status_start");
+        assertThat(report.getInvalid()).containsExactly("appointments.idx_appointments_client_start");
+        assertThat(report.getUnexpected()).containsExactly("appointments.idx_appointments_status");
+    }
+}
@@ -0,0 +1,80 @@
+package com.cstar.schedulease.config;
+
+import com.cstar.schedulease.TestDatabase;
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantRoutingDataSourceTests {
+
+    private static final String TENANT = "routing_acme";
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void rejectsShardPoolsWithoutSchema() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            assertThatThrownBy(() -> new TenantRoutingDataSource(Map.of(TenantDirectory.DEFAULT_SHARD, pool), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    /**
+     * Against a real PostgreSQL (TestDatabase), like QueryBudgetTests.
+     */
+    @Test
+    void defaultTenantNeverGetsASchemaTenantsSchema() throws SQLException {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(TestDatabase.url());
+        pool.setUsername(TestDatabase.username());
+        pool.setPassword(TestDatabase.password());
+        // One connection, so the default tenant borrows exactly the one the schema tenant returned
+        pool.setMaximumPoolSize(1);
+        TenancyConfig.withDefaultSchema(pool);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + TENANT);
+        TenantDirectory directory = new TenantDirectory(Set.of(TenantDirectory.DEFAULT_SHARD),
+            Map.of(TENANT, TenantDirectory.DEFAULT_SHARD), jdbcTemplate);
+        try (TenantRoutingDataSource dataSource = new TenantRoutingDataSource(
+                Map.of(TenantDirectory.DEFAULT_SHARD, pool), directory)) {
+            TenantContext.setTenantId(TENANT);
+            assertThat(currentSchema(dataSource)).isEqualTo(TENANT);
+
+            TenantContext.setTenantId(TenantContext.DEFAULT_TENANT);
+            assertThat(currentSchema(dataSource)).isEqualTo(TenantRoutingDataSource.DEFAULT_SCHEMA);
+        } finally {
+            try (HikariDataSource cleanup = new HikariDataSource()) {
+                cleanup.setJdbcUrl(pool.getJdbcUrl());
+                cleanup.setUsername(pool.getUsername());
+                cleanup.setPassword(pool.getPassword());
+                new JdbcTemplate(cleanup).execute("DROP SCHEMA IF EXISTS " + TENANT);
+            }
+        }
+    }
+
+    private static String currentSchema(TenantRoutingDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT current_schema()")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
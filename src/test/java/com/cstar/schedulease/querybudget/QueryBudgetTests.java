@@ -0,0 +1,191 @@
+package com.cstar.schedulease.querybudget;
+
+import com.cstar.schedulease.TestDatabase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets and query plans of the REST endpoints, against a real PostgreSQL.
+ *
+ * Runs against the test database (TestDatabase); everything happens in its own schema, which Flyway creates
+ * and the test reseeds. Budgets are counted on a warm second call, so one-off cache loads do not count.
+ */
+@SpringBootTest(properties = {
+    "spring.flyway.schemas=" + QueryBudgetTests.SCHEMA,
+    "schedulease.admission.client-rate=10000",
+    "schedulease.admission.client-burst=10000"
+})
+@AutoConfigureMockMvc
+@Import(StatementRecorder.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTests {
+
+    static final String SCHEMA = "schedulease_query_budget";
+
+    // Tables seeded large enough that a sequential scan on them is a regression
+    private static final Set<String> LARGE_TABLES = Set.of("appointments", "client");
+
+    // 2026-01-05 00:00 UTC, a Monday
+    private static final long BASE = 1_767_571_200L;
+    private static final long DAY = 86_400L;
+
+    private static final String[] SEED_SQL = {
+        "TRUNCATE appointment_outbox, appointment_rollup, waitlist_entry, appointments, appointment_series, " +
+            "provider_service, provider_working_hours, provider_schedule_override, purge_job, " +
+            "service, provider, client RESTART IDENTITY CASCADE",
+        "INSERT INTO service (name, description, category, duration, price) " +
+            "SELECT 'Service ' || i, NULL, 'HAIRCUT', 30 + (i % 3) * 15, 40 + i FROM generate_series(1, 5) i",
+        "INSERT INTO provider (first_name, last_name) " +
+            "SELECT 'Provider', 'P' || i FROM generate_series(1, 20) i",
+        "INSERT INTO client (first_name, last_name, phone) " +
+            "SELECT 'Client', 'C' || i, '555' || lpad(i::text, 7, '0') FROM generate_series(1, 20000) i",
+        // 100 000 appointments: one per provider and service every two hours over about 83 days
+        "INSERT INTO appointments (client_id, provider_id, service_id, start_time, status, created_at) " +
+            "SELECT 1 + i % 20000, 1 + i % 20, 1 + (i / 20) % 5, " + BASE + " + (i / 100) * 7200, " +
+            "CASE i % 10 WHEN 0 THEN 'CANCELLED' WHEN 1 THEN 'NO_SHOW' ELSE 'CONFIRMED' END, " + BASE +
+            " FROM generate_series(0, 99999) i",
+        "ANALYZE"
+    };
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry, SCHEMA);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    void seed() {
+        for (String sql : SEED_SQL) {
+            jdbcTemplate.execute(sql);
+        }
+    }
+
+    @Test
+    void appointmentsInTimeRange() throws Exception {
+        assertBudget(get("/api/appointments")
+            .param("startTime", String.valueOf(BASE + 40 * DAY))
+            .param("endTime", String.valueOf(BASE + 41 * DAY)), 1);
+        assertBudget(get("/api/appointments")
+            .param("startTime", String.valueOf(BASE + 40 * DAY))
+            .param("endTime", String.valueOf(BASE + 41 * DAY))
+            .param("view", "compact"), 1);
+    }
+
+    @Test
+    void singleRecords() throws Exception {
+        assertBudget(get("/api/appointments/{id}", 50_000), 1);
+        assertBudget(get("/api/clients/{id}", 12_345), 1);
+        assertBudget(get("/api/providers/{id}", 7), 1);
+    }
+
+    @Test
+    void providerAvailability() throws Exception {
+        assertBudget(get("/api/availability")
+            .param("providerId", "3")
+            .param("serviceId", "2")
+            .param("from", String.valueOf(BASE + 60 * DAY))
+            .param("to", String.valueOf(BASE + 61 * DAY)), 2);
+    }
+
+    @Test
+    void booking() throws Exception {
+        // The warm-up books the first slot, the measured call the second
+        long start = BASE + 200 * DAY;
+        List<StatementRecorder.RecordedStatement> statements = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            String body = "{\"clientId\":42,\"providerId\":5,\"serviceId\":1,\"startTime\":" + (start + i * 3600) + "}";
+            statements = recorder.record(() -> mockMvc.perform(post("/api/appointments")
+                    .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated()));
+        }
+        // The provider's outbox lock, the booking statement and the cache invalidation NOTIFY for the other nodes
+        assertWithinBudget(statements, 3);
+    }
+
+    private void assertBudget(RequestBuilder request, int maxStatements) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        List<StatementRecorder.RecordedStatement> statements =
+            recorder.record(() -> mockMvc.perform(request).andExpect(status().isOk()));
+        assertWithinBudget(statements, maxStatements);
+    }
+
+    private void assertWithinBudget(List<StatementRecorder.RecordedStatement> statements, int maxStatements) {
+        assertThat(statements)
+            .as("statements executed, at most %d expected", maxStatements)
+            .hasSizeLessThanOrEqualTo(maxStatements);
+        for (StatementRecorder.RecordedStatement statement : statements) {
+            assertThat(sequentialScans(statement))
+                .as("sequential scans of large tables in the plan of %s", statement)
+                .isEmpty();
+        }
+    }
+
+    /**
+     * Large tables the statement's plan reads with a Seq Scan, from EXPLAIN with the recorded parameters.
+     */
+    private List<String> sequentialScans(StatementRecorder.RecordedStatement statement) {
+        String plan = jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.getSql())) {
+                for (Map.Entry<Integer, Object> parameter : statement.getParameters().entrySet()) {
+                    explain.setObject(parameter.getKey(), parameter.getValue());
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+        List<String> scans = new ArrayList<>();
+        try {
+            collectSequentialScans(objectMapper.readTree(plan).get(0).get("Plan"), scans);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan: " + plan, e);
+        }
+        return scans;
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> scans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            scans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, scans);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.cstar.schedulease.querybudget;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Records the statements the calling thread sends to the database, with their parameters.
+ * Every DataSource bean is wrapped; statements of other threads (relay, workers) are not recorded.
+ */
+public class StatementRecorder {
+
+    private final ThreadLocal<List<RecordedStatement>> recording = new ThreadLocal<>();
+
+    public static class RecordedStatement {
+        private final String sql;
+        private final Map<Integer, Object> parameters;
+
+        RecordedStatement(String sql, Map<Integer, Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * Bound values by parameter index; null values are kept.
+         */
+        public Map<Integer, Object> getParameters() {
+            return parameters;
+        }
+
+        @Override
+        public String toString() {
+            return sql.replaceAll("\\s+", " ") + " " + parameters;
+        }
+    }
+
+    /**
+     * Runs the action and returns the statements it executed on this thread.
+     */
+    public List<RecordedStatement> record(Callable<?> action) throws Exception {
+        List<RecordedStatement> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            action.call();
+        } finally {
+            recording.remove();
+        }
+        return statements;
+    }
+
+    DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return proxy(Connection.class, new ConnectionHandler(connection));
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                Connection connection = super.getConnection(username, password);
+                return proxy(Connection.class, new ConnectionHandler(connection));
+            }
+        };
+    }
+
+    private void executed(String sql, Map<Integer, Object> parameters) {
+        List<RecordedStatement> statements = recording.get();
+        if (statements != null) {
+            statements.add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        // Identity of the proxy, so a connection still equals itself once handed out
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                break;
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementRecorder.invoke(proxy, connection, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" ->
+                    proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" ->
+                    proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute")) {
+                boolean withSql = args != null && args.length > 0 && args[0] instanceof String;
+                executed(withSql ? (String) args[0] : preparedSql, withSql ? Map.of() : parameters);
+            }
+            return StatementRecorder.invoke(proxy, statement, method, args);
+        }
+    }
+
+    /**
+     * Registers the recorder and wraps the application's DataSource with it.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor statementRecordingPostProcessor(
+                ObjectProvider<StatementRecorder> recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recorder.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
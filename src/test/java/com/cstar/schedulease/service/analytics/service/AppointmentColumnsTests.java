@@ -0,0 +1,106 @@
+package com.cstar.schedulease.service.analytics.service;
+
+import com.cstar.schedulease.common.enums.AnalyticsGrouping;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.Category;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.cstar.schedulease.service.analytics.service.AppointmentColumns.APPOINTMENTS;
+import static com.cstar.schedulease.service.analytics.service.AppointmentColumns.LEAD_COUNT;
+import static com.cstar.schedulease.service.analytics.service.AppointmentColumns.LEAD_SECONDS;
+import static com.cstar.schedulease.service.analytics.service.AppointmentColumns.NO_SHOW;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppointmentColumnsTests {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Toronto");
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+    private static final Map<Long, Category> CATEGORIES = Map.of(1L, Category.HAIRCUT, 2L, Category.MASSAGE);
+
+    private ForkJoinPool pool;
+    private AppointmentColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        columns = new AppointmentColumns(ZONE, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void parallelScanMatchesSequentialCounts() {
+        // 10 000 appointments over 10 hours; every fourth one a no-show
+        for (long id = 1; id <= 10_000; id++) {
+            AppointmentStatus status = id % 4 == 0 ? AppointmentStatus.NO_SHOW : AppointmentStatus.COMPLETED;
+            columns.upsert(id, id % 3, 1 + id % 2, at(8 + (int) (id % 10)), status, 0);
+        }
+
+        AppointmentColumns.Aggregate byHour = columns.aggregate(pool, 100, filter(), AnalyticsGrouping.HOUR_OF_DAY);
+
+        for (int hour = 8; hour < 18; hour++) {
+            assertThat(byHour.get(hour, APPOINTMENTS)).isEqualTo(1_000);
+        }
+        long noShows = 0;
+        for (int hour = 0; hour < byHour.groups(); hour++) {
+            noShows += byHour.get(hour, NO_SHOW);
+        }
+        assertThat(noShows).isEqualTo(2_500);
+        assertThat(byHour.scannedRows()).isEqualTo(10_000);
+    }
+
+    @Test
+    void updatesOverwriteRowsAndDeletesLeaveTombstones() {
+        columns.upsert(1, 10, 1, at(9), AppointmentStatus.CONFIRMED, at(9) - 3_600);
+        columns.upsert(2, 10, 2, at(9), AppointmentStatus.CONFIRMED, 0);
+        columns.upsert(1, 10, 1, at(14), AppointmentStatus.CONFIRMED, 0);
+        columns.delete(2);
+
+        AppointmentColumns.Aggregate byHour = columns.aggregate(pool, 1, filter(), AnalyticsGrouping.HOUR_OF_DAY);
+
+        assertThat(byHour.get(9, APPOINTMENTS)).isZero();
+        assertThat(byHour.get(14, APPOINTMENTS)).isEqualTo(1);
+        // The booking time survives the reschedule
+        assertThat(byHour.get(14, LEAD_SECONDS)).isEqualTo(6 * 3_600);
+        assertThat(byHour.get(14, LEAD_COUNT)).isEqualTo(1);
+    }
+
+    @Test
+    void filtersByCategoryAndGroupsByProvider() {
+        columns.upsert(1, 10, 1, at(9), AppointmentStatus.COMPLETED, 0);
+        columns.upsert(2, 20, 2, at(10), AppointmentStatus.COMPLETED, 0);
+        columns.upsert(3, 20, 1, at(11), AppointmentStatus.COMPLETED, 0);
+
+        AppointmentColumns.Aggregate byProvider = columns.aggregate(pool, 1,
+            new AppointmentColumns.Filter(null, null, null, null, null, CATEGORIES, Category.HAIRCUT),
+            AnalyticsGrouping.PROVIDER);
+
+        assertThat(byProvider.groups()).isEqualTo(2);
+        assertThat(byProvider.key(0)).isEqualTo(10);
+        assertThat(byProvider.get(0, APPOINTMENTS)).isEqualTo(1);
+        assertThat(byProvider.key(1)).isEqualTo(20);
+        assertThat(byProvider.get(1, APPOINTMENTS)).isEqualTo(1);
+
+        AppointmentColumns.Aggregate unknownProvider = columns.aggregate(pool, 1,
+            new AppointmentColumns.Filter(null, null, 99L, null, null, CATEGORIES, null), AnalyticsGrouping.STATUS);
+        assertThat(unknownProvider.get(AppointmentStatus.COMPLETED.ordinal(), APPOINTMENTS)).isZero();
+    }
+
+    private static AppointmentColumns.Filter filter() {
+        return new AppointmentColumns.Filter(null, null, null, null, null, CATEGORIES, null);
+    }
+
+    private static long at(int hour) {
+        return DAY.atTime(hour, 0).atZone(ZONE).toEpochSecond();
+    }
+}
@@ -0,0 +1,56 @@
+package com.cstar.schedulease.service.appointment.service;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.config.AvailabilityProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionSeatCounterTests {
+
+    private static final long START = 1_800_000_000L;
+    private static final long END = START + 3_600;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void onlyFullSessionsAreTurnedAway() {
+        SessionSeatCounter counter = counter(Duration.ofMinutes(1));
+
+        counter.record(10L, 100L, START, END, 7, 8);
+        assertThat(counter.fullUntil(10L, 100L, START)).isNull();
+
+        counter.record(10L, 100L, START, END, 8, 8);
+        assertThat(counter.fullUntil(10L, 100L, START)).isEqualTo(END);
+        assertThat(counter.fullUntil(10L, 100L, END)).isNull();
+
+        // A cancellation frees the seat again
+        counter.record(10L, 100L, START, END, 7, 8);
+        assertThat(counter.fullUntil(10L, 100L, START)).isNull();
+    }
+
+    @Test
+    void countsExpireAndStayWithinTheirTenant() {
+        SessionSeatCounter counter = counter(Duration.ofMinutes(1));
+        counter.record(10L, 100L, START, END, 8, 8);
+
+        TenantContext.setTenantId("other");
+        assertThat(counter.fullUntil(10L, 100L, START)).isNull();
+
+        SessionSeatCounter expired = counter(Duration.ZERO);
+        expired.record(10L, 100L, START, END, 8, 8);
+        assertThat(expired.fullUntil(10L, 100L, START)).isNull();
+    }
+
+    private static SessionSeatCounter counter(Duration ttl) {
+        AvailabilityProperties properties = new AvailabilityProperties();
+        properties.setSeatCountTtl(ttl);
+        return new SessionSeatCounter(properties);
+    }
+}
@@ -0,0 +1,38 @@
+package com.cstar.schedulease.service.availability.service.impl;
+
+import com.cstar.schedulease.service.availability.dto.TimeSlotDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityServiceImplTests {
+
+    @Test
+    void mergesProvidersByStartTimeAndStopsAtLimit() {
+        List<List<TimeSlotDTO>> slotsByProvider = List.of(
+            List.of(slot(1L, 100), slot(1L, 400), slot(1L, 700)),
+            List.of(),
+            List.of(slot(3L, 200), slot(3L, 300), slot(3L, 900)));
+
+        assertThat(AvailabilityServiceImpl.mergeEarliest(slotsByProvider, 4))
+            .extracting(TimeSlotDTO::getStartTime)
+            .containsExactly(100L, 200L, 300L, 400L);
+    }
+
+    @Test
+    void breaksTiesByProviderId() {
+        List<List<TimeSlotDTO>> slotsByProvider = List.of(
+            List.of(slot(5L, 100)),
+            List.of(slot(2L, 100)));
+
+        assertThat(AvailabilityServiceImpl.mergeEarliest(slotsByProvider, 10))
+            .extracting(TimeSlotDTO::getProviderId)
+            .containsExactly(2L, 5L);
+    }
+
+    private static TimeSlotDTO slot(Long providerId, long startTime) {
+        return new TimeSlotDTO(providerId, 1L, startTime, startTime + 60, null);
+    }
+}
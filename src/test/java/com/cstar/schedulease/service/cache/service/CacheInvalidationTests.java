@@ -0,0 +1,24 @@
+package com.cstar.schedulease.service.cache.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationTests {
+
+    @Test
+    void parsesPayloads() {
+        assertThat(CacheInvalidation.parse("3f2a91c0|acme|schedule|17|42"))
+            .isEqualTo(new CacheInvalidation("3f2a91c0", "acme", CacheInvalidation.Kind.SCHEDULE, 17, 42L));
+        assertThat(CacheInvalidation.parse("3f2a91c0|public|service|3|"))
+            .isEqualTo(new CacheInvalidation("3f2a91c0", "public", CacheInvalidation.Kind.SERVICE, 3, null));
+    }
+
+    @Test
+    void rejectsOtherPayloads() {
+        assertThat(CacheInvalidation.parse("")).isNull();
+        assertThat(CacheInvalidation.parse("3f2a91c0|public|room|1|2")).isNull();
+        assertThat(CacheInvalidation.parse("3f2a91c0|public|provider|x|2")).isNull();
+        assertThat(CacheInvalidation.parse("3f2a91c0|public|provider|1|2|extra")).isNull();
+    }
+}
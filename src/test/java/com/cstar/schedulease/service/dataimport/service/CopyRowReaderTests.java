@@ -0,0 +1,74 @@
+package com.cstar.schedulease.service.dataimport.service;
+
+import com.cstar.schedulease.common.enums.ImportEntity;
+import com.cstar.schedulease.common.enums.ImportFormat;
+import com.cstar.schedulease.service.dataimport.dto.ImportRejectDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CopyRowReaderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encodesValidCsvRowsAndRejectsInvalidOnes() throws IOException {
+        String csv = "First Name,last_name,phone\n" +
+            "Ann,\"O\"\"Neil, Jr\",4165550100\n" +
+            "\n" +
+            ",Smith,4165550101\n" +
+            "\"Two\nLines\",Lee,4165550102\n" +
+            "Bob,Ray\n";
+        ImportRejects rejects = new ImportRejects(10);
+
+        String copy = drain(new CopyRowReader(
+            RecordReader.open(ImportFormat.CSV, new StringReader(csv), objectMapper), ImportEntity.CLIENTS, rejects));
+
+        assertThat(copy).isEqualTo(
+            "2,\"Ann\",\"O\"\"Neil, Jr\",\"4165550100\"\n" +
+            "5,\"Two\nLines\",\"Lee\",\"4165550102\"\n");
+        assertThat(rejects.reported()).extracting(ImportRejectDTO::getLine).containsExactly(4L, 7L);
+        assertThat(rejects.reported().get(0).getReason()).isEqualTo("firstName is required");
+    }
+
+    @Test
+    void appliesDefaultsAndKeepsNullsForNdjson() throws IOException {
+        String ndjson = "{\"clientId\":1,\"providerId\":2,\"serviceId\":3,\"startTime\":1700000000}\n" +
+            "{\"clientId\":1,\"providerId\":2,\"serviceId\":3,\"startTime\":1700000000,\"status\":\"LATE\"}\n" +
+            "[1, 2]\n";
+        ImportRejects rejects = new ImportRejects(10);
+        CopyRowReader rows = new CopyRowReader(
+            RecordReader.open(ImportFormat.NDJSON, new StringReader(ndjson), objectMapper), ImportEntity.APPOINTMENTS,
+            rejects);
+
+        assertThat(drain(rows)).isEqualTo("1,\"1\",\"2\",\"3\",\"1700000000\",\"CONFIRMED\",\n");
+        assertThat(rows.rows()).isEqualTo(3);
+        assertThat(rejects.count()).isEqualTo(2);
+    }
+
+    @Test
+    void countsEveryRejectButReportsOnlyTheFirst() throws IOException {
+        StringBuilder csv = new StringBuilder("firstName,lastName,phone\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append(",,\n");
+        }
+        ImportRejects rejects = new ImportRejects(5);
+
+        drain(new CopyRowReader(RecordReader.open(ImportFormat.CSV, new StringReader(csv.toString()), objectMapper),
+            ImportEntity.CLIENTS, rejects));
+
+        assertThat(rejects.count()).isEqualTo(100);
+        assertThat(rejects.reported()).hasSize(5);
+    }
+
+    private static String drain(CopyRowReader reader) throws IOException {
+        StringWriter out = new StringWriter();
+        reader.transferTo(out);
+        return out.toString();
+    }
+}
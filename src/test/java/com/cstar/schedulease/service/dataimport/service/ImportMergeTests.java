@@ -0,0 +1,119 @@
+package com.cstar.schedulease.service.dataimport.service;
+
+import com.cstar.schedulease.TestDatabase;
+import com.cstar.schedulease.common.enums.ImportEntity;
+import com.cstar.schedulease.common.enums.ImportFormat;
+import com.cstar.schedulease.service.dataimport.dto.ImportRejectDTO;
+import com.cstar.schedulease.service.dataimport.dto.ImportResultDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Appointment imports merged into a real PostgreSQL.
+ *
+ * Runs against the test database (TestDatabase), in its own schema. Every test uses its own provider.
+ */
+@SpringBootTest(properties = "spring.flyway.schemas=" + ImportMergeTests.SCHEMA)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ImportMergeTests {
+
+    static final String SCHEMA = "schedulease_import";
+
+    // 2026-01-05 10:00 UTC
+    private static final long BASE = 1_767_607_200L;
+    private static final long MINUTE = 60L;
+
+    private static final String[] SEED_SQL = {
+        "TRUNCATE appointment_outbox, appointment_rollup, waitlist_entry, session_seat, appointments, " +
+            "appointment_series, provider_service, provider_working_hours, provider_schedule_override, purge_job, " +
+            "service, provider, client RESTART IDENTITY CASCADE",
+        "INSERT INTO service (name, category, duration, price) VALUES ('Cut', 'HAIRCUT', 30, 40), " +
+            "('Colour', 'HAIRCUT', 60, 90)",
+        "INSERT INTO provider (first_name, last_name) " +
+            "SELECT 'Provider', 'P' || i FROM generate_series(1, 3) i",
+        "INSERT INTO client (first_name, last_name, phone) VALUES ('Client', 'C1', '5550000001')",
+        // Provider 1, service 1 is booked 10:00-10:30
+        "INSERT INTO appointments (client_id, provider_id, service_id, start_time, status) " +
+            "VALUES (1, 1, 1, " + BASE + ", 'CONFIRMED')"
+    };
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry, SCHEMA);
+    }
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        for (String sql : SEED_SQL) {
+            jdbcTemplate.execute(sql);
+        }
+    }
+
+    @Test
+    void rejectsRowsOverlappingABookedAppointment() {
+        ImportResultDTO result = importAppointments(
+            row(1, 1, BASE + 15 * MINUTE, "CONFIRMED"),
+            row(1, 1, BASE - 20 * MINUTE, "CONFIRMED"),
+            row(1, 1, BASE + 30 * MINUTE, "CONFIRMED"),
+            row(1, 1, BASE + 15 * MINUTE, "CANCELLED"),
+            row(1, 2, BASE, "CONFIRMED"));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejects()).extracting(ImportRejectDTO::getLine, ImportRejectDTO::getReason)
+            .containsExactly(
+                tuple(1L, "Slot overlaps appointment 1"),
+                tuple(2L, "Slot overlaps appointment 1"));
+    }
+
+    @Test
+    void rejectsRowsOverlappingAnEarlierRow() {
+        ImportResultDTO result = importAppointments(
+            row(2, 2, BASE, "CONFIRMED"),
+            row(2, 2, BASE + 30 * MINUTE, "CONFIRMED"),
+            row(2, 2, BASE + 60 * MINUTE, "CONFIRMED"),
+            row(2, 1, BASE + 30 * MINUTE, "CONFIRMED"),
+            row(3, 2, BASE + 30 * MINUTE, "CONFIRMED"),
+            row(2, 2, BASE, "CANCELLED"));
+
+        // Line 3 only overlaps line 2, but of a chain of overlapping rows only the first is imported
+        assertThat(result.getImported()).isEqualTo(4);
+        assertThat(result.getRejects()).extracting(ImportRejectDTO::getLine, ImportRejectDTO::getReason)
+            .containsExactly(
+                tuple(2L, "Slot overlaps line 1"),
+                tuple(3L, "Slot overlaps line 2"));
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT start_time FROM appointments WHERE provider_id = 2 AND service_id = 2 AND status <> 'CANCELLED'",
+            Long.class))
+            .containsExactly(BASE);
+    }
+
+    private ImportResultDTO importAppointments(String... rows) {
+        byte[] input = String.join("\n", List.of(rows)).getBytes(StandardCharsets.UTF_8);
+        return importService.importRecords(ImportEntity.APPOINTMENTS, ImportFormat.NDJSON,
+            new ByteArrayInputStream(input));
+    }
+
+    private static String row(long providerId, long serviceId, long startTime, String status) {
+        return "{\"clientId\":1,\"providerId\":" + providerId + ",\"serviceId\":" + serviceId +
+            ",\"startTime\":" + startTime + ",\"status\":\"" + status + "\"}";
+    }
+}
@@ -0,0 +1,80 @@
+package com.cstar.schedulease.service.hold.service;
+
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.config.HoldProperties;
+import com.cstar.schedulease.exception.ServerOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlotHoldTableTests {
+
+    private static final long START = 1_800_000_000L;
+    private static final long END = START + 1_800;
+
+    private SlotHoldTable table;
+
+    @BeforeEach
+    void setUp() {
+        HoldProperties properties = new HoldProperties();
+        properties.setCapacity(2);
+        properties.setStripes(4);
+        table = new SlotHoldTable(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void overlappingHoldOfAnotherClientConflicts() {
+        SlotHoldTable.Hold first = table.hold(1L, 10L, 100L, START, END, 600);
+
+        assertThat(first).isNotNull();
+        assertThat(table.hold(2L, 10L, 100L, START + 900, END + 900, 600)).isNull();
+        assertThat(table.findOverlap(10L, 100L, START + 900, END + 900, 2L)).isEqualTo(first);
+        // The holder's own booking and other providers are not blocked
+        assertThat(table.findOverlap(10L, 100L, START, END, 1L)).isNull();
+        assertThat(table.findOverlap(11L, 100L, START, END, 2L)).isNull();
+        assertThat(table.heldStartTimes(10L, 100L, START - 1_800, START + 3_600)).containsExactly(START);
+    }
+
+    @Test
+    void holdsAreScopedToTheirTenant() {
+        TenantContext.setTenantId("acme");
+        SlotHoldTable.Hold hold = table.hold(1L, 10L, 100L, START, END, 600);
+        TenantContext.setTenantId("globex");
+
+        assertThat(table.get(hold.getId())).isNull();
+        assertThat(table.hold(2L, 10L, 100L, START, END, 600)).isNotNull();
+    }
+
+    @Test
+    void expiryAndReleaseFreeTheSlot() {
+        SlotHoldTable.Hold expiring = table.hold(1L, 10L, 100L, START, END, 60);
+        SlotHoldTable.Hold released = table.hold(1L, 20L, 100L, START, END, 600);
+
+        table.expire(expiring.getExpiresAt());
+        assertThat(table.get(expiring.getId())).isNull();
+        assertThat(table.get(released.getId())).isEqualTo(released);
+
+        table.releaseFor(1L, 20L, 100L, START);
+        assertThat(table.size()).isZero();
+        assertThat(table.hold(2L, 10L, 100L, START, END, 600)).isNotNull();
+        assertThat(table.hold(2L, 20L, 100L, START, END, 600)).isNotNull();
+    }
+
+    @Test
+    void fullTableRejectsNewHolds() {
+        table.hold(1L, 10L, 100L, START, END, 600);
+        table.hold(2L, 20L, 100L, START, END, 600);
+
+        assertThatThrownBy(() -> table.hold(3L, 30L, 100L, START, END, 600))
+            .isInstanceOf(ServerOverloadedException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.cstar.schedulease.service.outbox.service;
+
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.config.OutboxProperties;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import com.cstar.schedulease.service.outbox.repository.AppointmentOutboxRepository;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentOutboxRelayTests {
+
+    private final AppointmentOutboxRepository repository = mock(AppointmentOutboxRepository.class);
+    private final List<List<AppointmentChangeEvent>> delivered = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StaticListableBeanFactory beans = new StaticListableBeanFactory();
+
+    private AppointmentOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.tryLock()).thenReturn(true);
+
+        beans.addBean("recordingSink", (AppointmentChangeSink) delivered::add);
+        ObjectProvider<AppointmentChangeSink> sinks = beans.getBeanProvider(AppointmentChangeSink.class);
+        ObjectProvider<TenantDirectory> noTenancy = beans.getBeanProvider(TenantDirectory.class);
+        relay = new AppointmentOutboxRelay(repository, sinks, noTenancy, transactionManager,
+            new OutboxProperties(), meterRegistry);
+    }
+
+    @Test
+    void publishesBatchInOrderThenDeletesIt() {
+        when(repository.findBatch(anyInt())).thenReturn(List.of(event(7L, 1L), event(8L, 2L), event(9L, 1L)));
+
+        assertThat(relay.drainBatch()).isEqualTo(3);
+
+        assertThat(delivered).hasSize(1);
+        assertThat(delivered.get(0)).extracting(AppointmentChangeEvent::getId).containsExactly(7L, 8L, 9L);
+        verify(repository).deleteByIds(List.of(7L, 8L, 9L));
+        assertThat(meterRegistry.counter("schedulease.outbox.published").count()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsBatchWhenASinkFails() {
+        beans.addBean("failingSink", (AppointmentChangeSink) events -> {
+            throw new IllegalStateException("sink down");
+        });
+        when(repository.findBatch(anyInt())).thenReturn(List.of(event(7L, 1L)));
+
+        assertThatThrownBy(() -> relay.drainBatch()).isInstanceOf(IllegalStateException.class);
+
+        verify(repository, never()).deleteByIds(any());
+    }
+
+    @Test
+    void skipsWhenAnotherRelayHoldsTheLock() {
+        when(repository.tryLock()).thenReturn(false);
+
+        assertThat(relay.drainBatch()).isZero();
+
+        verify(repository, never()).findBatch(anyInt());
+    }
+
+    private static AppointmentChangeEvent event(Long id, Long providerId) {
+        return new AppointmentChangeEvent(id, AppointmentChangeType.CREATED, 100 + id, providerId, 1L, 1L,
+            0L, 1800L, AppointmentStatus.CONFIRMED, null, null, System.currentTimeMillis(), null);
+    }
+}
@@ -0,0 +1,135 @@
+package com.cstar.schedulease.service.outbox.service;
+
+import com.cstar.schedulease.TestDatabase;
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.service.AppointmentService;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox order per provider against a real PostgreSQL, where concurrent bookings actually contend.
+ *
+ * Runs against the test database (TestDatabase), in its own schema.
+ */
+@SpringBootTest(properties = "spring.flyway.schemas=" + OutboxProviderOrderTests.SCHEMA)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OutboxProviderOrderTests {
+
+    static final String SCHEMA = "schedulease_outbox_order";
+
+    private static final long HOUR = 3_600L;
+    // Start of the hour, two days out
+    private static final long BASE = (System.currentTimeMillis() / 1000 / HOUR + 48) * HOUR;
+
+    private static final String[] SEED_SQL = {
+        "TRUNCATE appointment_outbox, appointment_rollup, waitlist_entry, session_seat, appointments, " +
+            "appointment_series, provider_service, provider_working_hours, provider_schedule_override, purge_job, " +
+            "service, provider, client RESTART IDENTITY CASCADE",
+        "INSERT INTO service (name, category, duration, price) VALUES ('Cut', 'HAIRCUT', 30, 40)",
+        "INSERT INTO provider (first_name, last_name) VALUES ('Provider', 'P1')",
+        "INSERT INTO client (first_name, last_name, phone) " +
+            "SELECT 'Client', 'C' || i, '555' || lpad(i::text, 7, '0') FROM generate_series(1, 2) i"
+    };
+
+    private static final List<AppointmentChangeEvent> DELIVERED = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class RecordingSinkConfig {
+
+        @Bean
+        AppointmentChangeSink recordingSink() {
+            return DELIVERED::addAll;
+        }
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry, SCHEMA);
+    }
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        for (String sql : SEED_SQL) {
+            jdbcTemplate.execute(sql);
+        }
+    }
+
+    @Test
+    void laterBookingOfTheProviderWaitsForTheEarlierToCommit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch booked = new CountDownLatch(1);
+            CountDownLatch commit = new CountDownLatch(1);
+            Future<AppointmentDTO> first = executor.submit(() -> transactionTemplate.execute(status -> {
+                AppointmentDTO appointment = appointmentService.createAppointment(request(1L, BASE));
+                booked.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return appointment;
+            }));
+            assertThat(booked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<AppointmentDTO> second = executor.submit(() ->
+                appointmentService.createAppointment(request(2L, BASE + HOUR)));
+            Thread.sleep(500);
+            assertThat(second.isDone()).as("second booking waits for the provider's open transaction").isFalse();
+
+            commit.countDown();
+            Long firstId = first.get(10, TimeUnit.SECONDS).getId();
+            Long secondId = second.get(10, TimeUnit.SECONDS).getId();
+
+            awaitDelivery(2);
+            assertThat(DELIVERED).extracting(AppointmentChangeEvent::getAppointmentId)
+                .containsExactly(firstId, secondId);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static AppointmentDTO request(Long clientId, long startTime) {
+        AppointmentDTO request = new AppointmentDTO();
+        request.setClientId(clientId);
+        request.setProviderId(1L);
+        request.setServiceId(1L);
+        request.setStartTime(startTime);
+        return request;
+    }
+
+    private static void awaitDelivery(int events) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && DELIVERED.size() < events; attempt++) {
+            Thread.sleep(100);
+        }
+    }
+}
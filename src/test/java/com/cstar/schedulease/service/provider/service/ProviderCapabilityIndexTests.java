@@ -0,0 +1,98 @@
+package com.cstar.schedulease.service.provider.service;
+
+import com.cstar.schedulease.common.enums.Category;
+import com.cstar.schedulease.service.provider.entity.Provider;
+import com.cstar.schedulease.service.provider.repository.ProviderRepository;
+import com.cstar.schedulease.service.provider.repository.ProviderServiceRepository;
+import com.cstar.schedulease.service.services.dto.ServiceDTO;
+import com.cstar.schedulease.service.services.entity.Service;
+import com.cstar.schedulease.service.services.repository.ServiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProviderCapabilityIndexTests {
+
+    private ProviderRepository providerRepository;
+    private ProviderServiceRepository providerServiceRepository;
+    private ProviderCapabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        providerRepository = mock(ProviderRepository.class);
+        ServiceRepository serviceRepository = mock(ServiceRepository.class);
+        providerServiceRepository = mock(ProviderServiceRepository.class);
+        // Provider 1 offers service 10 only, provider 2 has no mappings, provider 3 is inactive
+        when(providerRepository.findAll()).thenReturn(List.of(provider(1L, true), provider(2L, true), provider(3L, false)));
+        when(serviceRepository.findAll()).thenReturn(List.of(service(10L, true), service(20L, true), service(30L, false)));
+        when(providerServiceRepository.findActiveCapabilities()).thenReturn(List.of(capability(1L, 10L), capability(3L, 20L)));
+        index = new ProviderCapabilityIndex(providerRepository, serviceRepository, providerServiceRepository);
+    }
+
+    @Test
+    void mappedProvidersOfferOnlyTheirServices() {
+        assertThat(index.offers(1L, 10L)).isTrue();
+        assertThat(index.offers(1L, 20L)).isFalse();
+        assertThat(index.servicesOf(1L)).extracting(ServiceDTO::getId).containsExactly(10L);
+    }
+
+    @Test
+    void unmappedAndUnknownProvidersOfferEveryActiveService() {
+        assertThat(index.offers(2L, 20L)).isTrue();
+        assertThat(index.offers(99L, 20L)).isTrue();
+        assertThat(index.servicesOf(2L)).extracting(ServiceDTO::getId).containsExactly(10L, 20L);
+    }
+
+    @Test
+    void listsActiveProvidersPerServiceAndRebuildsAfterInvalidation() {
+        assertThat(index.activeProvidersFor(10L)).containsExactly(1L, 2L);
+        assertThat(index.activeProvidersFor(20L)).containsExactly(2L);
+        assertThat(index.activeProvidersFor(99L)).isEmpty();
+
+        when(providerServiceRepository.findActiveCapabilities()).thenReturn(List.of(capability(1L, 10L), capability(1L, 20L)));
+        index.invalidate();
+
+        assertThat(index.activeProvidersFor(20L)).containsExactly(1L, 2L);
+        verify(providerRepository, times(2)).findAll();
+    }
+
+    private static Provider provider(Long id, boolean active) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setIsActive(active);
+        return provider;
+    }
+
+    private static Service service(Long id, boolean active) {
+        Service service = new Service();
+        service.setId(id);
+        service.setName("Service " + id);
+        service.setCategory(Category.HAIRCUT);
+        service.setDuration(30);
+        service.setPrice(BigDecimal.TEN);
+        service.setIsActive(active);
+        return service;
+    }
+
+    private static ProviderServiceRepository.Capability capability(Long providerId, Long serviceId) {
+        return new ProviderServiceRepository.Capability() {
+            @Override
+            public Long getProviderId() {
+                return providerId;
+            }
+
+            @Override
+            public Long getServiceId() {
+                return serviceId;
+            }
+        };
+    }
+}
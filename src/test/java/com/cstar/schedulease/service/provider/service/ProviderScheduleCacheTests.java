@@ -0,0 +1,94 @@
+package com.cstar.schedulease.service.provider.service;
+
+import com.cstar.schedulease.config.ScheduleProperties;
+import com.cstar.schedulease.service.provider.entity.ProviderScheduleOverride;
+import com.cstar.schedulease.service.provider.entity.ProviderWorkingHours;
+import com.cstar.schedulease.service.provider.repository.ProviderScheduleOverrideRepository;
+import com.cstar.schedulease.service.provider.repository.ProviderWorkingHoursRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProviderScheduleCacheTests {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Toronto");
+    private static final LocalDate MONDAY = LocalDate.now(ZONE).plusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    private ProviderScheduleCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ProviderWorkingHoursRepository workingHoursRepository = mock(ProviderWorkingHoursRepository.class);
+        ProviderScheduleOverrideRepository overrideRepository = mock(ProviderScheduleOverrideRepository.class);
+        // Monday 09:00-12:00 and 13:00-17:00
+        when(workingHoursRepository.findAll()).thenReturn(List.of(
+            new ProviderWorkingHours(1L, 1L, 1, 9 * 60, 12 * 60),
+            new ProviderWorkingHours(2L, 1L, 1, 13 * 60, 17 * 60)));
+        when(overrideRepository.findByOverrideDateGreaterThanEqual(any())).thenReturn(List.of());
+
+        ScheduleProperties properties = new ScheduleProperties();
+        properties.setTimeZone(ZONE);
+        cache = new ProviderScheduleCache(workingHoursRepository, overrideRepository, properties);
+    }
+
+    @Test
+    void acceptsSlotsInsideWorkingIntervals() {
+        assertThat(cache.isOpen(1L, at(MONDAY, 9, 0), 60)).isTrue();
+        assertThat(cache.isOpen(1L, at(MONDAY, 16, 30), 30)).isTrue();
+    }
+
+    @Test
+    void rejectsSlotsOverlappingBreaksOrClosedDays() {
+        assertThat(cache.isOpen(1L, at(MONDAY, 11, 30), 60)).isFalse();
+        assertThat(cache.isOpen(1L, at(MONDAY, 8, 59), 30)).isFalse();
+        assertThat(cache.isOpen(1L, at(MONDAY.plusDays(1), 10, 0), 30)).isFalse();
+    }
+
+    @Test
+    void providersWithoutScheduleAreUnrestricted() {
+        assertThat(cache.isOpen(2L, at(MONDAY, 3, 0), 60)).isTrue();
+        assertThat(cache.nextOpenStart(2L, at(MONDAY, 3, 0), 60, at(MONDAY, 5, 0))).isEqualTo(at(MONDAY, 3, 0));
+    }
+
+    @Test
+    void nextOpenStartSkipsBreaksAndClosedDays() {
+        assertThat(cache.nextOpenStart(1L, at(MONDAY, 11, 30), 60, at(MONDAY.plusWeeks(1), 0, 0)))
+            .isEqualTo(at(MONDAY, 13, 0));
+        assertThat(cache.nextOpenStart(1L, at(MONDAY, 16, 45), 30, at(MONDAY.plusWeeks(2), 0, 0)))
+            .isEqualTo(at(MONDAY.plusWeeks(1), 9, 0));
+        assertThat(cache.nextOpenStart(1L, at(MONDAY, 16, 45), 30, at(MONDAY.plusDays(3), 0, 0)))
+            .isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void overridesRecompileOnlyTheirDate() {
+        cache.recompileOverride(1L, MONDAY, List.of(new ProviderScheduleOverride(1L, 1L, MONDAY, null, null)));
+
+        assertThat(cache.isOpen(1L, at(MONDAY, 9, 0), 30)).isFalse();
+        assertThat(cache.isOpen(1L, at(MONDAY.plusWeeks(1), 9, 0), 30)).isTrue();
+
+        cache.recompileOverride(1L, MONDAY, List.of());
+        assertThat(cache.isOpen(1L, at(MONDAY, 9, 0), 30)).isTrue();
+    }
+
+    @Test
+    void removingWeeklyTemplateLiftsRestrictions() {
+        cache.recompileWeekly(1L, List.of());
+
+        assertThat(cache.isOpen(1L, at(MONDAY, 22, 0), 60)).isTrue();
+    }
+
+    private static long at(LocalDate date, int hour, int minute) {
+        return date.atTime(hour, minute).atZone(ZONE).toEpochSecond();
+    }
+}
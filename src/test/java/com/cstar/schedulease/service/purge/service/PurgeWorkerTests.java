@@ -0,0 +1,85 @@
+package com.cstar.schedulease.service.purge.service;
+
+import com.cstar.schedulease.common.enums.PurgeEntityType;
+import com.cstar.schedulease.common.enums.PurgeJobStatus;
+import com.cstar.schedulease.config.PurgeProperties;
+import com.cstar.schedulease.service.outbox.service.AppointmentOutbox;
+import com.cstar.schedulease.service.provider.service.ProviderCapabilityIndex;
+import com.cstar.schedulease.service.purge.dto.PurgeJobDTO;
+import com.cstar.schedulease.service.purge.repository.PurgeJobRepository;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PurgeWorkerTests {
+
+    private final PurgeJobRepository repository = mock(PurgeJobRepository.class);
+    private final ProviderCapabilityIndex capabilityIndex = mock(ProviderCapabilityIndex.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PurgeWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        PurgeProperties properties = new PurgeProperties();
+        properties.setBatchSize(100);
+        worker = new PurgeWorker(repository,
+            new StaticListableBeanFactory().getBeanProvider(TenantDirectory.class), mock(AppointmentOutbox.class),
+            capabilityIndex, transactionManager, properties, meterRegistry);
+    }
+
+    @Test
+    void deletesOneBatchAndRecordsProgress() {
+        when(repository.lockNextOpen()).thenReturn(Optional.of(job(PurgeEntityType.CLIENT)));
+        when(repository.deleteAppointmentBatch(eq(PurgeEntityType.CLIENT), eq(42L), eq(100), anyLong())).thenReturn(100);
+
+        assertThat(worker.purgeBatch()).isTrue();
+
+        verify(repository).recordProgress(eq(1L), eq(100), anyLong());
+        verify(repository, never()).deleteEntity(any(), any());
+        assertThat(meterRegistry.counter("schedulease.purge.appointments").count()).isEqualTo(100);
+    }
+
+    @Test
+    void removesTheEntityOnceNoAppointmentIsLeft() {
+        when(repository.lockNextOpen()).thenReturn(Optional.of(job(PurgeEntityType.PROVIDER)));
+
+        assertThat(worker.purgeBatch()).isTrue();
+
+        verify(repository).deleteEntity(PurgeEntityType.PROVIDER, 42L);
+        verify(repository).complete(eq(1L), anyLong());
+        verify(capabilityIndex).invalidate();
+    }
+
+    @Test
+    void recordsTheErrorOfAFailedBatch() {
+        when(repository.lockNextOpen()).thenReturn(Optional.of(job(PurgeEntityType.CLIENT)));
+        when(repository.deleteAppointmentBatch(any(), any(), eq(100), anyLong()))
+            .thenThrow(new IllegalStateException("lock timeout"));
+
+        assertThatThrownBy(() -> worker.purgeBatch()).hasMessage("lock timeout");
+        verify(repository).recordFailure(eq(1L), eq("lock timeout"), anyLong());
+    }
+
+    private static PurgeJobDTO job(PurgeEntityType entityType) {
+        return new PurgeJobDTO(1L, entityType, 42L, PurgeJobStatus.PENDING, 0L, null, 0L, 0L, null);
+    }
+}
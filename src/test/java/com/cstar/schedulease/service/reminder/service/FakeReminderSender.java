@@ -0,0 +1,24 @@
+package com.cstar.schedulease.service.reminder.service;
+
+import com.cstar.schedulease.service.reminder.dto.Reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records sent reminders instead of delivering them; fails the next calls on request.
+ */
+class FakeReminderSender implements ReminderSender {
+
+    final List<Reminder> sent = new ArrayList<>();
+    int failuresToSimulate;
+
+    @Override
+    public void send(List<Reminder> reminders) {
+        if (failuresToSimulate > 0) {
+            failuresToSimulate--;
+            throw new IllegalStateException("gateway unavailable");
+        }
+        sent.addAll(reminders);
+    }
+}
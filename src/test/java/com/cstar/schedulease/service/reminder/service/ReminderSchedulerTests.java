@@ -0,0 +1,216 @@
+package com.cstar.schedulease.service.reminder.service;
+
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.tenant.TenantContext;
+import com.cstar.schedulease.config.ReminderProperties;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import com.cstar.schedulease.service.reminder.dto.Reminder;
+import com.cstar.schedulease.service.reminder.repository.ReminderRepository;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderSchedulerTests {
+
+    private static final long NOW = 1_767_000_000L;
+    private static final long DAY = 86_400;
+    private static final long HOUR = 3_600;
+
+    private final ReminderRepository reminderRepository = mock(ReminderRepository.class);
+    private final FakeReminderSender sender = new FakeReminderSender();
+    private final Map<Long, Long> confirmedStartTimes = new HashMap<>();
+
+    // reminder_sent, shared by every scheduler of a test like by the nodes of a cluster
+    private final Set<List<Long>> claimed = new HashSet<>();
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(reminderRepository.findConfirmedByIds(any())).thenAnswer(invocation -> {
+            Map<Long, Reminder> confirmed = new HashMap<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                Long startTime = confirmedStartTimes.get(id);
+                if (startTime != null) {
+                    confirmed.put(id, new Reminder(TenantContext.getTenantId(), id, 7L, 1L, 1L, startTime, null));
+                }
+            }
+            return confirmed;
+        });
+
+        when(reminderRepository.claim(any(), anyLong())).thenAnswer(invocation -> {
+            List<Reminder> won = new ArrayList<>();
+            for (Reminder reminder : invocation.<List<Reminder>>getArgument(0)) {
+                if (claimed.add(List.of(reminder.getAppointmentId(), reminder.getStartTime(),
+                        reminder.getLeadTime().toSeconds()))) {
+                    won.add(reminder);
+                }
+            }
+            return won;
+        });
+        doAnswer(invocation -> {
+            for (Reminder reminder : invocation.<List<Reminder>>getArgument(0)) {
+                claimed.remove(List.of(reminder.getAppointmentId(), reminder.getStartTime(),
+                    reminder.getLeadTime().toSeconds()));
+            }
+            return null;
+        }).when(reminderRepository).release(any());
+
+        scheduler = newScheduler(sender);
+    }
+
+    private ReminderScheduler newScheduler(ReminderSender reminderSender) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("fakeReminderSender", reminderSender);
+        return new ReminderScheduler(reminderRepository, beans.getBeanProvider(ReminderSender.class),
+            beans.getBeanProvider(TenantDirectory.class), new ReminderProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void sendsRemindersLoadedWithTheHorizon() {
+        confirmedStartTimes.put(5L, NOW + 10 + DAY);
+        doAnswer(invocation -> {
+            ReminderRepository.DueReminderHandler handler = invocation.getArgument(3);
+            handler.accept(5L, 0, NOW + 10);
+            return null;
+        }).when(reminderRepository).streamDue(anyLong(), anyLong(), any(), any());
+
+        scheduler.refreshHorizon(NOW);
+        scheduler.tick(NOW + 9);
+        assertThat(sender.sent).isEmpty();
+
+        scheduler.tick(NOW + 10);
+        assertThat(sender.sent).singleElement().satisfies(reminder -> {
+            assertThat(reminder.getAppointmentId()).isEqualTo(5L);
+            assertThat(reminder.getLeadTime()).isEqualTo(Duration.ofHours(24));
+            assertThat(reminder.getTenantId()).isEqualTo(TenantContext.DEFAULT_TENANT);
+        });
+    }
+
+    @Test
+    void cancelledAppointmentsAreNotReminded() {
+        scheduler.refreshHorizon(NOW);
+        scheduler.apply(List.of(event(AppointmentChangeType.CREATED, 5L, NOW + HOUR + 60, AppointmentStatus.CONFIRMED)), NOW);
+        scheduler.apply(List.of(event(AppointmentChangeType.STATUS_CHANGED, 5L, NOW + HOUR + 60, AppointmentStatus.CANCELLED)), NOW);
+
+        scheduler.tick(NOW + 120);
+
+        verify(reminderRepository, never()).findConfirmedByIds(any());
+        assertThat(sender.sent).isEmpty();
+    }
+
+    @Test
+    void rescheduledAppointmentsAreRemindedAtTheNewTime() {
+        confirmedStartTimes.put(5L, NOW + HOUR + 600);
+        scheduler.refreshHorizon(NOW);
+        scheduler.apply(List.of(event(AppointmentChangeType.CREATED, 5L, NOW + HOUR + 60, AppointmentStatus.CONFIRMED)), NOW);
+        scheduler.apply(List.of(event(AppointmentChangeType.RESCHEDULED, 5L, NOW + HOUR + 600, AppointmentStatus.CONFIRMED)), NOW);
+
+        scheduler.tick(NOW + 60);
+        assertThat(sender.sent).isEmpty();
+
+        scheduler.tick(NOW + 600);
+        assertThat(sender.sent).extracting(Reminder::getLeadTime).containsExactly(Duration.ofHours(1));
+    }
+
+    @Test
+    void failedBatchesAreRetriedWithBackoff() {
+        confirmedStartTimes.put(5L, NOW + HOUR + 60);
+        sender.failuresToSimulate = 1;
+        scheduler.refreshHorizon(NOW);
+        scheduler.apply(List.of(event(AppointmentChangeType.CREATED, 5L, NOW + HOUR + 60, AppointmentStatus.CONFIRMED)), NOW);
+
+        scheduler.tick(NOW + 60);
+        assertThat(sender.sent).isEmpty();
+
+        scheduler.tick(NOW + 89);
+        assertThat(sender.sent).isEmpty();
+        scheduler.tick(NOW + 90);
+        assertThat(sender.sent).hasSize(1);
+    }
+
+    @Test
+    void twoNodesSendEachReminderOnce() {
+        FakeReminderSender otherSender = new FakeReminderSender();
+        ReminderScheduler otherNode = newScheduler(otherSender);
+        confirmedStartTimes.put(5L, NOW + HOUR + 60);
+        doAnswer(invocation -> {
+            ReminderRepository.DueReminderHandler handler = invocation.getArgument(3);
+            handler.accept(5L, 1, NOW + 60);
+            return null;
+        }).when(reminderRepository).streamDue(anyLong(), anyLong(), any(), any());
+
+        scheduler.refreshHorizon(NOW);
+        otherNode.refreshHorizon(NOW);
+        scheduler.tick(NOW + 60);
+        otherNode.tick(NOW + 60);
+
+        assertThat(sender.sent).hasSize(1);
+        assertThat(otherSender.sent).isEmpty();
+    }
+
+    @Test
+    void nodeWithoutTheRescheduleSendsOnceAtTheNewTime() {
+        FakeReminderSender otherSender = new FakeReminderSender();
+        ReminderScheduler otherNode = newScheduler(otherSender);
+        scheduler.refreshHorizon(NOW);
+        otherNode.refreshHorizon(NOW);
+        scheduler.apply(List.of(event(AppointmentChangeType.CREATED, 5L, NOW + HOUR + 600, AppointmentStatus.CONFIRMED)), NOW);
+        otherNode.apply(List.of(event(AppointmentChangeType.CREATED, 5L, NOW + HOUR + 600, AppointmentStatus.CONFIRMED)), NOW);
+        // Moved earlier; only the node holding the outbox lock hears of it
+        confirmedStartTimes.put(5L, NOW + HOUR + 60);
+        scheduler.apply(List.of(event(AppointmentChangeType.RESCHEDULED, 5L, NOW + HOUR + 60, AppointmentStatus.CONFIRMED)), NOW);
+
+        scheduler.tick(NOW + 60);
+        otherNode.tick(NOW + 600);
+
+        assertThat(sender.sent).hasSize(1);
+        assertThat(otherSender.sent).isEmpty();
+    }
+
+    @Test
+    void failedSendsReleaseTheirClaimForTheRetry() {
+        FakeReminderSender otherSender = new FakeReminderSender();
+        ReminderScheduler otherNode = newScheduler(otherSender);
+        confirmedStartTimes.put(5L, NOW + HOUR + 60);
+        sender.failuresToSimulate = 1;
+        scheduler.refreshHorizon(NOW);
+        otherNode.refreshHorizon(NOW);
+        scheduler.apply(List.of(event(AppointmentChangeType.CREATED, 5L, NOW + HOUR + 60, AppointmentStatus.CONFIRMED)), NOW);
+        otherNode.apply(List.of(event(AppointmentChangeType.CREATED, 5L, NOW + HOUR + 60, AppointmentStatus.CONFIRMED)), NOW);
+
+        scheduler.tick(NOW + 60);
+        assertThat(claimed).isEmpty();
+        scheduler.tick(NOW + 90);
+
+        otherNode.tick(NOW + 90);
+        assertThat(sender.sent).hasSize(1);
+        assertThat(otherSender.sent).isEmpty();
+    }
+
+    private static AppointmentChangeEvent event(AppointmentChangeType type, Long appointmentId, long startTime,
+                                                AppointmentStatus status) {
+        return new AppointmentChangeEvent(null, type, appointmentId, 1L, 1L, 7L, startTime, startTime + 1800,
+            status, null, null, NOW * 1000, null);
+    }
+}
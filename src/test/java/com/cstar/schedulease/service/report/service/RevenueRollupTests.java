@@ -0,0 +1,115 @@
+package com.cstar.schedulease.service.report.service;
+
+import com.cstar.schedulease.TestDatabase;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.common.enums.ReportGrouping;
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.service.AppointmentService;
+import com.cstar.schedulease.service.report.dto.RevenueReportRowDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rollups kept by the outbox relay against a real PostgreSQL, compared with a rebuild from the appointments.
+ *
+ * Runs against the test database (TestDatabase), in its own schema.
+ */
+@SpringBootTest(properties = "spring.flyway.schemas=" + RevenueRollupTests.SCHEMA)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RevenueRollupTests {
+
+    static final String SCHEMA = "schedulease_rollup";
+
+    private static final long HOUR = 3_600L;
+    // Start of the hour, two days out
+    private static final long BASE = (System.currentTimeMillis() / 1000 / HOUR + 48) * HOUR;
+
+    private static final String[] SEED_SQL = {
+        "TRUNCATE appointment_outbox, appointment_rollup, waitlist_entry, session_seat, appointments, " +
+            "appointment_series, provider_service, provider_working_hours, provider_schedule_override, purge_job, " +
+            "service, provider, client RESTART IDENTITY CASCADE",
+        "INSERT INTO service (name, category, duration, price) VALUES ('Cut', 'HAIRCUT', 30, 40)",
+        "INSERT INTO provider (first_name, last_name) VALUES ('Provider', 'P1')",
+        "INSERT INTO client (first_name, last_name, phone) VALUES ('Client', 'C1', '5550000001')"
+    };
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry, SCHEMA);
+    }
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        for (String sql : SEED_SQL) {
+            jdbcTemplate.execute(sql);
+        }
+    }
+
+    @Test
+    void priceChangeAfterBookingMatchesRebuild() throws InterruptedException {
+        AppointmentDTO first = book(BASE);
+        AppointmentDTO second = book(BASE + HOUR);
+        jdbcTemplate.update("UPDATE service SET price = 65 WHERE id = 1");
+
+        // Both completed at 40, then one taken back after the price change
+        appointmentService.updateAppointmentStatus(first.getId(), AppointmentStatus.COMPLETED, null);
+        appointmentService.updateAppointmentStatus(second.getId(), AppointmentStatus.COMPLETED, null);
+        appointmentService.updateAppointmentStatus(second.getId(), AppointmentStatus.CONFIRMED, null);
+        awaitRelay();
+        RevenueReportRowDTO relayed = serviceRow();
+
+        reportService.rebuildRollups();
+        RevenueReportRowDTO rebuilt = serviceRow();
+
+        assertThat(relayed.getRevenue()).isEqualByComparingTo("40");
+        assertThat(rebuilt.getRevenue()).isEqualByComparingTo(relayed.getRevenue());
+        assertThat(rebuilt.getCompleted()).isEqualTo(relayed.getCompleted());
+    }
+
+    private AppointmentDTO book(long startTime) {
+        AppointmentDTO request = new AppointmentDTO();
+        request.setClientId(1L);
+        request.setProviderId(1L);
+        request.setServiceId(1L);
+        request.setStartTime(startTime);
+        return appointmentService.createAppointment(request);
+    }
+
+    private void awaitRelay() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (jdbcTemplate.queryForObject("SELECT count(*) FROM appointment_outbox", Integer.class) == 0) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Outbox not drained");
+    }
+
+    private RevenueReportRowDTO serviceRow() {
+        LocalDate today = LocalDate.now();
+        List<RevenueReportRowDTO> rows = reportService
+            .getRevenueReport(ReportGrouping.SERVICE, today.minusDays(1), today.plusDays(7)).getRows();
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+}
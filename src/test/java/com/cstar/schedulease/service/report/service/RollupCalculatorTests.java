@@ -0,0 +1,99 @@
+package com.cstar.schedulease.service.report.service;
+
+import com.cstar.schedulease.common.enums.AppointmentChangeType;
+import com.cstar.schedulease.common.enums.AppointmentStatus;
+import com.cstar.schedulease.config.ScheduleProperties;
+import com.cstar.schedulease.service.outbox.dto.AppointmentChangeEvent;
+import com.cstar.schedulease.service.report.repository.RollupDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RollupCalculatorTests {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Toronto");
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+    private static final long NINE_AM = DAY.atTime(9, 0).atZone(ZONE).toEpochSecond();
+
+    private RollupCalculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        ScheduleProperties properties = new ScheduleProperties();
+        properties.setTimeZone(ZONE);
+        calculator = new RollupCalculator(properties);
+    }
+
+    @Test
+    void bookingThenCompletionCountsRevenueOnce() {
+        Collection<RollupDelta> deltas = calculator.deltas(List.of(
+            event(AppointmentChangeType.CREATED, AppointmentStatus.CONFIRMED, null, null),
+            event(AppointmentChangeType.STATUS_CHANGED, AppointmentStatus.COMPLETED, AppointmentStatus.CONFIRMED, null)),
+            false);
+
+        assertThat(deltas).hasSize(1);
+        RollupDelta delta = deltas.iterator().next();
+        assertThat(delta.getDay()).isEqualTo(DAY);
+        assertThat(delta.getConfirmed()).isZero();
+        assertThat(delta.getCompleted()).isEqualTo(1);
+        assertThat(delta.getBookedMinutes()).isEqualTo(30);
+        assertThat(delta.getRevenue()).isEqualByComparingTo("50");
+    }
+
+    @Test
+    void rescheduleMovesTheAppointmentBetweenDays() {
+        long previousStart = NINE_AM - 86_400;
+        Collection<RollupDelta> deltas = calculator.deltas(List.of(
+            event(AppointmentChangeType.RESCHEDULED, AppointmentStatus.CONFIRMED, AppointmentStatus.CONFIRMED,
+                previousStart)), false);
+
+        assertThat(deltas).extracting(RollupDelta::getDay, RollupDelta::getConfirmed, RollupDelta::getBookedMinutes)
+            .containsExactlyInAnyOrder(
+                tuple(DAY.minusDays(1), -1, -30L),
+                tuple(DAY, 1, 30L));
+    }
+
+    @Test
+    void reverseUndoesTheEvents() {
+        Collection<RollupDelta> deltas = calculator.deltas(List.of(
+            event(AppointmentChangeType.CREATED, AppointmentStatus.CONFIRMED, null, null),
+            event(AppointmentChangeType.STATUS_CHANGED, AppointmentStatus.CANCELLED, AppointmentStatus.CONFIRMED, null)),
+            true);
+
+        RollupDelta delta = deltas.iterator().next();
+        assertThat(delta.getConfirmed()).isZero();
+        assertThat(delta.getCancelled()).isEqualTo(-1);
+        assertThat(delta.getBookedMinutes()).isZero();
+        assertThat(delta.getLostRevenue()).isEqualByComparingTo("-50");
+    }
+
+    @Test
+    void eventsAreCountedAtTheirOwnPrice() {
+        // Two appointments booked before and after the service went from 50 to 80
+        AppointmentChangeEvent early = event(AppointmentChangeType.STATUS_CHANGED, AppointmentStatus.COMPLETED,
+            AppointmentStatus.CONFIRMED, null);
+        AppointmentChangeEvent late = event(AppointmentChangeType.STATUS_CHANGED, AppointmentStatus.COMPLETED,
+            AppointmentStatus.CONFIRMED, null);
+        late.setPrice(new BigDecimal("80.00"));
+
+        RollupDelta counted = calculator.deltas(List.of(early, late), false).iterator().next();
+        RollupDelta undone = calculator.deltas(List.of(early), true).iterator().next();
+
+        assertThat(counted.getRevenue()).isEqualByComparingTo("130");
+        assertThat(undone.getRevenue()).isEqualByComparingTo("-50");
+    }
+
+    private static AppointmentChangeEvent event(AppointmentChangeType type, AppointmentStatus status,
+                                                AppointmentStatus previousStatus, Long previousStartTime) {
+        return new AppointmentChangeEvent(null, type, 7L, 1L, 1L, 1L, NINE_AM, NINE_AM + 30 * 60,
+            status, previousStatus, previousStartTime, System.currentTimeMillis(), new BigDecimal("50.00"));
+    }
+}
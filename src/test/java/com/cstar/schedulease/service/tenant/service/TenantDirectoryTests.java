@@ -0,0 +1,84 @@
+package com.cstar.schedulease.service.tenant.service;
+
+import com.cstar.schedulease.TestDatabase;
+import com.cstar.schedulease.common.enums.TenantStatus;
+import com.cstar.schedulease.exception.TenantUnavailableException;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two directories on one database stand for two nodes.
+ * Against a real PostgreSQL (TestDatabase), like QueryBudgetTests.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TenantDirectoryTests {
+
+    private static final String TENANT = "directory_acme";
+    private static final Set<String> SHARDS = Set.of(TenantDirectory.DEFAULT_SHARD, "shard_b");
+
+    private HikariDataSource pool;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl(TestDatabase.url());
+        pool.setUsername(TestDatabase.username());
+        pool.setPassword(TestDatabase.password());
+        jdbcTemplate = new JdbcTemplate(pool);
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM public.tenant_directory WHERE tenant_id = ?", TENANT);
+        pool.close();
+    }
+
+    @Test
+    void freezeAndReassignmentReachOtherNodes() {
+        TenantDirectory mover = node();
+        TenantDirectory other = node();
+
+        mover.freezeWrites(TENANT, Duration.ofMinutes(1));
+        assertThatThrownBy(() -> other.freezeWrites(TENANT, Duration.ofMinutes(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+        other.refresh();
+        assertThat(other.describe(TENANT).getStatus()).isEqualTo(TenantStatus.MOVING);
+        assertThatThrownBy(() -> other.checkWritable(TENANT, 10)).isInstanceOf(TenantUnavailableException.class);
+
+        mover.reassign(TENANT, "shard_b");
+        mover.unfreezeWrites(TENANT);
+        other.refresh();
+        assertThat(other.shardOf(TENANT)).isEqualTo("shard_b");
+        assertThat(other.isMoving(TENANT)).isFalse();
+
+        // A restarted node starts from the stored assignment, not the configured one
+        assertThat(node().shardOf(TENANT)).isEqualTo("shard_b");
+    }
+
+    @Test
+    void freezeOfADeadNodeExpires() {
+        TenantDirectory crashed = node();
+        crashed.freezeWrites(TENANT, Duration.ZERO);
+
+        TenantDirectory other = node();
+        assertThat(other.isMoving(TENANT)).isFalse();
+        other.freezeWrites(TENANT, Duration.ofMinutes(1));
+        other.unfreezeWrites(TENANT);
+    }
+
+    private TenantDirectory node() {
+        return new TenantDirectory(SHARDS, Map.of(TENANT, TenantDirectory.DEFAULT_SHARD), jdbcTemplate);
+    }
+}
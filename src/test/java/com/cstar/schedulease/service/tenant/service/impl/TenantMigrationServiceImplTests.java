@@ -0,0 +1,65 @@
+package com.cstar.schedulease.service.tenant.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantMigrationServiceImplTests {
+
+    private static final Pattern TABLE = Pattern.compile(
+        "(?:CREATE|ALTER) TABLE (?:IF NOT EXISTS )?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CREATE_TABLE = Pattern.compile(
+        "CREATE TABLE (?:IF NOT EXISTS )?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern REFERENCES = Pattern.compile("REFERENCES (\\w+)", Pattern.CASE_INSENSITIVE);
+
+    @Test
+    void copiesEveryTableOfTheMigrations() throws IOException {
+        Set<String> migrated = new LinkedHashSet<>();
+        for (String statement : migrationStatements()) {
+            Matcher matcher = CREATE_TABLE.matcher(statement);
+            if (matcher.find()) {
+                migrated.add(matcher.group(1).toLowerCase());
+            }
+        }
+
+        assertThat(TenantMigrationServiceImpl.TENANT_TABLES).containsExactlyInAnyOrderElementsOf(migrated);
+    }
+
+    @Test
+    void copiesParentsBeforeChildren() throws IOException {
+        List<String> order = List.of(TenantMigrationServiceImpl.TENANT_TABLES);
+        for (String statement : migrationStatements()) {
+            Matcher table = TABLE.matcher(statement);
+            if (!table.find()) {
+                continue;
+            }
+            Matcher reference = REFERENCES.matcher(statement);
+            while (reference.find()) {
+                String parent = reference.group(1).toLowerCase();
+                assertThat(order.indexOf(parent))
+                    .as("%s references %s", table.group(1), parent)
+                    .isLessThan(order.indexOf(table.group(1).toLowerCase()));
+            }
+        }
+    }
+
+    private static List<String> migrationStatements() throws IOException {
+        List<String> statements = new ArrayList<>();
+        for (Resource migration : new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql")) {
+            String sql = migration.getContentAsString(StandardCharsets.UTF_8).replaceAll("--[^\n]*", "");
+            statements.addAll(List.of(sql.split(";")));
+        }
+        return statements;
+    }
+}
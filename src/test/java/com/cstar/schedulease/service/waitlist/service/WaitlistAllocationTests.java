@@ -0,0 +1,165 @@
+package com.cstar.schedulease.service.waitlist.service;
+
+import com.cstar.schedulease.TestDatabase;
+import com.cstar.schedulease.common.enums.WaitlistStatus;
+import com.cstar.schedulease.exception.SlotUnavailableException;
+import com.cstar.schedulease.service.appointment.dto.AppointmentDTO;
+import com.cstar.schedulease.service.appointment.event.AppointmentCancelledEvent;
+import com.cstar.schedulease.service.appointment.service.AppointmentService;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import com.cstar.schedulease.service.waitlist.dto.WaitlistEntryDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Waitlist allocation against a real PostgreSQL, where concurrent claims of one entry actually contend.
+ *
+ * Runs against the test database (TestDatabase), in its own schema. Every test uses its own client and slots.
+ */
+@SpringBootTest(properties = "spring.flyway.schemas=" + WaitlistAllocationTests.SCHEMA)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WaitlistAllocationTests {
+
+    static final String SCHEMA = "schedulease_waitlist";
+
+    private static final long HOUR = 3_600L;
+    private static final long DAY = 86_400L;
+    // Start of the hour, two days out
+    private static final long BASE = (System.currentTimeMillis() / 1000 / HOUR + 48) * HOUR;
+
+    private static final String[] SEED_SQL = {
+        "TRUNCATE appointment_outbox, appointment_rollup, waitlist_entry, session_seat, appointments, " +
+            "appointment_series, provider_service, provider_working_hours, provider_schedule_override, purge_job, " +
+            "service, provider, client RESTART IDENTITY CASCADE",
+        "INSERT INTO service (name, category, duration, price) VALUES ('Cut', 'HAIRCUT', 30, 40)",
+        "INSERT INTO provider (first_name, last_name) VALUES ('Provider', 'P1')",
+        "INSERT INTO client (first_name, last_name, phone) " +
+            "SELECT 'Client', 'C' || i, '555' || lpad(i::text, 7, '0') FROM generate_series(1, 4) i"
+    };
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry, SCHEMA);
+    }
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private WaitlistIndex waitlistIndex;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private ObjectProvider<TenantDirectory> tenantDirectory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        for (String sql : SEED_SQL) {
+            jdbcTemplate.execute(sql);
+        }
+    }
+
+    @Test
+    void allocatesAnEntryOnlyOnce() {
+        WaitlistEntryDTO entry = waitingEntry(1L, BASE);
+
+        WaitlistEntryDTO booked = waitlistService.allocate(entry.getId(), BASE);
+
+        assertThat(booked.getStatus()).isEqualTo(WaitlistStatus.BOOKED);
+        assertThat(booked.getAppointmentId()).isNotNull();
+        assertThatThrownBy(() -> waitlistService.allocate(entry.getId(), BASE + HOUR))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(appointmentsOf(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentMatchesBookTheEntryOnce() throws Exception {
+        long start = BASE + 4 * HOUR;
+        WaitlistEntryDTO entry = waitingEntry(2L, start);
+        WaitlistMatcher matcher = new WaitlistMatcher(waitlistIndex, waitlistService, tenantDirectory);
+        List<AppointmentCancelledEvent> events = List.of(
+            new AppointmentCancelledEvent(101L, 1L, 1L, start, start + 1800),
+            new AppointmentCancelledEvent(102L, 1L, 1L, start + HOUR, start + HOUR + 1800));
+
+        ExecutorService executor = Executors.newFixedThreadPool(events.size());
+        try {
+            CountDownLatch ready = new CountDownLatch(events.size());
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<Object>> matches = events.stream()
+                .map(event -> executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    matcher.onAppointmentCancelled(event);
+                    return null;
+                }))
+                .toList();
+            ready.await();
+            go.countDown();
+            for (Future<Object> match : matches) {
+                match.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(appointmentsOf(2L)).isEqualTo(1);
+        WaitlistEntryDTO allocated = waitlistService.getEntryById(entry.getId());
+        assertThat(allocated.getStatus()).isEqualTo(WaitlistStatus.BOOKED);
+        assertThat(jdbcTemplate.queryForObject("SELECT client_id FROM appointments WHERE id = ?", Long.class,
+            allocated.getAppointmentId())).isEqualTo(2L);
+    }
+
+    @Test
+    void leavesTheEntryWaitingWhenTheSlotIsGone() {
+        long start = BASE + 8 * HOUR;
+        AppointmentDTO taken = new AppointmentDTO();
+        taken.setClientId(3L);
+        taken.setProviderId(1L);
+        taken.setServiceId(1L);
+        taken.setStartTime(start);
+        appointmentService.createAppointment(taken);
+        WaitlistEntryDTO entry = waitingEntry(4L, start);
+
+        assertThatThrownBy(() -> waitlistService.allocate(entry.getId(), start))
+            .isInstanceOf(SlotUnavailableException.class);
+
+        assertThat(waitlistService.getEntryById(entry.getId()).getStatus()).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(appointmentsOf(4L)).isZero();
+    }
+
+    private WaitlistEntryDTO waitingEntry(Long clientId, long windowStart) {
+        WaitlistEntryDTO dto = new WaitlistEntryDTO();
+        dto.setClientId(clientId);
+        dto.setProviderId(1L);
+        dto.setServiceId(1L);
+        dto.setWindowStart(windowStart);
+        dto.setWindowEnd(windowStart + DAY);
+        return waitlistService.createEntry(dto);
+    }
+
+    private int appointmentsOf(Long clientId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM appointments WHERE client_id = ?", Integer.class,
+            clientId);
+    }
+}
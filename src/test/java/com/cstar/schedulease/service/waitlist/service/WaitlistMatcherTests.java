@@ -0,0 +1,88 @@
+package com.cstar.schedulease.service.waitlist.service;
+
+import com.cstar.schedulease.exception.SlotUnavailableException;
+import com.cstar.schedulease.exception.WaitlistEntryClosedException;
+import com.cstar.schedulease.service.appointment.event.AppointmentCancelledEvent;
+import com.cstar.schedulease.service.tenant.service.TenantDirectory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class WaitlistMatcherTests {
+
+    private static final long SLOT = System.currentTimeMillis() / 1000 + 86_400;
+    private static final WaitlistIndex.Key KEY = new WaitlistIndex.Key(1L, 2L);
+
+    private final WaitlistIndex index = mock(WaitlistIndex.class);
+    private final WaitlistService service = mock(WaitlistService.class);
+    private final WaitlistMatcher matcher = new WaitlistMatcher(index, service,
+        new StaticListableBeanFactory().getBeanProvider(TenantDirectory.class));
+
+    @Test
+    void allocatesOnlyTheBestCandidate() {
+        when(index.candidatesFor(1L, 2L, SLOT, SLOT + 1800)).thenReturn(List.of(entry(10L), entry(11L)));
+
+        matcher.onAppointmentCancelled(cancelled(SLOT));
+
+        verify(service).allocate(10L, SLOT);
+        verify(service, never()).allocate(11L, SLOT);
+    }
+
+    @Test
+    void dropsACandidateThatCannotBeAllocatedAndTriesTheNext() {
+        when(index.candidatesFor(1L, 2L, SLOT, SLOT + 1800)).thenReturn(List.of(entry(10L), entry(11L)));
+        when(service.allocate(10L, SLOT)).thenThrow(new WaitlistEntryClosedException(10L));
+
+        matcher.onAppointmentCancelled(cancelled(SLOT));
+
+        verify(index).remove(10L);
+        verify(service).allocate(11L, SLOT);
+    }
+
+    @Test
+    void keepsACandidateThatFailedForAnotherReason() {
+        when(index.candidatesFor(1L, 2L, SLOT, SLOT + 1800)).thenReturn(List.of(entry(10L), entry(11L)));
+        when(service.allocate(10L, SLOT)).thenThrow(new CannotGetJdbcConnectionException("Connection refused"));
+
+        matcher.onAppointmentCancelled(cancelled(SLOT));
+
+        verify(index, never()).remove(anyLong());
+        verify(service).allocate(11L, SLOT);
+    }
+
+    @Test
+    void stopsOnceTheSlotIsTaken() {
+        when(index.candidatesFor(1L, 2L, SLOT, SLOT + 1800)).thenReturn(List.of(entry(10L), entry(11L)));
+        when(service.allocate(10L, SLOT))
+            .thenThrow(new SlotUnavailableException(1L, 2L, SLOT, SLOT + 1800, List.of()));
+
+        matcher.onAppointmentCancelled(cancelled(SLOT));
+
+        verify(index, never()).remove(anyLong());
+        verify(service, never()).allocate(11L, SLOT);
+    }
+
+    @Test
+    void ignoresSlotsInThePast() {
+        matcher.onAppointmentCancelled(cancelled(System.currentTimeMillis() / 1000 - 60));
+
+        verifyNoInteractions(index, service);
+    }
+
+    private static AppointmentCancelledEvent cancelled(long start) {
+        return new AppointmentCancelledEvent(99L, 1L, 2L, start, start + 1800);
+    }
+
+    private static WaitlistIndex.Entry entry(Long id) {
+        return new WaitlistIndex.Entry(id, 100L + id, KEY, SLOT - 3600, SLOT + 7200, 1L);
+    }
+}
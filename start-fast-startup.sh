@@ -0,0 +1,61 @@
+#!/bin/bash
+# Fast-startup script for SchedulEase
+# Runs the AOT-processed jar with an application class-data-sharing (CDS) archive
+#
+# Build the jar with:  mvn -Pfast-startup clean package
+# The first run extracts the jar and creates the CDS archive with a training run.
+
+JAR_FILE="SchedulEase-0.0.1-SNAPSHOT.jar"
+APP_DIR="application"
+CDS_ARCHIVE="$APP_DIR/schedulease.jsa"
+PROFILE="fast-startup"
+
+# Check if JAR file exists
+if [ ! -f "$JAR_FILE" ]; then
+    echo "Error: $JAR_FILE not found!"
+    echo "Please build it with 'mvn -Pfast-startup clean package' and copy it to the current directory."
+    exit 1
+fi
+
+# Check if Java is installed
+if ! command -v java &> /dev/null; then
+    echo "Error: Java is not installed!"
+    echo "Please install Java 17: sudo apt install -y openjdk-17-jdk"
+    exit 1
+fi
+
+# Re-extract and re-train whenever the jar is newer than the archive
+if [ ! -f "$CDS_ARCHIVE" ] || [ "$JAR_FILE" -nt "$CDS_ARCHIVE" ]; then
+    echo "Extracting $JAR_FILE into $APP_DIR/ ..."
+    rm -rf "$APP_DIR"
+    java -Djarmode=tools -jar "$JAR_FILE" extract --destination "$APP_DIR" || exit 1
+
+    # Training run: refresh the context, then exit and dump the loaded classes
+    echo "Creating CDS archive with a training run ..."
+    java \
+        -XX:ArchiveClassesAtExit="$CDS_ARCHIVE" \
+        -Dspring.aot.enabled=true \
+        -Dspring.profiles.active="$PROFILE" \
+        -Dspring.context.exit=onRefresh \
+        -jar "$APP_DIR/$JAR_FILE" || exit 1
+fi
+
+echo "Starting SchedulEase with fast-startup configuration..."
+echo "JVM Memory: -Xms256m -Xmx512m, CDS archive: $CDS_ARCHIVE"
+echo ""
+
+if [ -n "$SPRING_DATASOURCE_URL" ]; then
+    echo "Using database URL from environment: $SPRING_DATASOURCE_URL"
+fi
+
+java \
+    -Xms256m \
+    -Xmx512m \
+    -XX:+UseG1GC \
+    -XX:MaxGCPauseMillis=200 \
+    -XX:+UseStringDeduplication \
+    -XX:SharedArchiveFile="$CDS_ARCHIVE" \
+    -Djava.awt.headless=true \
+    -Dspring.aot.enabled=true \
+    -Dspring.profiles.active="$PROFILE" \
+    -jar "$APP_DIR/$JAR_FILE"
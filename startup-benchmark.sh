@@ -0,0 +1,87 @@
+#!/bin/bash
+# Startup benchmark for SchedulEase
+# Reports time from JVM launch to the first successful GET /api/services
+#
+# Usage: ./startup-benchmark.sh [standard|fast] [runs]
+#   standard - plain jar with the low-resource JVM flags
+#   fast     - AOT + CDS archive created by start-fast-startup.sh
+
+MODE="${1:-standard}"
+RUNS="${2:-5}"
+PORT="${SERVER_PORT:-8080}"
+URL="http://localhost:$PORT/api/services"
+TIMEOUT_SECONDS=120
+
+JAR_FILE="SchedulEase-0.0.1-SNAPSHOT.jar"
+APP_DIR="application"
+CDS_ARCHIVE="$APP_DIR/schedulease.jsa"
+
+JVM_OPTS="-Xms256m -Xmx512m -XX:+UseG1GC -XX:MaxGCPauseMillis=200 -XX:+UseStringDeduplication -Djava.awt.headless=true"
+
+case "$MODE" in
+    standard)
+        if [ ! -f "$JAR_FILE" ]; then
+            echo "Error: $JAR_FILE not found!"
+            exit 1
+        fi
+        CMD="java $JVM_OPTS -jar $JAR_FILE"
+        ;;
+    fast)
+        if [ ! -f "$CDS_ARCHIVE" ]; then
+            echo "Error: $CDS_ARCHIVE not found! Run ./start-fast-startup.sh once to create it."
+            exit 1
+        fi
+        CMD="java $JVM_OPTS -XX:SharedArchiveFile=$CDS_ARCHIVE -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup -jar $APP_DIR/$JAR_FILE"
+        ;;
+    *)
+        echo "Usage: $0 [standard|fast] [runs]"
+        exit 1
+        ;;
+esac
+
+if ! command -v curl &> /dev/null; then
+    echo "Error: curl is not installed!"
+    exit 1
+fi
+
+echo "Mode: $MODE, runs: $RUNS"
+echo "Command: $CMD"
+echo ""
+
+TOTAL=0
+MIN=0
+MAX=0
+
+for i in $(seq 1 "$RUNS"); do
+    START=$(date +%s%N)
+    $CMD > "startup-benchmark-$MODE.log" 2>&1 &
+    PID=$!
+
+    ELAPSED_MS=-1
+    while kill -0 "$PID" 2> /dev/null; do
+        if [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" = "200" ]; then
+            ELAPSED_MS=$(( ($(date +%s%N) - START) / 1000000 ))
+            break
+        fi
+        if [ $(( ($(date +%s%N) - START) / 1000000000 )) -ge $TIMEOUT_SECONDS ]; then
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill "$PID" 2> /dev/null
+    wait "$PID" 2> /dev/null
+
+    if [ "$ELAPSED_MS" -lt 0 ]; then
+        echo "Run $i: no successful response within ${TIMEOUT_SECONDS}s, see startup-benchmark-$MODE.log"
+        exit 1
+    fi
+
+    echo "Run $i: first successful GET /api/services after ${ELAPSED_MS} ms"
+    TOTAL=$((TOTAL + ELAPSED_MS))
+    if [ "$MIN" -eq 0 ] || [ "$ELAPSED_MS" -lt "$MIN" ]; then MIN=$ELAPSED_MS; fi
+    if [ "$ELAPSED_MS" -gt "$MAX" ]; then MAX=$ELAPSED_MS; fi
+done
+
+echo ""
+echo "Time to first successful GET /api/services ($MODE): avg $((TOTAL / RUNS)) ms, min $MIN ms, max $MAX ms"